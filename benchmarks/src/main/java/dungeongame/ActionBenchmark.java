@@ -0,0 +1,148 @@
+package dungeongame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the actions of the player and the yugoloth. The actions are called on the
+ * dungeon directly, so that the bookkeeping of the player, such as running out of arrows, does
+ * not end the benchmark early.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionBenchmark {
+  private static final String[] DIRECTIONS = {"U", "D", "L", "R"};
+  private static final String[] OPPOSITE_DIRECTIONS = {"D", "U", "R", "L"};
+
+  @Param({"10", "30", "60"})
+  public int size;
+
+  private DungeonImpl dungeon;
+  private Player player;
+  private int safeDirection;
+  private int openDirection;
+  private MoveStrategy randomMove;
+  private Yugoloth yugoloth;
+  private Node yugolothPosition;
+  private String[] volleyDirections;
+  private int[] volleyDistances;
+  private Volley volley;
+
+  /**
+   * Generates a fresh dungeon for every iteration, since shooting kills the otyughs.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    this.dungeon = new DungeonImpl(size, size, 2, true, 0.5f, false,
+            Math.max(2, size * size / 20), 0, 0, 42L);
+    this.player = new PlayerImpl("Benchmark");
+    this.player.enterPlayerToDungeon(this.dungeon);
+
+    Node start = this.dungeon.getCurrentPositionPlayer();
+    this.safeDirection = -1;
+    this.openDirection = -1;
+    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+      Node neighbour = neighbour(start, direction);
+      if (neighbour == null) {
+        continue;
+      }
+
+      this.openDirection = direction;
+      if (!neighbour.hasOtyugh()) {
+        this.safeDirection = direction;
+      }
+    }
+    if (this.safeDirection == -1) {
+      throw new IllegalStateException("Every neighbour of the start has an otyugh!");
+    }
+
+    this.volleyDirections = new String[DIRECTIONS.length];
+    this.volleyDistances = new int[DIRECTIONS.length];
+    for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+      this.volleyDirections[direction] = DIRECTIONS[direction];
+      this.volleyDistances[direction] = 3;
+    }
+    this.volley = new Volley(DIRECTIONS.length);
+
+    // The yugoloth roams a maze of its own, so it never meets the player.
+    this.randomMove = new RandomMove(new Random(42L));
+    this.yugoloth = new Yugoloth();
+    this.yugolothPosition = new DungeonImpl(size, size, 2, true, 0.5f, false, 2, 0, 0, 43L)
+            .getMaze()[0][0];
+    this.yugolothPosition.placeYugoloth(this.yugoloth);
+  }
+
+  private static Node neighbour(Node node, int direction) {
+    switch (direction) {
+      case CellGraph.UP:
+        return node.getTopNode();
+      case CellGraph.DOWN:
+        return node.getBottomNode();
+      case CellGraph.LEFT:
+        return node.getLeftNode();
+      default:
+        return node.getRightNode();
+    }
+  }
+
+  /**
+   * Moves the player to a neighbour without an otyugh and back.
+   *
+   * @return true if the player died, which never happens
+   */
+  @Benchmark
+  public boolean movePlayer() {
+    return dungeon.movePlayer(DIRECTIONS[safeDirection], player)
+            | dungeon.movePlayer(OPPOSITE_DIRECTIONS[safeDirection], player);
+  }
+
+  /**
+   * Shoots an arrow as far as three caves.
+   *
+   * @return where the arrow landed
+   */
+  @Benchmark
+  public ShotResult shootArrow() {
+    return dungeon.shootArrow(DIRECTIONS[openDirection], 3, player);
+  }
+
+  /**
+   * Shoots a volley of one arrow in every direction, each as far as three caves.
+   *
+   * @return the volley
+   */
+  @Benchmark
+  public Volley shootVolley() {
+    dungeon.shootVolley(volleyDirections, volleyDistances, player, volley);
+    return volley;
+  }
+
+  /**
+   * Moves a yugoloth to a random neighbour.
+   *
+   * @return the new location of the yugoloth
+   */
+  @Benchmark
+  public Node randomMove() {
+    yugolothPosition = randomMove.move(yugoloth, yugolothPosition);
+    return yugolothPosition;
+  }
+}
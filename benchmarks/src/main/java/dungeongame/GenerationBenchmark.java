@@ -0,0 +1,82 @@
+package dungeongame;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks generating a dungeon, for several sizes with and without wrapping and
+ * interconnectivity. Every invocation uses the next seed, so the benchmark sees many different
+ * mazes while every run sees the same ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+  @Param({"10", "30", "60"})
+  public int size;
+
+  @Param({"true", "false"})
+  public boolean isWrapping;
+
+  @Param({"0", "5"})
+  public int interconnectivity;
+
+  private long seed;
+
+  /**
+   * Starts every trial from the same seed.
+   */
+  @Setup
+  public void setUp() {
+    this.seed = 0;
+  }
+
+  /**
+   * Generates a dungeon with treasure in half of the caves and roughly one otyugh for every
+   * twenty locations.
+   *
+   * @return the generated dungeon
+   */
+  @Benchmark
+  public Dungeon generate() {
+    return new DungeonImpl(size, size, interconnectivity, isWrapping, 0.5f, false,
+            Math.max(2, size * size / 20), 0, 0, seed++);
+  }
+
+  /**
+   * Generates a dungeon that also has roaming yugoloths and thieves.
+   *
+   * @return the generated dungeon
+   */
+  @Benchmark
+  public Dungeon generateWithRoamingMonsters() {
+    return new DungeonImpl(size, size, interconnectivity, isWrapping, 0.5f, false,
+            Math.max(2, size * size / 20), 2, 2, seed++);
+  }
+
+  /**
+   * Generates a dungeon with roaming yugoloths and thieves whose hazards are kept at least
+   * four moves apart.
+   *
+   * @return the generated dungeon
+   */
+  @Benchmark
+  public Dungeon generateWithSpreadOutHazards() {
+    return new DungeonImpl(size, size, interconnectivity, isWrapping, 0.5f, false,
+            Math.max(2, size * size / 20), 2, 2, 4, seed++);
+  }
+}
@@ -0,0 +1,89 @@
+package dungeongame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the maze generators on their own, carving the topology of a dungeon without any
+ * nodes, and as part of generating a whole dungeon, for several sizes with and without
+ * wrapping. Every invocation uses the next seed, so the benchmark sees many different mazes
+ * while every run sees the same ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MazeGeneratorBenchmark {
+  @Param({"KRUSKAL", "WILSON", "BACKTRACKER", "ELLER"})
+  public String generator;
+
+  @Param({"30", "300", "1000"})
+  public int size;
+
+  @Param({"true", "false"})
+  public boolean isWrapping;
+
+  private MazeGenerator mazeGenerator;
+  private long seed;
+
+  /**
+   * Creates the generator and starts every trial from the same seed.
+   */
+  @Setup
+  public void setUp() {
+    switch (generator) {
+      case "KRUSKAL":
+        this.mazeGenerator = new KruskalMaze();
+        break;
+      case "WILSON":
+        this.mazeGenerator = new WilsonMaze();
+        break;
+      case "BACKTRACKER":
+        this.mazeGenerator = new BacktrackerMaze();
+        break;
+      default:
+        this.mazeGenerator = new EllerMaze();
+        break;
+    }
+    this.seed = 0;
+  }
+
+  /**
+   * Carves a spanning tree and closes the rest of the passages.
+   *
+   * @return the carved maze
+   */
+  @Benchmark
+  public MazeGrid carve() {
+    MazeGrid grid = new MazeGrid(size, size, isWrapping);
+    mazeGenerator.generate(grid, new Random(seed++));
+    grid.closeWalls();
+    return grid;
+  }
+
+  /**
+   * Generates a dungeon with the generator, with treasure in half of the caves and roughly one
+   * otyugh for every twenty locations.
+   *
+   * @return the generated dungeon
+   */
+  @Benchmark
+  public Dungeon generate() {
+    return new DungeonImpl(size, size, 2, isWrapping, 0.5f, false,
+            Math.max(2, size * size / 20), 0, 0, 0, generator, seed++);
+  }
+}
@@ -0,0 +1,75 @@
+package dungeongame;
+
+import java.util.concurrent.TimeUnit;
+
+import node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the queries the controllers make on every turn, on a dungeon that does not change
+ * during the benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+  @Param({"10", "30", "60"})
+  public int size;
+
+  private Dungeon dungeon;
+  private Node playerPosition;
+
+  /**
+   * Generates the dungeon and places a player at the start.
+   */
+  @Setup
+  public void setUp() {
+    this.dungeon = new DungeonImpl(size, size, 2, true, 0.5f, false,
+            Math.max(2, size * size / 20), 0, 0, 42L);
+    new PlayerImpl("Benchmark").enterPlayerToDungeon(this.dungeon);
+    this.playerPosition = this.dungeon.getCurrentPositionPlayer();
+  }
+
+  /**
+   * Describes the location of the player.
+   *
+   * @return the description
+   */
+  @Benchmark
+  public String getRoomDescription() {
+    return playerPosition.getRoomDescription();
+  }
+
+  /**
+   * Copies the maze.
+   *
+   * @return the copy of the maze
+   */
+  @Benchmark
+  public Node[][] getMaze() {
+    return dungeon.getMaze();
+  }
+
+  /**
+   * Lists every treasure by location.
+   *
+   * @return the treasures by location
+   */
+  @Benchmark
+  public TreasureMap getTreasureAndLocations() {
+    return dungeon.getTreasureAndLocations();
+  }
+}
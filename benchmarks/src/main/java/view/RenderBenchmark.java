@@ -0,0 +1,230 @@
+package view;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import controller.DungeonSwingController;
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.PlayerImpl;
+import node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks painting the maze without a display. The maze of a generated dungeon is laid out
+ * the way the game window lays it out, uncovered and with everything in the dungeon drawn on
+ * it, and is painted into an offscreen image.
+ *
+ * <p>A whole maze of 200x200 locations is 30000 pixels wide, so a full frame is what the game
+ * window shows of it, a 1000x600 view around the player. Painting every location once shows how
+ * the cost grows with the size of the maze, and an incremental repaint is what a move of the
+ * player needs, the location that was left and the location that was entered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xmx4g"})
+public class RenderBenchmark {
+  private static final int NODE_SIZE = 150;
+  private static final int VIEW_WIDTH = 1000;
+  private static final int VIEW_HEIGHT = 600;
+
+  @Param({"4", "10", "30", "100", "200"})
+  public int size;
+
+  private MazePanel mazePanel;
+  private List<List<NodePanel>> nodePanels;
+  private BufferedImage frame;
+  private Graphics2D frameGraphics;
+  private Rectangle view;
+  private BufferedImage tile;
+  private Graphics2D tileGraphics;
+  private int playerI;
+  private int playerJ;
+  private int neighbourJ;
+  private boolean isPlayerMoved;
+
+  /**
+   * Generates the dungeon and lays out a maze panel showing it.
+   */
+  @Setup
+  public void setUp() {
+    Dungeon dungeon = new DungeonImpl(size, size, 0, false, 0.5f, false,
+            Math.max(2, size * size / 20), 0, 0, 42L);
+    PlayerImpl player = new PlayerImpl("Benchmark");
+    player.enterPlayerToDungeon(dungeon);
+
+    List<List<NodeType>> nodeTypes = new ArrayList<>();
+    for (int[] doorMasks : dungeon.getDoorMasks()) {
+      List<NodeType> row = new ArrayList<>(doorMasks.length);
+      for (int doorMask : doorMasks) {
+        row.add(NodeType.fromDoorMask(doorMask));
+      }
+      nodeTypes.add(row);
+    }
+
+    // The controller only answers whether an otyugh was hit, so it needs no view.
+    this.mazePanel = new MazePanel(nodeTypes, true,
+            new DungeonSwingController(dungeon, player, null, new Random(42L)));
+    addDungeon(dungeon);
+    layOut(this.mazePanel);
+
+    this.nodePanels = new ArrayList<>();
+    for (Component rowContainer : this.mazePanel.getComponents()) {
+      List<NodePanel> row = new ArrayList<>();
+      for (Component nodePanel : ((Container) rowContainer).getComponents()) {
+        row.add((NodePanel) nodePanel);
+      }
+      this.nodePanels.add(row);
+    }
+
+    this.playerI = dungeon.getPlayerNodeI();
+    this.playerJ = dungeon.getPlayerNodeJ();
+    this.neighbourJ = (this.playerJ + 1) % size;
+    this.isPlayerMoved = false;
+
+    NodePanel playerPanel = this.nodePanels.get(this.playerI).get(this.playerJ);
+    Rectangle playerBounds = SwingUtilities.convertRectangle(playerPanel.getParent(),
+            playerPanel.getBounds(), this.mazePanel);
+    int width = Math.min(VIEW_WIDTH, this.mazePanel.getWidth());
+    int height = Math.min(VIEW_HEIGHT, this.mazePanel.getHeight());
+    this.view = new Rectangle(
+            clamp(playerBounds.x + NODE_SIZE / 2 - width / 2, this.mazePanel.getWidth() - width),
+            clamp(playerBounds.y + NODE_SIZE / 2 - height / 2,
+                    this.mazePanel.getHeight() - height),
+            width, height);
+
+    this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    this.frameGraphics = this.frame.createGraphics();
+    this.tile = new BufferedImage(NODE_SIZE, NODE_SIZE, BufferedImage.TYPE_INT_RGB);
+    this.tileGraphics = this.tile.createGraphics();
+  }
+
+  private void addDungeon(Dungeon dungeon) {
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        Node node = dungeon.getNodeAt(i, j);
+        if (!node.getType().equals("C")) {
+          continue;
+        }
+
+        if (node.hasOtyugh()) {
+          this.mazePanel.addOtyugh(i, j);
+        }
+        if (!node.getTreasures().isEmpty()) {
+          this.mazePanel.addTreasure(i, j, node.getTreasures());
+        }
+        if (node.getNumArrows() > 0) {
+          this.mazePanel.addArrows(i, j, node.getNumArrows());
+        }
+      }
+    }
+
+    this.mazePanel.addPlayer(dungeon.getPlayerNodeI(), dungeon.getPlayerNodeJ());
+    this.mazePanel.addSmell(dungeon.getPlayerNodeI(), dungeon.getPlayerNodeJ(), "weak");
+    this.mazePanel.addYugoloth(dungeon.getYugolothNodeI(), dungeon.getYugolothNodeJ());
+    this.mazePanel.addThief(dungeon.getThiefNodeI(), dungeon.getThiefNodeJ());
+    this.mazePanel.addPit(dungeon.getPitNodeI(), dungeon.getPitNodeJ());
+    this.mazePanel.markEndNode(dungeon.getEndNodeI(), dungeon.getEndNodeJ());
+  }
+
+  private static void layOut(Container container) {
+    container.setSize(container.getPreferredSize());
+    container.doLayout();
+    for (Component child : container.getComponents()) {
+      if (child instanceof Container) {
+        layOut((Container) child);
+      }
+    }
+  }
+
+  private static int clamp(int value, int max) {
+    return Math.max(0, Math.min(value, max));
+  }
+
+  /**
+   * Releases the graphics of the offscreen images.
+   */
+  @TearDown
+  public void tearDown() {
+    this.frameGraphics.dispose();
+    this.tileGraphics.dispose();
+  }
+
+  /**
+   * Paints what the game window shows of the maze, a view of 1000x600 around the player.
+   *
+   * @return the frame
+   */
+  @Benchmark
+  public BufferedImage paintFullFrame() {
+    Graphics2D g = (Graphics2D) this.frameGraphics.create();
+    try {
+      g.translate(-this.view.x, -this.view.y);
+      g.setClip(this.view);
+      this.mazePanel.paint(g);
+    } finally {
+      g.dispose();
+    }
+
+    return this.frame;
+  }
+
+  /**
+   * Paints every location of the maze once.
+   *
+   * @return the image the last location was painted into
+   */
+  @Benchmark
+  public BufferedImage paintAllNodes() {
+    for (List<NodePanel> row : this.nodePanels) {
+      for (NodePanel nodePanel : row) {
+        nodePanel.paint(this.tileGraphics);
+      }
+    }
+
+    return this.tile;
+  }
+
+  /**
+   * Moves the player to the next location in the row, or back, and paints the two locations
+   * that changed.
+   *
+   * @return the image the last location was painted into
+   */
+  @Benchmark
+  public BufferedImage paintIncremental() {
+    int fromJ = this.isPlayerMoved ? this.neighbourJ : this.playerJ;
+    int toJ = this.isPlayerMoved ? this.playerJ : this.neighbourJ;
+    this.isPlayerMoved = !this.isPlayerMoved;
+
+    this.mazePanel.removePlayer(this.playerI, fromJ);
+    this.mazePanel.addPlayer(this.playerI, toJ);
+    this.nodePanels.get(this.playerI).get(fromJ).paint(this.tileGraphics);
+    this.nodePanels.get(this.playerI).get(toJ).paint(this.tileGraphics);
+
+    return this.tile;
+  }
+}
@@ -1,4 +1,10 @@
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
 import java.util.Random;
 import java.util.Scanner;
 
@@ -8,6 +14,11 @@ import controller.DungeonControllerWView;
 import controller.DungeonSwingController;
 import dungeongame.Dungeon;
 import dungeongame.DungeonImpl;
+import dungeongame.EventLog;
+import dungeongame.EventLogAnalysis;
+import dungeongame.EventLogAnalyzer;
+import dungeongame.GameMonitor;
+import dungeongame.GameStatistics;
 import dungeongame.Player;
 import dungeongame.PlayerImpl;
 import view.DungeonView;
@@ -22,7 +33,55 @@ public class Client {
     System.out.println("Invalid arguments passed!");
     System.out.println("Usage: java -jar pdp-project-3.jar <numRows> <numCols> <interconnectivity>"
             + "<Wrapping(W)/Non-wrapping(N)> <percentCavesWithTreasure> <force interconnectivity "
-            + "(Y/N)> <numOtyughs>");
+            + "(Y/N)> <numOtyughs> [-batch <commandsFile>] [-record <eventLogFile>]");
+    System.out.println("       java -jar pdp-project-3.jar -analyze <eventLogDirectory>");
+  }
+
+  private static void analyzeEventLogs(String eventLogDirectory) {
+    EventLogAnalyzer analyzer = new EventLogAnalyzer();
+    EventLogAnalysis analysis;
+    try {
+      analysis = analyzer.analyzeDirectory(Paths.get(eventLogDirectory));
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      return;
+    }
+
+    for (Map.Entry<String, GameStatistics> entry : analysis.getStatistics().entrySet()) {
+      System.out.println(entry.getKey());
+      System.out.println(entry.getValue());
+    }
+    System.out.println("Skipped files: " + analysis.getNumSkippedLogs());
+  }
+
+  private static EventLog startRecording(Dungeon dungeon, String eventLogFile) {
+    try {
+      EventLog eventLog = new EventLog(Paths.get(eventLogFile));
+      dungeon.recordEvents(eventLog);
+      return eventLog;
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      return null;
+    }
+  }
+
+  private static void stopRecording(EventLog eventLog) {
+    try {
+      eventLog.close();
+    } catch (IOException e) {
+      System.out.println("Failed to close the event log: " + e.getMessage());
+    }
+  }
+
+  private static void playBatchGame(Dungeon dungeon, String commandsFile, Random random) {
+    PrintStream out = System.out;
+    try (FileChannel in = FileChannel.open(Paths.get(commandsFile), StandardOpenOption.READ)) {
+      DungeonController controller = new DungeonConsoleController(in, out, random, true);
+      controller.playGame(dungeon, new PlayerImpl("Player"));
+    } catch (IOException e) {
+      System.out.println("Failed to read the commands file: " + e.getMessage());
+    }
+    out.flush();
   }
 
   private static int parseIntArg(String argName, String[] args, int idx) {
@@ -72,7 +131,20 @@ public class Client {
   public static void main(String[] args) {
     Random random = new Random();
 
-    if (args.length > 0) {
+    try {
+      GameMonitor.register();
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+    }
+
+    if (args.length > 0 && args[0].equals("-analyze")) {
+      if (args.length != 2) {
+        printUsage();
+        return;
+      }
+
+      analyzeEventLogs(args[1]);
+    } else if (args.length > 0) {
       int numRows = parseIntArg("number of rows", args, 0);
       if (numRows == -1) {
         return;
@@ -130,16 +202,48 @@ public class Client {
         return;
       }
 
-      Scanner scanner = new Scanner(System.in);
+      String commandsFile = null;
+      String eventLogFile = null;
+      for (int idx = 7; idx < args.length; idx += 2) {
+        if (idx + 1 == args.length) {
+          printUsage();
+          return;
+        } else if (args[idx].equals("-batch")) {
+          commandsFile = args[idx + 1];
+        } else if (args[idx].equals("-record")) {
+          eventLogFile = args[idx + 1];
+        } else {
+          printUsage();
+          return;
+        }
+      }
 
-      System.out.println("Enter player name: ");
-      String playerName = scanner.next();
-      Player player = new PlayerImpl(playerName);
+      EventLog eventLog = null;
+      if (eventLogFile != null) {
+        eventLog = startRecording(dungeon, eventLogFile);
+        if (eventLog == null) {
+          return;
+        }
+      }
+
+      if (commandsFile != null) {
+        playBatchGame(dungeon, commandsFile, random);
+      } else {
+        Scanner scanner = new Scanner(System.in);
 
-      Readable r = new InputStreamReader(System.in);
-      Appendable a = System.out;
-      DungeonController controller = new DungeonConsoleController(r, a, random);
-      controller.playGame(dungeon, player);
+        System.out.println("Enter player name: ");
+        String playerName = scanner.next();
+        Player player = new PlayerImpl(playerName);
+
+        Readable r = new InputStreamReader(System.in);
+        Appendable a = System.out;
+        DungeonController controller = new DungeonConsoleController(r, a, random);
+        controller.playGame(dungeon, player);
+      }
+
+      if (eventLog != null) {
+        stopRecording(eventLog);
+      }
     } else {
       String playerName = "Player";
       Player player = new PlayerImpl(playerName);
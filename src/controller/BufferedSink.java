@@ -0,0 +1,54 @@
+package controller;
+
+import java.io.IOException;
+
+/*
+  Appendable that collects the output of a scripted game in one reusable buffer and only hands
+  it to the real output once it has grown past a threshold, or when flushed at the end of the
+  game.
+ */
+final class BufferedSink implements Appendable {
+  private static final int FLUSH_THRESHOLD = 32 * 1024;
+
+  private final Appendable out;
+  private final StringBuilder buffer;
+
+  BufferedSink(Appendable out) {
+    this.out = out;
+    this.buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+  }
+
+  @Override
+  public Appendable append(CharSequence csq) throws IOException {
+    buffer.append(csq);
+    flushIfFull();
+    return this;
+  }
+
+  @Override
+  public Appendable append(CharSequence csq, int start, int end) throws IOException {
+    buffer.append(csq, start, end);
+    flushIfFull();
+    return this;
+  }
+
+  @Override
+  public Appendable append(char c) throws IOException {
+    buffer.append(c);
+    flushIfFull();
+    return this;
+  }
+
+  private void flushIfFull() throws IOException {
+    if (buffer.length() >= FLUSH_THRESHOLD) {
+      flush();
+    }
+  }
+
+  void flush() throws IOException {
+    if (buffer.length() > 0) {
+      out.append(buffer);
+      buffer.setLength(0);
+    }
+  }
+}
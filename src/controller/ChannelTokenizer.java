@@ -0,0 +1,161 @@
+package controller;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/*
+  Command reader for scripted games. It pulls bytes from a channel into one fixed buffer and
+  splits them on whitespace by hand, instead of going through the regular expressions of a
+  Scanner. Every command the console game understands is returned as a shared constant, so a
+  script made of valid commands is read without creating a String per token.
+ */
+final class ChannelTokenizer implements CommandReader {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String[] KNOWN_TOKENS = {
+    "M", "P", "S", "N", "E", "W", "RUBY", "SAPPHIRE", "DIAMOND", "ARROW"
+  };
+  private static final byte[][] KNOWN_TOKEN_BYTES = new byte[KNOWN_TOKENS.length][];
+
+  static {
+    for (int i = 0; i < KNOWN_TOKENS.length; i++) {
+      KNOWN_TOKEN_BYTES[i] = KNOWN_TOKENS[i].getBytes(StandardCharsets.US_ASCII);
+    }
+  }
+
+  private final ReadableByteChannel channel;
+  private final ByteBuffer buffer;
+  private byte[] token;
+  private int tokenLength;
+  private boolean hasPendingToken;
+  private boolean isEndOfInput;
+
+  ChannelTokenizer(ReadableByteChannel channel) {
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    this.buffer.flip();
+    this.token = new byte[32];
+    this.tokenLength = 0;
+    this.hasPendingToken = false;
+    this.isEndOfInput = false;
+  }
+
+  private boolean fill() {
+    if (isEndOfInput) {
+      return false;
+    }
+
+    buffer.clear();
+    int numRead;
+    try {
+      do {
+        numRead = channel.read(buffer);
+      } while (numRead == 0);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to read!");
+    }
+    buffer.flip();
+
+    if (numRead == -1) {
+      isEndOfInput = true;
+      return false;
+    }
+
+    return true;
+  }
+
+  private static boolean isWhitespace(byte b) {
+    return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f';
+  }
+
+  private void readToken() {
+    if (hasPendingToken) {
+      hasPendingToken = false;
+      return;
+    }
+
+    tokenLength = 0;
+    byte b;
+    while (true) {
+      if (!buffer.hasRemaining() && !fill()) {
+        break;
+      }
+
+      b = buffer.get();
+      if (isWhitespace(b)) {
+        if (tokenLength > 0) {
+          break;
+        }
+        continue;
+      }
+
+      if (tokenLength == token.length) {
+        byte[] grown = new byte[token.length * 2];
+        System.arraycopy(token, 0, grown, 0, tokenLength);
+        token = grown;
+      }
+      token[tokenLength++] = b;
+    }
+
+    if (tokenLength == 0) {
+      throw new NoSuchElementException();
+    }
+  }
+
+  private boolean tokenEquals(byte[] known) {
+    if (known.length != tokenLength) {
+      return false;
+    }
+
+    for (int i = 0; i < tokenLength; i++) {
+      if (known[i] != token[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public String next() {
+    readToken();
+
+    for (int i = 0; i < KNOWN_TOKEN_BYTES.length; i++) {
+      if (tokenEquals(KNOWN_TOKEN_BYTES[i])) {
+        return KNOWN_TOKENS[i];
+      }
+    }
+
+    return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public int nextInt() {
+    readToken();
+
+    int idx = 0;
+    boolean isNegative = false;
+    if (token[0] == '-' || token[0] == '+') {
+      isNegative = token[0] == '-';
+      idx++;
+    }
+
+    long limit = isNegative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+    long value = 0;
+    boolean isNumber = idx < tokenLength;
+    for (; idx < tokenLength && isNumber; idx++) {
+      value = value * 10 + (token[idx] - '0');
+      isNumber = token[idx] >= '0' && token[idx] <= '9' && value <= limit;
+    }
+
+    if (!isNumber) {
+      hasPendingToken = true;
+      throw new InputMismatchException();
+    }
+
+    return (int) (isNegative ? -value : value);
+  }
+}
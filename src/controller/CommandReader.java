@@ -0,0 +1,12 @@
+package controller;
+
+/*
+  Source of the commands typed (or scripted) for the console controller. Both methods throw a
+  NoSuchElementException once the input has run out, and nextInt throws an
+  InputMismatchException without consuming the token if it is not a number, like a Scanner does.
+ */
+interface CommandReader {
+  String next();
+
+  int nextInt();
+}
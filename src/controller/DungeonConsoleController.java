@@ -1,24 +1,39 @@
 package controller;
 
 import dungeongame.Dungeon;
+import dungeongame.DungeonConfig;
 import dungeongame.Player;
+import dungeongame.ShotResult;
 import utils.ValueSanity;
 
 import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
-import java.util.Scanner;
 
 /**
  * Implementation of a dungeon controller which interacts with the user via the
  * console.
  */
 public class DungeonConsoleController implements DungeonController {
-  private final Scanner scanner;
+  private static final Map<String, String> DIRECTION_TO_HEADING;
+
+  static {
+    Map<String, String> directionToHeading = new HashMap<>();
+    directionToHeading.put("N", "U");
+    directionToHeading.put("S", "D");
+    directionToHeading.put("E", "R");
+    directionToHeading.put("W", "L");
+    DIRECTION_TO_HEADING = Collections.unmodifiableMap(directionToHeading);
+  }
+
+  private final CommandReader reader;
   private final Appendable out;
+  private final BufferedSink sink;
+  private final boolean isQuiet;
 
   /**
    * Constructs an instance of the dungeon console controller.
@@ -32,11 +47,37 @@ public class DungeonConsoleController implements DungeonController {
   public DungeonConsoleController(Readable in, Appendable out, Random random) {
     performChecks(in, out, random);
 
-    this.scanner = new Scanner(in);
+    this.reader = new ScannerCommandReader(in);
     this.out = out;
+    this.sink = null;
+    this.isQuiet = false;
   }
 
-  private void performChecks(Readable in, Appendable out, Random random) {
+  /**
+   * Constructs an instance of the dungeon console controller which replays a script of
+   * commands. The commands are read in large blocks from the channel and the output is
+   * buffered and written out in large blocks, the game ends when the script runs out of
+   * commands.
+   *
+   * @param in      the channel to read the commands from
+   * @param out     the output stream to write to
+   * @param random  the random number generator to use
+   * @param isQuiet if true then the banner and the description of the room after each turn
+   *                are not written
+   * @throws IllegalArgumentException if in is null, or out is null, or random
+   *                                  is null
+   */
+  public DungeonConsoleController(ReadableByteChannel in, Appendable out, Random random,
+                                  boolean isQuiet) {
+    performChecks(in, out, random);
+
+    this.reader = new ChannelTokenizer(in);
+    this.sink = new BufferedSink(out);
+    this.out = this.sink;
+    this.isQuiet = isQuiet;
+  }
+
+  private void performChecks(Object in, Appendable out, Random random) {
     ValueSanity.checkNull("Readable instance", in);
     ValueSanity.checkNull("Appendable instance", out);
     ValueSanity.checkNull("Random instance", random);
@@ -52,15 +93,7 @@ public class DungeonConsoleController implements DungeonController {
     }
   }
 
-  /**
-   * Starts the dungeon game with a dungeon instance and a player which actually plays
-   * the game.
-   *
-   * @param dungeon the dungeon instance
-   * @param player  the player instance
-   */
-  @Override
-  public void playGame(Dungeon dungeon, Player player) {
+  private void appendBanner() {
     appendWithException("\n"
             +
             "█████████████████████████████████████████████████████████████████████████████████████"
@@ -89,17 +122,31 @@ public class DungeonConsoleController implements DungeonController {
             + "░░░░░░░░░░░░█░░░░░░░░░░░░░░█░░░░░░██████████░░░░░░█\n"
             + "██████████████████████████████████████████████████████████████████████"
             + "████████████████████████████████████████████████████\n");
+  }
 
+  /**
+   * Starts the dungeon game with a dungeon instance and a player which actually plays
+   * the game.
+   *
+   * @param dungeon the dungeon instance
+   * @param player  the player instance
+   */
+  @Override
+  public void playGame(Dungeon dungeon, Player player) {
+    if (!isQuiet) {
+      appendBanner();
+    }
 
-    List<Object> dungeonConfig = dungeon.getDungeonConfig();
+    DungeonConfig dungeonConfig = dungeon.getDungeonConfig();
     appendWithException("Dungeon has the following configuration: ", "\n");
-    appendWithException("Number of rows: " + dungeonConfig.get(0), "\n");
-    appendWithException("Number of columns: " + dungeonConfig.get(1), "\n");
-    appendWithException("Interconnectivity: " + dungeonConfig.get(2), "\n");
-    appendWithException("Is dungeon wrapping? " + dungeonConfig.get(3), "\n");
+    appendWithException("Number of rows: " + dungeonConfig.numRows(), "\n");
+    appendWithException("Number of columns: " + dungeonConfig.numCols(), "\n");
+    appendWithException("Interconnectivity: " + dungeonConfig.interconnectivity(), "\n");
+    appendWithException("Is dungeon wrapping? " + dungeonConfig.isWrapping(), "\n");
     appendWithException("Percentage of caves with treasures: "
-            + ((float) dungeonConfig.get(4)) * 100, "\n");
-    appendWithException("Force the interconnectivity range? " + dungeonConfig.get(5), "\n");
+            + dungeonConfig.percentCavesWithTreasure() * 100, "\n");
+    appendWithException("Force the interconnectivity range? "
+            + dungeonConfig.isForceInterconnectivityRange(), "\n");
 
     player.enterPlayerToDungeon(dungeon);
 
@@ -108,15 +155,20 @@ public class DungeonConsoleController implements DungeonController {
 
     String move = "";
     while (!dungeon.hasReachedEndNode() && !player.isPlayerDead()) {
-      appendWithException("\n");
-      appendWithException(dungeon.getCurrentPositionPlayer().getRoomDescription());
-      appendWithException("\n");
+      if (!isQuiet) {
+        appendWithException("\n");
+        appendWithException(dungeon.getCurrentPositionPlayer().getRoomDescription());
+        appendWithException("\n");
+      }
 
       appendWithException("\nMove, Pickup, or Shoot (M-P-S)? ");
       try {
-        move = scanner.next();
+        move = reader.next();
       } catch (NoSuchElementException e) {
         appendWithException("No more inputs to parse!");
+        if (sink != null) {
+          break;
+        }
       }
 
       switch (move) {
@@ -124,7 +176,7 @@ public class DungeonConsoleController implements DungeonController {
           appendWithException("Where to? ");
           String direction = "";
           try {
-            direction = scanner.next();
+            direction = reader.next();
           } catch (NoSuchElementException e) {
             appendWithException("No more inputs to parse!");
           }
@@ -173,7 +225,7 @@ public class DungeonConsoleController implements DungeonController {
           appendWithException("What? ");
           String item = "";
           try {
-            item = scanner.next().toUpperCase();
+            item = reader.next().toUpperCase();
           } catch (NoSuchElementException e) {
             appendWithException("No more inputs to parse!");
           }
@@ -185,7 +237,7 @@ public class DungeonConsoleController implements DungeonController {
               try {
                 player.pickUpTreasure(dungeon, item);
                 appendWithException("You pick up a ", item, "\n");
-              } catch (IllegalArgumentException e) {
+              } catch (IllegalArgumentException | UnsupportedOperationException e) {
                 appendWithException("\u001B[31mError: \u001B[0m" + e.getMessage(), "\n");
               }
               break;
@@ -209,33 +261,27 @@ public class DungeonConsoleController implements DungeonController {
           appendWithException("No. of caves? ");
           int distance = 0;
           try {
-            distance = scanner.nextInt();
+            distance = reader.nextInt();
           } catch (NoSuchElementException e) {
             appendWithException("No more inputs to parse!");
           }
           appendWithException("Where to? ");
           String direction = "";
           try {
-            direction = scanner.next();
+            direction = reader.next();
           } catch (NoSuchElementException e) {
             appendWithException("No more inputs to parse!");
           }
 
-          Map<String, String> directionToHeading = new HashMap<>();
-          directionToHeading.put("N", "U");
-          directionToHeading.put("S", "D");
-          directionToHeading.put("E", "R");
-          directionToHeading.put("W", "L");
-
-          if (directionToHeading.containsKey(direction)) {
+          if (DIRECTION_TO_HEADING.containsKey(direction)) {
             int arrowShootResult;
             try {
-              arrowShootResult = player.shootArrow(dungeon, directionToHeading.get(direction),
-                      distance).get(2);
+              arrowShootResult = player.shootArrow(dungeon, DIRECTION_TO_HEADING.get(direction),
+                      distance).getOutcome();
 
-              if (arrowShootResult == 1) {
+              if (arrowShootResult == ShotResult.KILLED) {
                 appendWithException("You killed the Otyugh", "\n");
-              } else if (arrowShootResult == 0) {
+              } else if (arrowShootResult == ShotResult.INJURED) {
                 appendWithException("You shot the Otyugh, shoot it again to kill", "\n");
               } else {
                 appendWithException("You shot an arrow into darkness", "\n");
@@ -258,12 +304,20 @@ public class DungeonConsoleController implements DungeonController {
     if (player.isPlayerDead()) {
       appendWithException("\nChomp, chomp, chomp, you are eaten by an Otyugh!", "\n");
       appendWithException("Better luck next time", "\n");
-    } else {
+    } else if (dungeon.hasReachedEndNode()) {
       appendWithException("\nCongratulations you have reached the end of the dungeon", "\n");
       appendWithException("Here are your treasure collections: ", "\n");
       appendWithException(player.getPlayerTreasures(), "\n");
       appendWithException("You are left with: \n", player.getPlayerArrows(), "\n");
     }
+
+    if (sink != null) {
+      try {
+        sink.flush();
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Failed to append!");
+      }
+    }
   }
 
   /**
@@ -2,6 +2,9 @@ package controller;
 
 import java.util.List;
 
+import dungeongame.DungeonConfig;
+import dungeongame.ShotResult;
+
 /**
  * Representation of a dungeon controller with a GUI view.
  */
@@ -34,7 +37,7 @@ public interface DungeonControllerWView extends DungeonController {
    * Returns the current dungeon's configuration.
    * @return the current dungeon's configuration
    */
-  List<Object> getDungeonConfig();
+  DungeonConfig getDungeonConfig();
 
   /**
    * Creates a new random dungeon from the given configuration.
@@ -58,7 +61,7 @@ public interface DungeonControllerWView extends DungeonController {
    * @param distance the distance to shoot the arrow
    * @return the result of the shooting
    */
-  List<Integer> shoot(String direction, int distance);
+  ShotResult shoot(String direction, int distance);
 
   /**
    * Checks if the dungeon is wrapping or not.
@@ -150,6 +153,14 @@ public interface DungeonControllerWView extends DungeonController {
    */
   void clickAndMove(int r, int c);
 
+  /**
+   * Checks if the player can keep following a route, which is not the case once the player
+   * is dead, has reached the end of the dungeon or smells an otyugh nearby.
+   *
+   * @return true if it is safe to take the next step of a route, false otherwise
+   */
+  boolean canContinueRoute();
+
   /**
    * Check if the otyugh at position is hit with a single arrow or not.
    *
@@ -7,9 +7,12 @@ import java.util.Map;
 import java.util.Random;
 
 import dungeongame.Dungeon;
+import dungeongame.DungeonConfig;
 import dungeongame.DungeonImpl;
 import dungeongame.Player;
 import dungeongame.PlayerImpl;
+import dungeongame.ShotResult;
+import dungeongame.TreasureMap;
 import dungeongame.Yugoloth;
 import node.Node;
 import view.DungeonView;
@@ -24,9 +27,13 @@ public class DungeonSwingController implements DungeonControllerWView {
   private final DungeonView view;
   private final Random random;
   private String playerName;
-  private DungeonConfig currentDungeonConfig;
+  private InitialDungeon initialDungeon;
+  private int playerI;
+  private int playerJ;
+  private int endNodeI;
+  private int endNodeJ;
 
-  private static class DungeonConfig {
+  private static class InitialDungeon {
     private final Node[][] maze;
     private final Node startNode;
     private final Node endNode;
@@ -37,7 +44,7 @@ public class DungeonSwingController implements DungeonControllerWView {
     private final Node thiefPosition;
     private final Node pitPosition;
 
-    public DungeonConfig(Dungeon dungeon) {
+    public InitialDungeon(Dungeon dungeon) {
       this.maze = dungeon.getInitialMaze();
       this.startNode = dungeon.getStartNode();
       this.endNode = dungeon.getEndNode();
@@ -64,7 +71,9 @@ public class DungeonSwingController implements DungeonControllerWView {
     this.view = view;
     this.random = random;
 
-    this.currentDungeonConfig = new DungeonConfig(dungeon);
+    this.initialDungeon = new InitialDungeon(dungeon);
+    this.endNodeI = dungeon.getEndNodeI();
+    this.endNodeJ = dungeon.getEndNodeJ();
   }
 
   /**
@@ -79,92 +88,14 @@ public class DungeonSwingController implements DungeonControllerWView {
     throw new UnsupportedOperationException("Console mode not available in GUI!");
   }
 
-  private List<List<NodeType>> getNodeTypeFromMaze(Node[][] maze) {
+  private List<List<NodeType>> getNodeTypes() {
     List<List<NodeType>> nodeTypes = new ArrayList<>();
     List<NodeType> row;
-    List<String> neighbours;
-
-    for (Node[] nodes : maze) {
-      row = new ArrayList<>();
-      for (Node node : nodes) {
-        if (node.getType().equals("C")) {
-          neighbours = new ArrayList<>();
-          if (node.getTopNode() != null) {
-            neighbours.add("N");
-          }
-          if (node.getBottomNode() != null) {
-            neighbours.add("S");
-          }
-          if (node.getLeftNode() != null) {
-            neighbours.add("W");
-          }
-          if (node.getRightNode() != null) {
-            neighbours.add("E");
-          }
-
-          if (neighbours.size() == 1) {
-            switch (neighbours.get(0)) {
-              case "N":
-                row.add(NodeType.CAVE_N);
-                break;
-              case "S":
-                row.add(NodeType.CAVE_S);
-                break;
-              case "W":
-                row.add(NodeType.CAVE_W);
-                break;
-              case "E":
-                row.add(NodeType.CAVE_E);
-                break;
-              default:
-                break;
-            }
-          } else if (neighbours.size() == 3) {
-            if (neighbours.contains("N") && neighbours.contains("S") && neighbours.contains("E")) {
-              row.add(NodeType.CAVE_NSE);
-            } else if (neighbours.contains("N") && neighbours.contains("S")
-                    && neighbours.contains("W")) {
-              row.add(NodeType.CAVE_NSW);
-            } else if (neighbours.contains("S") && neighbours.contains("E")
-                    && neighbours.contains("W")) {
-              row.add(NodeType.CAVE_SEW);
-            } else if (neighbours.contains("N") && neighbours.contains("E")
-                    && neighbours.contains("W")) {
-              row.add(NodeType.CAVE_NEW);
-            }
-          } else if (neighbours.size() == 4) {
-            row.add(NodeType.CAVE_NSEW);
-          }
-        } else if (node.getType().equals("T")) {
-          neighbours = new ArrayList<>();
-
-          if (node.getTopNode() != null) {
-            neighbours.add("N");
-          }
-          if (node.getBottomNode() != null) {
-            neighbours.add("S");
-          }
-          if (node.getLeftNode() != null) {
-            neighbours.add("W");
-          }
-          if (node.getRightNode() != null) {
-            neighbours.add("E");
-          }
-
-          if (neighbours.contains("N") && neighbours.contains("S")) {
-            row.add(NodeType.TUNNEL_NS);
-          } else if (neighbours.contains("E") && neighbours.contains("W")) {
-            row.add(NodeType.TUNNEL_EW);
-          } else if (neighbours.contains("N") && neighbours.contains("E")) {
-            row.add(NodeType.TUNNEL_NE);
-          } else if (neighbours.contains("N") && neighbours.contains("W")) {
-            row.add(NodeType.TUNNEL_NW);
-          } else if (neighbours.contains("S") && neighbours.contains("E")) {
-            row.add(NodeType.TUNNEL_SE);
-          } else if (neighbours.contains("S") && neighbours.contains("W")) {
-            row.add(NodeType.TUNNEL_SW);
-          }
-        }
+
+    for (int[] doorMasks : this.dungeon.getDoorMasks()) {
+      row = new ArrayList<>(doorMasks.length);
+      for (int doorMask : doorMasks) {
+        row.add(NodeType.fromDoorMask(doorMask));
       }
 
       nodeTypes.add(row);
@@ -173,26 +104,21 @@ public class DungeonSwingController implements DungeonControllerWView {
     return nodeTypes;
   }
 
-  private void addSmellToNode() {
-    Node[][] maze = dungeon.getMaze();
-
-    String roomDescription = this.dungeon.getCurrentPositionPlayer().getRoomDescription();
-    int playerI = -1;
-    int playerJ = -1;
-    for (int i = 0; i < maze.length; i++) {
-      for (int j = 0; j < maze[i].length; j++) {
-        if (maze[i][j].getNodeName()
-                .equals(this.dungeon.getCurrentPositionPlayer().getNodeName())) {
-          playerI = i;
-          playerJ = j;
-        }
-      }
-    }
+  private void syncPlayerPosition() {
+    this.playerI = this.dungeon.getPlayerNodeI();
+    this.playerJ = this.dungeon.getPlayerNodeJ();
+  }
+
+  private boolean isPlayerAt(int i, int j) {
+    return this.playerI == i && this.playerJ == j;
+  }
 
-    if (roomDescription.contains("You smell a pungent smell")) {
-      this.view.addSmellToNode(playerI, playerJ, "weak");
-    } else if (roomDescription.contains("You smell a strong pungent smell")) {
-      this.view.addSmellToNode(playerI, playerJ, "strong");
+  private void addSmellToNode() {
+    String smell = this.dungeon.getSmellAtPlayer();
+    if (smell.equals("WEAK")) {
+      this.view.addSmellToNode(this.playerI, this.playerJ, "weak");
+    } else if (smell.equals("STRONG")) {
+      this.view.addSmellToNode(this.playerI, this.playerJ, "strong");
     }
   }
 
@@ -203,12 +129,12 @@ public class DungeonSwingController implements DungeonControllerWView {
   @Override
   public void playGuiGame() {
     this.view.refresh();
-    Node[][] maze = this.dungeon.getMaze();
-    this.view.addNodeTypes(getNodeTypeFromMaze(maze));
+    this.view.addNodeTypes(getNodeTypes());
     this.view.makeVisible();
     this.view.makeNonResizable();
 
     this.view.addPlayerToNode(this.dungeon.getStartNodeI(), this.dungeon.getStartNodeJ());
+    syncPlayerPosition();
 
     List<Integer> otyughNodeIs = this.dungeon.getOtyughNodeIs();
     List<Integer> otyughNodeJs = this.dungeon.getOtyughNodeJs();
@@ -217,18 +143,17 @@ public class DungeonSwingController implements DungeonControllerWView {
       this.view.addOtyughToNode(otyughNodeIs.get(i), otyughNodeJs.get(i));
     }
 
-    Map<List<Integer>, List<String>> treasureAndLocations = this.dungeon.getTreasureAndLocations();
-    for (Map.Entry<List<Integer>, List<String>> entry : treasureAndLocations.entrySet()) {
-      List<Integer> treasureLocation = entry.getKey();
-      List<String> treasures = entry.getValue();
-
-      this.view.addTreasureToNode(treasureLocation.get(0), treasureLocation.get(1), treasures);
+    TreasureMap treasureAndLocations = this.dungeon.getTreasureAndLocations();
+    for (int cave = 0; cave < treasureAndLocations.size(); cave++) {
+      this.view.addTreasureToNode(treasureAndLocations.getRow(cave),
+              treasureAndLocations.getCol(cave), treasureAndLocations.getTreasures(cave));
     }
 
-    for (int i = 0; i < maze.length; i++) {
-      for (int j = 0; j < maze[i].length; j++) {
-        if (maze[i][j].getNumArrows() > 0) {
-          this.view.addArrowsToNode(i, j, maze[i][j].getNumArrows());
+    int[][] arrowCounts = this.dungeon.getArrowCounts();
+    for (int i = 0; i < arrowCounts.length; i++) {
+      for (int j = 0; j < arrowCounts[i].length; j++) {
+        if (arrowCounts[i][j] > 0) {
+          this.view.addArrowsToNode(i, j, arrowCounts[i][j]);
         }
       }
     }
@@ -243,21 +168,15 @@ public class DungeonSwingController implements DungeonControllerWView {
     int thiefJ = this.dungeon.getThiefNodeJ();
     this.view.addThiefToNode(thiefI, thiefJ);
 
+    addRoamingMonstersToView();
+
     int pitI = this.dungeon.getPitNodeI();
     int pitJ = this.dungeon.getPitNodeJ();
     this.view.addPitToNode(pitI, pitJ);
 
-    int endNodeI = -1;
-    int endNodeJ = -1;
-    for (int i = 0; i < maze.length; i++) {
-      for (int j = 0; j < maze[i].length; j++) {
-        if (maze[i][j].getNodeName().equals(this.dungeon.getEndNode().getNodeName())) {
-          endNodeI = i;
-          endNodeJ = j;
-        }
-      }
-    }
-    this.view.markEndNode(endNodeI, endNodeJ);
+    this.endNodeI = this.dungeon.getEndNodeI();
+    this.endNodeJ = this.dungeon.getEndNodeJ();
+    this.view.markEndNode(this.endNodeI, this.endNodeJ);
 
     this.view.uncoverNode(this.dungeon.getStartNodeI(), this.dungeon.getStartNodeJ());
 
@@ -265,22 +184,8 @@ public class DungeonSwingController implements DungeonControllerWView {
   }
 
   private void removeSmellFromNode(boolean forced) {
-    Node currentPlayerPosition = this.dungeon.getCurrentPositionPlayer();
-    if (currentPlayerPosition.getRoomDescription().contains("smell") || forced) {
-      int playerI = -1;
-      int playerJ = -1;
-
-      for (int i = 0; i < this.dungeon.getMaze().length; i++) {
-        for (int j = 0; j < this.dungeon.getMaze()[i].length; j++) {
-          if (this.dungeon.getMaze()[i][j].getNodeName()
-                  .equals(currentPlayerPosition.getNodeName())) {
-            playerI = i;
-            playerJ = j;
-          }
-        }
-      }
-
-      this.view.removeSmellFromNode(playerI, playerJ);
+    if (forced || !this.dungeon.getSmellAtPlayer().equals("NONE")) {
+      this.view.removeSmellFromNode(this.playerI, this.playerJ);
     }
   }
 
@@ -293,6 +198,7 @@ public class DungeonSwingController implements DungeonControllerWView {
   @Override
   public boolean move(String direction) {
     boolean movedSuccessfully = true;
+    syncPlayerPosition();
 
     // Remove smell from current node if any
     removeSmellFromNode(true);
@@ -334,13 +240,13 @@ public class DungeonSwingController implements DungeonControllerWView {
         throw new IllegalArgumentException("Invalid direction");
     }
 
+    syncPlayerPosition();
     if (this.player.isPlayerDead()) {
       killPlayer();
     }
 
     if (this.dungeon.getYugolothPosition() != null
-            && this.dungeon.getYugolothPosition().getNodeName()
-            .equals(this.dungeon.getCurrentPositionPlayer().getNodeName())) {
+            && isPlayerAt(this.dungeon.getYugolothNodeI(), this.dungeon.getYugolothNodeJ())) {
       this.view.stopYugolothMovement();
       if (this.dungeon.handToHandBattle()) {
         this.killPlayer();
@@ -349,23 +255,23 @@ public class DungeonSwingController implements DungeonControllerWView {
       }
     }
 
+    encounterRoamingMonsters();
+
     addSmellToNode();
 
     if (this.dungeon.getThiefPosition() != null
-            && this.dungeon.getThiefPosition().getNodeName()
-            .equals(this.dungeon.getCurrentPositionPlayer().getNodeName())) {
-      this.player.treasureStolen();
+            && isPlayerAt(this.dungeon.getThiefNodeI(), this.dungeon.getThiefNodeJ())) {
+      this.dungeon.stealTreasureAtPlayer();
       this.view.displayDialog("Success!", "All your treasure has been stolen!");
     }
 
     if (this.dungeon.getPitPosition() != null
-            && this.dungeon.getPitPosition().getNodeName()
-            .equals(this.dungeon.getCurrentPositionPlayer().getNodeName())) {
+            && isPlayerAt(this.dungeon.getPitNodeI(), this.dungeon.getPitNodeJ())) {
+      this.dungeon.fallIntoPit();
       this.killPlayer();
     }
 
-    if (this.dungeon.getEndNode().getNodeName()
-            .equals(this.dungeon.getCurrentPositionPlayer().getNodeName())) {
+    if (isPlayerAt(this.endNodeI, this.endNodeJ)) {
       this.view.displayDialog("Success!", "You have reached the end of the dungeon!");
       this.view.stopYugolothMovement();
       this.view.disableActions();
@@ -383,9 +289,9 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public boolean hasItemAtLocation(int i, int j) {
-    Node[][] maze = this.dungeon.getMaze();
-    return (maze[i][j].getType().equals("C") && maze[i][j].getTreasures().size() > 0)
-            || (maze[i][j].getNumArrows() > 0);
+    Node node = this.dungeon.getNodeAt(i, j);
+    return (node.getType().equals("C") && node.getNumTreasures() > 0)
+            || (node.getNumArrows() > 0);
   }
 
   /**
@@ -408,7 +314,7 @@ public class DungeonSwingController implements DungeonControllerWView {
    * @return the current dungeon's configuration
    */
   @Override
-  public List<Object> getDungeonConfig() {
+  public DungeonConfig getDungeonConfig() {
     return this.dungeon.getDungeonConfig();
   }
 
@@ -439,7 +345,7 @@ public class DungeonSwingController implements DungeonControllerWView {
 
     startWithNewDungeon();
 
-    this.currentDungeonConfig = new DungeonConfig(dungeon);
+    this.initialDungeon = new InitialDungeon(dungeon);
   }
 
   /**
@@ -450,9 +356,10 @@ public class DungeonSwingController implements DungeonControllerWView {
    * @return the result of the shooting
    */
   @Override
-  public List<Integer> shoot(String direction, int distance) {
-    List<Integer> result = this.player.shootArrow(this.dungeon, direction, distance);
-    if (result.get(2) == 1) {
+  public ShotResult shoot(String direction, int distance) {
+    syncPlayerPosition();
+    ShotResult result = this.player.shootArrow(this.dungeon, direction, distance);
+    if (result.getOutcome() == ShotResult.KILLED) {
       removeSmellFromNode(true);
     }
 
@@ -476,7 +383,7 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public int getDungeonHeight() {
-    return (int) this.dungeon.getDungeonConfig().get(0);
+    return this.dungeon.getDungeonConfig().numRows();
   }
 
   /**
@@ -486,7 +393,7 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public int getDungeonWidth() {
-    return (int) this.dungeon.getDungeonConfig().get(1);
+    return this.dungeon.getDungeonConfig().numCols();
   }
 
   /**
@@ -582,8 +489,7 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public String hasSmell() {
-    return this.dungeon.getCurrentPositionPlayer().getRoomDescription().contains("smell")
-            ? "YES" : "NO";
+    return this.dungeon.getSmellAtPlayer().equals("NONE") ? "NO" : "YES";
   }
 
   /**
@@ -611,20 +517,28 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public void moveMonsters() {
-    int yugolothNodeI = this.dungeon.getYugolothNodeI();
-    int yugolothNodeJ = this.dungeon.getYugolothNodeJ();
+    syncPlayerPosition();
+    removeRoamingMonstersFromView();
+    this.dungeon.moveRoamingMonsters();
 
-    this.view.removeYugolothFromNode(yugolothNodeI, yugolothNodeJ);
+    if (this.dungeon.getYugolothPosition() != null) {
+      int yugolothNodeI = this.dungeon.getYugolothNodeI();
+      int yugolothNodeJ = this.dungeon.getYugolothNodeJ();
+
+      this.view.removeYugolothFromNode(yugolothNodeI, yugolothNodeJ);
 
-    this.dungeon.moveYugoloth();
+      this.dungeon.moveYugoloth();
 
-    yugolothNodeI = this.dungeon.getYugolothNodeI();
-    yugolothNodeJ = this.dungeon.getYugolothNodeJ();
+      yugolothNodeI = this.dungeon.getYugolothNodeI();
+      yugolothNodeJ = this.dungeon.getYugolothNodeJ();
+
+      this.view.addYugolothToNode(yugolothNodeI, yugolothNodeJ);
+    }
 
-    this.view.addYugolothToNode(yugolothNodeI, yugolothNodeJ);
+    addRoamingMonstersToView();
 
-    if (this.dungeon.getYugolothPosition().getNodeName()
-            .equals(this.dungeon.getCurrentPositionPlayer().getNodeName())) {
+    if (this.dungeon.getYugolothPosition() != null
+            && isPlayerAt(this.dungeon.getYugolothNodeI(), this.dungeon.getYugolothNodeJ())) {
       this.view.stopYugolothMovement();
       if (this.dungeon.handToHandBattle()) {
         killPlayer();
@@ -632,6 +546,8 @@ public class DungeonSwingController implements DungeonControllerWView {
         killYugoloth();
       }
     }
+
+    encounterRoamingMonsters();
   }
 
   private void killYugoloth() {
@@ -640,6 +556,67 @@ public class DungeonSwingController implements DungeonControllerWView {
     this.dungeon.killYugoloth();
     this.view.removeYugolothFromNode(yugolothNodeI, yugolothNodeJ);
     this.view.displayDialog("Success!", "You killed the Yugoloth!");
+
+    if (this.dungeon.getNumRoamingMonsters() > 0) {
+      this.view.asyncMoveYugoloth();
+    }
+  }
+
+  private void addRoamingMonstersToView() {
+    int numRoamingMonsters = this.dungeon.getNumRoamingMonsters();
+    if (numRoamingMonsters == 0) {
+      return;
+    }
+
+    for (int idx = 0; idx < numRoamingMonsters; idx++) {
+      if (this.dungeon.getRoamingMonsterType(idx).equals("YUGOLOTH")) {
+        this.view.addYugolothToNode(this.dungeon.getRoamingMonsterNodeI(idx),
+                this.dungeon.getRoamingMonsterNodeJ(idx));
+      } else {
+        this.view.addThiefToNode(this.dungeon.getRoamingMonsterNodeI(idx),
+                this.dungeon.getRoamingMonsterNodeJ(idx));
+      }
+    }
+
+    // Roaming monsters share markers with the stationary thief and the yugoloth,
+    // so make sure those are not lost when a roaming monster leaves their location.
+    this.view.addThiefToNode(this.dungeon.getThiefNodeI(), this.dungeon.getThiefNodeJ());
+    if (this.dungeon.getYugolothPosition() != null) {
+      this.view.addYugolothToNode(this.dungeon.getYugolothNodeI(),
+              this.dungeon.getYugolothNodeJ());
+    }
+  }
+
+  private void removeRoamingMonstersFromView() {
+    for (int idx = 0; idx < this.dungeon.getNumRoamingMonsters(); idx++) {
+      if (this.dungeon.getRoamingMonsterType(idx).equals("YUGOLOTH")) {
+        this.view.removeYugolothFromNode(this.dungeon.getRoamingMonsterNodeI(idx),
+                this.dungeon.getRoamingMonsterNodeJ(idx));
+      } else {
+        this.view.removeThiefFromNode(this.dungeon.getRoamingMonsterNodeI(idx),
+                this.dungeon.getRoamingMonsterNodeJ(idx));
+      }
+    }
+  }
+
+  private void encounterRoamingMonsters() {
+    while (!this.player.isPlayerDead() && this.dungeon.getNumRoamingYugolothsAtPlayer() > 0) {
+      this.view.stopYugolothMovement();
+      if (this.dungeon.handToHandBattle()) {
+        killPlayer();
+      } else {
+        removeRoamingMonstersFromView();
+        this.dungeon.killRoamingYugolothAtPlayer();
+        addRoamingMonstersToView();
+        this.view.displayDialog("Success!", "You killed a roaming Yugoloth!");
+        this.view.asyncMoveYugoloth();
+      }
+    }
+
+    if (!this.player.isPlayerDead() && this.dungeon.getNumRoamingThievesAtPlayer() > 0) {
+      this.dungeon.stealTreasureAtPlayer();
+      this.view.displayDialog("Success!", "All your treasure has been stolen!");
+    }
   }
 
   /**
@@ -650,41 +627,34 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public void clickAndMove(int r, int c) {
-    Node currentPositionPlayer = this.dungeon.getCurrentPositionPlayer();
-    Node[][] maze = this.dungeon.getMaze();
-
-    int currentPlayerI = -1;
-    int currentPlayerJ = -1;
-    for (int i = 0; i < maze.length; i++) {
-      for (int j = 0; j < maze[i].length; j++) {
-        if (maze[i][j].getNodeName().equals(currentPositionPlayer.getNodeName())) {
-          currentPlayerI = i;
-          currentPlayerJ = j;
-        }
-      }
+    List<String> route;
+    try {
+      route = this.dungeon.getRouteToLocation(r, c);
+    } catch (IllegalArgumentException e) {
+      this.view.displayDialog("Error!", "Cannot find a route to this node through the"
+              + " uncovered part of the dungeon.");
+      return;
     }
 
-    int manhattanDistance = Math.abs(currentPlayerI - r) + Math.abs(currentPlayerJ - c);
-
-    if (manhattanDistance != 1) {
-      this.view.displayDialog("Error!", "Cannot move to a node that is farther than" +
-              " 1 step away from the current position.");
-    } else {
-      int rowDiff = currentPlayerI - r;
-      int colDiff = currentPlayerJ - c;
-
-      if (rowDiff < 0) {
-        this.view.moveInDirection("D");
-      } else if (rowDiff > 0) {
-        this.view.moveInDirection("U");
-      } else if (colDiff < 0) {
-        this.view.moveInDirection("R");
-      } else if (colDiff > 0) {
-        this.view.moveInDirection("L");
-      }
+    if (route.size() == 1) {
+      this.view.moveInDirection(route.get(0));
+    } else if (route.size() > 1) {
+      this.view.followRoute(route);
     }
   }
 
+  /**
+   * Checks if the player can keep following a route, which is not the case once the player
+   * is dead, has reached the end of the dungeon or smells an otyugh nearby.
+   *
+   * @return true if it is safe to take the next step of a route, false otherwise
+   */
+  @Override
+  public boolean canContinueRoute() {
+    return !this.player.isPlayerDead() && !this.dungeon.hasReachedEndNode()
+            && this.dungeon.getSmellAtPlayer().equals("NONE");
+  }
+
   /**
    * Check if the otyugh at position is hit with a single arrow or not.
    *
@@ -694,8 +664,8 @@ public class DungeonSwingController implements DungeonControllerWView {
    */
   @Override
   public boolean isOtyughHit(int r, int c) {
-    Node node = this.dungeon.getMaze()[r][c];
-    return node.getOtyugh() != null && node.getOtyugh().isHit();
+    Node node = this.dungeon.getNodeAt(r, c);
+    return node.hasOtyugh() && node.getOtyughHealth() == 50;
   }
 
   /**
@@ -705,12 +675,12 @@ public class DungeonSwingController implements DungeonControllerWView {
   public void restartGame() {
     this.view.stopYugolothMovement();
 
-    this.dungeon = new DungeonImpl(this.currentDungeonConfig.maze,
-            this.currentDungeonConfig.startNode.getNodeName(),
-            this.currentDungeonConfig.endNode.getNodeName(), this.currentDungeonConfig.isWrapping,
-            this.currentDungeonConfig.numOtyughs, this.currentDungeonConfig.yugolothPosition,
-            this.currentDungeonConfig.yugoloth, this.currentDungeonConfig.thiefPosition,
-            this.currentDungeonConfig.pitPosition,
+    this.dungeon = new DungeonImpl(this.initialDungeon.maze,
+            this.initialDungeon.startNode.getNodeName(),
+            this.initialDungeon.endNode.getNodeName(), this.initialDungeon.isWrapping,
+            this.initialDungeon.numOtyughs, this.initialDungeon.yugolothPosition,
+            this.initialDungeon.yugoloth, this.initialDungeon.thiefPosition,
+            this.initialDungeon.pitPosition,
             this.random);
 
     startWithNewDungeon();
@@ -0,0 +1,24 @@
+package controller;
+
+import java.util.Scanner;
+
+/*
+  Interactive command reader, a thin wrapper around a Scanner.
+ */
+final class ScannerCommandReader implements CommandReader {
+  private final Scanner scanner;
+
+  ScannerCommandReader(Readable in) {
+    this.scanner = new Scanner(in);
+  }
+
+  @Override
+  public String next() {
+    return scanner.next();
+  }
+
+  @Override
+  public int nextInt() {
+    return scanner.nextInt();
+  }
+}
@@ -0,0 +1,51 @@
+package dungeongame;
+
+import java.util.Random;
+
+/*
+  Recursive backtracker: walks from a random cell to a random neighbour it has not visited,
+  carving the way, and backs up to the last cell with a neighbour left to visit when it gets
+  stuck. The walk is kept on an explicit stack of cell ids instead of the call stack, so it
+  never overflows however large the dungeon is. Mazes have long winding corridors and few
+  dead ends.
+ */
+final class BacktrackerMaze implements MazeGenerator {
+  @Override
+  public void generate(MazeGrid grid, Random random) {
+    int numCells = grid.getNumCells();
+    boolean[] visited = new boolean[numCells];
+    int[] stack = new int[numCells];
+    int[] directions = new int[CellGraph.NUM_DIRECTIONS];
+    int top = 0;
+
+    int start = random.nextInt(numCells);
+    visited[start] = true;
+    stack[top++] = start;
+
+    int cell;
+    int next;
+    int numDirections;
+    int direction;
+    while (top > 0) {
+      cell = stack[top - 1];
+      numDirections = 0;
+      for (direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        next = grid.neighbour(cell, direction);
+        if (next != -1 && !visited[next]) {
+          directions[numDirections++] = direction;
+        }
+      }
+
+      if (numDirections == 0) {
+        top--;
+        continue;
+      }
+
+      direction = directions[random.nextInt(numDirections)];
+      next = grid.neighbour(cell, direction);
+      grid.carve(cell, direction);
+      visited[next] = true;
+      stack[top++] = next;
+    }
+  }
+}
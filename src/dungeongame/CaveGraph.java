@@ -0,0 +1,326 @@
+package dungeongame;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/*
+  Corridor compressed view of a CellGraph. Tunnels always have exactly two exits, so every chain
+  of tunnels is a single weighted edge between two caves. For every location and door this stores
+  the first cave reached through that door, the number of steps it takes and the heading with
+  which the cave is entered, which lets arrows, smell and path searches jump whole corridors in
+  one step. It is built once, after the nodes have been cast to caves and tunnels.
+ */
+final class CaveGraph {
+  private static final int UNSET = -2;
+  private static final int NO_CAVE = -1;
+  private static final int INFINITY = Integer.MAX_VALUE;
+
+  private final CellGraph cells;
+  private final int[] targets;
+  private final int[] lengths;
+  private final int[] arrivals;
+
+  private final int[] pathCells;
+  private final int[] pathEntries;
+  private final int[] distances;
+  private final int[] stamps;
+  private final long[] heap;
+  private int epoch;
+  private int heapSize;
+  private long numVisited;
+
+  CaveGraph(CellGraph cells) {
+    int numCells = cells.getNumCells();
+
+    this.cells = cells;
+    this.targets = new int[numCells * CellGraph.NUM_DIRECTIONS];
+    this.lengths = new int[numCells * CellGraph.NUM_DIRECTIONS];
+    this.arrivals = new int[numCells * CellGraph.NUM_DIRECTIONS];
+    this.pathCells = new int[numCells];
+    this.pathEntries = new int[numCells];
+    this.distances = new int[numCells];
+    this.stamps = new int[numCells];
+    this.heap = new long[numCells * CellGraph.NUM_DIRECTIONS + 1];
+    this.epoch = 0;
+
+    Arrays.fill(targets, UNSET);
+
+    // Walk out of every cave first, this fills in the tunnels of each corridor on the way.
+    for (int cell = 0; cell < numCells; cell++) {
+      if (cells.isCave(cell)) {
+        for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+          walk(cell, direction);
+        }
+      }
+    }
+
+    // Anything left over is a door that does not lead back along the corridor it came from.
+    for (int cell = 0; cell < numCells; cell++) {
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        walk(cell, direction);
+      }
+    }
+  }
+
+  static int reverse(int direction) {
+    return direction ^ 1;
+  }
+
+  private int tunnelHeading(int cell, int heading) {
+    if (cells.neighbour(cell, CellGraph.LEFT) != -1 && heading != CellGraph.RIGHT) {
+      return CellGraph.LEFT;
+    } else if (cells.neighbour(cell, CellGraph.RIGHT) != -1 && heading != CellGraph.LEFT) {
+      return CellGraph.RIGHT;
+    } else if (cells.neighbour(cell, CellGraph.UP) != -1 && heading != CellGraph.DOWN) {
+      return CellGraph.UP;
+    } else if (cells.neighbour(cell, CellGraph.DOWN) != -1 && heading != CellGraph.UP) {
+      return CellGraph.DOWN;
+    }
+
+    return -1;
+  }
+
+  private void set(int cell, int direction, int target, int length, int arrival) {
+    targets[cell * CellGraph.NUM_DIRECTIONS + direction] = target;
+    lengths[cell * CellGraph.NUM_DIRECTIONS + direction] = length;
+    arrivals[cell * CellGraph.NUM_DIRECTIONS + direction] = arrival;
+  }
+
+  private void walk(int start, int direction) {
+    if (targets[start * CellGraph.NUM_DIRECTIONS + direction] != UNSET) {
+      return;
+    }
+
+    int current = cells.neighbour(start, direction);
+    if (current == -1) {
+      set(start, direction, NO_CAVE, 0, -1);
+      return;
+    }
+
+    int heading = direction;
+    int steps = 1;
+    int pathLength = 0;
+    int nextHeading;
+    while (!cells.isCave(current) && steps <= cells.getNumCells()) {
+      nextHeading = tunnelHeading(current, heading);
+      if (nextHeading == -1) {
+        break;
+      }
+
+      pathCells[pathLength] = current;
+      pathEntries[pathLength] = heading;
+      pathLength++;
+
+      heading = nextHeading;
+      current = cells.neighbour(current, heading);
+      steps++;
+    }
+
+    if (!cells.isCave(current)) {
+      set(start, direction, NO_CAVE, 0, -1);
+      return;
+    }
+
+    set(start, direction, current, steps, heading);
+
+    int tunnel;
+    int backwards;
+    for (int i = 0; i < pathLength; i++) {
+      tunnel = pathCells[i];
+      set(tunnel, tunnelHeading(tunnel, pathEntries[i]), current, steps - i - 1, heading);
+
+      backwards = reverse(pathEntries[i]);
+      if (cells.isCave(start) && cells.neighbour(tunnel, backwards)
+              == (i == 0 ? start : pathCells[i - 1])) {
+        set(tunnel, backwards, start, i + 1, reverse(direction));
+      }
+    }
+  }
+
+  /*
+    Returns the first cave reached when leaving a location through the given door, or -1 if there
+    is no door there (or no cave can be reached through it).
+   */
+  int target(int cell, int direction) {
+    return targets[cell * CellGraph.NUM_DIRECTIONS + direction];
+  }
+
+  int length(int cell, int direction) {
+    return lengths[cell * CellGraph.NUM_DIRECTIONS + direction];
+  }
+
+  int arrivalHeading(int cell, int direction) {
+    return arrivals[cell * CellGraph.NUM_DIRECTIONS + direction];
+  }
+
+  private int corridorKey(int cell, int direction) {
+    return target(cell, direction) * CellGraph.NUM_DIRECTIONS
+            + reverse(arrivalHeading(cell, direction));
+  }
+
+  private void startSearch(int source) {
+    epoch++;
+    heapSize = 0;
+
+    if (cells.isCave(source)) {
+      relax(source, 0);
+      return;
+    }
+
+    for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+      if (target(source, direction) >= 0) {
+        relax(target(source, direction), length(source, direction));
+      }
+    }
+  }
+
+  private int distanceOf(int cave) {
+    return stamps[cave] == epoch ? distances[cave] : INFINITY;
+  }
+
+  private void relax(int cave, int distance) {
+    if (distance < distanceOf(cave)) {
+      stamps[cave] = epoch;
+      distances[cave] = distance;
+      push(((long) distance << 32) | cave);
+    }
+  }
+
+  private void expand(int cave, int distance, int maxDistance) {
+    int next;
+    int nextDistance;
+    for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+      next = target(cave, direction);
+      if (next >= 0) {
+        nextDistance = distance + length(cave, direction);
+        if (nextDistance <= maxDistance) {
+          relax(next, nextDistance);
+        }
+      }
+    }
+  }
+
+  /*
+    Length of the shortest path between two locations, or -1 if there is none.
+   */
+  int shortestPathLength(int source, int destination) {
+    if (source == destination) {
+      return 0;
+    }
+
+    int best = INFINITY;
+    if (!cells.isCave(source) && !cells.isCave(destination)) {
+      // Both locations can be on the same corridor, in which case there is a direct path.
+      for (int from = 0; from < CellGraph.NUM_DIRECTIONS; from++) {
+        for (int to = 0; to < CellGraph.NUM_DIRECTIONS; to++) {
+          if (target(source, from) >= 0 && target(destination, to) >= 0
+                  && corridorKey(source, from) == corridorKey(destination, to)) {
+            best = Math.min(best, Math.abs(length(source, from) - length(destination, to)));
+          }
+        }
+      }
+    }
+
+    startSearch(source);
+
+    long entry;
+    int cave;
+    int distance;
+    while (heapSize > 0) {
+      entry = pop();
+      cave = (int) entry;
+      distance = (int) (entry >>> 32);
+      if (distance != distanceOf(cave)) {
+        continue;
+      }
+      if (distance >= best) {
+        break;
+      }
+
+      if (cave == destination) {
+        return distance;
+      }
+
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        if (!cells.isCave(destination) && target(destination, direction) == cave) {
+          best = Math.min(best, distance + length(destination, direction));
+        }
+      }
+
+      expand(cave, distance, best == INFINITY ? INFINITY - 1 : best);
+    }
+
+    return best == INFINITY ? -1 : best;
+  }
+
+  /*
+    Counts the caves whose shortest distance from a location is exactly the given distance and
+    that match the filter, the location itself is never counted.
+   */
+  int countCavesAtDistance(int source, int exactDistance, IntPredicate filter) {
+    startSearch(source);
+
+    int count = 0;
+    long entry;
+    int cave;
+    int distance;
+    while (heapSize > 0) {
+      entry = pop();
+      cave = (int) entry;
+      distance = (int) (entry >>> 32);
+      if (distance != distanceOf(cave) || distance > exactDistance) {
+        continue;
+      }
+
+      if (distance == exactDistance && cave != source && filter.test(cave)) {
+        count++;
+      }
+
+      expand(cave, distance, exactDistance);
+    }
+
+    return count;
+  }
+
+  private void push(long entry) {
+    int idx = heapSize++;
+    int parent;
+    while (idx > 0) {
+      parent = (idx - 1) >>> 1;
+      if (heap[parent] <= entry) {
+        break;
+      }
+      heap[idx] = heap[parent];
+      idx = parent;
+    }
+    heap[idx] = entry;
+  }
+
+  /*
+    Returns the number of caves taken off the queue by all searches so far.
+   */
+  long getNumVisited() {
+    return numVisited;
+  }
+
+  private long pop() {
+    numVisited++;
+    long top = heap[0];
+    long last = heap[--heapSize];
+    int idx = 0;
+    int child;
+    while ((child = 2 * idx + 1) < heapSize) {
+      if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+        child++;
+      }
+      if (last <= heap[child]) {
+        break;
+      }
+      heap[idx] = heap[child];
+      idx = child;
+    }
+    heap[idx] = last;
+
+    return top;
+  }
+}
@@ -0,0 +1,118 @@
+package dungeongame;
+
+import node.Node;
+
+/*
+  Index based view of the topology of a maze. Every location is identified by its cell id
+  (row * numCols + col) and the doors of all locations are stored in a single flat array, so
+  that hot loops (monster movement, searches) never have to go through Node references.
+  The topology of a dungeon never changes once it has been cast, so this is built only once.
+ */
+final class CellGraph {
+  static final int UP = 0;
+  static final int DOWN = 1;
+  static final int LEFT = 2;
+  static final int RIGHT = 3;
+  static final int NUM_DIRECTIONS = 4;
+
+  private final int numRows;
+  private final int numCols;
+  private final int[] neighbours;
+  private final boolean[] caves;
+
+  CellGraph(Node[][] graph) {
+    this.numRows = graph.length;
+    this.numCols = graph[0].length;
+    this.neighbours = new int[numRows * numCols * NUM_DIRECTIONS];
+    this.caves = new boolean[numRows * numCols];
+
+    int cell;
+    for (int i = 0; i < numRows; i++) {
+      for (int j = 0; j < numCols; j++) {
+        cell = i * numCols + j;
+        caves[cell] = graph[i][j].getType().equals("C");
+        neighbours[cell * NUM_DIRECTIONS + UP] = cellOf(graph[i][j].getTopNode());
+        neighbours[cell * NUM_DIRECTIONS + DOWN] = cellOf(graph[i][j].getBottomNode());
+        neighbours[cell * NUM_DIRECTIONS + LEFT] = cellOf(graph[i][j].getLeftNode());
+        neighbours[cell * NUM_DIRECTIONS + RIGHT] = cellOf(graph[i][j].getRightNode());
+      }
+    }
+  }
+
+  static String nameOf(int direction) {
+    switch (direction) {
+      case UP:
+        return "U";
+      case DOWN:
+        return "D";
+      case LEFT:
+        return "L";
+      case RIGHT:
+        return "R";
+      default:
+        throw new IllegalArgumentException("Invalid direction!");
+    }
+  }
+
+  static int directionOf(String direction) {
+    switch (direction) {
+      case "U":
+        return UP;
+      case "D":
+        return DOWN;
+      case "L":
+        return LEFT;
+      case "R":
+        return RIGHT;
+      default:
+        throw new IllegalArgumentException("Invalid direction!");
+    }
+  }
+
+  int getNumRows() {
+    return numRows;
+  }
+
+  int getNumCols() {
+    return numCols;
+  }
+
+  int getNumCells() {
+    return numRows * numCols;
+  }
+
+  int cellOf(int i, int j) {
+    return i * numCols + j;
+  }
+
+  int cellOf(Node node) {
+    return node == null ? -1 : node.getId();
+  }
+
+  int rowOf(int cell) {
+    return cell / numCols;
+  }
+
+  int colOf(int cell) {
+    return cell % numCols;
+  }
+
+  int neighbour(int cell, int direction) {
+    return neighbours[cell * NUM_DIRECTIONS + direction];
+  }
+
+  int degree(int cell) {
+    int degree = 0;
+    for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+      if (neighbours[cell * NUM_DIRECTIONS + direction] != -1) {
+        degree++;
+      }
+    }
+
+    return degree;
+  }
+
+  boolean isCave(int cell) {
+    return caves[cell];
+  }
+}
@@ -0,0 +1,40 @@
+package dungeongame;
+
+import java.util.Random;
+
+import node.Node;
+
+class ChaseMove implements MoveStrategy {
+  private final Node[][] graph;
+  private final CellGraph cells;
+  private final FlowField flowField;
+  private final MoveStrategy fallback;
+
+  ChaseMove(Node[][] graph, CellGraph cells, FlowField flowField, Random random) {
+    this.graph = graph;
+    this.cells = cells;
+    this.flowField = flowField;
+    this.fallback = new RandomMove(random);
+  }
+
+  @Override
+  public Node move(Yugoloth yugoloth, Node location) {
+    if (!flowField.hasSources()) {
+      return fallback.move(yugoloth, location);
+    }
+
+    flowField.refresh();
+    int next = flowField.nextStep(cells.cellOf(location));
+    if (next == -1) {
+      return location;
+    }
+
+    if (location.getYugoloth() != null) {
+      location.removeYugoloth();
+    }
+    location = graph[cells.rowOf(next)][cells.colOf(next)];
+    location.placeYugoloth(yugoloth);
+
+    return location;
+  }
+}
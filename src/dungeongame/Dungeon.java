@@ -3,7 +3,6 @@ package dungeongame;
 import node.Node;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * This interface represents a dungeon which contains a maze of caves and tunnels
@@ -38,7 +37,7 @@ public interface Dungeon {
    *
    * @return the configurations used to construct the dungeon
    */
-  List<Object> getDungeonConfig();
+  DungeonConfig getDungeonConfig();
 
   /**
    * Returns the starting node of the dungeon.
@@ -85,9 +84,9 @@ public interface Dungeon {
   /**
    * Gets a map of all the treasures along with their locations.
    *
-   * @return a map of all the treasures along with their locations
+   * @return a map of the treasures in every cave
    */
-  Map<List<Integer>, List<String>> getTreasureAndLocations();
+  TreasureMap getTreasureAndLocations();
 
   /**
    * Checks if the dungeon is wrapping or not.
@@ -203,4 +202,250 @@ public interface Dungeon {
    * @return the column number of the pit in the dungeon
    */
   int getPitNodeJ();
+
+  /**
+   * Moves all the roaming monsters (yugoloths and thieves) in the dungeon by one step.
+   */
+  void moveRoamingMonsters();
+
+  /**
+   * Returns the number of monsters roaming around in the dungeon.
+   *
+   * @return the number of monsters roaming around in the dungeon
+   */
+  int getNumRoamingMonsters();
+
+  /**
+   * Returns the row number of the current position of a roaming monster.
+   *
+   * @param index the index of the roaming monster
+   * @return the row number of the current position of the roaming monster
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  int getRoamingMonsterNodeI(int index);
+
+  /**
+   * Returns the column number of the current position of a roaming monster.
+   *
+   * @param index the index of the roaming monster
+   * @return the column number of the current position of the roaming monster
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  int getRoamingMonsterNodeJ(int index);
+
+  /**
+   * Returns the type of a roaming monster, either YUGOLOTH or THIEF.
+   *
+   * @param index the index of the roaming monster
+   * @return the type of the roaming monster
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  String getRoamingMonsterType(int index);
+
+  /**
+   * Returns the number of roaming yugoloths in the current position of the player.
+   *
+   * @return the number of roaming yugoloths in the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  int getNumRoamingYugolothsAtPlayer();
+
+  /**
+   * Returns the number of roaming thieves in the current position of the player.
+   *
+   * @return the number of roaming thieves in the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  int getNumRoamingThievesAtPlayer();
+
+  /**
+   * Kills one of the roaming yugoloths in the current position of the player.
+   *
+   * @throws IllegalArgumentException if the player is not placed in the dungeon, or
+   *                                  if there is no roaming yugoloth at the player's position
+   */
+  void killRoamingYugolothAtPlayer();
+
+  /**
+   * Steals all the treasure of the player, when the thief or a roaming thief is in the current
+   * position of the player.
+   *
+   * @throws IllegalArgumentException if the player is not placed in the dungeon, or
+   *                                  if there is no thief at the player's position
+   */
+  void stealTreasureAtPlayer();
+
+  /**
+   * Makes the player fall into the pit in the current position of the player, which kills the
+   * player.
+   *
+   * @throws IllegalArgumentException if the player is not placed in the dungeon, or
+   *                                  if there is no pit at the player's position
+   */
+  void fallIntoPit();
+
+  /**
+   * Sets the strategy used by the yugoloth to move around the dungeon, either RANDOM to
+   * wander around or CHASE to hunt down the player.
+   *
+   * @param strategyName the name of the move strategy
+   * @throws IllegalArgumentException if the strategy name is null or unknown, or
+   *                                  if the yugoloth has been killed
+   */
+  void setYugolothMoveStrategy(String strategyName);
+
+  /**
+   * Sets the strategy used by a roaming monster to move around the dungeon, either RANDOM to
+   * wander around or CHASE to hunt down the player.
+   *
+   * @param index        the index of the roaming monster
+   * @param strategyName the name of the move strategy
+   * @throws IllegalArgumentException if the index is out of range, or
+   *                                  if the strategy name is null or unknown
+   */
+  void setRoamingMonsterMoveStrategy(int index, String strategyName);
+
+  /**
+   * Returns how strongly the player can smell otyughs from the current position, STRONG if
+   * there is an otyugh in a neighbouring location or more than one otyugh two locations away,
+   * WEAK if there is exactly one otyugh two locations away and NONE otherwise.
+   *
+   * @return the smell level at the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  String getSmellAtPlayer();
+
+  /**
+   * Returns the coordinates of the locations with arrows that are closest to the player,
+   * including the player's current location, ordered from the closest to the farthest.
+   *
+   * @param numLocations the maximum number of locations to return
+   * @return the closest locations with arrows
+   * @throws IllegalArgumentException if the number of locations is not positive, or
+   *                                  if the player is not placed in the dungeon
+   */
+  Locations getNearestArrows(int numLocations);
+
+  /**
+   * Returns the locations with arrows that are closest to any of the given locations,
+   * including the given locations themselves, ordered from the closest to the farthest. The
+   * search starts from all the given locations at once, so it costs no more than a single
+   * search from the player.
+   *
+   * @param sources      the locations to search from, such as the result of another query
+   * @param numLocations the maximum number of locations to return
+   * @return the closest locations with arrows
+   * @throws IllegalArgumentException if the locations to search from are null or are not in
+   *                                  a dungeon of the same size, or
+   *                                  if the number of locations is not positive
+   */
+  Locations getNearestArrows(Locations sources, int numLocations);
+
+  /**
+   * Returns the coordinates of the caves with the given treasure that are closest to the
+   * player, including the player's current location, ordered from the closest to the farthest.
+   *
+   * @param treasureName the name of the treasure to look for
+   * @param numLocations the maximum number of locations to return
+   * @return the closest caves with the treasure
+   * @throws IllegalArgumentException if the treasure name is null, or
+   *                                  if the number of locations is not positive, or
+   *                                  if the player is not placed in the dungeon
+   */
+  Locations getNearestTreasure(String treasureName, int numLocations);
+
+  /**
+   * Returns the coordinates of all the caves that are at most the given number of steps away
+   * from the player, including the player's current location, ordered from the closest to the
+   * farthest.
+   *
+   * @param distance the maximum number of steps from the player
+   * @return the caves within the distance
+   * @throws IllegalArgumentException if the distance is negative, or
+   *                                  if the player is not placed in the dungeon
+   */
+  Locations getCavesWithinDistance(int distance);
+
+  /**
+   * Returns the shortest route from the player's current location to the given location that
+   * only goes through locations the player has already visited. The last step of the route
+   * may lead into a location that has not been visited yet.
+   *
+   * @param i the row of the location to reach
+   * @param j the column of the location to reach
+   * @return the directions (U, D, L or R) to move in, empty if the player is already there
+   * @throws IllegalArgumentException if the location is outside the dungeon, or
+   *                                  if the player is not placed in the dungeon, or
+   *                                  if there is no known route to the location
+   */
+  List<String> getRouteToLocation(int i, int j);
+
+  /**
+   * Returns the row number of the current position of the player.
+   *
+   * @return the row number of the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  int getPlayerNodeI();
+
+  /**
+   * Returns the column number of the current position of the player.
+   *
+   * @return the column number of the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  int getPlayerNodeJ();
+
+  /**
+   * Returns the row number of the end node of the dungeon.
+   *
+   * @return the row number of the end node of the dungeon
+   */
+  int getEndNodeI();
+
+  /**
+   * Returns the column number of the end node of the dungeon.
+   *
+   * @return the column number of the end node of the dungeon
+   */
+  int getEndNodeJ();
+
+  /**
+   * Returns a copy of the node at the given location, without copying the rest of the maze.
+   *
+   * @param i the row of the node
+   * @param j the column of the node
+   * @return a copy of the node at the given location
+   * @throws IllegalArgumentException if the location is outside the dungeon
+   */
+  Node getNodeAt(int i, int j);
+
+  /**
+   * Returns the doors of every location in the maze as a grid of 4-bit door masks, see
+   * Node.getDoorMask().
+   *
+   * @return the door masks of all the locations in the maze
+   */
+  int[][] getDoorMasks();
+
+  /**
+   * Returns the number of arrows at every location in the maze as a grid, without copying the
+   * nodes.
+   *
+   * @return the number of arrows at all the locations in the maze
+   */
+  int[][] getArrowCounts();
+
+  /**
+   * Starts appending everything that happens in the dungeon to an event log, starting with
+   * the seed and configuration the dungeon was generated from. Recording has to start before
+   * the player enters the dungeon, so that the log can be replayed from the beginning.
+   *
+   * @param eventLog the event log to append to
+   * @throws IllegalArgumentException if the event log is null, or
+   *                                  if the dungeon was not generated from a seed, or
+   *                                  if the player has already entered the dungeon, or
+   *                                  if the dungeon is already being recorded
+   */
+  void recordEvents(EventLog eventLog);
 }
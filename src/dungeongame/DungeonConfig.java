@@ -0,0 +1,48 @@
+package dungeongame;
+
+/**
+ * The configuration a dungeon was constructed with, returned by Dungeon.getDungeonConfig().
+ * Two configurations are equal if every one of their values is.
+ *
+ * @param numRows the number of rows in the dungeon
+ * @param numCols the number of columns in the dungeon
+ * @param interconnectivity the interconnectivity of the dungeon
+ * @param isWrapping true if the dungeon is wrapping, false otherwise
+ * @param percentCavesWithTreasure the fraction of caves with treasure and arrows, between 0
+ *                                 and 1
+ * @param isForceInterconnectivityRange true if the interconnectivity is forced to stay within
+ *                                      its range, false otherwise
+ * @param numOtyughs the number of otyughs the dungeon was constructed with
+ * @param numRoamingYugoloths the number of yugoloths that roam the dungeon
+ * @param numRoamingThieves the number of thieves that roam the dungeon
+ * @param hazardSpacing the minimum number of moves between any two hazards, or 0 if hazards
+ *                      can be next to each other
+ * @param mazeGenerator the name of the algorithm that carved the maze, or null if the dungeon
+ *                      was built from a given graph
+ */
+public record DungeonConfig(int numRows, int numCols, int interconnectivity, boolean isWrapping,
+                            float percentCavesWithTreasure,
+                            boolean isForceInterconnectivityRange, int numOtyughs,
+                            int numRoamingYugoloths, int numRoamingThieves, int hazardSpacing,
+                            String mazeGenerator) {
+  /**
+   * String representation of the configuration. Roaming monsters, hazard spacing and the maze
+   * generator are only described when they differ from a plain dungeon.
+   *
+   * @return the string representation of the configuration
+   */
+  @Override
+  public String toString() {
+    return numRows + "x" + numCols
+            + ", interconnectivity " + interconnectivity
+            + (isWrapping ? ", wrapping" : ", non-wrapping")
+            + ", " + Math.round(percentCavesWithTreasure * 100) + "% treasure"
+            + (isForceInterconnectivityRange ? ", forced interconnectivity" : "")
+            + ", " + numOtyughs + " otyughs"
+            + (numRoamingYugoloths > 0 ? ", " + numRoamingYugoloths + " roaming yugoloths" : "")
+            + (numRoamingThieves > 0 ? ", " + numRoamingThieves + " roaming thieves" : "")
+            + (hazardSpacing > 0 ? ", hazards " + hazardSpacing + " moves apart" : "")
+            + (mazeGenerator == null || mazeGenerator.equals("KRUSKAL")
+            ? "" : ", " + mazeGenerator + " maze");
+  }
+}
@@ -2,26 +2,29 @@ package dungeongame;
 
 import node.GenericNode;
 import node.Node;
+import node.NodeIds;
+import node.NodeSearch;
+import node.Treasure;
 import utils.ValueSanity;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.Set;
-import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
 
 /**
  * This class is an implementation of a dungeon and provides users with functionality for
  * generating random maze graphs or providing their own mazes.
+ *
+ * <p>A game is played from one thread at a time, but GameMonitor reads it from the JMX thread,
+ * so every action that changes what the monitor shows holds the lock of the dungeon, and so
+ * does the monitor while it reads.
  */
 public class DungeonImpl implements Dungeon {
   private static final int MAX_PATIENCE_START_END_GEN = 1_000;
   private static final int MIN_NUM_ROWS_COLS = 4;
+  private static final Treasure[] TREASURES = Treasure.values();
 
   private final int numRows;
   private final int numCols;
@@ -36,15 +39,35 @@ public class DungeonImpl implements Dungeon {
   private final int numOtyughs;
   private Player player;
   private Node playerPosition;
-  private final List<Otyugh> otyughs;
   private Yugoloth yugoloth;
   private Node yugolothPosition;
   private Node[][] initialMaze;
   private Node thiefPosition;
   private Node pitPosition;
+  private final int numRoamingYugoloths;
+  private final int numRoamingThieves;
+  private final int hazardSpacing;
+  private final String mazeGeneratorName;
+  private final CellGraph cellGraph;
+  private final CaveGraph caveGraph;
+  private final IntPredicate hasOtyughAt;
+  private final IntPredicate hasArrowsAt;
+  private final GraphQuery graphQuery;
+  private final int[] queryResults;
+  private final RoutePlanner routePlanner;
+  private final FlowField flowField;
+  private final RoamingMonsters roamingMonsters;
+  private final boolean isGenerated;
+  private final long seed;
+  private final boolean isMetered;
+  private EventLog eventLog;
+  private long gameId;
+  private boolean isGameOver;
 
   /**
-   * Constructs a random maze in a dungeon.
+   * Constructs a random maze in a dungeon. The dungeon takes a single long from the random
+   * object as its seed, and makes all of its random choices from a Random of its own seeded
+   * with it, exactly like the dungeon constructed from that seed.
    *
    * @param numRows                     the number of rows in the dungeon
    * @param numCols                     the number of columns in the dungeon
@@ -54,7 +77,7 @@ public class DungeonImpl implements Dungeon {
    * @param forceInterconnectivityRange whether to allow interconnectivity value higher than the
    *                                    safe range of [1, min(numRows, numCols)]
    * @param numOtyughs                  the  number of otyughs to place in the dungeon
-   * @param random                      the random object to use for generating the dungeon
+   * @param random                      the random object to draw the seed of the dungeon from
    * @throws IllegalArgumentException if number of rows is negative, or number of columns is
    *                                  negative, or interconnectivity is negative, or
    *                                  percentage of caves with treasure is negative, or
@@ -71,8 +94,197 @@ public class DungeonImpl implements Dungeon {
   public DungeonImpl(int numRows, int numCols, int interconnectivity, boolean isWrapping,
                      float percentCavesWithTreasure, boolean forceInterconnectivityRange,
                      int numOtyughs, Random random) {
+    this(numRows, numCols, interconnectivity, isWrapping, percentCavesWithTreasure,
+            forceInterconnectivityRange, numOtyughs, 0, 0, random);
+  }
+
+  /**
+   * Constructs a random maze in a dungeon with additional Yugoloths and thieves that roam
+   * around the dungeon. The dungeon takes a single long from the random object as its seed,
+   * and makes all of its random choices from a Random of its own seeded with it, exactly like
+   * the dungeon constructed from that seed.
+   *
+   * @param numRows                     the number of rows in the dungeon
+   * @param numCols                     the number of columns in the dungeon
+   * @param interconnectivity           the interconnectivity of the dungeon
+   * @param isWrapping                  whether the dungeon is wrapping or not
+   * @param percentCavesWithTreasure    the percentage of caves that should contain treasure(s)
+   * @param forceInterconnectivityRange whether to allow interconnectivity value higher than the
+   *                                    safe range of [1, min(numRows, numCols)]
+   * @param numOtyughs                  the  number of otyughs to place in the dungeon
+   * @param numRoamingYugoloths         the number of roaming yugoloths to place in the dungeon
+   * @param numRoamingThieves           the number of roaming thieves to place in the dungeon
+   * @param random                      the random object to draw the seed of the dungeon from
+   * @throws IllegalArgumentException if number of rows is negative, or number of columns is
+   *                                  negative, or interconnectivity is negative, or
+   *                                  percentage of caves with treasure is negative, or
+   *                                  random object is null,
+   *                                  or number of rows is less than minimum allowed, or
+   *                                  number of columns is less than minimum allowed, or
+   *                                  percentage of caves with treasure is equal to zero, or
+   *                                  percentage of caves with treasure is greater than one, or
+   *                                  the number of otyughs is negative, or
+   *                                  the number of otyughs is greater than the number of nodes, or
+   *                                  the number of roaming yugoloths or thieves is negative, or
+   *                                  it is not possible to find a path from start node to end
+   *                                  node with a minimum distance of 5
+   */
+  public DungeonImpl(int numRows, int numCols, int interconnectivity, boolean isWrapping,
+                     float percentCavesWithTreasure, boolean forceInterconnectivityRange,
+                     int numOtyughs, int numRoamingYugoloths, int numRoamingThieves,
+                     Random random) {
+    this(numRows, numCols, interconnectivity, isWrapping, percentCavesWithTreasure,
+            forceInterconnectivityRange, numOtyughs, numRoamingYugoloths, numRoamingThieves,
+            nextSeed(random));
+  }
+
+  /**
+   * Constructs a random maze in a dungeon with additional Yugoloths and thieves that roam
+   * around the dungeon, from a seed. The same seed and configuration always generate the same
+   * dungeon, and the dungeon makes the same random choices during the game.
+   *
+   * @param numRows                     the number of rows in the dungeon
+   * @param numCols                     the number of columns in the dungeon
+   * @param interconnectivity           the interconnectivity of the dungeon
+   * @param isWrapping                  whether the dungeon is wrapping or not
+   * @param percentCavesWithTreasure    the percentage of caves that should contain treasure(s)
+   * @param forceInterconnectivityRange whether to allow interconnectivity value higher than the
+   *                                    safe range of [1, min(numRows, numCols)]
+   * @param numOtyughs                  the  number of otyughs to place in the dungeon
+   * @param numRoamingYugoloths         the number of roaming yugoloths to place in the dungeon
+   * @param numRoamingThieves           the number of roaming thieves to place in the dungeon
+   * @param seed                        the seed of the Random that generates the dungeon and
+   *                                    makes all of its random choices during the game
+   * @throws IllegalArgumentException if number of rows is negative, or number of columns is
+   *                                  negative, or interconnectivity is negative, or
+   *                                  percentage of caves with treasure is negative,
+   *                                  or number of rows is less than minimum allowed, or
+   *                                  number of columns is less than minimum allowed, or
+   *                                  percentage of caves with treasure is equal to zero, or
+   *                                  percentage of caves with treasure is greater than one, or
+   *                                  the number of otyughs is negative, or
+   *                                  the number of otyughs is greater than the number of nodes, or
+   *                                  the number of roaming yugoloths or thieves is negative, or
+   *                                  it is not possible to find a path from start node to end
+   *                                  node with a minimum distance of 5
+   */
+  public DungeonImpl(int numRows, int numCols, int interconnectivity, boolean isWrapping,
+                     float percentCavesWithTreasure, boolean forceInterconnectivityRange,
+                     int numOtyughs, int numRoamingYugoloths, int numRoamingThieves,
+                     long seed) {
+    this(numRows, numCols, interconnectivity, isWrapping, percentCavesWithTreasure,
+            forceInterconnectivityRange, numOtyughs, numRoamingYugoloths, numRoamingThieves, 0,
+            seed);
+  }
+
+  /**
+   * Constructs a random maze in a dungeon with additional Yugoloths and thieves that roam
+   * around the dungeon, from a seed, with the hazards spread out. The otyughs, the Yugoloth,
+   * the thief, the pit and the roaming monsters are kept at least the given number of moves
+   * apart from each other and from the start for as long as the dungeon has room for it, and
+   * the ones that do not fit are placed at random. A spacing of 0 places every hazard at
+   * random, the way the other constructors do.
+   *
+   * @param numRows                     the number of rows in the dungeon
+   * @param numCols                     the number of columns in the dungeon
+   * @param interconnectivity           the interconnectivity of the dungeon
+   * @param isWrapping                  whether the dungeon is wrapping or not
+   * @param percentCavesWithTreasure    the percentage of caves that should contain treasure(s)
+   * @param forceInterconnectivityRange whether to allow interconnectivity value higher than the
+   *                                    safe range of [1, min(numRows, numCols)]
+   * @param numOtyughs                  the  number of otyughs to place in the dungeon
+   * @param numRoamingYugoloths         the number of roaming yugoloths to place in the dungeon
+   * @param numRoamingThieves           the number of roaming thieves to place in the dungeon
+   * @param hazardSpacing               the minimum number of moves between two hazards
+   * @param seed                        the seed of the Random that generates the dungeon and
+   *                                    makes all of its random choices during the game
+   * @throws IllegalArgumentException if number of rows is negative, or number of columns is
+   *                                  negative, or interconnectivity is negative, or
+   *                                  percentage of caves with treasure is negative,
+   *                                  or number of rows is less than minimum allowed, or
+   *                                  number of columns is less than minimum allowed, or
+   *                                  percentage of caves with treasure is equal to zero, or
+   *                                  percentage of caves with treasure is greater than one, or
+   *                                  the number of otyughs is negative, or
+   *                                  the number of otyughs is greater than the number of nodes, or
+   *                                  the number of roaming yugoloths or thieves is negative, or
+   *                                  the hazard spacing is negative, or
+   *                                  it is not possible to find a path from start node to end
+   *                                  node with a minimum distance of 5
+   */
+  public DungeonImpl(int numRows, int numCols, int interconnectivity, boolean isWrapping,
+                     float percentCavesWithTreasure, boolean forceInterconnectivityRange,
+                     int numOtyughs, int numRoamingYugoloths, int numRoamingThieves,
+                     int hazardSpacing, long seed) {
+    this(numRows, numCols, interconnectivity, isWrapping, percentCavesWithTreasure,
+            forceInterconnectivityRange, numOtyughs, numRoamingYugoloths, numRoamingThieves,
+            hazardSpacing, "KRUSKAL", seed);
+  }
+
+  /**
+   * Constructs a random maze in a dungeon with additional Yugoloths and thieves that roam
+   * around the dungeon, from a seed, with the hazards spread out and the maze carved by the
+   * given algorithm. The algorithms are KRUSKAL, which the other constructors use, WILSON,
+   * which makes every maze equally likely, BACKTRACKER, which makes long winding corridors,
+   * and ELLER, which carves one row at a time.
+   *
+   * @param numRows                     the number of rows in the dungeon
+   * @param numCols                     the number of columns in the dungeon
+   * @param interconnectivity           the interconnectivity of the dungeon
+   * @param isWrapping                  whether the dungeon is wrapping or not
+   * @param percentCavesWithTreasure    the percentage of caves that should contain treasure(s)
+   * @param forceInterconnectivityRange whether to allow interconnectivity value higher than the
+   *                                    safe range of [1, min(numRows, numCols)]
+   * @param numOtyughs                  the  number of otyughs to place in the dungeon
+   * @param numRoamingYugoloths         the number of roaming yugoloths to place in the dungeon
+   * @param numRoamingThieves           the number of roaming thieves to place in the dungeon
+   * @param hazardSpacing               the minimum number of moves between two hazards
+   * @param mazeGenerator               the name of the algorithm that carves the maze
+   * @param seed                        the seed of the Random that generates the dungeon and
+   *                                    makes all of its random choices during the game
+   * @throws IllegalArgumentException if number of rows is negative, or number of columns is
+   *                                  negative, or interconnectivity is negative, or
+   *                                  percentage of caves with treasure is negative,
+   *                                  or number of rows is less than minimum allowed, or
+   *                                  number of columns is less than minimum allowed, or
+   *                                  percentage of caves with treasure is equal to zero, or
+   *                                  percentage of caves with treasure is greater than one, or
+   *                                  the number of otyughs is negative, or
+   *                                  the number of otyughs is greater than the number of nodes, or
+   *                                  the number of roaming yugoloths or thieves is negative, or
+   *                                  the hazard spacing is negative, or
+   *                                  the maze generator is null or unknown, or
+   *                                  it is not possible to find a path from start node to end
+   *                                  node with a minimum distance of 5
+   */
+  public DungeonImpl(int numRows, int numCols, int interconnectivity, boolean isWrapping,
+                     float percentCavesWithTreasure, boolean forceInterconnectivityRange,
+                     int numOtyughs, int numRoamingYugoloths, int numRoamingThieves,
+                     int hazardSpacing, String mazeGenerator, long seed) {
+    this(numRows, numCols, interconnectivity, isWrapping, percentCavesWithTreasure,
+            forceInterconnectivityRange, numOtyughs, numRoamingYugoloths, numRoamingThieves,
+            hazardSpacing, mazeGenerator, seed, true);
+  }
+
+  /*
+    Generates a dungeon like the public constructors, but only counts its generation and
+    everything that happens in it in GameMetrics if it is metered, so that dungeons rebuilt by
+    a replay do not count as games that were played.
+   */
+  DungeonImpl(int numRows, int numCols, int interconnectivity, boolean isWrapping,
+              float percentCavesWithTreasure, boolean forceInterconnectivityRange,
+              int numOtyughs, int numRoamingYugoloths, int numRoamingThieves,
+              int hazardSpacing, String mazeGenerator, long seed, boolean isMetered) {
+    long startTime = System.nanoTime();
+    long startBytes = isMetered ? GameMetrics.allocatedBytes() : 0;
+    Random random = new Random(seed);
     performChecksRandom(numRows, numCols, interconnectivity, isWrapping,
             percentCavesWithTreasure, forceInterconnectivityRange, numOtyughs, random);
+    performChecksRoaming(numRoamingYugoloths, numRoamingThieves);
+    if (hazardSpacing < 0) {
+      throw new IllegalArgumentException("Hazard spacing is expected to be non-negative!");
+    }
+    MazeGenerator generator = createMazeGenerator(mazeGenerator);
 
     this.numRows = numRows;
     this.numCols = numCols;
@@ -80,16 +292,59 @@ public class DungeonImpl implements Dungeon {
     this.isWrapping = isWrapping;
     this.percentCavesWithTreasureArrows = percentCavesWithTreasure;
     this.random = random;
+    this.isGenerated = true;
+    this.seed = seed;
     this.forceInterconnectivityRange = forceInterconnectivityRange;
     this.numOtyughs = numOtyughs;
-    this.otyughs = new ArrayList<>();
+    this.numRoamingYugoloths = numRoamingYugoloths;
+    this.numRoamingThieves = numRoamingThieves;
+    this.hazardSpacing = hazardSpacing;
+    this.mazeGeneratorName = mazeGenerator;
+    this.isMetered = isMetered;
     this.yugoloth = new Yugoloth();
     hookRandomMoveStrategyToYugoloth(yugoloth);
 
+    long phaseStartTime = System.nanoTime();
     this.graph = generateGraph();
-    generateRandomDungeon();
+    List<Node> caves = generateRandomMaze(generator);
+    recordLatency(GameMetrics.GENERATE_MAZE, phaseStartTime);
+
+    phaseStartTime = System.nanoTime();
+    GenerationPhaseEvent event = new GenerationPhaseEvent();
+    event.start("graphs", numRows, numCols, 0);
+    this.cellGraph = new CellGraph(this.graph);
+    this.caveGraph = new CaveGraph(this.cellGraph);
+    this.hasOtyughAt = cell -> nodeAt(cell).hasOtyugh();
+    this.hasArrowsAt = cell -> nodeAt(cell).getNumArrows() > 0;
+    this.graphQuery = new GraphQuery(this.cellGraph);
+    this.queryResults = new int[this.cellGraph.getNumCells()];
+    this.routePlanner = new RoutePlanner(this.cellGraph, isMetered);
+    event.finish(0, 0);
+    recordLatency(GameMetrics.GENERATE_GRAPHS, phaseStartTime);
+
+    phaseStartTime = System.nanoTime();
+    event = new GenerationPhaseEvent();
+    event.start("placement", numRows, numCols, this.caveGraph.getNumVisited());
+    PlacementPlanner planner = new PlacementPlanner(this.cellGraph, random, hazardSpacing);
+    generateRandomDungeon(planner, caves);
+    event.finish(0, this.caveGraph.getNumVisited());
+    recordLatency(GameMetrics.GENERATE_PLACEMENT, phaseStartTime);
+
+    phaseStartTime = System.nanoTime();
+    event = new GenerationPhaseEvent();
+    event.start("roaming", numRows, numCols, 0);
+    this.flowField = new FlowField(this.cellGraph, 1, isMetered);
+    this.roamingMonsters = new RoamingMonsters(this.cellGraph, this.flowField,
+            numRoamingYugoloths + numRoamingThieves);
+    addRoamingMonstersToDungeon(planner);
+    event.finish(0, 0);
+    recordLatency(GameMetrics.GENERATE_ROAMING, phaseStartTime);
 
     this.setInitialMaze();
+    if (isMetered) {
+      GameMetrics.GENERATE.recordSince(startTime);
+      GameMetrics.GENERATION_BYTES.add(GameMetrics.allocatedBytes() - startBytes);
+    }
   }
 
   /**
@@ -128,18 +383,36 @@ public class DungeonImpl implements Dungeon {
     this.graph = graph;
     this.random = random;
     this.numOtyughs = numOtyughs;
-    this.otyughs = new ArrayList<>();
     this.yugolothPosition = yugolothPosition;
     this.yugoloth = yugoloth;
     this.thiefPosition = thiefPosition;
     this.pitPosition = pitPosition;
 
+    NodeIds.assignCellIds(this.graph);
+
     this.startNode = findNodeByNodeName(startNode);
     this.endNode = findNodeByNodeName(endNode);
 
     performChecksNonRandomAfterConstruct();
     setInitialMaze();
 
+    this.numRoamingYugoloths = 0;
+    this.numRoamingThieves = 0;
+    this.hazardSpacing = 0;
+    this.mazeGeneratorName = null;
+    this.cellGraph = new CellGraph(this.graph);
+    this.caveGraph = new CaveGraph(this.cellGraph);
+    this.hasOtyughAt = cell -> nodeAt(cell).hasOtyugh();
+    this.hasArrowsAt = cell -> nodeAt(cell).getNumArrows() > 0;
+    this.graphQuery = new GraphQuery(this.cellGraph);
+    this.queryResults = new int[this.cellGraph.getNumCells()];
+    this.routePlanner = new RoutePlanner(this.cellGraph, true);
+    this.flowField = new FlowField(this.cellGraph, 1, true);
+    this.roamingMonsters = new RoamingMonsters(this.cellGraph, this.flowField, 0);
+    this.isGenerated = false;
+    this.seed = 0;
+    this.isMetered = true;
+
     // Pseudo values
     this.interconnectivity = 0;
     this.percentCavesWithTreasureArrows = 0;
@@ -217,6 +490,26 @@ public class DungeonImpl implements Dungeon {
     }
   }
 
+  private static long nextSeed(Random random) {
+    // The seed is all an event log keeps of the dungeon, so the given random object is only
+    // drawn once and never used afterwards.
+    ValueSanity.checkNull("Random object", random);
+
+    return random.nextLong();
+  }
+
+  private void performChecksRoaming(int numRoamingYugoloths, int numRoamingThieves) {
+    if (numRoamingYugoloths < 0) {
+      throw new IllegalArgumentException("Number of roaming yugoloths is expected to be "
+              + "non-negative!");
+    }
+
+    if (numRoamingThieves < 0) {
+      throw new IllegalArgumentException("Number of roaming thieves is expected to be "
+              + "non-negative!");
+    }
+  }
+
   private void performChecksNonRandom(Node[][] graph, String startNode, String endNode,
                                       boolean isWrapping, int numOtyughs, Random random) {
     ValueSanity.checkNull("Starting node", startNode);
@@ -245,14 +538,14 @@ public class DungeonImpl implements Dungeon {
   }
 
   private void performChecksNonRandomAfterConstruct() {
-    if (findShortestPathDistance(this.startNode, this.endNode) < 5) {
+    if (NodeSearch.forCurrentThread().shortestPathLength(this.startNode, this.endNode) < 5) {
       throw new IllegalArgumentException("Distance between start and end node is less than 5!");
     }
 
     int numCavesWithTreasures = 0;
     for (Node[] row : this.graph) {
       for (Node node : row) {
-        if (node.getType().equals("C") && node.getTreasures().size() > 0) {
+        if (node.getType().equals("C") && node.getNumTreasures() > 0) {
           numCavesWithTreasures++;
         }
       }
@@ -292,35 +585,9 @@ public class DungeonImpl implements Dungeon {
 
   private Node[][] generateGraph() {
     Node[][] nodes = new Node[this.numRows][this.numCols];
-    int counter = 1;
     for (int i = 0; i < nodes.length; i++) {
       for (int j = 0; j < nodes[i].length; j++) {
-        nodes[i][j] = new GenericNode(String.valueOf(counter++));
-      }
-    }
-
-    int idx;
-    for (int i = 0; i < this.numRows; i++) {
-      for (int j = 0; j < this.numCols; j++) {
-        if (isWrapping || (i - 1) >= 0) {
-          idx = (i - 1) < 0 ? (this.numRows - 1) : (i - 1);
-          nodes[i][j].setTopNode(nodes[idx][j]);
-        }
-
-        if (isWrapping || (i + 1) < numRows) {
-          idx = (i + 1) >= numRows ? 0 : (i + 1);
-          nodes[i][j].setBottomNode(nodes[idx][j]);
-        }
-
-        if (isWrapping || (j - 1) >= 0) {
-          idx = (j - 1) < 0 ? (this.numCols - 1) : (j - 1);
-          nodes[i][j].setLeftNode(nodes[i][idx]);
-        }
-
-        if (isWrapping || (j + 1) < numCols) {
-          idx = (j + 1) >= numCols ? 0 : (j + 1);
-          nodes[i][j].setRightNode(nodes[i][idx]);
-        }
+        nodes[i][j] = new GenericNode(i * this.numCols + j);
       }
     }
 
@@ -339,206 +606,43 @@ public class DungeonImpl implements Dungeon {
     throw new IllegalArgumentException("Node with name " + nodeName + ", not found in the graph!");
   }
 
-  private List<List<Node>> getNodePairs() {
-    Set<List<Node>> nodePairs = new HashSet<>();
-    List<Node> nodePair;
-
-    for (Node[] nodes : graph) {
-      for (Node node : nodes) {
-        if (node.getLeftNode() != null) {
-          nodePair = new ArrayList<>();
-          nodePair.add(node);
-          nodePair.add(node.getLeftNode());
-          nodePair.sort(Comparator.comparing(Node::getNodeName));
-          nodePairs.add(nodePair);
-        }
-        if (node.getRightNode() != null) {
-          nodePair = new ArrayList<>();
-          nodePair.add(node);
-          nodePair.add(node.getRightNode());
-          nodePair.sort(Comparator.comparing(Node::getNodeName));
-          nodePairs.add(nodePair);
-        }
-        if (node.getTopNode() != null) {
-          nodePair = new ArrayList<>();
-          nodePair.add(node);
-          nodePair.add(node.getTopNode());
-          nodePair.sort(Comparator.comparing(Node::getNodeName));
-          nodePairs.add(nodePair);
-        }
-        if (node.getBottomNode() != null) {
-          nodePair = new ArrayList<>();
-          nodePair.add(node);
-          nodePair.add(node.getBottomNode());
-          nodePair.sort(Comparator.comparing(Node::getNodeName));
-          nodePairs.add(nodePair);
-        }
-      }
-    }
-
-    return new ArrayList<>(nodePairs);
-  }
-
-  private List<List<Node>> getInitialClouds() {
-    List<List<Node>> clouds = new ArrayList<>();
-    List<Node> cloud;
-
-    for (Node[] nodes : graph) {
-      for (Node node : nodes) {
-        cloud = new ArrayList<>();
-        cloud.add(node);
-        clouds.add(cloud);
-      }
-    }
-
-    return clouds;
-  }
-
-  private void deleteCloud(List<Node> removeCloud, List<List<Node>> clouds) {
-    for (int i = 0; i < clouds.size(); i++) {
-      if (clouds.get(i).equals(removeCloud)) {
-        clouds.remove(removeCloud);
-      }
-    }
-  }
-
-  private List<Node> findCloud(Node removeCloud, List<List<Node>> clouds) {
-    for (List<Node> cloud : clouds) {
-      if (cloud.contains(removeCloud)) {
-        return cloud;
-      }
-    }
-
-    return null;
-  }
-
-  private void removeNeighbour(Node sourceNode, Node targetNode) {
-    if (sourceNode.getLeftNode() != null && sourceNode.getLeftNode() == targetNode) {
-      sourceNode.setLeftNode(null);
-      targetNode.setRightNode(null);
-    } else if (sourceNode.getRightNode() != null && sourceNode.getRightNode() == targetNode) {
-      sourceNode.setRightNode(null);
-      targetNode.setLeftNode(null);
-    } else if (sourceNode.getTopNode() != null && sourceNode.getTopNode() == targetNode) {
-      sourceNode.setTopNode(null);
-      targetNode.setBottomNode(null);
-    } else if (sourceNode.getBottomNode() != null && sourceNode.getBottomNode() == targetNode) {
-      sourceNode.setBottomNode(null);
-      targetNode.setTopNode(null);
-    }
-  }
-
-  private String getNodeDirection(Node node1, Node node2) {
-    if (node1.getLeftNode() != null
-            && node1.getLeftNode().getNodeName().equals(node2.getNodeName())) {
-      return "L";
-    } else if (node1.getRightNode() != null
-            && node1.getRightNode().getNodeName().equals(node2.getNodeName())) {
-      return "R";
-    } else if (node1.getTopNode() != null
-            && node1.getTopNode().getNodeName().equals(node2.getNodeName())) {
-      return "U";
-    } else if (node1.getBottomNode() != null
-            && node1.getBottomNode().getNodeName().equals(node2.getNodeName())) {
-      return "D";
-    }
-
-    return "";
-  }
-
-  private void mergeClouds(List<Node> nodePair, List<List<Node>> clouds,
-                           List<List<Node>> leftOver, List<String> leftOverDirection) {
-    for (int i = 0; i < clouds.size(); i++) {
-      if (clouds.get(i).contains(nodePair.get(0))) {
-        List<Node> toRemove = findCloud(nodePair.get(1), clouds);
-        if (toRemove != null) {
-          if (toRemove.contains(nodePair.get(0))) {
-            leftOver.add(nodePair);
-            leftOverDirection.add(getNodeDirection(nodePair.get(0), nodePair.get(1)));
-            removeNeighbour(nodePair.get(0), nodePair.get(1));
-            removeNeighbour(nodePair.get(1), nodePair.get(0));
-          } else {
-            clouds.get(i).addAll(toRemove);
-            deleteCloud(toRemove, clouds);
-          }
-        }
-      }
-    }
-  }
-
-  private void addConnection(Node node1, Node node2, String direction) {
-    switch (direction) {
-      case "L": {
-        node1.setLeftNode(node2);
-        node2.setRightNode(node1);
-        break;
-      }
-      case "R": {
-        node1.setRightNode(node2);
-        node2.setLeftNode(node1);
-        break;
-      }
-      case "U": {
-        node1.setTopNode(node2);
-        node2.setBottomNode(node1);
-        break;
-      }
-      case "D": {
-        node1.setBottomNode(node2);
-        node2.setTopNode(node1);
-        break;
-      }
-      default: {
-        break;
-      }
-    }
-  }
-
-  private void generateMinSpanTree(List<List<Node>> leftOver, List<String> directionLeftOver) {
-    List<List<Node>> clouds = getInitialClouds();
-    List<List<Node>> nodePairs = getNodePairs();
-
-    int randIdx;
-    List<Node> nodePair;
-
-    // Randomly choose node pairs and connect them,
-    // merge clouds if possible or put them in leftover.
-    do {
-      randIdx = random.nextInt(nodePairs.size());
-      nodePair = nodePairs.get(randIdx);
-      mergeClouds(nodePair, clouds, leftOver, directionLeftOver);
-      nodePairs.remove(randIdx);
-    }
-    while (nodePairs.size() != 0);
-  }
-
-  private void increaseInterconnectivity(List<List<Node>> leftOver,
-                                         List<String> directionLeftOver) {
-    int randIdx;
+  private void increaseInterconnectivity(MazeGrid grid) {
     if (interconnectivity > 0) {
       if (interconnectivity > Math.min(numRows, numCols) && !forceInterconnectivityRange) {
         throw new IllegalArgumentException("Max interconnectivity allowed = "
                 + Math.min(numRows, numCols) + ", greater interconnectivities do not guarantee "
                 + "viable start and end positions in dungeon, if you still want to increase "
                 + "interconnectivity then set forceInterconnectivityRange to true!");
-      } else if (forceInterconnectivityRange && interconnectivity > leftOver.size()) {
+      } else if (forceInterconnectivityRange && interconnectivity > grid.getNumWalls()) {
         throw new IllegalArgumentException("Max interconnectivity cannot exceed "
-                + leftOver.size() + "!");
+                + grid.getNumWalls() + "!");
       }
 
-      List<Node> nodePair;
-      int numInterconnected = 0;
-      String nodeDirection;
-      do {
-        randIdx = random.nextInt(leftOver.size());
-        nodePair = leftOver.get(randIdx);
-        nodeDirection = directionLeftOver.get(randIdx);
-        addConnection(nodePair.get(0), nodePair.get(1), nodeDirection);
-        leftOver.remove(randIdx);
-        directionLeftOver.remove(randIdx);
-        numInterconnected++;
+      for (int numInterconnected = 0; numInterconnected < interconnectivity;
+           numInterconnected++) {
+        grid.openWall(random.nextInt(grid.getNumWalls()));
+      }
+    }
+  }
+
+  private void connectNodes(MazeGrid grid) {
+    int cell;
+    for (int i = 0; i < numRows; i++) {
+      for (int j = 0; j < numCols; j++) {
+        cell = i * numCols + j;
+        if (grid.neighbour(cell, CellGraph.RIGHT) != -1
+                && grid.isCarved(cell, CellGraph.RIGHT)) {
+          Node right = graph[i][(j + 1) % numCols];
+          graph[i][j].setRightNode(right);
+          right.setLeftNode(graph[i][j]);
+        }
+        if (grid.neighbour(cell, CellGraph.DOWN) != -1
+                && grid.isCarved(cell, CellGraph.DOWN)) {
+          Node bottom = graph[(i + 1) % numRows][j];
+          graph[i][j].setBottomNode(bottom);
+          bottom.setTopNode(graph[i][j]);
+        }
       }
-      while (numInterconnected != interconnectivity);
     }
   }
 
@@ -575,239 +679,239 @@ public class DungeonImpl implements Dungeon {
     return caves;
   }
 
-  private void addTreasureToCaves(List<Node> caves) {
-    int randIdx;
+  private void addTreasureToCaves(PlacementPlanner planner, int[] caveCells, int[] cells) {
     float actualPercent = (float) (percentCavesWithTreasureArrows
-            + Math.random() * (1 - percentCavesWithTreasureArrows));
-    int numCavesWithTreasures = (int) Math.ceil(actualPercent * caves.size());
-    int numCavesWithTreasureAssigned = 0;
-    Node cave;
-    do {
-      randIdx = random.nextInt(caves.size());
-      cave = caves.get(randIdx);
-      cave.placeTreasure(random);
-      numCavesWithTreasureAssigned++;
-      caves.remove(randIdx);
+            + random.nextDouble() * (1 - percentCavesWithTreasureArrows));
+    int numCavesWithTreasures = (int) Math.ceil(actualPercent * caveCells.length);
+    int numDrawn = planner.sample(caveCells, false, false, numCavesWithTreasures, cells);
+    for (int idx = 0; idx < numDrawn; idx++) {
+      nodeAt(cells[idx]).placeTreasure(random);
     }
-    while (numCavesWithTreasureAssigned != numCavesWithTreasures);
   }
 
-  private void hookRandomMoveStrategyToYugoloth(Yugoloth yugoloth) {
-    String[] strategies = {"RandomMoveStrategy"};
-
-    int randomIdx = (int) (Math.random() * strategies.length);
+  private MoveStrategy createMoveStrategy(String strategyName) {
+    ValueSanity.checkNull("Move strategy", strategyName);
 
-    if (strategies[randomIdx].equals("RandomMoveStrategy")) {
-      yugoloth.hookMoveStrategy(new RandomMove());
+    switch (strategyName) {
+      case "RANDOM":
+        return new RandomMove(this.random);
+      case "CHASE":
+        return new ChaseMove(this.graph, this.cellGraph, this.flowField, this.random);
+      default:
+        throw new IllegalArgumentException("Unknown move strategy " + strategyName + "!");
     }
   }
 
-  private void addOtyughsToCave(List<Node> caves) {
-    // One Otyugh has to be added to end node, so saving it for later.
-    int numOtyughsAdded = 1;
+  private static MazeGenerator createMazeGenerator(String generatorName) {
+    ValueSanity.checkNull("Maze generator", generatorName);
 
-    int randIdx;
-    Node cave;
-    do {
-      randIdx = random.nextInt(caves.size());
-      cave = caves.get(randIdx);
-      Otyugh otyugh = new Otyugh();
-      this.otyughs.add(otyugh);
-      cave.placeOtyugh(otyugh);
-      numOtyughsAdded++;
-      caves.remove(randIdx);
+    switch (generatorName) {
+      case "KRUSKAL":
+        return new KruskalMaze();
+      case "WILSON":
+        return new WilsonMaze();
+      case "BACKTRACKER":
+        return new BacktrackerMaze();
+      case "ELLER":
+        return new EllerMaze();
+      default:
+        throw new IllegalArgumentException("Unknown maze generator " + generatorName + "!");
     }
-    while (numOtyughsAdded != numOtyughs);
   }
 
-  private void addArrowsToCavesAndTunnels(List<Node> locations) {
-    int numArrowsAdded = 0;
-    float actualPercent = (float) (percentCavesWithTreasureArrows
-            + Math.random() * (1 - percentCavesWithTreasureArrows));
-    int numLocationsWithArrows = (int) Math.ceil(actualPercent * locations.size());
+  private void hookRandomMoveStrategyToYugoloth(Yugoloth yugoloth) {
+    String[] strategies = {"RandomMoveStrategy"};
+
+    int randomIdx = random.nextInt(strategies.length);
 
-    int randIdx;
-    do {
-      randIdx = random.nextInt(locations.size());
-      locations.get(randIdx).addArrows(random);
-      numArrowsAdded++;
-      locations.remove(randIdx);
+    if (strategies[randomIdx].equals("RandomMoveStrategy")) {
+      yugoloth.hookMoveStrategy(new RandomMove(random));
     }
-    while (numArrowsAdded != numLocationsWithArrows);
   }
 
-  /*
-    Kruskal's algorithm taken partly from:
-    https://www.geeksforgeeks.org/kruskals-minimum-spanning-tree-algorithm-greedy-algo-2/
-   */
-  private void generateRandomDungeon() {
-    // Generate MST, interconnectivity = 0
-    List<List<Node>> leftOver = new ArrayList<>();
-    List<String> directionLeftOver = new ArrayList<>();
-    generateMinSpanTree(leftOver, directionLeftOver);
+  private void addOtyughsToCaves(PlacementPlanner planner, int[] caveCells, int[] cells) {
+    // One Otyugh has to be added to end node, so saving it for later.
+    int numDrawn = planner.sample(caveCells, true, true, numOtyughs - 1, cells);
+    for (int idx = 0; idx < numDrawn; idx++) {
+      placeOtyugh(nodeAt(cells[idx]));
+    }
+  }
 
+  private void placeOtyugh(Node cave) {
+    cave.placeOtyugh(new Otyugh());
+    cave.updateCastInNeighbours();
+  }
 
-    // Process the leftovers, connect the required number of
-    // leftovers to increase interconnectivity.
-    increaseInterconnectivity(leftOver, directionLeftOver);
+  private void addArrowsToCavesAndTunnels(PlacementPlanner planner, int[] cells) {
+    float actualPercent = (float) (percentCavesWithTreasureArrows
+            + random.nextDouble() * (1 - percentCavesWithTreasureArrows));
+    int numLocationsWithArrows = (int) Math.ceil(actualPercent * cellGraph.getNumCells());
+    int numDrawn = planner.sample(planner.collect(cell -> true), false, false,
+            numLocationsWithArrows, cells);
+    for (int idx = 0; idx < numDrawn; idx++) {
+      nodeAt(cells[idx]).addArrows(random);
+    }
+  }
+
+  private List<Node> generateRandomMaze(MazeGenerator mazeGenerator) {
+    // Generate a spanning tree, interconnectivity = 0
+    MazeGrid grid = new MazeGrid(numRows, numCols, isWrapping);
+    GenerationPhaseEvent event = new GenerationPhaseEvent();
+    event.start("mst", numRows, numCols, 0);
+    mazeGenerator.generate(grid, random);
+    grid.closeWalls();
+    event.finish(0, 0);
+
+    // Open the required number of walls to increase interconnectivity.
+    event = new GenerationPhaseEvent();
+    event.start("interconnectivity", numRows, numCols, 0);
+    increaseInterconnectivity(grid);
+    connectNodes(grid);
+    event.finish(0, 0);
 
     // Cast GenericNode to CaveNode or TunnelNode based on number of openings
+    event = new GenerationPhaseEvent();
+    event.start("casting", numRows, numCols, 0);
     List<Node> caves = castNodesToCaveTunnelNode();
-    List<Node> cavesCopy = new ArrayList<>(caves);
+    event.finish(0, 0);
+    return caves;
+  }
 
-    // Add otyughs to caves
+  private void generateRandomDungeon(PlacementPlanner planner, List<Node> caves) {
     if (numOtyughs > caves.size()) {
       throw new IllegalArgumentException("Number of otyughs cannot exceed number of caves!");
     }
 
-    addOtyughsToCave(cavesCopy);
-
-    // Add treasures to caves
-    addTreasureToCaves(caves);
+    // Everything is drawn at random from the locations that qualify, the planner keeps track of
+    // the locations that are taken by an otyugh, a monster, the pit or the start, and of how far
+    // every location is from the hazards if they are spread out.
+    int[] cells = new int[cellGraph.getNumCells()];
+    int[] caveCells = planner.collect(cellGraph::isCave);
 
-    // Add arrows to caves and tunnels
-    List<Node> allLocations = new ArrayList<>();
-    for (Node[] row : graph) {
-      allLocations.addAll(Arrays.asList(row));
+    // Spread out otyughs are kept away from the start and from the otyugh at the end node, so
+    // those come first.
+    if (planner.isSpread()) {
+      addStartEndNodes(planner);
+      addOtyughToEndCave(planner, caveCells);
     }
 
-    addArrowsToCavesAndTunnels(allLocations);
+    // Add otyughs to caves
+    addOtyughsToCaves(planner, caveCells, cells);
 
-    // Generate random start and end nodes
-    generateRandomStartEndNode();
+    // Add treasures to caves
+    addTreasureToCaves(planner, caveCells, cells);
 
-    // Add an otyugh at the end node
-    addOtyughToEndCave();
+    // Add arrows to caves and tunnels
+    addArrowsToCavesAndTunnels(planner, cells);
 
-    // Add yugoloth to the first available cave or tunnel
-    addYugolothToDungeon();
+    // Generate random start and end nodes, and add an otyugh at the end node
+    if (!planner.isSpread()) {
+      addStartEndNodes(planner);
+      addOtyughToEndCave(planner, caveCells);
+    }
 
-    // Add thief to the first available cave or tunnel
-    addThiefToDungeon();
+    // Add yugoloth, thief and pit to free caves
+    addYugolothToDungeon(planner, caveCells);
+    addThiefToDungeon(planner, caveCells);
+    addPitToDungeon(planner, caveCells);
+  }
 
-    // Add pit to the first available cave
-    addPitToDungeon();
+  private void addStartEndNodes(PlacementPlanner planner) {
+    generateRandomStartEndNode();
+    planner.occupy(startNode.getId());
+    planner.keepHazardsAwayFrom(startNode.getId());
   }
 
-  private void addPitToDungeon() {
-    // Pit is added to the first available cave,
-    // that does not have a yugoloth, and is not the start cave,
-    // and does not have a theif in it.
-    boolean isPitAdded = false;
-    for (Node[] row : graph) {
-      for (Node node : row) {
-        if (node.getType().equals("C") && node.getOtyugh() == null
-                && !node.getNodeName().equals(yugolothPosition.getNodeName())
-                && !node.getNodeName().equals(startNode.getNodeName())
-                && !node.getNodeName().equals(thiefPosition.getNodeName())) {
-          node.addPit();
-          this.pitPosition = node;
-          isPitAdded = true;
-          break;
-        }
+  private void addRoamingMonstersToDungeon(PlacementPlanner planner) {
+    // Roaming monsters can start in any cave or tunnel except the start node,
+    // several of them are allowed to share the same location.
+    int startCell = cellGraph.cellOf(startNode);
+    int numRoaming = numRoamingYugoloths + numRoamingThieves;
+    int numDrawn = 0;
+    if (planner.isSpread()) {
+      // Spread out monsters are kept apart for as long as there is room for them.
+      int[] cells = new int[numRoaming];
+      numDrawn = planner.sample(planner.collect(next -> next != startCell), false, true,
+              numRoaming, cells);
+      for (int i = 0; i < numDrawn; i++) {
+        roamingMonsters.add(i < numRoamingYugoloths
+                ? RoamingMonsters.YUGOLOTH : RoamingMonsters.THIEF, cells[i], random);
       }
+    }
 
-      if (isPitAdded) {
-        break;
+    int cell;
+    for (int i = numDrawn; i < numRoaming; i++) {
+      do {
+        cell = random.nextInt(cellGraph.getNumCells());
       }
+      while (cell == startCell);
+
+      roamingMonsters.add(i < numRoamingYugoloths
+              ? RoamingMonsters.YUGOLOTH : RoamingMonsters.THIEF, cell, random);
     }
   }
 
-  private void addThiefToDungeon() {
-    // Thief is added to the first available cave,
-    // that does not have a yugoloth, and is not the start cave.
-    boolean isThiefPlaced = false;
-    for (Node[] row : this.graph) {
-      for (Node node : row) {
-        if (node.getType().equals("C") && node.getOtyugh() == null
-                && !node.getNodeName().equals(yugolothPosition.getNodeName())
-                && !node.getNodeName().equals(startNode.getNodeName())) {
-          node.placeThief();
-          this.thiefPosition = node;
-          isThiefPlaced = true;
-          break;
-        }
-      }
-
-      if (isThiefPlaced) {
-        break;
-      }
+  private Node sampleFreeCave(PlacementPlanner planner, int[] caveCells) {
+    int cell = planner.sampleOne(caveCells, true, true);
+    if (cell == -1) {
+      throw new IllegalArgumentException("Not enough caves for the otyughs, yugoloth, thief and "
+              + "pit!");
     }
+
+    return nodeAt(cell);
   }
 
-  private void addYugolothToDungeon() {
-    // Yugoloth is added to the first available cave,
-    // that is not the start node.
-    boolean isYugolothPlaced = false;
-    for (Node[] row : this.graph) {
-      for (Node node : row) {
-        if (node.getType().equals("C") && node.getOtyugh() == null
-                && !node.getNodeName().equals(startNode.getNodeName())) {
-          node.placeYugoloth(this.yugoloth);
-          this.yugolothPosition = node;
-          isYugolothPlaced = true;
-          break;
-        }
-      }
+  private void addPitToDungeon(PlacementPlanner planner, int[] caveCells) {
+    this.pitPosition = sampleFreeCave(planner, caveCells);
+    this.pitPosition.addPit();
+  }
 
-      if (isYugolothPlaced) {
-        break;
-      }
-    }
+  private void addThiefToDungeon(PlacementPlanner planner, int[] caveCells) {
+    this.thiefPosition = sampleFreeCave(planner, caveCells);
+    this.thiefPosition.placeThief();
   }
 
-  private void addOtyughToEndCave() {
-    if (endNode.getOtyugh() == null) {
-      Otyugh otyugh = new Otyugh();
-      endNode.placeOtyugh(otyugh);
-      endNode.updateCastInNeighbours();
-      this.otyughs.add(otyugh);
-    } else {
-      boolean foundIdx = false;
-      for (Node[] row : graph) {
-        for (Node node : row) {
-          if (node.getType().equals("C") && node.getOtyugh() == null
-                  && !node.getNodeName().equals(startNode.getNodeName())) {
-            Otyugh otyugh = new Otyugh();
-            node.placeOtyugh(otyugh);
-            node.updateCastInNeighbours();
-            this.otyughs.add(otyugh);
-            foundIdx = true;
-            break;
-          }
-        }
+  private void addYugolothToDungeon(PlacementPlanner planner, int[] caveCells) {
+    this.yugolothPosition = sampleFreeCave(planner, caveCells);
+    this.yugolothPosition.placeYugoloth(this.yugoloth);
+  }
 
-        if (foundIdx) {
-          break;
-        }
-      }
+  private void addOtyughToEndCave(PlacementPlanner planner, int[] caveCells) {
+    if (!planner.isOccupied(endNode.getId())) {
+      planner.occupy(endNode.getId());
+      planner.keepHazardsAwayFrom(endNode.getId());
+      placeOtyugh(endNode);
+    } else {
+      placeOtyugh(sampleFreeCave(planner, caveCells));
     }
   }
 
   private void generateRandomStartEndNode() {
+    GenerationPhaseEvent event = new GenerationPhaseEvent();
+    event.start("startEnd", numRows, numCols, caveGraph.getNumVisited());
     int i = 0;
-    String startNodeStr;
-    String endNodeStr;
+    int startCell;
+    int endCell;
 
     boolean foundStartEndNodes = false;
     while (i < MAX_PATIENCE_START_END_GEN) {
-      startNodeStr = String.valueOf(random.nextInt((numRows * numCols) - 1) + 1);
-      endNodeStr = String.valueOf(random.nextInt((numRows * numCols) - 1) + 1);
+      startCell = random.nextInt((numRows * numCols) - 1);
+      endCell = random.nextInt((numRows * numCols) - 1);
 
-      if (startNodeStr.equals(endNodeStr)) {
+      if (startCell == endCell) {
         i++;
         continue;
       }
 
-      startNode = findNodeByNodeName(startNodeStr);
-      endNode = findNodeByNodeName(endNodeStr);
+      startNode = graph[cellGraph.rowOf(startCell)][cellGraph.colOf(startCell)];
+      endNode = graph[cellGraph.rowOf(endCell)][cellGraph.colOf(endCell)];
 
-      if (startNode.getType().equals("C") && startNode.getOtyugh() != null) {
+      if (startNode.getType().equals("C") && startNode.hasOtyugh()) {
         i++;
         continue;
       }
 
-      int distance = findShortestPathDistance(startNode, endNode);
+      int distance = caveGraph.shortestPathLength(startCell, endCell);
       if (distance >= 5 && endNode.getType().equals("C")) {
         foundStartEndNodes = true;
         break;
@@ -816,22 +920,16 @@ public class DungeonImpl implements Dungeon {
       i++;
     }
 
+    event.finish(i, caveGraph.getNumVisited());
     if (!foundStartEndNodes) {
       throw new IllegalArgumentException("Cannot find any start and end nodes with shortest path "
               + "length of 5");
     }
 
-    for (Node[] nodes : graph) {
-      for (Node node : nodes) {
-        if (node.getNodeName().equals(startNode.getNodeName())) {
-          startNode = node;
-          startNode.updateCastInNeighbours();
-        }
-      }
-    }
+    startNode.updateCastInNeighbours();
   }
 
-  boolean placePlayerInDungeon(Player player) {
+  synchronized boolean placePlayerInDungeon(Player player) {
     if (this.player != null && this.player == player) {
       throw new IllegalArgumentException("Cannot place same player in dungeon more than once!");
     } else if (this.player != null) {
@@ -841,10 +939,30 @@ public class DungeonImpl implements Dungeon {
     ValueSanity.checkNull("Player to be entered to dungeon", player);
 
     this.player = player;
-    this.playerPosition = startNode;
+    updatePlayerPosition(startNode);
+    if (this.isMetered) {
+      this.gameId = GameMetrics.startGame(this);
+    }
+    record(EventLog.ENTER, player.getName());
     return false;
   }
 
+  private void updatePlayerPosition(Node node) {
+    this.playerPosition = node;
+    this.flowField.setSource(0, this.cellGraph.cellOf(node));
+    this.routePlanner.markVisited(this.cellGraph.cellOf(node));
+  }
+
+  private int rowOfNode(Node node) {
+    int cell = this.cellGraph.cellOf(node);
+    return cell == -1 ? -1 : this.cellGraph.rowOf(cell);
+  }
+
+  private int colOfNode(Node node) {
+    int cell = this.cellGraph.cellOf(node);
+    return cell == -1 ? -1 : this.cellGraph.colOf(cell);
+  }
+
   private Node getPlayerCurrentPosition() {
     if (playerPosition == null) {
       throw new IllegalArgumentException("Player not placed in dungeon!");
@@ -854,18 +972,23 @@ public class DungeonImpl implements Dungeon {
   }
 
   private boolean killPlayer(Node node) {
-    if (node.getType().equals("C") && node.getOtyugh() != null) {
-      if (node.getType().equals("C") && node.getOtyugh().getHealth() == 100) {
-        return true;
-      } else if (node.getOtyugh().getHealth() == 50) {
-        return (this.random.nextInt(101 - 1) + 1) <= 50;
-      }
+    if (!node.hasOtyugh()) {
+      return false;
+    }
+
+    int health = node.getOtyughHealth();
+    if (health == 100) {
+      return true;
+    } else if (health == 50) {
+      return (this.random.nextInt(101 - 1) + 1) <= 50;
     }
 
     return false;
   }
 
-  boolean movePlayer(String direction, Player movingPlayer) {
+  synchronized boolean movePlayer(String direction, Player movingPlayer) {
+    long startTime = System.nanoTime();
+    GameActionEvent event = startAction("move");
     ValueSanity.checkNull("Direction in which to move", direction);
 
     if (player == null) {
@@ -874,50 +997,59 @@ public class DungeonImpl implements Dungeon {
       throw new IllegalArgumentException("This player is not placed in the dungeon!");
     }
 
+    Node nextNode;
     switch (direction) {
       case "L": {
-        Node leftNode = getPlayerCurrentPosition().getLeftNode();
-        if (leftNode == null) {
+        nextNode = getPlayerCurrentPosition().getLeftNode();
+        if (nextNode == null) {
           throw new IllegalArgumentException("Cannot move west!");
         }
-
-        this.playerPosition = leftNode;
-        return killPlayer(leftNode);
+        break;
       }
       case "R": {
-        Node rightNode = getPlayerCurrentPosition().getRightNode();
-        if (rightNode == null) {
+        nextNode = getPlayerCurrentPosition().getRightNode();
+        if (nextNode == null) {
           throw new IllegalArgumentException("Cannot move east!");
         }
-
-        this.playerPosition = rightNode;
-        return killPlayer(rightNode);
+        break;
       }
       case "U": {
-        Node topNode = getPlayerCurrentPosition().getTopNode();
-        if (topNode == null) {
+        nextNode = getPlayerCurrentPosition().getTopNode();
+        if (nextNode == null) {
           throw new IllegalArgumentException("Cannot move north!");
         }
-
-        this.playerPosition = topNode;
-        return killPlayer(topNode);
+        break;
       }
       case "D": {
-        Node bottomNode = getPlayerCurrentPosition().getBottomNode();
-        if (bottomNode == null) {
+        nextNode = getPlayerCurrentPosition().getBottomNode();
+        if (nextNode == null) {
           throw new IllegalArgumentException("Cannot move south!");
         }
-
-        this.playerPosition = bottomNode;
-        return killPlayer(bottomNode);
+        break;
       }
       default: {
         throw new IllegalArgumentException("Invalid direction!");
       }
     }
+
+    updatePlayerPosition(nextNode);
+    record(EventLog.MOVE, CellGraph.directionOf(direction));
+    boolean isPlayerKilled = killPlayer(nextNode);
+    if (isPlayerKilled) {
+      record(EventLog.EATEN);
+      count(GameMetrics.DEATHS_BY_OTYUGH);
+      this.isGameOver = true;
+    } else if (nextNode == endNode) {
+      this.isGameOver = true;
+    }
+    recordLatency(GameMetrics.MOVE, startTime);
+    finishAction(event);
+    return isPlayerKilled;
   }
 
-  void pickUpTreasure(String treasureName, Player pickingPlayer) {
+  synchronized void pickUpTreasure(String treasureName, Player pickingPlayer) {
+    long startTime = System.nanoTime();
+    GameActionEvent event = startAction("pickUpTreasure");
     ValueSanity.checkNull("Treasure to pick up", treasureName);
     ValueSanity.checkNull("Player picking up treasure", pickingPlayer);
 
@@ -928,9 +1060,14 @@ public class DungeonImpl implements Dungeon {
     }
 
     this.playerPosition.removeTreasure(treasureName);
+    record(EventLog.PICKUP_TREASURE, EventLog.codeOf(Treasure.valueOf(treasureName)));
+    recordLatency(GameMetrics.PICKUP, startTime);
+    finishAction(event);
   }
 
-  void pickUpArrow(Player pickingPlayer) {
+  synchronized void pickUpArrow(Player pickingPlayer) {
+    long startTime = System.nanoTime();
+    GameActionEvent event = startAction("pickUpArrow");
     ValueSanity.checkNull("Player to pick up arrow", pickingPlayer);
 
     if (this.player == null) {
@@ -940,30 +1077,54 @@ public class DungeonImpl implements Dungeon {
     }
 
     this.playerPosition.removeArrow();
+    record(EventLog.PICKUP_ARROW);
+    recordLatency(GameMetrics.PICKUP, startTime);
+    finishAction(event);
   }
 
-  private Node getNodeInDirection(Node currentNode, String direction) {
-    switch (direction) {
-      case "L": {
-        return currentNode.getLeftNode();
-      }
-      case "R": {
-        return currentNode.getRightNode();
-      }
-      case "U": {
-        return currentNode.getTopNode();
-      }
-      case "D": {
-        return currentNode.getBottomNode();
-      }
-      default: {
-        throw new IllegalArgumentException("Invalid direction!");
-      }
+  synchronized ShotResult shootArrow(String direction, int distance, Player shootingPlayer) {
+    long startTime = System.nanoTime();
+    GameActionEvent event = startAction("shoot");
+    ValueSanity.checkNull("Direction in which to shoot", direction);
+    checkShootingPlayer(shootingPlayer);
+
+    int heading = CellGraph.directionOf(direction);
+    long shot = fireArrow(heading, distance);
+    int cell = landingCell(shot);
+
+    ShotResult result = new ShotResult(cellGraph.rowOf(cell), cellGraph.colOf(cell),
+            outcomeOf(shot));
+
+    recordLatency(GameMetrics.SHOOT, startTime);
+    finishAction(event);
+    return result;
+  }
+
+  /*
+    Shoots one arrow for every direction and distance, in order, and fills the volley with where
+    each of them landed. The arguments have been checked by the player, who has the arrows.
+   */
+  synchronized void shootVolley(String[] directions, int[] distances, Player shootingPlayer,
+                                Volley volley) {
+    GameActionEvent event = startAction("volley");
+    checkShootingPlayer(shootingPlayer);
+
+    volley.clear();
+    long startTime;
+    long shot;
+    int cell;
+    for (int idx = 0; idx < directions.length; idx++) {
+      startTime = System.nanoTime();
+      shot = fireArrow(CellGraph.directionOf(directions[idx]), distances[idx]);
+      cell = landingCell(shot);
+      volley.add(cellGraph.rowOf(cell), cellGraph.colOf(cell), outcomeOf(shot));
+      recordLatency(GameMetrics.SHOOT, startTime);
     }
+
+    finishAction(event);
   }
 
-  List<Integer> shootArrow(String direction, int distance, Player shootingPlayer) {
-    ValueSanity.checkNull("Direction in which to shoot", direction);
+  private void checkShootingPlayer(Player shootingPlayer) {
     ValueSanity.checkNull("Player shooting arrow", shootingPlayer);
 
     if (this.player == null) {
@@ -971,89 +1132,70 @@ public class DungeonImpl implements Dungeon {
     } else if (this.player != shootingPlayer) {
       throw new IllegalArgumentException("This player is not placed in the dungeon!");
     }
+  }
 
-    int arrowDistanceTravelled = 0;
-
-    Node tempCurrentNode;
-    Node currentArrowPosition = getPlayerCurrentPosition();
-    boolean isFirstNode = true;
-    String currentHeading = direction;
-    do {
-      if (currentArrowPosition.getType().equals("C") && !isFirstNode) {
-        arrowDistanceTravelled++;
-      }
-      isFirstNode = false;
-
-      if (arrowDistanceTravelled == distance) {
-        break;
-      }
+  /*
+    Shoots an arrow from the location of the player and records the shot together with its
+    outcome, which is all a log needs to tell kills apart without the dungeon.
+   */
+  private long fireArrow(int heading, int distance) {
+    long shot = flyArrow(heading, distance);
+    record(EventLog.SHOOT, heading, distance, outcomeOf(shot) - ShotResult.MISSED);
+    return shot;
+  }
 
-      tempCurrentNode = getNodeInDirection(currentArrowPosition, currentHeading);
-      if (tempCurrentNode == null) {
+  /*
+    Flies an arrow from the location of the player and returns the location it landed in,
+    together with its outcome, packed by packShot(). Tunnels never count towards the distance, so
+    the arrow jumps from cave to cave along the exits the cave graph has worked out for every
+    door, and never looks at a node until it lands.
+   */
+  private long flyArrow(int heading, int distance) {
+    int arrowDistanceTravelled = 0;
+    int currentHeading = heading;
+    int currentArrowCell = cellGraph.cellOf(getPlayerCurrentPosition());
+    int nextCave;
+    while (arrowDistanceTravelled != distance) {
+      nextCave = caveGraph.target(currentArrowCell, currentHeading);
+      if (nextCave < 0) {
         break;
       }
-      currentArrowPosition = tempCurrentNode;
-
-      if (currentArrowPosition.getType().equals("T")) {
-        if (currentArrowPosition.getLeftNode() != null && !currentHeading.equals("R")) {
-          currentHeading = "L";
-        } else if (currentArrowPosition.getRightNode() != null && !currentHeading.equals("L")) {
-          currentHeading = "R";
-        } else if (currentArrowPosition.getTopNode() != null && !currentHeading.equals("D")) {
-          currentHeading = "U";
-        } else if (currentArrowPosition.getBottomNode() != null && !currentHeading.equals("U")) {
-          currentHeading = "D";
-        }
-      }
 
+      currentHeading = caveGraph.arrivalHeading(currentArrowCell, currentHeading);
+      currentArrowCell = nextCave;
+      arrowDistanceTravelled++;
     }
-    while (arrowDistanceTravelled != distance);
 
-    List<Integer> result = new ArrayList<>();
-    int currentArrowPositionI = -1;
-    int currentArrowPositionJ = -1;
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(currentArrowPosition.getNodeName())) {
-          currentArrowPositionI = i;
-          currentArrowPositionJ = j;
-        }
-      }
+    Node currentArrowPosition = nodeAt(currentArrowCell);
+    if (arrowDistanceTravelled != distance || !cellGraph.isCave(currentArrowCell)) {
+      // An arrow that stops short, or lands in a tunnel, stays where it is.
+      currentArrowPosition.addSingleArrow();
+      return packShot(currentArrowCell, ShotResult.MISSED);
+    } else if (!currentArrowPosition.hasOtyugh()) {
+      return packShot(currentArrowCell, ShotResult.MISSED);
     }
-    result.add(currentArrowPositionI);
-    result.add(currentArrowPositionJ);
-
-    if (arrowDistanceTravelled == distance) {
-      if (currentArrowPosition.getType().equals("C")) {
-        if (currentArrowPosition.getOtyugh() != null) {
-          int newHealth = currentArrowPosition.getOtyugh().gotHitByArrow();
-          currentArrowPosition.setOtyughHealth(newHealth);
-          if (currentArrowPosition.getOtyugh().getHealth() <= 0) {
-            Otyugh otyughToBeRemoved = null;
-            for (Otyugh otyugh : this.otyughs) {
-              if (otyugh.getName().equals(currentArrowPosition.getOtyugh().getName())) {
-                otyughToBeRemoved = otyugh;
-              }
-            }
 
-            this.otyughs.remove(otyughToBeRemoved);
+    int newHealth = Otyugh.healthAfterHit(currentArrowPosition.getOtyughHealth());
+    if (newHealth <= 0) {
+      currentArrowPosition.removeOtyugh();
+      count(GameMetrics.OTYUGH_KILLS);
+      return packShot(currentArrowCell, ShotResult.KILLED);
+    }
 
-            currentArrowPosition.removeOtyugh();
+    currentArrowPosition.setOtyughHealth(newHealth);
+    return packShot(currentArrowCell, ShotResult.INJURED);
+  }
 
-            result.add(1);
-          }
-          result.add(0);
-        }
-      } else if (currentArrowPosition.getType().equals("T")) {
-        currentArrowPosition.addSingleArrow();
-      }
-    } else {
-      currentArrowPosition.addSingleArrow();
-    }
+  private static long packShot(int cell, int outcome) {
+    return ((long) cell << 32) | (outcome & 0xFFFFFFFFL);
+  }
 
-    result.add(-1);
+  private static int landingCell(long shot) {
+    return (int) (shot >>> 32);
+  }
 
-    return result;
+  private static int outcomeOf(long shot) {
+    return (int) shot;
   }
 
   /**
@@ -1065,7 +1207,7 @@ public class DungeonImpl implements Dungeon {
   public boolean hasReachedEndNode() {
     ValueSanity.checkNull("Player in dungeon", player);
 
-    return getPlayerCurrentPosition().getNodeName().equals(endNode.getNodeName());
+    return getPlayerCurrentPosition().getId() == endNode.getId();
   }
 
   /**
@@ -1097,22 +1239,15 @@ public class DungeonImpl implements Dungeon {
   }
 
   /**
-   * Returns the configurations used to construct the dungeon.
+   * Returns the configuration used to construct the dungeon.
    *
-   * @return the configurations used to construct the dungeon
+   * @return the configuration used to construct the dungeon
    */
   @Override
-  public List<Object> getDungeonConfig() {
-    List<Object> dungeonConfig = new ArrayList<>();
-    dungeonConfig.add(numRows);
-    dungeonConfig.add(numCols);
-    dungeonConfig.add(interconnectivity);
-    dungeonConfig.add(isWrapping);
-    dungeonConfig.add(percentCavesWithTreasureArrows);
-    dungeonConfig.add(forceInterconnectivityRange);
-    dungeonConfig.add(numOtyughs);
-
-    return dungeonConfig;
+  public DungeonConfig getDungeonConfig() {
+    return new DungeonConfig(numRows, numCols, interconnectivity, isWrapping,
+            percentCavesWithTreasureArrows, forceInterconnectivityRange, numOtyughs,
+            numRoamingYugoloths, numRoamingThieves, hazardSpacing, mazeGeneratorName);
   }
 
   /**
@@ -1132,15 +1267,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getStartNodeI() {
-    for (int i = 0; i < graph.length; i++) {
-      for (int j = 0; j < graph[i].length; j++) {
-        if (graph[i][j].getNodeName().equals(startNode.getNodeName())) {
-          return i;
-        }
-      }
-    }
-
-    return -1;
+    return rowOfNode(this.startNode);
   }
 
   /**
@@ -1150,15 +1277,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getStartNodeJ() {
-    for (int i = 0; i < graph.length; i++) {
-      for (int j = 0; j < graph[i].length; j++) {
-        if (graph[i][j].getNodeName().equals(startNode.getNodeName())) {
-          return j;
-        }
-      }
-    }
-
-    return -1;
+    return colOfNode(this.startNode);
   }
 
   /**
@@ -1181,7 +1300,7 @@ public class DungeonImpl implements Dungeon {
     List<Integer> otyughNodeIs = new ArrayList<>();
     for (int i = 0; i < graph.length; i++) {
       for (int j = 0; j < graph[i].length; j++) {
-        if (graph[i][j].getType().equals("C") && graph[i][j].getOtyugh() != null) {
+        if (graph[i][j].hasOtyugh()) {
           otyughNodeIs.add(i);
         }
       }
@@ -1200,7 +1319,7 @@ public class DungeonImpl implements Dungeon {
     List<Integer> otyughNodeJs = new ArrayList<>();
     for (int i = 0; i < graph.length; i++) {
       for (int j = 0; j < graph[i].length; j++) {
-        if (graph[i][j].getType().equals("C") && graph[i][j].getOtyugh() != null) {
+        if (graph[i][j].hasOtyugh()) {
           otyughNodeJs.add(j);
         }
       }
@@ -1212,30 +1331,34 @@ public class DungeonImpl implements Dungeon {
   /**
    * Gets a map of all the treasures along with their locations.
    *
-   * @return a map of all the treasures along with their locations
+   * @return a map of the treasures in every cave
    */
   @Override
-  public Map<List<Integer>, List<String>> getTreasureAndLocations() {
-    Map<List<Integer>, List<String>> treasureNameAndLocations = new HashMap<>();
-
-    List<String> treasureNames;
-    List<Integer> location;
-    for (int i = 0; i < graph.length; i++) {
-      for (int j = 0; j < graph[i].length; j++) {
-        if (graph[i][j].getType().equals("C")) {
-          treasureNames = graph[i][j].getTreasures();
-          if (treasureNames != null) {
-            location = new ArrayList<>();
-            location.add(i);
-            location.add(j);
-
-            treasureNameAndLocations.put(location, treasureNames);
-          }
+  public TreasureMap getTreasureAndLocations() {
+    int numCaves = 0;
+    for (int cell = 0; cell < cellGraph.getNumCells(); cell++) {
+      if (cellGraph.isCave(cell)) {
+        numCaves++;
+      }
+    }
+
+    int[] cells = new int[numCaves];
+    int[] counts = new int[numCaves * TREASURES.length];
+    int cave = 0;
+    Node node;
+    for (int cell = 0; cell < cellGraph.getNumCells(); cell++) {
+      if (cellGraph.isCave(cell)) {
+        node = graph[cellGraph.rowOf(cell)][cellGraph.colOf(cell)];
+        cells[cave] = cell;
+        for (Treasure treasure : TREASURES) {
+          counts[cave * TREASURES.length + treasure.ordinal()] =
+                  node.getNumTreasures(treasure.name());
         }
+        cave++;
       }
     }
 
-    return treasureNameAndLocations;
+    return new TreasureMap(numCols, cells, counts);
   }
 
   /**
@@ -1252,8 +1375,13 @@ public class DungeonImpl implements Dungeon {
    * Moves a yugoloth in the dungeon.
    */
   @Override
-  public void moveYugoloth() {
+  public synchronized void moveYugoloth() {
+    long startTime = System.nanoTime();
+    GameActionEvent event = startAction("moveYugoloth");
     this.yugolothPosition = this.yugoloth.move(this.yugolothPosition);
+    record(EventLog.YUGOLOTH_TICK);
+    recordLatency(GameMetrics.MONSTER_TICK, startTime);
+    finishAction(event);
   }
 
   /**
@@ -1266,54 +1394,6 @@ public class DungeonImpl implements Dungeon {
     return numOtyughs;
   }
 
-  /*
-    Shortest distance taken from:
-   */
-  private int findShortestPathDistance(Node startNode, Node endNode) {
-    List<String> visitedNodes = new ArrayList<>();
-    Map<String, Integer> distances = new TreeMap<>();
-
-    List<Node> queue = new ArrayList<>();
-
-    visitedNodes.add(startNode.getNodeName());
-    queue.add(startNode);
-    distances.put(startNode.getNodeName(), 0);
-
-    Node topNode;
-    List<Node> neighbours;
-    while (queue.size() != 0) {
-      topNode = queue.get(0);
-      queue.remove(0);
-      neighbours = new ArrayList<>();
-      if (topNode.getLeftNode() != null) {
-        neighbours.add(topNode.getLeftNode());
-      }
-      if (topNode.getRightNode() != null) {
-        neighbours.add(topNode.getRightNode());
-      }
-      if (topNode.getBottomNode() != null) {
-        neighbours.add(topNode.getBottomNode());
-      }
-      if (topNode.getTopNode() != null) {
-        neighbours.add(topNode.getTopNode());
-      }
-
-      for (Node neighbour : neighbours) {
-        if (!visitedNodes.contains(neighbour.getNodeName())) {
-          visitedNodes.add(neighbour.getNodeName());
-          distances.put(neighbour.getNodeName(), distances.get(topNode.getNodeName()) + 1);
-          queue.add(neighbour);
-        }
-
-        if (neighbour.getNodeName().equals(endNode.getNodeName())) {
-          return distances.get(topNode.getNodeName()) + 1;
-        }
-      }
-    }
-
-    return -1;
-  }
-
   /**
    * String representation of a dungeon containing information about the maze,
    * the starting and ending nodes and the list of caves and the treasures in them.
@@ -1321,7 +1401,7 @@ public class DungeonImpl implements Dungeon {
    * @return the string representation of the dungeon
    */
   @Override
-  public String toString() {
+  public synchronized String toString() {
     String whiteSpaces;
     StringBuilder singleRow;
     StringBuilder bottomArrows;
@@ -1334,9 +1414,9 @@ public class DungeonImpl implements Dungeon {
         whiteSpaces = ("" + node.getNodeName()).length() == 1 ? " " : "";
         singleRow.append(whiteSpaces).append(node.getNodeName());
 
-        if (node.getNodeName().equals(startNode.getNodeName())) {
+        if (node.getId() == startNode.getId()) {
           singleRow.append("*");
-        } else if (node.getNodeName().equals(endNode.getNodeName())) {
+        } else if (node.getId() == endNode.getId()) {
           singleRow.append("+");
         } else {
           singleRow.append(" ");
@@ -1344,13 +1424,13 @@ public class DungeonImpl implements Dungeon {
 
         singleRow.append(": ").append(node.getType());
 
-        if (node.getRightNode() != null) {
+        if ((node.getDoorMask() & Node.DOOR_EAST) != 0) {
           singleRow.append(" - ");
         } else {
           singleRow.append("   ");
         }
 
-        if (node.getBottomNode() != null) {
+        if ((node.getDoorMask() & Node.DOOR_SOUTH) != 0) {
           bottomArrows.append("     |   ");
         } else {
           bottomArrows.append("         ");
@@ -1442,15 +1522,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getYugolothNodeI() {
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(this.yugolothPosition.getNodeName())) {
-          return i;
-        }
-      }
-    }
-
-    return -1;
+    return rowOfNode(this.yugolothPosition);
   }
 
   /**
@@ -1460,15 +1532,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getYugolothNodeJ() {
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(this.yugolothPosition.getNodeName())) {
-          return j;
-        }
-      }
-    }
-
-    return -1;
+    return colOfNode(this.yugolothPosition);
   }
 
   /**
@@ -1477,18 +1541,25 @@ public class DungeonImpl implements Dungeon {
    * @return true if the player wins the hand to hand battle, false otherwise
    */
   @Override
-  public boolean handToHandBattle() {
+  public synchronized boolean handToHandBattle() {
     // The player dies with 50% probability
-    return (this.random.nextInt(101 - 1) + 1) <= 50;
+    boolean isPlayerKilled = (this.random.nextInt(101 - 1) + 1) <= 50;
+    record(EventLog.BATTLE, isPlayerKilled ? 1 : 0);
+    if (isPlayerKilled) {
+      count(GameMetrics.DEATHS_BY_YUGOLOTH);
+      this.isGameOver = true;
+    }
+    return isPlayerKilled;
   }
 
   /**
    * Kills the yugoloth in the dungeon.
    */
   @Override
-  public void killYugoloth() {
+  public synchronized void killYugoloth() {
     this.yugoloth = null;
     this.yugolothPosition = null;
+    record(EventLog.KILL_YUGOLOTH);
   }
 
   /**
@@ -1526,15 +1597,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getThiefNodeI() {
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(this.thiefPosition.getNodeName())) {
-          return i;
-        }
-      }
-    }
-
-    return -1;
+    return rowOfNode(this.thiefPosition);
   }
 
   /**
@@ -1544,15 +1607,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getThiefNodeJ() {
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(this.thiefPosition.getNodeName())) {
-          return j;
-        }
-      }
-    }
-
-    return -1;
+    return colOfNode(this.thiefPosition);
   }
 
   /**
@@ -1592,15 +1647,7 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getPitNodeI() {
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(this.pitPosition.getNodeName())) {
-          return i;
-        }
-      }
-    }
-
-    return -1;
+    return rowOfNode(this.pitPosition);
   }
 
   /**
@@ -1610,15 +1657,594 @@ public class DungeonImpl implements Dungeon {
    */
   @Override
   public int getPitNodeJ() {
-    for (int i = 0; i < this.graph.length; i++) {
-      for (int j = 0; j < this.graph[i].length; j++) {
-        if (this.graph[i][j].getNodeName().equals(this.pitPosition.getNodeName())) {
-          return j;
-        }
+    return colOfNode(this.pitPosition);
+  }
+
+  /**
+   * Moves all the roaming monsters (yugoloths and thieves) in the dungeon by one step.
+   */
+  @Override
+  public synchronized void moveRoamingMonsters() {
+    long startTime = System.nanoTime();
+    GameActionEvent event = startAction("moveRoamingMonsters");
+    this.roamingMonsters.tick();
+    record(EventLog.ROAMING_TICK);
+    recordLatency(GameMetrics.MONSTER_TICK, startTime);
+    finishAction(event);
+  }
+
+  /**
+   * Returns the number of monsters roaming around in the dungeon.
+   *
+   * @return the number of monsters roaming around in the dungeon
+   */
+  @Override
+  public int getNumRoamingMonsters() {
+    return this.roamingMonsters.size();
+  }
+
+  /**
+   * Returns the row number of the current position of a roaming monster.
+   *
+   * @param index the index of the roaming monster
+   * @return the row number of the current position of the roaming monster
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  @Override
+  public int getRoamingMonsterNodeI(int index) {
+    checkRoamingMonsterIndex(index);
+
+    return this.cellGraph.rowOf(this.roamingMonsters.getPosition(index));
+  }
+
+  /**
+   * Returns the column number of the current position of a roaming monster.
+   *
+   * @param index the index of the roaming monster
+   * @return the column number of the current position of the roaming monster
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  @Override
+  public int getRoamingMonsterNodeJ(int index) {
+    checkRoamingMonsterIndex(index);
+
+    return this.cellGraph.colOf(this.roamingMonsters.getPosition(index));
+  }
+
+  /**
+   * Returns the type of a roaming monster, either YUGOLOTH or THIEF.
+   *
+   * @param index the index of the roaming monster
+   * @return the type of the roaming monster
+   * @throws IllegalArgumentException if the index is out of range
+   */
+  @Override
+  public String getRoamingMonsterType(int index) {
+    checkRoamingMonsterIndex(index);
+
+    return this.roamingMonsters.getKind(index) == RoamingMonsters.YUGOLOTH
+            ? "YUGOLOTH" : "THIEF";
+  }
+
+  private void checkRoamingMonsterIndex(int index) {
+    if (index < 0 || index >= this.roamingMonsters.size()) {
+      throw new IllegalArgumentException("No roaming monster with index " + index + "!");
+    }
+  }
+
+  /**
+   * Returns the number of roaming yugoloths in the current position of the player.
+   *
+   * @return the number of roaming yugoloths in the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  @Override
+  public int getNumRoamingYugolothsAtPlayer() {
+    return this.roamingMonsters.countAt(RoamingMonsters.YUGOLOTH,
+            this.cellGraph.cellOf(getPlayerCurrentPosition()));
+  }
+
+  /**
+   * Returns the number of roaming thieves in the current position of the player.
+   *
+   * @return the number of roaming thieves in the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  @Override
+  public int getNumRoamingThievesAtPlayer() {
+    return this.roamingMonsters.countAt(RoamingMonsters.THIEF,
+            this.cellGraph.cellOf(getPlayerCurrentPosition()));
+  }
+
+  /**
+   * Kills one of the roaming yugoloths in the current position of the player.
+   *
+   * @throws IllegalArgumentException if the player is not placed in the dungeon, or
+   *                                  if there is no roaming yugoloth at the player's position
+   */
+  @Override
+  public synchronized void killRoamingYugolothAtPlayer() {
+    this.roamingMonsters.removeOneAt(RoamingMonsters.YUGOLOTH,
+            this.cellGraph.cellOf(getPlayerCurrentPosition()));
+    record(EventLog.KILL_ROAMING_YUGOLOTH);
+  }
+
+  /**
+   * Steals all the treasure of the player, when the thief or a roaming thief is in the current
+   * position of the player.
+   *
+   * @throws IllegalArgumentException if the player is not placed in the dungeon, or
+   *                                  if there is no thief at the player's position
+   */
+  @Override
+  public synchronized void stealTreasureAtPlayer() {
+    int playerCell = this.cellGraph.cellOf(getPlayerCurrentPosition());
+    if (this.cellGraph.cellOf(this.thiefPosition) != playerCell
+            && this.roamingMonsters.countAt(RoamingMonsters.THIEF, playerCell) == 0) {
+      throw new IllegalArgumentException("There is no thief at the player's position!");
+    }
+
+    this.player.treasureStolen();
+    record(EventLog.THEFT);
+  }
+
+  /**
+   * Makes the player fall into the pit in the current position of the player, which kills the
+   * player.
+   *
+   * @throws IllegalArgumentException if the player is not placed in the dungeon, or
+   *                                  if there is no pit at the player's position
+   */
+  @Override
+  public synchronized void fallIntoPit() {
+    if (this.cellGraph.cellOf(this.pitPosition)
+            != this.cellGraph.cellOf(getPlayerCurrentPosition())) {
+      throw new IllegalArgumentException("There is no pit at the player's position!");
+    }
+
+    this.player.killPlayer();
+    count(GameMetrics.DEATHS_BY_PIT);
+    this.isGameOver = true;
+    record(EventLog.PIT_FALL);
+  }
+
+  /**
+   * Sets the strategy used by the yugoloth to move around the dungeon, either RANDOM to
+   * wander around or CHASE to hunt down the player.
+   *
+   * @param strategyName the name of the move strategy
+   * @throws IllegalArgumentException if the strategy name is null or unknown, or
+   *                                  if the yugoloth has been killed
+   */
+  @Override
+  public synchronized void setYugolothMoveStrategy(String strategyName) {
+    MoveStrategy moveStrategy = createMoveStrategy(strategyName);
+
+    if (this.yugoloth == null) {
+      throw new IllegalArgumentException("Yugoloth is not in the dungeon!");
+    }
+
+    this.yugoloth.hookMoveStrategy(moveStrategy);
+    record(EventLog.YUGOLOTH_STRATEGY, EventLog.indexOf(EventLog.STRATEGY_NAMES, strategyName));
+  }
+
+  /**
+   * Sets the strategy used by a roaming monster to move around the dungeon, either RANDOM to
+   * wander around or CHASE to hunt down the player.
+   *
+   * @param index        the index of the roaming monster
+   * @param strategyName the name of the move strategy
+   * @throws IllegalArgumentException if the index is out of range, or
+   *                                  if the strategy name is null or unknown
+   */
+  @Override
+  public synchronized void setRoamingMonsterMoveStrategy(int index, String strategyName) {
+    checkRoamingMonsterIndex(index);
+    ValueSanity.checkNull("Move strategy", strategyName);
+
+    switch (strategyName) {
+      case "RANDOM":
+        this.roamingMonsters.setStrategy(index, RoamingMonsters.RANDOM);
+        break;
+      case "CHASE":
+        this.roamingMonsters.setStrategy(index, RoamingMonsters.CHASE);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown move strategy " + strategyName + "!");
+    }
+    record(EventLog.ROAMING_STRATEGY, index, EventLog.indexOf(EventLog.STRATEGY_NAMES,
+            strategyName));
+  }
+
+  /**
+   * Returns how strongly the player can smell otyughs from the current position, STRONG if
+   * there is an otyugh in a neighbouring location or more than one otyugh two locations away,
+   * WEAK if there is exactly one otyugh two locations away and NONE otherwise.
+   *
+   * @return the smell level at the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  @Override
+  public String getSmellAtPlayer() {
+    int playerCell = this.cellGraph.cellOf(getPlayerCurrentPosition());
+
+    if (this.caveGraph.countCavesAtDistance(playerCell, 1, this.hasOtyughAt) >= 1) {
+      return "STRONG";
+    }
+
+    int numOtyughsInDistanceTwo = this.caveGraph.countCavesAtDistance(playerCell, 2,
+            this.hasOtyughAt);
+    if (numOtyughsInDistanceTwo == 1) {
+      return "WEAK";
+    } else if (numOtyughsInDistanceTwo > 1) {
+      return "STRONG";
+    }
+
+    return "NONE";
+  }
+
+  private Node nodeAt(int cell) {
+    return this.graph[this.cellGraph.rowOf(cell)][this.cellGraph.colOf(cell)];
+  }
+
+  private Locations toLocations(int numCells) {
+    return new Locations(this.numCols, this.queryResults, numCells);
+  }
+
+  private static boolean isTreasure(String name) {
+    for (Treasure treasure : TREASURES) {
+      if (treasure.name().equals(name)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private void checkNumLocations(int numLocations) {
+    if (numLocations <= 0) {
+      throw new IllegalArgumentException("Number of locations is expected to be positive!");
+    }
+  }
+
+  /**
+   * Returns the coordinates of the locations with arrows that are closest to the player,
+   * including the player's current location, ordered from the closest to the farthest.
+   *
+   * @param numLocations the maximum number of locations to return
+   * @return the closest locations with arrows
+   * @throws IllegalArgumentException if the number of locations is not positive, or
+   *                                  if the player is not placed in the dungeon
+   */
+  @Override
+  public Locations getNearestArrows(int numLocations) {
+    checkNumLocations(numLocations);
+
+    int numFound = this.graphQuery.nearest(this.cellGraph.cellOf(getPlayerCurrentPosition()),
+            this.hasArrowsAt, numLocations, this.queryResults);
+
+    return toLocations(numFound);
+  }
+
+  /**
+   * Returns the locations with arrows that are closest to any of the given locations,
+   * including the given locations themselves, ordered from the closest to the farthest. The
+   * search starts from all the given locations at once, so it costs no more than a single
+   * search from the player.
+   *
+   * @param sources      the locations to search from, such as the result of another query
+   * @param numLocations the maximum number of locations to return
+   * @return the closest locations with arrows
+   * @throws IllegalArgumentException if the locations to search from are null or are not in
+   *                                  a dungeon of the same size, or
+   *                                  if the number of locations is not positive
+   */
+  @Override
+  public Locations getNearestArrows(Locations sources, int numLocations) {
+    ValueSanity.checkNull("Locations to search from", sources);
+    checkNumLocations(numLocations);
+
+    int[] cells = sources.getCells();
+    if (sources.getNumCols() != this.numCols) {
+      throw new IllegalArgumentException("Locations are expected to be in this dungeon!");
+    }
+    for (int cell : cells) {
+      if (cell >= this.cellGraph.getNumCells()) {
+        throw new IllegalArgumentException("Locations are expected to be in this dungeon!");
       }
     }
 
-    return -1;
+    int numFound = this.graphQuery.nearest(cells, cells.length, this.hasArrowsAt,
+            numLocations, Integer.MAX_VALUE, this.queryResults);
+
+    return toLocations(numFound);
   }
-}
 
+  /**
+   * Returns the coordinates of the caves with the given treasure that are closest to the
+   * player, including the player's current location, ordered from the closest to the farthest.
+   *
+   * @param treasureName the name of the treasure to look for
+   * @param numLocations the maximum number of locations to return
+   * @return the closest caves with the treasure
+   * @throws IllegalArgumentException if the treasure name is null, or
+   *                                  if the number of locations is not positive, or
+   *                                  if the player is not placed in the dungeon
+   */
+  @Override
+  public Locations getNearestTreasure(String treasureName, int numLocations) {
+    ValueSanity.checkNull("Treasure name", treasureName);
+    checkNumLocations(numLocations);
+
+    if (!isTreasure(treasureName)) {
+      // No cave can have a treasure that does not exist.
+      return toLocations(0);
+    }
+
+    int numFound = this.graphQuery.nearest(this.cellGraph.cellOf(getPlayerCurrentPosition()),
+            cell -> this.cellGraph.isCave(cell)
+                    && nodeAt(cell).getNumTreasures(treasureName) > 0,
+            numLocations, this.queryResults);
+
+    return toLocations(numFound);
+  }
+
+  /**
+   * Returns the coordinates of all the caves that are at most the given number of steps away
+   * from the player, including the player's current location, ordered from the closest to the
+   * farthest.
+   *
+   * @param distance the maximum number of steps from the player
+   * @return the caves within the distance
+   * @throws IllegalArgumentException if the distance is negative, or
+   *                                  if the player is not placed in the dungeon
+   */
+  @Override
+  public Locations getCavesWithinDistance(int distance) {
+    if (distance < 0) {
+      throw new IllegalArgumentException("Distance is expected to be non-negative!");
+    }
+
+    int numFound = this.graphQuery.withinRadius(
+            this.cellGraph.cellOf(getPlayerCurrentPosition()), distance, this.cellGraph::isCave,
+            this.queryResults);
+
+    return toLocations(numFound);
+  }
+
+  /**
+   * Returns the shortest route from the player's current location to the given location that
+   * only goes through locations the player has already visited. The last step of the route
+   * may lead into a location that has not been visited yet.
+   *
+   * @param i the row of the location to reach
+   * @param j the column of the location to reach
+   * @return the directions (U, D, L or R) to move in, empty if the player is already there
+   * @throws IllegalArgumentException if the location is outside the dungeon, or
+   *                                  if the player is not placed in the dungeon, or
+   *                                  if there is no known route to the location
+   */
+  @Override
+  public List<String> getRouteToLocation(int i, int j) {
+    if (i < 0 || i >= this.numRows || j < 0 || j >= this.numCols) {
+      throw new IllegalArgumentException("Location is outside the dungeon!");
+    }
+
+    GameActionEvent event = startAction("planRoute");
+    int routeLength = this.routePlanner.plan(this.cellGraph.cellOf(getPlayerCurrentPosition()),
+            this.cellGraph.cellOf(i, j));
+    finishAction(event);
+    if (routeLength == -1) {
+      throw new IllegalArgumentException("No known route to the location!");
+    }
+
+    List<String> route = new ArrayList<>();
+    for (int idx = 0; idx < routeLength; idx++) {
+      route.add(CellGraph.nameOf(this.routePlanner.direction(idx)));
+    }
+
+    return route;
+  }
+
+  /**
+   * Returns the row number of the current position of the player.
+   *
+   * @return the row number of the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  @Override
+  public int getPlayerNodeI() {
+    return rowOfNode(getPlayerCurrentPosition());
+  }
+
+  /**
+   * Returns the column number of the current position of the player.
+   *
+   * @return the column number of the current position of the player
+   * @throws IllegalArgumentException if the player is not placed in the dungeon
+   */
+  @Override
+  public int getPlayerNodeJ() {
+    return colOfNode(getPlayerCurrentPosition());
+  }
+
+  /**
+   * Returns the row number of the end node of the dungeon.
+   *
+   * @return the row number of the end node of the dungeon
+   */
+  @Override
+  public int getEndNodeI() {
+    return rowOfNode(this.endNode);
+  }
+
+  /**
+   * Returns the column number of the end node of the dungeon.
+   *
+   * @return the column number of the end node of the dungeon
+   */
+  @Override
+  public int getEndNodeJ() {
+    return colOfNode(this.endNode);
+  }
+
+  /**
+   * Returns a copy of the node at the given location, without copying the rest of the maze.
+   *
+   * @param i the row of the node
+   * @param j the column of the node
+   * @return a copy of the node at the given location
+   * @throws IllegalArgumentException if the location is outside the dungeon
+   */
+  @Override
+  public Node getNodeAt(int i, int j) {
+    if (i < 0 || i >= this.numRows || j < 0 || j >= this.numCols) {
+      throw new IllegalArgumentException("Location is outside the dungeon!");
+    }
+
+    return this.graph[i][j].cloneNode();
+  }
+
+  /**
+   * Returns the doors of every location in the maze as a grid of 4-bit door masks, see
+   * Node.getDoorMask().
+   *
+   * @return the door masks of all the locations in the maze
+   */
+  @Override
+  public int[][] getDoorMasks() {
+    int[][] doorMasks = new int[this.numRows][this.numCols];
+    for (int i = 0; i < this.numRows; i++) {
+      for (int j = 0; j < this.numCols; j++) {
+        doorMasks[i][j] = this.graph[i][j].getDoorMask();
+      }
+    }
+
+    return doorMasks;
+  }
+
+  /**
+   * Returns the number of arrows at every location in the maze as a grid, without copying the
+   * nodes.
+   *
+   * @return the number of arrows at all the locations in the maze
+   */
+  @Override
+  public int[][] getArrowCounts() {
+    int[][] arrowCounts = new int[this.numRows][this.numCols];
+    for (int i = 0; i < this.numRows; i++) {
+      for (int j = 0; j < this.numCols; j++) {
+        arrowCounts[i][j] = this.graph[i][j].getNumArrows();
+      }
+    }
+
+    return arrowCounts;
+  }
+
+  private void record(int type) {
+    if (this.eventLog != null) {
+      this.eventLog.append(type);
+    }
+  }
+
+  private void record(int type, int arg) {
+    if (this.eventLog != null) {
+      this.eventLog.append(type, arg);
+    }
+  }
+
+  private void record(int type, int firstArg, int secondArg) {
+    if (this.eventLog != null) {
+      this.eventLog.append(type, firstArg, secondArg);
+    }
+  }
+
+  private void record(int type, int firstArg, int secondArg, int thirdArg) {
+    if (this.eventLog != null) {
+      this.eventLog.append(type, firstArg, secondArg, thirdArg);
+    }
+  }
+
+  private void record(int type, String text) {
+    if (this.eventLog != null) {
+      this.eventLog.append(type, text);
+    }
+  }
+
+  /**
+   * Starts appending everything that happens in the dungeon to an event log, starting with
+   * the seed and configuration the dungeon was generated from. Recording has to start before
+   * the player enters the dungeon, so that the log can be replayed from the beginning.
+   *
+   * @param eventLog the event log to append to
+   * @throws IllegalArgumentException if the event log is null, or
+   *                                  if the dungeon was not generated from a seed, or
+   *                                  if the player has already entered the dungeon, or
+   *                                  if the dungeon is already being recorded
+   */
+  @Override
+  public void recordEvents(EventLog eventLog) {
+    ValueSanity.checkNull("Event log", eventLog);
+
+    if (!this.isGenerated) {
+      throw new IllegalArgumentException("Only generated dungeons can be recorded!");
+    } else if (this.player != null) {
+      throw new IllegalArgumentException("Recording has to start before the player enters the "
+              + "dungeon!");
+    } else if (this.eventLog != null) {
+      throw new IllegalArgumentException("Dungeon is already being recorded!");
+    }
+
+    eventLog.writeHeader(this.seed, getDungeonConfig(), this.cellGraph.cellOf(this.startNode),
+            this.cellGraph.cellOf(this.endNode));
+    this.eventLog = eventLog;
+  }
+
+  private void count(LongAdder counter) {
+    if (this.isMetered) {
+      counter.increment();
+    }
+  }
+
+  private void recordLatency(LatencyHistogram histogram, long startTime) {
+    if (this.isMetered) {
+      histogram.recordSince(startTime);
+    }
+  }
+
+  private long getNumNodesVisited() {
+    return this.caveGraph.getNumVisited() + this.graphQuery.getNumVisited()
+            + this.routePlanner.getNumVisited() + this.flowField.getNumVisited();
+  }
+
+  private GameActionEvent startAction(String action) {
+    GameActionEvent event = new GameActionEvent();
+    event.start(action, numRows, numCols, event.isEnabled() ? getNumNodesVisited() : 0);
+    return event;
+  }
+
+  private void finishAction(GameActionEvent event) {
+    event.finish(event.isEnabled() ? getNumNodesVisited() : 0);
+  }
+
+  long getGameId() {
+    return this.gameId;
+  }
+
+  synchronized boolean isGameOver() {
+    return this.isGameOver;
+  }
+
+  /*
+    Describes the game for GameMonitor, or returns null if it is over, in one go under the lock
+    so that the player cannot move while it is described.
+   */
+  synchronized String describeActiveGame() {
+    if (this.isGameOver) {
+      return null;
+    }
+
+    return "Game " + this.gameId + ": " + getDungeonConfig() + ", player at ("
+            + getPlayerNodeI() + ", " + getPlayerNodeJ() + ")";
+  }
+}
@@ -0,0 +1,101 @@
+package dungeongame;
+
+import java.util.Random;
+
+/*
+  Eller's algorithm: carves the maze one row at a time, keeping only the sets of connected
+  cells of the current row, so it needs memory for a single row however many rows there are.
+  In every row, neighbours in different sets are joined at random, and every set carves at
+  least one passage down, the cells below joining the set. The last row joins all the sets
+  that are left.
+
+  The sets of a row are a union-find forest over its columns. In a wrapping dungeon the
+  passage from the last column to the first one is joined like any other, but the passages
+  from the last row to the first one are left to the interconnectivity phase, since the first
+  row is long gone when the last one is carved.
+ */
+final class EllerMaze implements MazeGenerator {
+  @Override
+  public void generate(MazeGrid grid, Random random) {
+    int numRows = grid.getNumRows();
+    int numCols = grid.getNumCols();
+    int[] sets = new int[numCols];
+    int[] nextSets = new int[numCols];
+    int[] firstBelow = new int[numCols];
+    int[] lastCol = new int[numCols];
+    boolean[] hasExit = new boolean[numCols];
+    boolean[] isDown = new boolean[numCols];
+    for (int col = 0; col < numCols; col++) {
+      sets[col] = col;
+    }
+
+    int rowStart;
+    boolean isLastRow;
+    int set;
+    int[] swap;
+    for (int row = 0; row < numRows; row++) {
+      rowStart = row * numCols;
+      isLastRow = row == numRows - 1;
+
+      for (int col = 0; col < numCols - 1; col++) {
+        join(grid, random, sets, rowStart, col, col + 1, isLastRow);
+      }
+      if (grid.isWrapping()) {
+        join(grid, random, sets, rowStart, numCols - 1, 0, isLastRow);
+      }
+      if (isLastRow) {
+        break;
+      }
+
+      // Every set carves down at random, and at its last cell if it has not yet.
+      for (int col = 0; col < numCols; col++) {
+        lastCol[find(sets, col)] = col;
+        hasExit[col] = false;
+        firstBelow[col] = -1;
+      }
+      for (int col = 0; col < numCols; col++) {
+        set = find(sets, col);
+        isDown[col] = random.nextBoolean() || (lastCol[set] == col && !hasExit[set]);
+        if (isDown[col]) {
+          hasExit[set] = true;
+          grid.carve(rowStart + col, CellGraph.DOWN);
+        }
+      }
+
+      // The cells below a passage down stay in the set above, the others start sets of their own.
+      for (int col = 0; col < numCols; col++) {
+        nextSets[col] = col;
+        if (isDown[col]) {
+          set = find(sets, col);
+          if (firstBelow[set] == -1) {
+            firstBelow[set] = col;
+          } else {
+            nextSets[col] = firstBelow[set];
+          }
+        }
+      }
+      swap = sets;
+      sets = nextSets;
+      nextSets = swap;
+    }
+  }
+
+  private static void join(MazeGrid grid, Random random, int[] sets, int rowStart, int col,
+                           int nextCol, boolean isLastRow) {
+    int first = find(sets, col);
+    int second = find(sets, nextCol);
+    if (first != second && (isLastRow || random.nextBoolean())) {
+      sets[second] = first;
+      grid.carve(rowStart + col, CellGraph.RIGHT);
+    }
+  }
+
+  private static int find(int[] sets, int col) {
+    while (sets[col] != col) {
+      sets[col] = sets[sets[col]];
+      col = sets[col];
+    }
+
+    return col;
+  }
+}
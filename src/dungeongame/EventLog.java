@@ -0,0 +1,280 @@
+package dungeongame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import node.Treasure;
+
+/**
+ * An append-only binary log of everything that happens in a game, written to a memory-mapped
+ * file. The log starts with the seed and the configuration the dungeon was generated from,
+ * followed by one event per action, each event is a type followed by its arguments encoded as
+ * variable length integers. Since a dungeon generated from a seed always makes the same
+ * random choices, replaying the events on a dungeon generated from the same seed gives
+ * exactly the same game, see EventLogReplay.
+ */
+public final class EventLog implements Closeable {
+  /**
+   * The player entered the dungeon, the argument is the name of the player.
+   */
+  public static final int ENTER = 1;
+  /**
+   * The player moved, the argument is the direction (0 = U, 1 = D, 2 = L, 3 = R).
+   */
+  public static final int MOVE = 2;
+  /**
+   * The player picked up a treasure, the argument is the code of the treasure (0 = SAPPHIRE,
+   * 1 = DIAMOND, 2 = RUBY).
+   */
+  public static final int PICKUP_TREASURE = 3;
+  /**
+   * The player picked up an arrow.
+   */
+  public static final int PICKUP_ARROW = 4;
+  /**
+   * The player shot an arrow, the arguments are the direction, the distance and the outcome of
+   * the shot plus one (0 = MISSED, 1 = INJURED, 2 = KILLED).
+   */
+  public static final int SHOOT = 5;
+  /**
+   * The yugoloth moved.
+   */
+  public static final int YUGOLOTH_TICK = 6;
+  /**
+   * All the roaming monsters moved.
+   */
+  public static final int ROAMING_TICK = 7;
+  /**
+   * The player fought a yugoloth, the argument is 1 if the player died and 0 otherwise.
+   */
+  public static final int BATTLE = 8;
+  /**
+   * The yugoloth was killed.
+   */
+  public static final int KILL_YUGOLOTH = 9;
+  /**
+   * A roaming yugoloth at the position of the player was killed.
+   */
+  public static final int KILL_ROAMING_YUGOLOTH = 10;
+  /**
+   * All the treasure of the player was stolen.
+   */
+  public static final int THEFT = 11;
+  /**
+   * The player fell into a pit.
+   */
+  public static final int PIT_FALL = 12;
+  /**
+   * The move strategy of the yugoloth changed, the argument is 0 for RANDOM and 1 for CHASE.
+   */
+  public static final int YUGOLOTH_STRATEGY = 13;
+  /**
+   * The move strategy of a roaming monster changed, the arguments are the index of the monster
+   * and 0 for RANDOM or 1 for CHASE.
+   */
+  public static final int ROAMING_STRATEGY = 14;
+  /**
+   * The player was eaten by the otyugh in the location the player moved to.
+   */
+  public static final int EATEN = 15;
+
+  static final int MAGIC = 0x44474c31;
+  static final int VERSION = 4;
+  // Logs before version 2 were recorded before the contents of dungeons were placed by the
+  // sampling planner, the dungeons their seeds generate now are not the ones they were played in.
+  // Logs before version 4 do not have the start and end of the dungeon or the outcome of shots,
+  // so they cannot be analyzed without generating the dungeon again.
+  static final int MIN_VERSION = 4;
+  static final String[] STRATEGY_NAMES = {"RANDOM", "CHASE"};
+  static final String[] MAZE_GENERATOR_NAMES = {"KRUSKAL", "WILSON", "BACKTRACKER", "ELLER"};
+
+  // The codes of treasures are part of the format, so they are listed here instead of being
+  // taken from the order of the Treasure values.
+  private static final Treasure[] TREASURE_CODES = {Treasure.SAPPHIRE, Treasure.DIAMOND,
+    Treasure.RUBY};
+  static final int NUM_TREASURE_CODES = TREASURE_CODES.length;
+  private static final int SEGMENT_SIZE = 1 << 20;
+  private static final int MAX_EVENT_SIZE = 16;
+
+  private final FileChannel channel;
+  private MappedByteBuffer segment;
+  private long segmentStart;
+  private boolean hasHeader;
+  private boolean isClosed;
+
+  /**
+   * Creates a new, empty event log at the given path, replacing any existing file.
+   *
+   * @param path the path of the log file
+   * @throws IllegalArgumentException if the path is null, or the file cannot be created
+   */
+  public EventLog(Path path) {
+    if (path == null) {
+      throw new IllegalArgumentException("Path of event log is expected to be non-null!");
+    }
+
+    try {
+      this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      this.segmentStart = 0;
+      this.segment = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot create event log " + path + "!");
+    }
+
+    this.hasHeader = false;
+    this.isClosed = false;
+  }
+
+  private void ensureCapacity(int numBytes) {
+    if (isClosed) {
+      throw new IllegalArgumentException("Event log is closed!");
+    }
+
+    if (segment.remaining() >= numBytes) {
+      return;
+    }
+
+    // Map the next segment right where this one ends, so there are no gaps in the file.
+    segmentStart += segment.position();
+    segment.force();
+    try {
+      segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart,
+              Math.max(SEGMENT_SIZE, numBytes));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to grow event log!");
+    }
+  }
+
+  private void putVarInt(int value) {
+    while ((value & ~0x7f) != 0) {
+      segment.put((byte) ((value & 0x7f) | 0x80));
+      value >>>= 7;
+    }
+    segment.put((byte) value);
+  }
+
+  private void putVarLong(long value) {
+    while ((value & ~0x7fL) != 0) {
+      segment.put((byte) ((value & 0x7f) | 0x80));
+      value >>>= 7;
+    }
+    segment.put((byte) value);
+  }
+
+  void writeHeader(long seed, DungeonConfig config, int startCell, int endCell) {
+    if (hasHeader) {
+      throw new IllegalArgumentException("Event log is already recording a dungeon!");
+    }
+
+    ensureCapacity(80);
+    segment.putInt(MAGIC);
+    putVarInt(VERSION);
+    putVarLong(seed);
+    putVarInt(config.numRows());
+    putVarInt(config.numCols());
+    putVarInt(config.interconnectivity());
+    putVarInt(config.isWrapping() ? 1 : 0);
+    segment.putFloat(config.percentCavesWithTreasure());
+    putVarInt(config.isForceInterconnectivityRange() ? 1 : 0);
+    putVarInt(config.numOtyughs());
+    putVarInt(config.numRoamingYugoloths());
+    putVarInt(config.numRoamingThieves());
+    putVarInt(config.hazardSpacing());
+    putVarInt(indexOf(MAZE_GENERATOR_NAMES, config.mazeGenerator()));
+    putVarInt(startCell);
+    putVarInt(endCell);
+    hasHeader = true;
+  }
+
+  void append(int type) {
+    ensureCapacity(MAX_EVENT_SIZE);
+    segment.put((byte) type);
+  }
+
+  void append(int type, int arg) {
+    ensureCapacity(MAX_EVENT_SIZE);
+    segment.put((byte) type);
+    putVarInt(arg);
+  }
+
+  void append(int type, int firstArg, int secondArg) {
+    ensureCapacity(MAX_EVENT_SIZE);
+    segment.put((byte) type);
+    putVarInt(firstArg);
+    putVarInt(secondArg);
+  }
+
+  void append(int type, int firstArg, int secondArg, int thirdArg) {
+    ensureCapacity(MAX_EVENT_SIZE);
+    segment.put((byte) type);
+    putVarInt(firstArg);
+    putVarInt(secondArg);
+    putVarInt(thirdArg);
+  }
+
+  void append(int type, String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    ensureCapacity(MAX_EVENT_SIZE + bytes.length);
+    segment.put((byte) type);
+    putVarInt(bytes.length);
+    segment.put(bytes);
+  }
+
+  static int codeOf(Treasure treasure) {
+    for (int code = 0; code < TREASURE_CODES.length; code++) {
+      if (TREASURE_CODES[code] == treasure) {
+        return code;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown treasure " + treasure + "!");
+  }
+
+  static Treasure treasureOf(int code) {
+    return TREASURE_CODES[code];
+  }
+
+  static int indexOf(String[] names, String name) {
+    for (int idx = 0; idx < names.length; idx++) {
+      if (names[idx].equals(name)) {
+        return idx;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown name " + name + "!");
+  }
+
+  /**
+   * Forces everything appended so far out to the file, after which it survives a crash of
+   * the process.
+   */
+  public void flush() {
+    if (!isClosed) {
+      segment.force();
+    }
+  }
+
+  /**
+   * Flushes the log and trims the file to the events that were appended.
+   *
+   * @throws IOException if the file cannot be trimmed or closed
+   */
+  @Override
+  public void close() throws IOException {
+    if (isClosed) {
+      return;
+    }
+
+    segment.force();
+    isClosed = true;
+    channel.truncate(segmentStart + segment.position());
+    channel.close();
+  }
+}
@@ -0,0 +1,66 @@
+package dungeongame;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The result of analyzing event logs with EventLogAnalyzer: the statistics of every dungeon
+ * configuration the games were played with, and the number of files that were skipped.
+ */
+public final class EventLogAnalysis {
+  private final Map<String, GameStatistics> statistics;
+  private long numSkippedLogs;
+
+  EventLogAnalysis() {
+    this.statistics = new TreeMap<>();
+    this.numSkippedLogs = 0;
+  }
+
+  /*
+    Folds a game into the statistics of its configuration, or counts a skipped log if there is
+    no game.
+   */
+  void add(GameSummary game) {
+    if (game == null) {
+      numSkippedLogs++;
+      return;
+    }
+
+    GameStatistics gameStatistics = statistics.get(game.configuration());
+    if (gameStatistics == null) {
+      gameStatistics = new GameStatistics(game.numRows(), game.numCols());
+      statistics.put(game.configuration(), gameStatistics);
+    }
+    gameStatistics.add(game);
+  }
+
+  EventLogAnalysis merge(EventLogAnalysis other) {
+    for (Map.Entry<String, GameStatistics> entry : other.statistics.entrySet()) {
+      statistics.merge(entry.getKey(), entry.getValue(), GameStatistics::merge);
+    }
+    numSkippedLogs += other.numSkippedLogs;
+
+    return this;
+  }
+
+  /**
+   * Returns the statistics of every configuration, keyed by a description of the
+   * configuration, in the order of the descriptions.
+   *
+   * @return the statistics of every configuration
+   */
+  public Map<String, GameStatistics> getStatistics() {
+    return Collections.unmodifiableMap(statistics);
+  }
+
+  /**
+   * Returns the number of files that were skipped because they were not event logs, or were
+   * recorded by an older version of the game, or were corrupt.
+   *
+   * @return the number of skipped files
+   */
+  public long getNumSkippedLogs() {
+    return numSkippedLogs;
+  }
+}
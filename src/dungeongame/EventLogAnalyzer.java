@@ -0,0 +1,148 @@
+package dungeongame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Collects statistics over many recorded games, grouped by the configuration of the dungeon
+ * they were played in. The logs are streamed through a parallel pipeline, one memory-mapped
+ * log at a time per worker, and every game is folded into the statistics of its configuration
+ * as soon as it has been read, so the number of games is not limited by memory.
+ *
+ * <p>Every statistic comes straight from the events, the dungeon is never generated again. The
+ * player is followed from the start of the dungeon recorded in the log through its moves, and
+ * every shot and death is recorded together with its outcome.
+ */
+public final class EventLogAnalyzer {
+  /**
+   * Constructs an analyzer. An analyzer keeps no state between analyses, so it can run any
+   * number of them, one after the other or at the same time.
+   */
+  public EventLogAnalyzer() {
+    // Nothing to set up, every analysis collects into its own result.
+  }
+
+  /**
+   * Analyzes every regular file in a directory as an event log.
+   *
+   * @param directory the directory with the event logs
+   * @return the statistics of every configuration and the number of skipped files
+   * @throws IllegalArgumentException if the directory is null or cannot be listed
+   */
+  public EventLogAnalysis analyzeDirectory(Path directory) {
+    if (directory == null) {
+      throw new IllegalArgumentException("Directory of event logs is expected to be non-null!");
+    }
+
+    try (Stream<Path> logs = Files.list(directory)) {
+      return analyze(logs.filter(Files::isRegularFile));
+    } catch (IOException | UncheckedIOException e) {
+      throw new IllegalArgumentException("Cannot list event logs in " + directory + "!");
+    }
+  }
+
+  /**
+   * Analyzes a stream of event logs in parallel. Files that cannot be read, are not event logs
+   * or are corrupt are skipped and counted in the result.
+   *
+   * @param logs the paths of the event logs
+   * @return the statistics of every configuration and the number of skipped files
+   * @throws IllegalArgumentException if the stream is null
+   */
+  public EventLogAnalysis analyze(Stream<Path> logs) {
+    if (logs == null) {
+      throw new IllegalArgumentException("Event logs are expected to be non-null!");
+    }
+
+    return logs.parallel()
+            .map(EventLogAnalyzer::analyzeLog)
+            .collect(Collector.of(EventLogAnalysis::new, EventLogAnalysis::add,
+                    EventLogAnalysis::merge));
+  }
+
+  private static String describeConfiguration(EventLogReader reader) {
+    return reader.getNumRows() + "x" + reader.getNumCols()
+            + ", interconnectivity " + reader.getInterconnectivity()
+            + (reader.isWrapping() ? ", wrapping" : ", non-wrapping")
+            + ", " + Math.round(reader.getPercentCavesWithTreasure() * 100) + "% treasure"
+            + ", " + reader.getNumOtyughs() + " otyughs"
+            + ", " + reader.getNumRoamingYugoloths() + " roaming yugoloths"
+            + ", " + reader.getNumRoamingThieves() + " roaming thieves"
+            + (reader.getHazardSpacing() > 0
+            ? ", hazards " + reader.getHazardSpacing() + " moves apart" : "")
+            + (reader.getMazeGenerator().equals("KRUSKAL")
+            ? "" : ", " + reader.getMazeGenerator() + " maze");
+  }
+
+  /*
+    Follows the player through a log, or returns null if the log has to be skipped.
+   */
+  private static GameSummary analyzeLog(Path path) {
+    try (EventLogReader reader = new EventLogReader(path)) {
+      int numRows = reader.getNumRows();
+      int numCols = reader.getNumCols();
+
+      int numTurns = 0;
+      int numShots = 0;
+      int numOtyughKills = 0;
+      int numTreasurePickups = 0;
+      int numArrowPickups = 0;
+      int deathCell = -1;
+      int playerCell = reader.getStartCell();
+      boolean isEntered = false;
+      boolean isKilled;
+      while (reader.next()) {
+        isKilled = false;
+        switch (reader.getEventType()) {
+          case EventLog.ENTER:
+            isEntered = true;
+            break;
+          case EventLog.MOVE:
+            playerCell = MazeGrid.neighbour(playerCell, reader.getEventArg(0), numRows, numCols,
+                    reader.isWrapping());
+            if (playerCell == -1) {
+              throw new EventLogFormatException("Player moved out of the dungeon in event "
+                      + reader.getNumEvents() + "!");
+            }
+            numTurns++;
+            break;
+          case EventLog.PICKUP_TREASURE:
+            numTreasurePickups++;
+            break;
+          case EventLog.PICKUP_ARROW:
+            numArrowPickups++;
+            break;
+          case EventLog.SHOOT:
+            numShots++;
+            if (reader.getEventArg(2) + ShotResult.MISSED == ShotResult.KILLED) {
+              numOtyughKills++;
+            }
+            break;
+          case EventLog.BATTLE:
+            isKilled = reader.getEventArg(0) == 1;
+            break;
+          case EventLog.EATEN:
+          case EventLog.PIT_FALL:
+            isKilled = true;
+            break;
+          default:
+            break;
+        }
+
+        if (isKilled && deathCell == -1) {
+          deathCell = playerCell;
+        }
+      }
+
+      return new GameSummary(describeConfiguration(reader), numRows, numCols,
+              isEntered && deathCell == -1 && playerCell == reader.getEndCell(), numTurns,
+              numShots, numOtyughKills, numTreasurePickups, numArrowPickups, deathCell);
+    } catch (IllegalArgumentException | IOException e) {
+      return null;
+    }
+  }
+}
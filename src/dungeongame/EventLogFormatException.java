@@ -0,0 +1,20 @@
+package dungeongame;
+
+/**
+ * Thrown when a file cannot be read as an event log: it is not an event log, it was recorded
+ * by an older version of the game, or one of its events is corrupt. It is an
+ * IllegalArgumentException like every other error of the game, so callers that do not care
+ * why a log cannot be read do not have to tell it apart.
+ */
+public final class EventLogFormatException extends IllegalArgumentException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs the exception with a message that says what is wrong with the log.
+   *
+   * @param message what is wrong with the log
+   */
+  public EventLogFormatException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,412 @@
+package dungeongame;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads an event log written by EventLog, one event at a time, straight from a memory-mapped
+ * file. The reader stops at the end of the file, at unused space at the end of the last
+ * segment, or at an event that was only partly written when the game crashed. Anything else
+ * that cannot be decoded is reported as an EventLogFormatException.
+ */
+public final class EventLogReader implements Closeable {
+  private static final int[] NUM_ARGS = {0, 0, 1, 1, 0, 3, 0, 0, 1, 0, 0, 0, 0, 1, 2, 0};
+
+  private final FileChannel channel;
+  private final MappedByteBuffer buffer;
+  private final long seed;
+  private final int numRows;
+  private final int numCols;
+  private final int interconnectivity;
+  private final boolean isWrapping;
+  private final float percentCavesWithTreasure;
+  private final boolean forceInterconnectivityRange;
+  private final int numOtyughs;
+  private final int numRoamingYugoloths;
+  private final int numRoamingThieves;
+  private final int hazardSpacing;
+  private final String mazeGenerator;
+  private final int startCell;
+  private final int endCell;
+  private final int[] args;
+  private int eventType;
+  private String eventText;
+  private int numEvents;
+
+  /**
+   * Opens an event log and reads its header.
+   *
+   * @param path the path of the log file
+   * @throws IllegalArgumentException if the path is null, or the file cannot be read
+   * @throws EventLogFormatException  if the file is not an event log, or the log was recorded
+   *                                  by an older version of the game
+   */
+  public EventLogReader(Path path) {
+    if (path == null) {
+      throw new IllegalArgumentException("Path of event log is expected to be non-null!");
+    }
+
+    try {
+      this.channel = FileChannel.open(path, StandardOpenOption.READ);
+      if (this.channel.size() > Integer.MAX_VALUE) {
+        this.channel.close();
+        throw new EventLogFormatException("Event log " + path + " is too large!");
+      }
+      this.buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, this.channel.size());
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read event log " + path + "!");
+    }
+
+    try {
+      if (buffer.getInt() != EventLog.MAGIC) {
+        throw new BufferUnderflowException();
+      }
+      int version = getVarInt();
+      if (version < 1 || version > EventLog.VERSION) {
+        throw new BufferUnderflowException();
+      } else if (version < EventLog.MIN_VERSION) {
+        closeQuietly();
+        throw new EventLogFormatException("Event log " + path + " was recorded by an older "
+                + "version of the game and cannot be replayed!");
+      }
+
+      this.seed = getVarLong();
+      this.numRows = getVarInt();
+      this.numCols = getVarInt();
+      this.interconnectivity = getVarInt();
+      this.isWrapping = getVarInt() == 1;
+      this.percentCavesWithTreasure = buffer.getFloat();
+      this.forceInterconnectivityRange = getVarInt() == 1;
+      this.numOtyughs = getVarInt();
+      this.numRoamingYugoloths = getVarInt();
+      this.numRoamingThieves = getVarInt();
+      this.hazardSpacing = getVarInt();
+      int generator = getVarInt();
+      if (generator < 0 || generator >= EventLog.MAZE_GENERATOR_NAMES.length) {
+        throw new BufferUnderflowException();
+      }
+      this.mazeGenerator = EventLog.MAZE_GENERATOR_NAMES[generator];
+      this.startCell = getVarInt();
+      this.endCell = getVarInt();
+      long numCells = (long) numRows * numCols;
+      if (numRows <= 0 || numCols <= 0 || numCells > Integer.MAX_VALUE || startCell < 0
+              || startCell >= numCells || endCell < 0 || endCell >= numCells) {
+        throw new BufferUnderflowException();
+      }
+    } catch (BufferUnderflowException e) {
+      closeQuietly();
+      throw new EventLogFormatException("File " + path + " is not an event log!");
+    }
+
+    this.args = new int[3];
+    this.eventType = 0;
+    this.eventText = null;
+    this.numEvents = 0;
+  }
+
+  private void closeQuietly() {
+    try {
+      this.channel.close();
+    } catch (IOException ignored) {
+      // Nothing more can be done about it, the log cannot be read either way.
+    }
+  }
+
+  private int getVarInt() {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (b & 0x7f) << shift;
+      shift += 7;
+    }
+    while ((b & 0x80) != 0 && shift < 35);
+
+    return value;
+  }
+
+  private long getVarLong() {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer.get();
+      value |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    }
+    while ((b & 0x80) != 0 && shift < 70);
+
+    return value;
+  }
+
+  /**
+   * Moves to the next event in the log.
+   *
+   * @return true if there is another event, false if the end of the log has been reached
+   * @throws EventLogFormatException if the next event is corrupt
+   */
+  public boolean next() {
+    if (!buffer.hasRemaining()) {
+      return false;
+    }
+
+    int start = buffer.position();
+    int type = buffer.get(start);
+    if (type == 0) {
+      return false;
+    } else if (type < 0 || type >= NUM_ARGS.length) {
+      throw corrupt("unknown event type " + type);
+    }
+
+    try {
+      buffer.get();
+      for (int idx = 0; idx < NUM_ARGS[type]; idx++) {
+        args[idx] = getVarInt();
+      }
+
+      eventText = null;
+      if (type == EventLog.ENTER) {
+        int length = getVarInt();
+        if (length < 0) {
+          throw corrupt("negative name length");
+        } else if (length > buffer.remaining()) {
+          throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        eventText = new String(bytes, StandardCharsets.UTF_8);
+      }
+    } catch (BufferUnderflowException e) {
+      buffer.position(start);
+      return false;
+    } catch (EventLogFormatException e) {
+      throw e;
+    } catch (RuntimeException e) {
+      throw corrupt(e.toString());
+    }
+
+    checkArgs(type);
+    eventType = type;
+    numEvents++;
+    return true;
+  }
+
+  private void checkArgs(int type) {
+    switch (type) {
+      case EventLog.MOVE:
+        checkArg(type, 0, CellGraph.NUM_DIRECTIONS);
+        break;
+      case EventLog.PICKUP_TREASURE:
+        checkArg(type, 0, EventLog.NUM_TREASURE_CODES);
+        break;
+      case EventLog.SHOOT:
+        checkArg(type, 0, CellGraph.NUM_DIRECTIONS);
+        checkArg(type, 1, Integer.MAX_VALUE);
+        checkArg(type, 2, ShotResult.KILLED - ShotResult.MISSED + 1);
+        break;
+      case EventLog.BATTLE:
+        checkArg(type, 0, 2);
+        break;
+      case EventLog.YUGOLOTH_STRATEGY:
+        checkArg(type, 0, EventLog.STRATEGY_NAMES.length);
+        break;
+      case EventLog.ROAMING_STRATEGY:
+        checkArg(type, 0, Integer.MAX_VALUE);
+        checkArg(type, 1, EventLog.STRATEGY_NAMES.length);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void checkArg(int type, int idx, int bound) {
+    if (args[idx] < 0 || args[idx] >= bound) {
+      throw corrupt("argument " + args[idx] + " of event type " + type + " is out of range");
+    }
+  }
+
+  private EventLogFormatException corrupt(String reason) {
+    return new EventLogFormatException("Event " + (numEvents + 1) + " of the event log is "
+            + "corrupt, " + reason + "!");
+  }
+
+  /**
+   * Returns the type of the current event, one of the event constants of EventLog.
+   *
+   * @return the type of the current event
+   */
+  public int getEventType() {
+    return eventType;
+  }
+
+  /**
+   * Returns an argument of the current event.
+   *
+   * @param idx the index of the argument
+   * @return the argument of the current event
+   */
+  public int getEventArg(int idx) {
+    return args[idx];
+  }
+
+  /**
+   * Returns the text argument of the current event, the name of the player for ENTER and
+   * null for every other event.
+   *
+   * @return the text argument of the current event
+   */
+  public String getEventText() {
+    return eventText;
+  }
+
+  /**
+   * Returns the number of events read so far.
+   *
+   * @return the number of events read so far
+   */
+  public int getNumEvents() {
+    return numEvents;
+  }
+
+  /**
+   * Returns the seed that the dungeon was generated from.
+   *
+   * @return the seed that the dungeon was generated from
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Returns the number of rows of the dungeon.
+   *
+   * @return the number of rows of the dungeon
+   */
+  public int getNumRows() {
+    return numRows;
+  }
+
+  /**
+   * Returns the number of columns of the dungeon.
+   *
+   * @return the number of columns of the dungeon
+   */
+  public int getNumCols() {
+    return numCols;
+  }
+
+  /**
+   * Returns the interconnectivity of the dungeon.
+   *
+   * @return the interconnectivity of the dungeon
+   */
+  public int getInterconnectivity() {
+    return interconnectivity;
+  }
+
+  /**
+   * Checks if the dungeon is wrapping or not.
+   *
+   * @return true if the dungeon is wrapping, false otherwise
+   */
+  public boolean isWrapping() {
+    return isWrapping;
+  }
+
+  /**
+   * Returns the percentage of caves with treasure the dungeon was generated with.
+   *
+   * @return the percentage of caves with treasure, between 0 and 1
+   */
+  public float getPercentCavesWithTreasure() {
+    return percentCavesWithTreasure;
+  }
+
+  /**
+   * Checks if the interconnectivity range of the dungeon was forced or not.
+   *
+   * @return true if the interconnectivity range was forced, false otherwise
+   */
+  public boolean isForceInterconnectivityRange() {
+    return forceInterconnectivityRange;
+  }
+
+  /**
+   * Returns the number of otyughs in the dungeon.
+   *
+   * @return the number of otyughs in the dungeon
+   */
+  public int getNumOtyughs() {
+    return numOtyughs;
+  }
+
+  /**
+   * Returns the number of roaming yugoloths in the dungeon.
+   *
+   * @return the number of roaming yugoloths in the dungeon
+   */
+  public int getNumRoamingYugoloths() {
+    return numRoamingYugoloths;
+  }
+
+  /**
+   * Returns the number of roaming thieves in the dungeon.
+   *
+   * @return the number of roaming thieves in the dungeon
+   */
+  public int getNumRoamingThieves() {
+    return numRoamingThieves;
+  }
+
+  /**
+   * Returns the minimum number of moves between the hazards of the dungeon, 0 if they were
+   * placed at random.
+   *
+   * @return the spacing of the hazards in the dungeon
+   */
+  public int getHazardSpacing() {
+    return hazardSpacing;
+  }
+
+  /**
+   * Returns the name of the algorithm that carved the maze of the dungeon.
+   *
+   * @return the name of the maze generator of the dungeon
+   */
+  public String getMazeGenerator() {
+    return mazeGenerator;
+  }
+
+  /*
+    Returns the id of the location the player starts in, its row times the number of columns
+    plus its column.
+   */
+  int getStartCell() {
+    return startCell;
+  }
+
+  /*
+    Returns the id of the location the player has to reach, its row times the number of columns
+    plus its column.
+   */
+  int getEndCell() {
+    return endCell;
+  }
+
+  /**
+   * Closes the log file.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
@@ -0,0 +1,182 @@
+package dungeongame;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Rebuilds a recorded game from its event log. The dungeon is generated again from the seed
+ * and configuration in the log, and every event is applied to it in order, which leaves the
+ * dungeon and the player in exactly the state they were in when the last event was recorded.
+ * A replayed game is not counted in GameMetrics, it was counted when it was played.
+ */
+public final class EventLogReplay {
+  private final EventLogReader reader;
+  private final Dungeon dungeon;
+  private Player player;
+  private int numEvents;
+
+  /**
+   * Replays the event log at the given path.
+   *
+   * @param path the path of the log file
+   * @throws IllegalArgumentException if the path is null, or the file cannot be read, or
+   *                                  the file is not an event log, or the events do not match
+   *                                  the dungeon generated from the seed in the log
+   */
+  public EventLogReplay(Path path) {
+    try (EventLogReader reader = new EventLogReader(path)) {
+      EventLogReplay replay = new EventLogReplay(reader);
+      while (replay.step()) {
+        // Every step applies one event.
+      }
+
+      this.reader = null;
+      this.dungeon = replay.dungeon;
+      this.player = replay.player;
+      this.numEvents = replay.numEvents;
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Cannot read event log " + path + "!");
+    }
+  }
+
+  /*
+    Replays the events of an open reader one at a time with step(), so that the state of the
+    game can be looked at after every event.
+   */
+  EventLogReplay(EventLogReader reader) {
+    this.reader = reader;
+    this.dungeon = new DungeonImpl(reader.getNumRows(), reader.getNumCols(),
+            reader.getInterconnectivity(), reader.isWrapping(),
+            reader.getPercentCavesWithTreasure(), reader.isForceInterconnectivityRange(),
+            reader.getNumOtyughs(), reader.getNumRoamingYugoloths(),
+            reader.getNumRoamingThieves(), reader.getHazardSpacing(), reader.getMazeGenerator(),
+            reader.getSeed(), false);
+    this.numEvents = 0;
+  }
+
+  boolean step() {
+    if (!this.reader.next()) {
+      return false;
+    }
+
+    apply(this.reader);
+    this.numEvents++;
+    return true;
+  }
+
+  private void apply(EventLogReader reader) {
+    switch (reader.getEventType()) {
+      case EventLog.ENTER:
+        this.player = new PlayerImpl(reader.getEventText());
+        this.player.enterPlayerToDungeon(this.dungeon);
+        break;
+      case EventLog.MOVE:
+        move(reader.getEventArg(0));
+        break;
+      case EventLog.PICKUP_TREASURE:
+        this.player.pickUpTreasure(this.dungeon,
+                EventLog.treasureOf(reader.getEventArg(0)).name());
+        break;
+      case EventLog.PICKUP_ARROW:
+        this.player.pickUpArrow(this.dungeon);
+        break;
+      case EventLog.SHOOT:
+        ShotResult shot = this.player.shootArrow(this.dungeon,
+                CellGraph.nameOf(reader.getEventArg(0)), reader.getEventArg(1));
+        if (shot.getOutcome() != reader.getEventArg(2) + ShotResult.MISSED) {
+          throw new IllegalArgumentException("Event log does not match the dungeon, shot "
+                  + reader.getNumEvents() + " ended differently!");
+        }
+        break;
+      case EventLog.YUGOLOTH_TICK:
+        this.dungeon.moveYugoloth();
+        break;
+      case EventLog.ROAMING_TICK:
+        this.dungeon.moveRoamingMonsters();
+        break;
+      case EventLog.BATTLE:
+        if (this.dungeon.handToHandBattle() != (reader.getEventArg(0) == 1)) {
+          throw new IllegalArgumentException("Event log does not match the dungeon, battle "
+                  + reader.getNumEvents() + " ended differently!");
+        }
+        if (reader.getEventArg(0) == 1 && this.player != null) {
+          // Losing a battle is always fatal.
+          this.player.killPlayer();
+        }
+        break;
+      case EventLog.KILL_YUGOLOTH:
+        this.dungeon.killYugoloth();
+        break;
+      case EventLog.KILL_ROAMING_YUGOLOTH:
+        this.dungeon.killRoamingYugolothAtPlayer();
+        break;
+      case EventLog.THEFT:
+        this.dungeon.stealTreasureAtPlayer();
+        break;
+      case EventLog.PIT_FALL:
+        this.dungeon.fallIntoPit();
+        break;
+      case EventLog.YUGOLOTH_STRATEGY:
+        this.dungeon.setYugolothMoveStrategy(EventLog.STRATEGY_NAMES[reader.getEventArg(0)]);
+        break;
+      case EventLog.EATEN:
+        if (!this.player.isPlayerDead()) {
+          throw new IllegalArgumentException("Event log does not match the dungeon, the player "
+                  + "was not eaten by event " + reader.getNumEvents() + "!");
+        }
+        break;
+      case EventLog.ROAMING_STRATEGY:
+        this.dungeon.setRoamingMonsterMoveStrategy(reader.getEventArg(0),
+                EventLog.STRATEGY_NAMES[reader.getEventArg(1)]);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown event type " + reader.getEventType() + "!");
+    }
+  }
+
+  private void move(int direction) {
+    switch (direction) {
+      case CellGraph.UP:
+        this.player.moveUp(this.dungeon);
+        break;
+      case CellGraph.DOWN:
+        this.player.moveDown(this.dungeon);
+        break;
+      case CellGraph.LEFT:
+        this.player.moveLeft(this.dungeon);
+        break;
+      case CellGraph.RIGHT:
+        this.player.moveRight(this.dungeon);
+        break;
+      default:
+        throw new IllegalArgumentException("Invalid direction!");
+    }
+  }
+
+  /**
+   * Returns the dungeon rebuilt from the log.
+   *
+   * @return the dungeon rebuilt from the log
+   */
+  public Dungeon getDungeon() {
+    return dungeon;
+  }
+
+  /**
+   * Returns the player rebuilt from the log, or null if no player entered the dungeon.
+   *
+   * @return the player rebuilt from the log
+   */
+  public Player getPlayer() {
+    return player;
+  }
+
+  /**
+   * Returns the number of events that were replayed.
+   *
+   * @return the number of events that were replayed
+   */
+  public int getNumEvents() {
+    return numEvents;
+  }
+}
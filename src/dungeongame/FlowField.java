@@ -0,0 +1,124 @@
+package dungeongame;
+
+import java.util.Arrays;
+
+/*
+  Breadth first distance field rooted at the player(s). The field is shared by every hunter in
+  the dungeon: moving a source only marks it as stale and the next hunter that asks for a step
+  rebuilds it, so a whole population of hunters costs a single BFS per tick no matter how many
+  of them there are.
+ */
+final class FlowField {
+  private final CellGraph cells;
+  private final int[] distances;
+  private final int[] queue;
+  private final int[] sources;
+  private int numSources;
+  private boolean isStale;
+  private final boolean isMetered;
+  private long numVisited;
+
+  FlowField(CellGraph cells, int maxSources, boolean isMetered) {
+    this.cells = cells;
+    this.isMetered = isMetered;
+    this.distances = new int[cells.getNumCells()];
+    this.queue = new int[cells.getNumCells()];
+    this.sources = new int[maxSources];
+    this.numSources = 0;
+    this.isStale = false;
+
+    Arrays.fill(distances, -1);
+  }
+
+  void setSource(int idx, int cell) {
+    if (idx < 0 || idx >= sources.length) {
+      throw new IllegalArgumentException("Flow field supports at most " + sources.length
+              + " sources!");
+    }
+
+    if (idx >= numSources) {
+      numSources = idx + 1;
+    } else if (sources[idx] == cell) {
+      return;
+    }
+
+    sources[idx] = cell;
+    isStale = true;
+  }
+
+  boolean hasSources() {
+    return numSources > 0;
+  }
+
+  void refresh() {
+    if (!isStale) {
+      if (isMetered) {
+        GameMetrics.FLOW_FIELD_CACHE_HITS.increment();
+      }
+      return;
+    }
+
+    if (isMetered) {
+      GameMetrics.FLOW_FIELD_CACHE_MISSES.increment();
+    }
+    Arrays.fill(distances, -1);
+    int head = 0;
+    int tail = 0;
+    for (int idx = 0; idx < numSources; idx++) {
+      if (distances[sources[idx]] == -1) {
+        distances[sources[idx]] = 0;
+        queue[tail++] = sources[idx];
+      }
+    }
+
+    int cell;
+    int neighbour;
+    while (head != tail) {
+      cell = queue[head++];
+      numVisited++;
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        neighbour = cells.neighbour(cell, direction);
+        if (neighbour != -1 && distances[neighbour] == -1) {
+          distances[neighbour] = distances[cell] + 1;
+          queue[tail++] = neighbour;
+        }
+      }
+    }
+
+    isStale = false;
+  }
+
+  /*
+    Returns the number of cells visited by all refreshes so far.
+   */
+  long getNumVisited() {
+    return numVisited;
+  }
+
+  int distance(int cell) {
+    refresh();
+
+    return distances[cell];
+  }
+
+  /*
+    Returns the neighbouring cell that is closest to a source, or -1 if the cell is already at
+    a source or cannot reach any. The field has to be refreshed before calling this, which
+    allows hunters to read it concurrently.
+   */
+  int nextStep(int cell) {
+    if (distances[cell] <= 0) {
+      return -1;
+    }
+
+    int neighbour;
+    for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+      neighbour = cells.neighbour(cell, direction);
+      if (neighbour != -1 && distances[neighbour] == distances[cell] - 1) {
+        return neighbour;
+      }
+    }
+
+    return -1;
+  }
+}
@@ -0,0 +1,57 @@
+package dungeongame;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+  Flight recorder event for an action in a game, recorded on the thread that made it, which
+  for the GUI is the event dispatch thread. The fields are only filled in while the event is
+  enabled in a recording, otherwise the event costs a couple of checks that the JIT compiles
+  away.
+ */
+@Name("dungeongame.GameAction")
+@Label("Game Action")
+@Category({"Dungeon Game", "Actions"})
+@Description("An action of the player or the monsters")
+final class GameActionEvent extends Event {
+  @Label("Action")
+  String action;
+
+  @Label("Rows")
+  int numRows;
+
+  @Label("Columns")
+  int numCols;
+
+  @Label("Nodes Visited")
+  @Description("Nodes taken off the queue by graph searches during the action")
+  long nodesVisited;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocatedBytes;
+
+  void start(String action, int numRows, int numCols, long nodesVisited) {
+    if (isEnabled()) {
+      this.action = action;
+      this.numRows = numRows;
+      this.numCols = numCols;
+      this.nodesVisited = -nodesVisited;
+      this.allocatedBytes = -GameMetrics.allocatedBytes();
+    }
+    begin();
+  }
+
+  void finish(long nodesVisited) {
+    end();
+    if (shouldCommit()) {
+      this.nodesVisited += nodesVisited;
+      this.allocatedBytes += GameMetrics.allocatedBytes();
+      commit();
+    }
+  }
+}
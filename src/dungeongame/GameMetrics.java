@@ -0,0 +1,161 @@
+package dungeongame;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The latency histograms of the game, recorded by every dungeon and every location in the
+ * process. Generation is measured as a whole and by phase, laying out the maze, building the
+ * graphs the queries run on, placing the items and monsters, and placing the roaming monsters.
+ *
+ * <p>Next to the histograms the game keeps counters of what happened in it, and the games that
+ * are being played, which GameMonitor makes available over JMX.
+ */
+public final class GameMetrics {
+  /**
+   * Generating a dungeon from start to end.
+   */
+  public static final LatencyHistogram GENERATE = new LatencyHistogram("generate");
+  /**
+   * Laying out the maze of a dungeon being generated.
+   */
+  public static final LatencyHistogram GENERATE_MAZE = new LatencyHistogram("generate.maze");
+  /**
+   * Building the graphs of a dungeon being generated.
+   */
+  public static final LatencyHistogram GENERATE_GRAPHS = new LatencyHistogram("generate.graphs");
+  /**
+   * Placing the items and monsters in a dungeon being generated.
+   */
+  public static final LatencyHistogram GENERATE_PLACEMENT =
+          new LatencyHistogram("generate.placement");
+  /**
+   * Placing the roaming monsters in a dungeon being generated.
+   */
+  public static final LatencyHistogram GENERATE_ROAMING = new LatencyHistogram("generate.roaming");
+  /**
+   * Moving the player.
+   */
+  public static final LatencyHistogram MOVE = new LatencyHistogram("move");
+  /**
+   * Picking up a treasure or an arrow.
+   */
+  public static final LatencyHistogram PICKUP = new LatencyHistogram("pickup");
+  /**
+   * Shooting an arrow.
+   */
+  public static final LatencyHistogram SHOOT = new LatencyHistogram("shoot");
+  /**
+   * Describing a location.
+   */
+  public static final LatencyHistogram ROOM_DESCRIPTION = new LatencyHistogram("roomDescription");
+  /**
+   * Moving the yugoloth or the roaming monsters.
+   */
+  public static final LatencyHistogram MONSTER_TICK = new LatencyHistogram("monsterTick");
+
+  private static final LatencyHistogram[] HISTOGRAMS = {
+    GENERATE, GENERATE_MAZE, GENERATE_GRAPHS, GENERATE_PLACEMENT, GENERATE_ROAMING,
+    MOVE, PICKUP, SHOOT, ROOM_DESCRIPTION, MONSTER_TICK,
+  };
+
+  static final LongAdder PLAYERS_ENTERED = new LongAdder();
+  static final LongAdder OTYUGH_KILLS = new LongAdder();
+  static final LongAdder DEATHS_BY_OTYUGH = new LongAdder();
+  static final LongAdder DEATHS_BY_YUGOLOTH = new LongAdder();
+  static final LongAdder DEATHS_BY_PIT = new LongAdder();
+  static final LongAdder ROUTE_CACHE_HITS = new LongAdder();
+  static final LongAdder ROUTE_CACHE_MISSES = new LongAdder();
+  static final LongAdder FLOW_FIELD_CACHE_HITS = new LongAdder();
+  static final LongAdder FLOW_FIELD_CACHE_MISSES = new LongAdder();
+  static final LongAdder GENERATION_BYTES = new LongAdder();
+
+  private static final LongAdder[] COUNTERS = {
+    PLAYERS_ENTERED, OTYUGH_KILLS, DEATHS_BY_OTYUGH, DEATHS_BY_YUGOLOTH, DEATHS_BY_PIT,
+    ROUTE_CACHE_HITS, ROUTE_CACHE_MISSES, FLOW_FIELD_CACHE_HITS, FLOW_FIELD_CACHE_MISSES,
+    GENERATION_BYTES,
+  };
+
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final boolean CAN_COUNT_ALLOCATIONS = canCountAllocations();
+  private static final AtomicLong NEXT_GAME_ID = new AtomicLong(1);
+  // Games are only weakly held, a game that nobody plays anymore is simply garbage collected.
+  private static final Map<DungeonImpl, Long> GAMES = new WeakHashMap<>();
+
+  private GameMetrics() {
+  }
+
+  private static boolean canCountAllocations() {
+    if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+      return false;
+    }
+
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+    return threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled();
+  }
+
+  /*
+    Returns the number of bytes the current thread has allocated so far, or 0 if the JVM cannot
+    tell.
+   */
+  static long allocatedBytes() {
+    if (!CAN_COUNT_ALLOCATIONS) {
+      return 0;
+    }
+
+    return ((com.sun.management.ThreadMXBean) THREADS)
+            .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  static long startGame(DungeonImpl dungeon) {
+    PLAYERS_ENTERED.increment();
+    long gameId = NEXT_GAME_ID.getAndIncrement();
+    synchronized (GAMES) {
+      GAMES.put(dungeon, gameId);
+    }
+
+    return gameId;
+  }
+
+  /*
+    Returns the games that are still referenced by someone, in no particular order.
+   */
+  static List<DungeonImpl> getGames() {
+    synchronized (GAMES) {
+      return new ArrayList<>(GAMES.keySet());
+    }
+  }
+
+  /**
+   * Takes a snapshot of every histogram.
+   *
+   * @return the snapshots keyed by the names of the histograms, in the order they are declared
+   */
+  public static Map<String, HistogramSnapshot> snapshot() {
+    Map<String, HistogramSnapshot> snapshots = new LinkedHashMap<>();
+    for (LatencyHistogram histogram : HISTOGRAMS) {
+      snapshots.put(histogram.getName(), histogram.snapshot());
+    }
+
+    return snapshots;
+  }
+
+  /**
+   * Clears every histogram and counter.
+   */
+  public static void reset() {
+    for (LatencyHistogram histogram : HISTOGRAMS) {
+      histogram.reset();
+    }
+    for (LongAdder counter : COUNTERS) {
+      counter.reset();
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package dungeongame;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Makes the counters and latencies of GameMetrics available over JMX, so that the games running
+ * in a JVM can be watched with jconsole. The monitor is registered as dungeongame:type=Game.
+ */
+public final class GameMonitor implements GameMonitorMXBean {
+  /**
+   * The name the monitor is registered under.
+   */
+  public static final String OBJECT_NAME = "dungeongame:type=Game";
+
+  private long lastMoveCount;
+  private long lastMoveTime;
+  private double movesPerSecond;
+
+  private GameMonitor() {
+    this.lastMoveCount = GameMetrics.MOVE.snapshot().getCount();
+    this.lastMoveTime = System.nanoTime();
+    this.movesPerSecond = 0;
+  }
+
+  /**
+   * Registers the monitor with the platform MBean server, does nothing if it is already
+   * registered.
+   *
+   * @throws IllegalArgumentException if the monitor cannot be registered
+   */
+  public static void register() {
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(new GameMonitor(),
+              new ObjectName(OBJECT_NAME));
+    } catch (InstanceAlreadyExistsException e) {
+      // Registered by an earlier call.
+    } catch (JMException e) {
+      throw new IllegalArgumentException("Cannot register game monitor: " + e.getMessage());
+    }
+  }
+
+  private static double toMillis(double nanos) {
+    return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  private static double hitRate(long hits, long misses) {
+    return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+  }
+
+  /**
+   * Returns the number of dungeons generated.
+   *
+   * @return the number of dungeons generated
+   */
+  @Override
+  public long getDungeonsGenerated() {
+    return GameMetrics.GENERATE.snapshot().getCount();
+  }
+
+  /**
+   * Returns the average time it took to generate a dungeon.
+   *
+   * @return the average generation time in milliseconds
+   */
+  @Override
+  public double getGenerationTimeMean() {
+    return toMillis(GameMetrics.GENERATE.snapshot().getMean());
+  }
+
+  /**
+   * Returns the median time it took to generate a dungeon.
+   *
+   * @return the median generation time in milliseconds
+   */
+  @Override
+  public double getGenerationTimeP50() {
+    return toMillis(GameMetrics.GENERATE.snapshot().getValueAtPercentile(50));
+  }
+
+  /**
+   * Returns the time that 90% of the dungeons were generated in.
+   *
+   * @return the 90th percentile of the generation time in milliseconds
+   */
+  @Override
+  public double getGenerationTimeP90() {
+    return toMillis(GameMetrics.GENERATE.snapshot().getValueAtPercentile(90));
+  }
+
+  /**
+   * Returns the time that 99% of the dungeons were generated in.
+   *
+   * @return the 99th percentile of the generation time in milliseconds
+   */
+  @Override
+  public double getGenerationTimeP99() {
+    return toMillis(GameMetrics.GENERATE.snapshot().getValueAtPercentile(99));
+  }
+
+  /**
+   * Returns the longest time it took to generate a dungeon.
+   *
+   * @return the longest generation time in milliseconds
+   */
+  @Override
+  public double getGenerationTimeMax() {
+    return toMillis(GameMetrics.GENERATE.snapshot().getMax());
+  }
+
+  /**
+   * Returns the average number of bytes allocated to generate a dungeon, or 0 if the JVM does
+   * not count allocations.
+   *
+   * @return the average number of bytes allocated per dungeon
+   */
+  @Override
+  public long getBytesPerDungeon() {
+    long numDungeons = getDungeonsGenerated();
+    return numDungeons == 0 ? 0 : GameMetrics.GENERATION_BYTES.sum() / numDungeons;
+  }
+
+  /**
+   * Returns the number of players that have entered a dungeon.
+   *
+   * @return the number of players that have entered a dungeon
+   */
+  @Override
+  public long getPlayersEntered() {
+    return GameMetrics.PLAYERS_ENTERED.sum();
+  }
+
+  /**
+   * Returns the number of games that have a player who has neither died nor reached the end.
+   *
+   * @return the number of games being played
+   */
+  @Override
+  public int getActiveGames() {
+    int numActiveGames = 0;
+    for (DungeonImpl dungeon : GameMetrics.getGames()) {
+      if (!dungeon.isGameOver()) {
+        numActiveGames++;
+      }
+    }
+
+    return numActiveGames;
+  }
+
+  /**
+   * Returns the number of moves per second since the last time it was asked for, at most
+   * once per second.
+   *
+   * @return the number of moves per second
+   */
+  @Override
+  public synchronized double getMovesPerSecond() {
+    long now = System.nanoTime();
+    if (now - lastMoveTime >= TimeUnit.SECONDS.toNanos(1)) {
+      long moveCount = GameMetrics.MOVE.snapshot().getCount();
+      movesPerSecond = (double) (moveCount - lastMoveCount) * TimeUnit.SECONDS.toNanos(1)
+              / (now - lastMoveTime);
+      lastMoveCount = moveCount;
+      lastMoveTime = now;
+    }
+
+    return movesPerSecond;
+  }
+
+  /**
+   * Returns the number of otyughs killed by arrows.
+   *
+   * @return the number of otyughs killed
+   */
+  @Override
+  public long getOtyughKills() {
+    return GameMetrics.OTYUGH_KILLS.sum();
+  }
+
+  /**
+   * Returns the number of players eaten by an otyugh.
+   *
+   * @return the number of players eaten by an otyugh
+   */
+  @Override
+  public long getDeathsByOtyugh() {
+    return GameMetrics.DEATHS_BY_OTYUGH.sum();
+  }
+
+  /**
+   * Returns the number of players beaten by a yugoloth.
+   *
+   * @return the number of players beaten by a yugoloth
+   */
+  @Override
+  public long getDeathsByYugoloth() {
+    return GameMetrics.DEATHS_BY_YUGOLOTH.sum();
+  }
+
+  /**
+   * Returns the number of players that fell into a pit.
+   *
+   * @return the number of players that fell into a pit
+   */
+  @Override
+  public long getDeathsByPit() {
+    return GameMetrics.DEATHS_BY_PIT.sum();
+  }
+
+  /**
+   * Returns the fraction of routes planned without searching the dungeon again.
+   *
+   * @return the hit rate of the route cache, between 0 and 1
+   */
+  @Override
+  public double getRouteCacheHitRate() {
+    return hitRate(GameMetrics.ROUTE_CACHE_HITS.sum(), GameMetrics.ROUTE_CACHE_MISSES.sum());
+  }
+
+  /**
+   * Returns the fraction of monster steps that found the distances to the player up to date.
+   *
+   * @return the hit rate of the flow field, between 0 and 1
+   */
+  @Override
+  public double getFlowFieldCacheHitRate() {
+    return hitRate(GameMetrics.FLOW_FIELD_CACHE_HITS.sum(),
+            GameMetrics.FLOW_FIELD_CACHE_MISSES.sum());
+  }
+
+  /**
+   * Returns a summary of every latency histogram of the game.
+   *
+   * @return one line per histogram
+   */
+  @Override
+  public String[] getLatencies() {
+    Map<String, HistogramSnapshot> snapshots = GameMetrics.snapshot();
+    List<String> latencies = new ArrayList<>();
+    for (HistogramSnapshot snapshot : snapshots.values()) {
+      latencies.add(snapshot.toString());
+    }
+
+    return latencies.toArray(new String[0]);
+  }
+
+  /**
+   * Clears every counter and histogram.
+   */
+  @Override
+  public synchronized void resetCounters() {
+    GameMetrics.reset();
+    lastMoveCount = 0;
+    lastMoveTime = System.nanoTime();
+    movesPerSecond = 0;
+  }
+
+  /**
+   * Lists the games being played, with the id to dump them by.
+   *
+   * @return one line per game being played
+   */
+  @Override
+  public String[] listActiveGames() {
+    List<String> games = new ArrayList<>();
+    String game;
+    for (DungeonImpl dungeon : GameMetrics.getGames()) {
+      game = dungeon.describeActiveGame();
+      if (game != null) {
+        games.add(game);
+      }
+    }
+
+    return games.toArray(new String[0]);
+  }
+
+  /**
+   * Returns the string representation of the dungeon of a game.
+   *
+   * @param gameId the id of the game
+   * @return the dungeon of the game, or a message if there is no such game
+   */
+  @Override
+  public String dumpDungeon(long gameId) {
+    for (DungeonImpl dungeon : GameMetrics.getGames()) {
+      if (dungeon.getGameId() == gameId) {
+        // Holds the lock of the dungeon, so the game cannot change while it is dumped.
+        return dungeon.toString();
+      }
+    }
+
+    return "No game with id " + gameId + "!";
+  }
+}
@@ -0,0 +1,148 @@
+package dungeongame;
+
+/**
+ * The management interface of GameMonitor, what jconsole and other JMX clients see of the
+ * games running in a JVM. Times are in milliseconds.
+ */
+public interface GameMonitorMXBean {
+  /**
+   * Returns the number of dungeons generated.
+   *
+   * @return the number of dungeons generated
+   */
+  long getDungeonsGenerated();
+
+  /**
+   * Returns the average time it took to generate a dungeon.
+   *
+   * @return the average generation time in milliseconds
+   */
+  double getGenerationTimeMean();
+
+  /**
+   * Returns the median time it took to generate a dungeon.
+   *
+   * @return the median generation time in milliseconds
+   */
+  double getGenerationTimeP50();
+
+  /**
+   * Returns the time that 90% of the dungeons were generated in.
+   *
+   * @return the 90th percentile of the generation time in milliseconds
+   */
+  double getGenerationTimeP90();
+
+  /**
+   * Returns the time that 99% of the dungeons were generated in.
+   *
+   * @return the 99th percentile of the generation time in milliseconds
+   */
+  double getGenerationTimeP99();
+
+  /**
+   * Returns the longest time it took to generate a dungeon.
+   *
+   * @return the longest generation time in milliseconds
+   */
+  double getGenerationTimeMax();
+
+  /**
+   * Returns the average number of bytes allocated to generate a dungeon, or 0 if the JVM does
+   * not count allocations.
+   *
+   * @return the average number of bytes allocated per dungeon
+   */
+  long getBytesPerDungeon();
+
+  /**
+   * Returns the number of players that have entered a dungeon.
+   *
+   * @return the number of players that have entered a dungeon
+   */
+  long getPlayersEntered();
+
+  /**
+   * Returns the number of games that have a player who has neither died nor reached the end.
+   *
+   * @return the number of games being played
+   */
+  int getActiveGames();
+
+  /**
+   * Returns the number of moves per second since the last time it was asked for, at most
+   * once per second.
+   *
+   * @return the number of moves per second
+   */
+  double getMovesPerSecond();
+
+  /**
+   * Returns the number of otyughs killed by arrows.
+   *
+   * @return the number of otyughs killed
+   */
+  long getOtyughKills();
+
+  /**
+   * Returns the number of players eaten by an otyugh.
+   *
+   * @return the number of players eaten by an otyugh
+   */
+  long getDeathsByOtyugh();
+
+  /**
+   * Returns the number of players beaten by a yugoloth.
+   *
+   * @return the number of players beaten by a yugoloth
+   */
+  long getDeathsByYugoloth();
+
+  /**
+   * Returns the number of players that fell into a pit.
+   *
+   * @return the number of players that fell into a pit
+   */
+  long getDeathsByPit();
+
+  /**
+   * Returns the fraction of routes planned without searching the dungeon again.
+   *
+   * @return the hit rate of the route cache, between 0 and 1
+   */
+  double getRouteCacheHitRate();
+
+  /**
+   * Returns the fraction of monster steps that found the distances to the player up to date.
+   *
+   * @return the hit rate of the flow field, between 0 and 1
+   */
+  double getFlowFieldCacheHitRate();
+
+  /**
+   * Returns a summary of every latency histogram of the game.
+   *
+   * @return one line per histogram
+   */
+  String[] getLatencies();
+
+  /**
+   * Clears every counter and histogram.
+   */
+  void resetCounters();
+
+  /**
+   * Lists the games being played, with the id to dump them by.
+   *
+   * @return one line per game being played
+   */
+  String[] listActiveGames();
+
+  /**
+   * Returns the string representation of the dungeon of a game.
+   *
+   * @param gameId the id of the game
+   * @return the dungeon of the game, or a message if there is no such game
+   */
+  String dumpDungeon(long gameId);
+}
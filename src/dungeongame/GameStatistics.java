@@ -0,0 +1,195 @@
+package dungeongame;
+
+/**
+ * Statistics over many recorded games that were played with the same dungeon configuration,
+ * collected by EventLogAnalyzer. Statistics of different batches of games can be merged, which
+ * is what lets the analyzer work on many logs in parallel. The grid of deaths is only
+ * allocated once a player has died.
+ */
+public final class GameStatistics {
+  private final int numRows;
+  private final int numCols;
+  private long[] deaths;
+  private long numGames;
+  private long numWins;
+  private long numDeaths;
+  private long numTurnsInWins;
+  private long numShots;
+  private long numOtyughKills;
+  private long numTreasurePickups;
+  private long numArrowPickups;
+
+  GameStatistics(int numRows, int numCols) {
+    this.numRows = numRows;
+    this.numCols = numCols;
+    this.deaths = null;
+  }
+
+  void add(GameSummary game) {
+    numGames++;
+    if (game.isWin()) {
+      numWins++;
+      numTurnsInWins += game.numTurns();
+    }
+    numShots += game.numShots();
+    numOtyughKills += game.numOtyughKills();
+    numTreasurePickups += game.numTreasurePickups();
+    numArrowPickups += game.numArrowPickups();
+    if (game.deathCell() != -1) {
+      if (deaths == null) {
+        deaths = new long[numRows * numCols];
+      }
+      numDeaths++;
+      deaths[game.deathCell()]++;
+    }
+  }
+
+  GameStatistics merge(GameStatistics other) {
+    numGames += other.numGames;
+    numWins += other.numWins;
+    numDeaths += other.numDeaths;
+    numTurnsInWins += other.numTurnsInWins;
+    numShots += other.numShots;
+    numOtyughKills += other.numOtyughKills;
+    numTreasurePickups += other.numTreasurePickups;
+    numArrowPickups += other.numArrowPickups;
+    if (other.deaths == null) {
+      return this;
+    } else if (deaths == null) {
+      deaths = other.deaths.clone();
+      return this;
+    }
+
+    for (int idx = 0; idx < deaths.length; idx++) {
+      deaths[idx] += other.deaths[idx];
+    }
+
+    return this;
+  }
+
+  /**
+   * Returns the number of games played.
+   *
+   * @return the number of games played
+   */
+  public long getNumGames() {
+    return numGames;
+  }
+
+  /**
+   * Returns the number of games in which the player reached the end of the dungeon.
+   *
+   * @return the number of games won
+   */
+  public long getNumWins() {
+    return numWins;
+  }
+
+  /**
+   * Returns the number of games in which the player died.
+   *
+   * @return the number of games lost
+   */
+  public long getNumDeaths() {
+    return numDeaths;
+  }
+
+  /**
+   * Returns the average number of moves it took to reach the end of the dungeon in the games
+   * that were won, or 0 if no game was won.
+   *
+   * @return the average number of moves to win
+   */
+  public double getAverageTurnsToWin() {
+    return numWins == 0 ? 0 : (double) numTurnsInWins / numWins;
+  }
+
+  /**
+   * Returns the number of arrows shot.
+   *
+   * @return the number of arrows shot
+   */
+  public long getNumShots() {
+    return numShots;
+  }
+
+  /**
+   * Returns the number of otyughs killed.
+   *
+   * @return the number of otyughs killed
+   */
+  public long getNumOtyughKills() {
+    return numOtyughKills;
+  }
+
+  /**
+   * Returns the fraction of arrows shot that killed an otyugh, or 0 if no arrow was shot.
+   *
+   * @return the fraction of arrows that killed an otyugh
+   */
+  public double getOtyughKillRatio() {
+    return numShots == 0 ? 0 : (double) numOtyughKills / numShots;
+  }
+
+  /**
+   * Returns the average number of treasures picked up per game, or 0 if there are no games.
+   *
+   * @return the average number of treasures picked up per game
+   */
+  public double getTreasurePickupsPerGame() {
+    return numGames == 0 ? 0 : (double) numTreasurePickups / numGames;
+  }
+
+  /**
+   * Returns the average number of arrows picked up per game, or 0 if there are no games.
+   *
+   * @return the average number of arrows picked up per game
+   */
+  public double getArrowPickupsPerGame() {
+    return numGames == 0 ? 0 : (double) numArrowPickups / numGames;
+  }
+
+  /**
+   * Returns how many players died at every location of the dungeon.
+   *
+   * @return a grid with the number of deaths at every location
+   */
+  public long[][] getDeathHeatMap() {
+    long[][] heatMap = new long[numRows][numCols];
+    for (int i = 0; deaths != null && i < numRows; i++) {
+      System.arraycopy(deaths, i * numCols, heatMap[i], 0, numCols);
+    }
+
+    return heatMap;
+  }
+
+  /**
+   * String representation of the statistics, with the death heat map drawn as a grid.
+   *
+   * @return the string representation of the statistics
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Games: ").append(numGames).append("\n");
+    sb.append("Wins: ").append(numWins).append(", deaths: ").append(numDeaths).append("\n");
+    sb.append("Average turns to win: ").append(String.format("%.2f", getAverageTurnsToWin()))
+            .append("\n");
+    sb.append("Otyugh kill ratio: ").append(String.format("%.3f", getOtyughKillRatio()))
+            .append(" (").append(numOtyughKills).append(" / ").append(numShots)
+            .append(" arrows)\n");
+    sb.append("Treasure pickups per game: ")
+            .append(String.format("%.2f", getTreasurePickupsPerGame())).append("\n");
+    sb.append("Arrow pickups per game: ")
+            .append(String.format("%.2f", getArrowPickupsPerGame())).append("\n");
+    sb.append("Deaths by location:\n");
+    for (int i = 0; i < numRows; i++) {
+      for (int j = 0; j < numCols; j++) {
+        sb.append(String.format("%6d", deaths == null ? 0 : deaths[i * numCols + j]));
+      }
+      sb.append("\n");
+    }
+
+    return sb.toString();
+  }
+}
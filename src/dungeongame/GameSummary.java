@@ -0,0 +1,12 @@
+package dungeongame;
+
+/*
+  What EventLogAnalyzer reads from a single log: the configuration it was played with, the
+  outcome of the game and the cell the player died in, or -1 if the player survived. It is
+  the same few values however large the dungeon is, so games are cheap to fold into the
+  statistics of their configuration.
+ */
+record GameSummary(String configuration, int numRows, int numCols, boolean isWin,
+                   int numTurns, int numShots, int numOtyughKills, int numTreasurePickups,
+                   int numArrowPickups, int deathCell) {
+}
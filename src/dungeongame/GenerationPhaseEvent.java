@@ -0,0 +1,61 @@
+package dungeongame;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/*
+  Flight recorder event for one phase of generating a dungeon. The fields are only filled in
+  while the event is enabled in a recording, otherwise the event costs a couple of checks that
+  the JIT compiles away.
+ */
+@Name("dungeongame.GenerationPhase")
+@Label("Generation Phase")
+@Category({"Dungeon Game", "Generation"})
+@Description("A phase of generating a dungeon")
+final class GenerationPhaseEvent extends Event {
+  @Label("Phase")
+  String phase;
+
+  @Label("Rows")
+  int numRows;
+
+  @Label("Columns")
+  int numCols;
+
+  @Label("Retries")
+  @Description("Attempts that were thrown away, such as start and end nodes too close together")
+  int retries;
+
+  @Label("Nodes Visited")
+  @Description("Nodes taken off the queue by graph searches during the phase")
+  long nodesVisited;
+
+  @Label("Allocated")
+  @DataAmount
+  long allocatedBytes;
+
+  void start(String phase, int numRows, int numCols, long nodesVisited) {
+    if (isEnabled()) {
+      this.phase = phase;
+      this.numRows = numRows;
+      this.numCols = numCols;
+      this.nodesVisited = -nodesVisited;
+      this.allocatedBytes = -GameMetrics.allocatedBytes();
+    }
+    begin();
+  }
+
+  void finish(int retries, long nodesVisited) {
+    end();
+    if (shouldCommit()) {
+      this.retries = retries;
+      this.nodesVisited += nodesVisited;
+      this.allocatedBytes += GameMetrics.allocatedBytes();
+      commit();
+    }
+  }
+}
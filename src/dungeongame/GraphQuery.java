@@ -0,0 +1,119 @@
+package dungeongame;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/*
+  Reusable breadth first search over a CellGraph for "what is near here" questions (nearest
+  arrows, nearest treasure, caves within a few steps). Visited cells are tracked with an epoch
+  stamp per cell instead of a visited list, so nothing has to be cleared between queries, the
+  queue is a fixed ring buffer and a search stops as soon as it has found what it was asked
+  for. A query is not thread-safe, it reuses the same arrays every time.
+ */
+final class GraphQuery {
+  private final CellGraph cells;
+  private final int[] stamps;
+  private final int[] distances;
+  private final int[] queue;
+  private final int mask;
+  private final int[] singleSource;
+  private int epoch;
+  private long numVisited;
+
+  GraphQuery(CellGraph cells) {
+    int capacity = Integer.highestOneBit(Math.max(1, cells.getNumCells() - 1)) << 1;
+
+    this.cells = cells;
+    this.stamps = new int[cells.getNumCells()];
+    this.distances = new int[cells.getNumCells()];
+    this.queue = new int[capacity];
+    this.mask = capacity - 1;
+    this.singleSource = new int[1];
+    this.epoch = 0;
+  }
+
+  private void nextEpoch() {
+    epoch++;
+    if (epoch == 0) {
+      Arrays.fill(stamps, 0);
+      epoch = 1;
+    }
+  }
+
+  /*
+    Searches outwards from all the sources at once and writes the cells that match the filter
+    to found, closest first. The search stops once maxResults cells have been found or every
+    cell within maxDistance has been seen, and returns the number of cells found.
+   */
+  int nearest(int[] sources, int numSources, IntPredicate filter, int maxResults,
+              int maxDistance, int[] found) {
+    nextEpoch();
+
+    int numFound = 0;
+    int head = 0;
+    int tail = 0;
+    int cell;
+    for (int idx = 0; idx < numSources && numFound < maxResults; idx++) {
+      cell = sources[idx];
+      if (stamps[cell] != epoch) {
+        stamps[cell] = epoch;
+        distances[cell] = 0;
+        queue[tail++ & mask] = cell;
+        if (filter.test(cell)) {
+          found[numFound++] = cell;
+        }
+      }
+    }
+
+    int neighbour;
+    while (head != tail && numFound < maxResults) {
+      cell = queue[head++ & mask];
+      numVisited++;
+      if (distances[cell] == maxDistance) {
+        continue;
+      }
+
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        neighbour = cells.neighbour(cell, direction);
+        if (neighbour != -1 && stamps[neighbour] != epoch) {
+          stamps[neighbour] = epoch;
+          distances[neighbour] = distances[cell] + 1;
+          queue[tail++ & mask] = neighbour;
+
+          if (filter.test(neighbour)) {
+            found[numFound++] = neighbour;
+            if (numFound == maxResults) {
+              break;
+            }
+          }
+        }
+      }
+    }
+
+    return numFound;
+  }
+
+  int nearest(int source, IntPredicate filter, int maxResults, int[] found) {
+    singleSource[0] = source;
+    return nearest(singleSource, 1, filter, maxResults, Integer.MAX_VALUE, found);
+  }
+
+  int withinRadius(int source, int radius, IntPredicate filter, int[] found) {
+    singleSource[0] = source;
+    return nearest(singleSource, 1, filter, Integer.MAX_VALUE, radius, found);
+  }
+
+  /*
+    Distance of a cell from the sources of the last query, or -1 if that query did not reach it.
+   */
+  int distance(int cell) {
+    return stamps[cell] == epoch ? distances[cell] : -1;
+  }
+
+  /*
+    Returns the number of cells visited by all queries so far.
+   */
+  long getNumVisited() {
+    return numVisited;
+  }
+}
@@ -0,0 +1,106 @@
+package dungeongame;
+
+/**
+ * The latencies recorded by a LatencyHistogram up to some point in time. A snapshot does not
+ * change when more latencies are recorded.
+ */
+public final class HistogramSnapshot {
+  private final String name;
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  HistogramSnapshot(String name, long[] counts, long sum, long max) {
+    this.name = name;
+    this.counts = counts;
+    this.sum = sum;
+    this.max = max;
+
+    long totalCount = 0;
+    for (long bucketCount : counts) {
+      totalCount += bucketCount;
+    }
+    this.count = totalCount;
+  }
+
+  /**
+   * Returns the name of what the histogram measures.
+   *
+   * @return the name of the histogram
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of latencies recorded.
+   *
+   * @return the number of latencies recorded
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the average latency, or 0 if nothing was recorded.
+   *
+   * @return the average latency in nanoseconds
+   */
+  public double getMean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * Returns the highest latency recorded, or 0 if nothing was recorded.
+   *
+   * @return the highest latency in nanoseconds
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the latency that the given percentage of the recorded latencies are at or below,
+   * or 0 if nothing was recorded. The latency is the highest latency of its bucket, so it is at
+   * most about 3% higher than the latency that was recorded.
+   *
+   * @param percentile the percentage, between 0 and 100
+   * @return the latency at the percentile in nanoseconds
+   * @throws IllegalArgumentException if the percentage is not between 0 and 100
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100 || Double.isNaN(percentile)) {
+      throw new IllegalArgumentException("Percentile has to be between 0 and 100!");
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.highestLatencyOf(bucket), max);
+      }
+    }
+
+    return max;
+  }
+
+  /**
+   * String representation of the snapshot, with the latencies in microseconds.
+   *
+   * @return the string representation of the snapshot
+   */
+  @Override
+  public String toString() {
+    return String.format("%s: count=%d, mean=%.3f, p50=%.3f, p90=%.3f, p99=%.3f, p99.9=%.3f, "
+                    + "max=%.3f (us)", name, count, getMean() / 1000,
+            getValueAtPercentile(50) / 1000.0, getValueAtPercentile(90) / 1000.0,
+            getValueAtPercentile(99) / 1000.0, getValueAtPercentile(99.9) / 1000.0,
+            max / 1000.0);
+  }
+}
@@ -0,0 +1,71 @@
+package dungeongame;
+
+import java.util.Random;
+
+/*
+  Randomized Kruskal: goes through every passage in a random order and carves it if it joins
+  two parts of the maze that are not connected yet, and closes it otherwise. The parts are
+  kept in a union-find forest over the cell ids.
+
+  The passages are drawn the way the list based version of this generator drew them, picking
+  a random index into the passages not drawn yet, in the same order and with the same random
+  numbers, so every seed still generates the same maze. A RankTree over the passages finds the
+  passage at a random index in O(log n) instead of shifting a list after every draw.
+ */
+final class KruskalMaze implements MazeGenerator {
+  // The order in which the passages of a cell were listed.
+  private static final int[] PASSAGE_DIRECTIONS = {CellGraph.LEFT, CellGraph.RIGHT,
+          CellGraph.UP, CellGraph.DOWN};
+
+  @Override
+  public void generate(MazeGrid grid, Random random) {
+    int numCells = grid.getNumCells();
+    int[] passages = new int[2 * numCells];
+    int numPassages = 0;
+
+    // Every passage is listed once, from the cell that comes first.
+    int next;
+    for (int cell = 0; cell < numCells; cell++) {
+      for (int direction : PASSAGE_DIRECTIONS) {
+        next = grid.neighbour(cell, direction);
+        if (next > cell) {
+          passages[numPassages++] = cell * CellGraph.NUM_DIRECTIONS + direction;
+        }
+      }
+    }
+
+    RankTree remaining = new RankTree(numPassages);
+    int[] parts = new int[numCells];
+    for (int cell = 0; cell < numCells; cell++) {
+      parts[cell] = cell;
+    }
+
+    int idx;
+    int cell;
+    int direction;
+    int first;
+    int second;
+    for (int numRemaining = numPassages; numRemaining > 0; numRemaining--) {
+      idx = remaining.removeAt(random.nextInt(numRemaining));
+      cell = passages[idx] / CellGraph.NUM_DIRECTIONS;
+      direction = passages[idx] % CellGraph.NUM_DIRECTIONS;
+      first = find(parts, cell);
+      second = find(parts, grid.neighbour(cell, direction));
+      if (first == second) {
+        grid.close(cell, direction);
+      } else {
+        parts[second] = first;
+        grid.carve(cell, direction);
+      }
+    }
+  }
+
+  private static int find(int[] parts, int cell) {
+    while (parts[cell] != cell) {
+      parts[cell] = parts[parts[cell]];
+      cell = parts[cell];
+    }
+
+    return cell;
+  }
+}
@@ -0,0 +1,140 @@
+package dungeongame;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies in nanoseconds, with buckets that grow with the latency like in an
+ * HDR histogram, so every latency from 1 nanosecond up to over an hour is kept with an error of
+ * at most about 3%, in a fixed amount of memory.
+ *
+ * <p>Every bucket is a LongAdder, which spreads threads that record at the same time over
+ * cells of their own, so recording never waits for a lock and threads do not slow each other
+ * down, while the histogram stays the same size however many threads come and go. Everything
+ * recorded since the last reset lives in one recording, which a reset replaces as a whole, so
+ * a latency is either recorded completely or cleared completely.
+ */
+public final class LatencyHistogram {
+  // 32 buckets for every power of two, latencies below 64 nanoseconds have a bucket each.
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final long MAX_LATENCY = (1L << 42) - 1;
+  static final int NUM_BUCKETS = bucketOf(MAX_LATENCY) + 1;
+
+  private final String name;
+  private volatile Recording recording;
+
+  /*
+    The buckets, total and maximum of everything recorded since the last reset.
+   */
+  private static final class Recording {
+    private final LongAdder[] counts;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    private Recording() {
+      this.counts = new LongAdder[NUM_BUCKETS];
+      for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+        this.counts[bucket] = new LongAdder();
+      }
+      this.sum = new LongAdder();
+      this.max = new LongAccumulator(Math::max, 0);
+    }
+  }
+
+  /**
+   * Constructs an empty histogram.
+   *
+   * @param name the name of what the histogram measures
+   * @throws IllegalArgumentException if the name is null
+   */
+  public LatencyHistogram(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("Name of histogram is expected to be non-null!");
+    }
+
+    this.name = name;
+    this.recording = new Recording();
+  }
+
+  static int bucketOf(long latency) {
+    if (latency < 2 * SUB_BUCKET_COUNT) {
+      return (int) latency;
+    }
+
+    int shift = 63 - Long.numberOfLeadingZeros(latency) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) (latency >>> shift) - SUB_BUCKET_COUNT;
+  }
+
+  static long lowestLatencyOf(int bucket) {
+    if (bucket < 2 * SUB_BUCKET_COUNT) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKET_COUNT - 1;
+    return (long) (SUB_BUCKET_COUNT + bucket % SUB_BUCKET_COUNT) << shift;
+  }
+
+  static long highestLatencyOf(int bucket) {
+    return bucket == NUM_BUCKETS - 1 ? MAX_LATENCY : lowestLatencyOf(bucket + 1) - 1;
+  }
+
+  /**
+   * Returns the name of what the histogram measures.
+   *
+   * @return the name of the histogram
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Records a latency. Negative latencies are recorded as 0, and latencies of more than about
+   * 73 minutes as 73 minutes.
+   *
+   * @param latency the latency in nanoseconds
+   */
+  public void record(long latency) {
+    latency = Math.max(0, Math.min(latency, MAX_LATENCY));
+
+    // The recording is read once, so a reset in the middle cannot split the latency between
+    // the old recording and the new one.
+    Recording current = this.recording;
+    current.counts[bucketOf(latency)].increment();
+    current.sum.add(latency);
+    current.max.accumulate(latency);
+  }
+
+  /**
+   * Records the time that has passed since a start time taken with System.nanoTime().
+   *
+   * @param startTime the start time in nanoseconds
+   */
+  public void recordSince(long startTime) {
+    record(System.nanoTime() - startTime);
+  }
+
+  /**
+   * Adds up what all threads have recorded so far. Latencies that are being recorded while the
+   * snapshot is taken may or may not be part of it.
+   *
+   * @return the snapshot of the histogram
+   */
+  public HistogramSnapshot snapshot() {
+    Recording current = this.recording;
+    long[] counts = new long[NUM_BUCKETS];
+    for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+      counts[bucket] = current.counts[bucket].sum();
+    }
+
+    return new HistogramSnapshot(name, counts, current.sum.sum(), current.max.get());
+  }
+
+  /**
+   * Clears everything recorded so far. Latencies that are being recorded while the histogram is
+   * cleared are either cleared completely or kept completely.
+   */
+  public void reset() {
+    this.recording = new Recording();
+  }
+}
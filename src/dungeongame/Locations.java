@@ -0,0 +1,91 @@
+package dungeongame;
+
+import java.util.Arrays;
+
+/**
+ * Locations in a dungeon, closest first, returned by the queries for what is near the player,
+ * such as Dungeon.getNearestArrows(). Every location is packed into a single int, so nothing
+ * is boxed to build or read the locations.
+ */
+public final class Locations {
+  private final int numCols;
+  private final int[] cells;
+
+  /*
+    Copies the first numCells cells, so the array can be reused by the next query.
+   */
+  Locations(int numCols, int[] cells, int numCells) {
+    this.numCols = numCols;
+    this.cells = Arrays.copyOf(cells, numCells);
+  }
+
+  private void checkLocation(int location) {
+    if (location < 0 || location >= cells.length) {
+      throw new IllegalArgumentException("No location " + location + " in locations!");
+    }
+  }
+
+  /**
+   * Returns the number of locations.
+   *
+   * @return the number of locations
+   */
+  public int size() {
+    return cells.length;
+  }
+
+  /**
+   * Returns the row of a location.
+   *
+   * @param location the index of the location
+   * @return the row of the location
+   * @throws IllegalArgumentException if there is no such location
+   */
+  public int getRow(int location) {
+    checkLocation(location);
+    return cells[location] / numCols;
+  }
+
+  /**
+   * Returns the column of a location.
+   *
+   * @param location the index of the location
+   * @return the column of the location
+   * @throws IllegalArgumentException if there is no such location
+   */
+  public int getCol(int location) {
+    checkLocation(location);
+    return cells[location] % numCols;
+  }
+
+  /*
+    The cells of the locations and the number of columns of the dungeon they are in, for
+    queries that search outwards from them.
+   */
+  int[] getCells() {
+    return cells;
+  }
+
+  int getNumCols() {
+    return numCols;
+  }
+
+  /**
+   * String representation of the locations, [i, j] coordinates closest first.
+   *
+   * @return the string representation of the locations
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int location = 0; location < cells.length; location++) {
+      if (location > 0) {
+        sb.append(", ");
+      }
+      sb.append("[").append(getRow(location)).append(", ").append(getCol(location))
+              .append("]");
+    }
+
+    return sb.append("]").toString();
+  }
+}
@@ -0,0 +1,12 @@
+package dungeongame;
+
+import java.util.Random;
+
+/*
+  Carves the topology of a dungeon: the passages of a spanning tree over all of its locations,
+  so that every location can be reached from every other one in exactly one way. Passages
+  that are not carved become walls, some of which the interconnectivity phase opens again.
+ */
+interface MazeGenerator {
+  void generate(MazeGrid grid, Random random);
+}
@@ -0,0 +1,173 @@
+package dungeongame;
+
+/*
+  The locations of a dungeon and the passages between them while its maze is generated, before
+  any Node exists. Every passage is identified by the location on its upper or left side: the
+  passage to the right of a cell is 2 * cell and the passage below it is 2 * cell + 1, so the
+  state of all passages fits in two bitsets however the maze is carved.
+
+  A maze generator carves the passages of a spanning tree and may close the ones it decides
+  against. Once it is done, closeWalls() closes every passage left, and the interconnectivity
+  phase reopens closed passages by their index in the order they were closed, with the ones
+  after a reopened passage moving up by one like in a list. The closed passages never move, a
+  RankTree finds the one at an index among those still closed.
+ */
+final class MazeGrid {
+  private final int numRows;
+  private final int numCols;
+  private final boolean isWrapping;
+  private final long[] carved;
+  private final long[] closed;
+  private final int[] walls;
+  private int numListed;
+  private int numWalls;
+  private RankTree closedWalls;
+
+  MazeGrid(int numRows, int numCols, boolean isWrapping) {
+    int numPassages = 2 * numRows * numCols;
+
+    this.numRows = numRows;
+    this.numCols = numCols;
+    this.isWrapping = isWrapping;
+    this.carved = new long[(numPassages + 63) >>> 6];
+    this.closed = new long[(numPassages + 63) >>> 6];
+    this.walls = new int[numPassages];
+    this.numListed = 0;
+    this.numWalls = 0;
+  }
+
+  int getNumRows() {
+    return numRows;
+  }
+
+  int getNumCols() {
+    return numCols;
+  }
+
+  int getNumCells() {
+    return numRows * numCols;
+  }
+
+  boolean isWrapping() {
+    return isWrapping;
+  }
+
+  /*
+    Returns the cell next to a cell in a direction of CellGraph, or -1 if the direction leads
+    out of a non-wrapping dungeon.
+   */
+  int neighbour(int cell, int direction) {
+    return neighbour(cell, direction, numRows, numCols, isWrapping);
+  }
+
+  /*
+    Returns the cell next to a cell in a direction in a dungeon of the given size, without a
+    grid, for anything that only needs to walk the locations of a dungeon.
+   */
+  static int neighbour(int cell, int direction, int numRows, int numCols, boolean isWrapping) {
+    int row = cell / numCols;
+    int col = cell % numCols;
+    switch (direction) {
+      case CellGraph.UP:
+        if (row > 0) {
+          return cell - numCols;
+        }
+        return isWrapping ? cell + (numRows - 1) * numCols : -1;
+      case CellGraph.DOWN:
+        if (row < numRows - 1) {
+          return cell + numCols;
+        }
+        return isWrapping ? col : -1;
+      case CellGraph.LEFT:
+        if (col > 0) {
+          return cell - 1;
+        }
+        return isWrapping ? cell + numCols - 1 : -1;
+      case CellGraph.RIGHT:
+        if (col < numCols - 1) {
+          return cell + 1;
+        }
+        return isWrapping ? cell - numCols + 1 : -1;
+      default:
+        throw new IllegalArgumentException("Invalid direction!");
+    }
+  }
+
+  /*
+    Returns the passage from a cell in a direction, which has to lead to another cell.
+   */
+  private int passageOf(int cell, int direction) {
+    switch (direction) {
+      case CellGraph.UP:
+        return 2 * neighbour(cell, CellGraph.UP) + 1;
+      case CellGraph.DOWN:
+        return 2 * cell + 1;
+      case CellGraph.LEFT:
+        return 2 * neighbour(cell, CellGraph.LEFT);
+      default:
+        return 2 * cell;
+    }
+  }
+
+  private boolean exists(int passage) {
+    int cell = passage >>> 1;
+    return (passage & 1) == 0
+            ? isWrapping || cell % numCols < numCols - 1
+            : isWrapping || cell / numCols < numRows - 1;
+  }
+
+  private static boolean isSet(long[] bits, int idx) {
+    return (bits[idx >>> 6] & (1L << idx)) != 0;
+  }
+
+  void carve(int cell, int direction) {
+    int passage = passageOf(cell, direction);
+    carved[passage >>> 6] |= 1L << passage;
+  }
+
+  boolean isCarved(int cell, int direction) {
+    return isSet(carved, passageOf(cell, direction));
+  }
+
+  /*
+    Closes the passage from a cell in a direction, after the ones closed before it.
+   */
+  void close(int cell, int direction) {
+    int passage = passageOf(cell, direction);
+    if (!isSet(closed, passage)) {
+      closed[passage >>> 6] |= 1L << passage;
+      walls[numListed++] = passage;
+      numWalls++;
+    }
+  }
+
+  /*
+    Closes every passage that was neither carved nor closed by the generator, in the order of
+    the passages. No passage can be closed after this, only reopened.
+   */
+  void closeWalls() {
+    for (int passage = 0; passage < walls.length; passage++) {
+      if (exists(passage) && !isSet(carved, passage) && !isSet(closed, passage)) {
+        closed[passage >>> 6] |= 1L << passage;
+        walls[numListed++] = passage;
+        numWalls++;
+      }
+    }
+    closedWalls = new RankTree(numListed);
+  }
+
+  int getNumWalls() {
+    return numWalls;
+  }
+
+  /*
+    Carves the closed passage at an index of the closed passages, the ones after it move up by
+    one, the same way an element is removed from a list.
+   */
+  void openWall(int idx) {
+    int passage = walls[closedWalls.removeAt(idx)];
+    carved[passage >>> 6] |= 1L << passage;
+    closed[passage >>> 6] &= ~(1L << passage);
+    numWalls--;
+  }
+}
@@ -96,6 +96,10 @@ public class Otyugh {
    * @return the health after being hit by an arrow
    */
   public int gotHitByArrow() {
+    return healthAfterHit(health);
+  }
+
+  static int healthAfterHit(int health) {
     if (health == 100) {
       return 50;
     } else {
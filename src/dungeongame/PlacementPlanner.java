@@ -0,0 +1,175 @@
+package dungeongame;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/*
+  Picks the locations of everything that is placed in a generated dungeon. The cells that
+  qualify for a kind of location (caves, any location) are collected once, and locations are
+  drawn from them at random with a partial Fisher-Yates shuffle, so drawing k locations takes k
+  swaps and no location is drawn twice in a draw. The shuffle leaves the candidates in some
+  other order but still all there, so the next draw starts from all of them again. Locations
+  that hold something that needs a location of its own (an otyugh, the yugoloth, the thief, the
+  pit, the start) are marked in an occupancy bitset, and later draws can skip them as the
+  shuffle reaches them.
+
+  Hazards can also be spread out, so that no two of them are fewer than minSpacing moves apart,
+  which is Poisson-disk sampling over the distance in the maze instead of in the plane. The
+  planner keeps, for every location, the number of moves to the nearest hazard placed so far,
+  capped at minSpacing. Placing a hazard runs a breadth first search from it that only goes on
+  through locations it brings closer to a hazard, and never further than minSpacing, so the
+  exclusion zones of all hazards together are one incremental multi-source search: every
+  location is lowered at most minSpacing times however many hazards are placed, and most are
+  lowered once. A spread out draw skips the candidates that are too close as the shuffle reaches
+  them, and places the hazards that find no room far enough from the others wherever they fit.
+ */
+final class PlacementPlanner {
+  private final CellGraph cells;
+  private final Random random;
+  private final int minSpacing;
+  private final long[] occupied;
+  private final int[] drawn;
+  private final int[] spacing;
+  private final int[] queue;
+
+  PlacementPlanner(CellGraph cells, Random random, int minSpacing) {
+    int numCells = cells.getNumCells();
+
+    this.cells = cells;
+    this.random = random;
+    this.minSpacing = minSpacing;
+    this.occupied = new long[(numCells + 63) >>> 6];
+    this.drawn = new int[1];
+    if (minSpacing > 0) {
+      this.spacing = new int[numCells];
+      this.queue = new int[numCells];
+      Arrays.fill(this.spacing, minSpacing);
+    } else {
+      this.spacing = null;
+      this.queue = null;
+    }
+  }
+
+  void occupy(int cell) {
+    occupied[cell >>> 6] |= 1L << cell;
+  }
+
+  boolean isOccupied(int cell) {
+    return (occupied[cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  boolean isSpread() {
+    return minSpacing > 0;
+  }
+
+  /*
+    Returns true if the location is at least minSpacing moves away from every hazard, which is
+    always the case when hazards are not spread out.
+   */
+  boolean isFarFromHazards(int cell) {
+    return minSpacing == 0 || spacing[cell] == minSpacing;
+  }
+
+  /*
+    Collects the cells that match the filter, to draw locations from as many times as needed.
+   */
+  int[] collect(IntPredicate filter) {
+    int numCandidates = 0;
+    int[] candidates = new int[cells.getNumCells()];
+    for (int cell = 0; cell < cells.getNumCells(); cell++) {
+      if (filter.test(cell)) {
+        candidates[numCandidates++] = cell;
+      }
+    }
+
+    return Arrays.copyOf(candidates, numCandidates);
+  }
+
+  /*
+    Draws up to count distinct locations out of the candidates that are not occupied if isFree is
+    true. The locations are written to out in the order they were drawn and occupied if isFree is
+    true. If isHazard is true they are hazards: hazards placed later are kept away from them, and
+    if hazards are spread out they are kept away from the hazards placed so far for as long as
+    there is room, after which the rest are drawn wherever they fit. Returns how many locations
+    were drawn, fewer than count only if not enough locations match.
+   */
+  int sample(int[] candidates, boolean isFree, boolean isHazard, int count, int[] out) {
+    int numDrawn = draw(candidates, isFree, isHazard, isHazard && minSpacing > 0, count, out,
+            0);
+    if (numDrawn < count && isHazard && minSpacing > 0) {
+      // No room left to keep the rest of the hazards apart.
+      numDrawn = draw(candidates, isFree, true, false, count, out, numDrawn);
+    }
+
+    return numDrawn;
+  }
+
+  /*
+    Draws a single location like sample(), and returns it, or -1 if no location is left.
+   */
+  int sampleOne(int[] candidates, boolean isFree, boolean isHazard) {
+    return sample(candidates, isFree, isHazard, 1, drawn) == 0 ? -1 : drawn[0];
+  }
+
+  private int draw(int[] candidates, boolean isFree, boolean isHazard, boolean isSpaced,
+                   int count, int[] out, int numDrawn) {
+    int numCandidates = candidates.length;
+    int idx;
+    int cell;
+    while (numDrawn < count && numCandidates > 0) {
+      idx = random.nextInt(numCandidates);
+      cell = candidates[idx];
+      candidates[idx] = candidates[--numCandidates];
+      candidates[numCandidates] = cell;
+      if ((isFree && isOccupied(cell)) || (isSpaced && !isFarFromHazards(cell))) {
+        // Taken, or too close to a hazard, since the candidates were collected.
+        continue;
+      }
+
+      out[numDrawn++] = cell;
+      if (isFree) {
+        occupy(cell);
+      }
+      if (isHazard) {
+        keepHazardsAwayFrom(cell);
+      }
+    }
+
+    return numDrawn;
+  }
+
+  /*
+    Keeps the hazards placed from now on away from a location, if they are spread out, by
+    lowering the distance to the nearest hazard of every location closer to it than minSpacing.
+   */
+  void keepHazardsAwayFrom(int source) {
+    if (minSpacing == 0 || spacing[source] == 0) {
+      return;
+    }
+
+    int head = 0;
+    int tail = 0;
+    spacing[source] = 0;
+    queue[tail++] = source;
+
+    int cell;
+    int next;
+    int distance;
+    while (head != tail) {
+      cell = queue[head++];
+      distance = spacing[cell] + 1;
+      if (distance >= minSpacing) {
+        continue;
+      }
+
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        next = cells.neighbour(cell, direction);
+        if (next != -1 && distance < spacing[next]) {
+          spacing[next] = distance;
+          queue[tail++] = next;
+        }
+      }
+    }
+  }
+}
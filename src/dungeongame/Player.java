@@ -116,9 +116,7 @@ public interface Player {
    * @param dungeon   the dungeon in which the player is placed
    * @param direction the direction of the arrow
    * @param distance  the distance of the arrow
-   * @return list containing the current arrow position followed by an integer,
-   *         1 if the Otyugh dies, 0 if the Otyugh is injured, -1 if the arrow does not
-   *         hit the Otyugh
+   * @return where the arrow landed and whether it killed, injured or missed an Otyugh
    * @throws IllegalArgumentException if the dungeon object is null, or
    *                                  if the direction is null, or
    *                                  if the distance is negative or zero, or
@@ -127,7 +125,26 @@ public interface Player {
    *                                  if the player is dead, or
    *                                  if the player has no arrows
    */
-  List<Integer> shootArrow(Dungeon dungeon, String direction, int distance);
+  ShotResult shootArrow(Dungeon dungeon, String direction, int distance);
+
+  /**
+   * Shoots one arrow for every direction, each at the distance with the same index, in order,
+   * and fills the volley with where the arrows landed. Nothing is shot unless every arrow can be.
+   *
+   * @param dungeon    the dungeon in which the player is placed
+   * @param directions the direction of every arrow
+   * @param distances  the distance of every arrow
+   * @param volley     the volley to fill in, the shots that were in it are replaced
+   * @throws IllegalArgumentException if the dungeon object, the directions, the distances or
+   *                                  the volley is null, or
+   *                                  if there are not as many distances as directions, or
+   *                                  if a direction is null or empty, or
+   *                                  if a distance is negative or zero, or
+   *                                  if the player is not placed in the dungeon, or
+   *                                  if the player is dead, or
+   *                                  if the player has fewer arrows than the volley
+   */
+  void shootVolley(Dungeon dungeon, String[] directions, int[] distances, Volley volley);
 
   /**
    * Checks if the player is alive.
@@ -1,11 +1,11 @@
 package dungeongame;
 
+import node.Treasure;
 import utils.ValueSanity;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class is an implementation of the Player, a player
@@ -14,8 +14,11 @@ import java.util.Map;
  * at which point the game terminates.
  */
 public class PlayerImpl implements Player {
+  private static final Treasure[] TREASURES = Treasure.values();
+
   private String name;
-  private Map<String, Integer> treasure;
+  // Number of treasures of every type, indexed by the ordinal of the treasure.
+  private final int[] treasureCounts;
   private int numArrows;
   private boolean isPlayerDead;
 
@@ -30,7 +33,7 @@ public class PlayerImpl implements Player {
 
     this.name = name;
 
-    this.treasure = new HashMap<>();
+    this.treasureCounts = new int[TREASURES.length];
     this.numArrows = 3;
     this.isPlayerDead = false;
   }
@@ -169,11 +172,7 @@ public class PlayerImpl implements Player {
 
     treasureName = treasureName.toUpperCase();
     ((DungeonImpl) dungeon).pickUpTreasure(treasureName, this);
-    if (this.treasure.containsKey(treasureName)) {
-      this.treasure.put(treasureName, this.treasure.get(treasureName) + 1);
-    } else {
-      this.treasure.put(treasureName, 1);
-    }
+    this.treasureCounts[Treasure.valueOf(treasureName).ordinal()]++;
   }
 
   /**
@@ -187,14 +186,19 @@ public class PlayerImpl implements Player {
     sb.append("---------------------------------------------------\n");
     sb.append(this.name).append(" now has the following treasure count: \n");
 
-    if (this.treasure.isEmpty()) {
-      sb.append("No treasure in bag.\n");
-    } else {
-      for (String treasureName : this.treasure.keySet()) {
-        sb.append(treasureName).append(": ").append(this.treasure.get(treasureName)).append("\n");
+    boolean hasTreasure = false;
+    for (int idx = 0; idx < this.treasureCounts.length; idx++) {
+      if (this.treasureCounts[idx] > 0) {
+        sb.append(TREASURES[idx].name()).append(": ").append(this.treasureCounts[idx])
+                .append("\n");
+        hasTreasure = true;
       }
     }
 
+    if (!hasTreasure) {
+      sb.append("No treasure in bag.\n");
+    }
+
     return sb.toString();
   }
 
@@ -247,9 +251,7 @@ public class PlayerImpl implements Player {
    * @param dungeon   the dungeon in which the player is placed
    * @param direction the direction of the arrow
    * @param distance  the distance of the arrow
-   * @return list containing the current arrow position followed by an integer,
-   *         1 if the Otyugh dies, 0 if the Otyugh is injured, -1 if the arrow does not
-   *         hit the Otyugh
+   * @return where the arrow landed and whether it killed, injured or missed an Otyugh
    * @throws IllegalArgumentException if the dungeon object is null, or
    *                                  if the direction is null, or
    *                                  if the distance is negative or zero, or
@@ -259,7 +261,7 @@ public class PlayerImpl implements Player {
    *                                  if the player has no arrows
    */
   @Override
-  public List<Integer> shootArrow(Dungeon dungeon, String direction, int distance) {
+  public ShotResult shootArrow(Dungeon dungeon, String direction, int distance) {
     ValueSanity.checkNull("Dungeon instance", dungeon);
     ValueSanity.checkNull("Direction in which to shoot", direction);
     if (direction.equals("")) {
@@ -287,6 +289,53 @@ public class PlayerImpl implements Player {
     }
   }
 
+  /**
+   * Shoots one arrow for every direction, each at the distance with the same index, in order,
+   * and fills the volley with where the arrows landed. Nothing is shot unless every arrow can be.
+   *
+   * @param dungeon    the dungeon in which the player is placed
+   * @param directions the direction of every arrow
+   * @param distances  the distance of every arrow
+   * @param volley     the volley to fill in, the shots that were in it are replaced
+   * @throws IllegalArgumentException if the dungeon object, the directions, the distances or
+   *                                  the volley is null, or
+   *                                  if there are not as many distances as directions, or
+   *                                  if a direction is null or empty, or
+   *                                  if a distance is negative or zero, or
+   *                                  if the player is not placed in the dungeon, or
+   *                                  if the player is dead, or
+   *                                  if the player has fewer arrows than the volley
+   */
+  @Override
+  public void shootVolley(Dungeon dungeon, String[] directions, int[] distances,
+                          Volley volley) {
+    ValueSanity.checkNull("Dungeon instance", dungeon);
+    ValueSanity.checkNull("Directions in which to shoot", directions);
+    ValueSanity.checkNull("Distances of arrows", distances);
+    ValueSanity.checkNull("Volley", volley);
+    if (directions.length != distances.length) {
+      throw new IllegalArgumentException("Every arrow needs a direction and a distance!");
+    }
+    for (int idx = 0; idx < directions.length; idx++) {
+      ValueSanity.checkNull("Direction in which to shoot", directions[idx]);
+      CellGraph.directionOf(directions[idx]);
+      if (distances[idx] <= 0) {
+        throw new IllegalArgumentException("Distance must be positive!");
+      }
+    }
+
+    if (this.isPlayerDead) {
+      throw new IllegalArgumentException("Player is dead!");
+    }
+
+    if (this.numArrows < directions.length) {
+      throw new IllegalArgumentException("Not enough arrows to shoot, pickup arrows to shoot!");
+    }
+
+    ((DungeonImpl) dungeon).shootVolley(directions, distances, this, volley);
+    this.numArrows -= directions.length;
+  }
+
   /**
    * Checks if the player is alive.
    *
@@ -326,8 +375,10 @@ public class PlayerImpl implements Player {
   public List<String> getPlayerTreasuresList() {
     List<String> treasures = new ArrayList<>();
 
-    for (String treasure : this.treasure.keySet()) {
-      treasures.add(treasure + ": " + this.treasure.get(treasure));
+    for (int idx = 0; idx < this.treasureCounts.length; idx++) {
+      if (this.treasureCounts[idx] > 0) {
+        treasures.add(TREASURES[idx].name() + ": " + this.treasureCounts[idx]);
+      }
     }
 
     return treasures;
@@ -356,6 +407,6 @@ public class PlayerImpl implements Player {
    */
   @Override
   public void treasureStolen() {
-    this.treasure = new HashMap<>();
+    Arrays.fill(this.treasureCounts, 0);
   }
 }
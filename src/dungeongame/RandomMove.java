@@ -1,48 +1,45 @@
 package dungeongame;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Random;
 
 import node.Node;
 
 class RandomMove implements MoveStrategy {
+  private final Random random;
+
+  RandomMove(Random random) {
+    this.random = random;
+  }
+
   @Override
   public Node move(Yugoloth yugoloth, Node location) {
-    List<String> availableDirections = new ArrayList<>();
+    int numAvailableDirections = 0;
 
     if (location.getTopNode() != null) {
-      availableDirections.add("U");
+      numAvailableDirections++;
     }
     if (location.getBottomNode() != null) {
-      availableDirections.add("D");
+      numAvailableDirections++;
     }
     if (location.getLeftNode() != null) {
-      availableDirections.add("L");
+      numAvailableDirections++;
     }
     if (location.getRightNode() != null) {
-      availableDirections.add("R");
+      numAvailableDirections++;
     }
 
-    if (availableDirections.size() > 0) {
-      int randomIndex = (int) (Math.random() * availableDirections.size());
-      String randomDirection = availableDirections.get(randomIndex);
+    if (numAvailableDirections > 0) {
+      int randomIndex = random.nextInt(numAvailableDirections);
       location.removeYugoloth();
 
-      switch (randomDirection) {
-        case "U":
-          location = location.getTopNode();
-          break;
-        case "D":
-          location = location.getBottomNode();
-          break;
-        case "L":
-          location = location.getLeftNode();
-          break;
-        case "R":
-          location = location.getRightNode();
-          break;
-        default:
-          break;
+      if (location.getTopNode() != null && randomIndex-- == 0) {
+        location = location.getTopNode();
+      } else if (location.getBottomNode() != null && randomIndex-- == 0) {
+        location = location.getBottomNode();
+      } else if (location.getLeftNode() != null && randomIndex-- == 0) {
+        location = location.getLeftNode();
+      } else if (location.getRightNode() != null) {
+        location = location.getRightNode();
       }
 
       location.placeYugoloth(yugoloth);
@@ -0,0 +1,243 @@
+package dungeongame;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+  Struct-of-arrays store for the monsters that roam around the dungeon (Yugoloths and thieves).
+  Positions are plain cell ids of a CellGraph and every monster owns its own xorshift state, so a
+  tick does not allocate and gives the same result no matter how the population is split across
+  threads. An occupancy grid (one per kind) is kept up to date so that collision checks with the
+  player are a single array read, and the monsters of a kind in a cell are linked into a list
+  through their indices, so a monster at a cell is found without going through all of them.
+ */
+final class RoamingMonsters {
+  static final int YUGOLOTH = 0;
+  static final int THIEF = 1;
+  static final int RANDOM = 0;
+  static final int CHASE = 1;
+  private static final int NUM_KINDS = 2;
+  private static final int PARALLEL_THRESHOLD = 4_096;
+  private static final int MIN_CHUNK_SIZE = 1_024;
+
+  private final CellGraph cells;
+  private final FlowField flowField;
+  private final int[] kinds;
+  private final int[] strategies;
+  private final long[] seeds;
+  private final int[] occupancy;
+  private final int[] firstAt;
+  private final int[] nextAt;
+  private final int[] previousAt;
+  private int[] positions;
+  private int[] nextPositions;
+  private int numMonsters;
+
+  RoamingMonsters(CellGraph cells, FlowField flowField, int capacity) {
+    this.cells = cells;
+    this.flowField = flowField;
+    this.kinds = new int[capacity];
+    this.strategies = new int[capacity];
+    this.seeds = new long[capacity];
+    this.positions = new int[capacity];
+    this.nextPositions = new int[capacity];
+    this.occupancy = new int[NUM_KINDS * cells.getNumCells()];
+    this.firstAt = new int[NUM_KINDS * cells.getNumCells()];
+    this.nextAt = new int[capacity];
+    this.previousAt = new int[capacity];
+    this.numMonsters = 0;
+    Arrays.fill(this.firstAt, -1);
+  }
+
+  private void link(int idx, int slot) {
+    nextAt[idx] = firstAt[slot];
+    previousAt[idx] = -1;
+    if (firstAt[slot] != -1) {
+      previousAt[firstAt[slot]] = idx;
+    }
+    firstAt[slot] = idx;
+  }
+
+  private void unlink(int idx, int slot) {
+    if (previousAt[idx] == -1) {
+      firstAt[slot] = nextAt[idx];
+    } else {
+      nextAt[previousAt[idx]] = nextAt[idx];
+    }
+    if (nextAt[idx] != -1) {
+      previousAt[nextAt[idx]] = previousAt[idx];
+    }
+  }
+
+  void add(int kind, int cell, Random random) {
+    if (numMonsters == positions.length) {
+      throw new IllegalArgumentException("Cannot add more than " + positions.length
+              + " roaming monsters!");
+    }
+
+    long seed = random.nextLong();
+    kinds[numMonsters] = kind;
+    strategies[numMonsters] = RANDOM;
+    seeds[numMonsters] = seed == 0 ? 1 : seed;
+    positions[numMonsters] = cell;
+    occupancy[kind * cells.getNumCells() + cell]++;
+    link(numMonsters, kind * cells.getNumCells() + cell);
+    numMonsters++;
+  }
+
+  int size() {
+    return numMonsters;
+  }
+
+  int getKind(int idx) {
+    return kinds[idx];
+  }
+
+  int getStrategy(int idx) {
+    return strategies[idx];
+  }
+
+  void setStrategy(int idx, int strategy) {
+    strategies[idx] = strategy;
+  }
+
+  int getPosition(int idx) {
+    return positions[idx];
+  }
+
+  int countAt(int kind, int cell) {
+    return occupancy[kind * cells.getNumCells() + cell];
+  }
+
+  /*
+    Removes the monster of a kind with the lowest index at a cell, and moves the last monster
+    into its place.
+   */
+  void removeOneAt(int kind, int cell) {
+    int slot = kind * cells.getNumCells() + cell;
+    if (firstAt[slot] == -1) {
+      throw new IllegalArgumentException("No roaming monster to remove from location!");
+    }
+
+    int idx = firstAt[slot];
+    for (int other = nextAt[idx]; other != -1; other = nextAt[other]) {
+      idx = Math.min(idx, other);
+    }
+    unlink(idx, slot);
+    occupancy[slot]--;
+    numMonsters--;
+    if (idx == numMonsters) {
+      return;
+    }
+
+    int last = numMonsters;
+    kinds[idx] = kinds[last];
+    strategies[idx] = strategies[last];
+    seeds[idx] = seeds[last];
+    positions[idx] = positions[last];
+    nextAt[idx] = nextAt[last];
+    previousAt[idx] = previousAt[last];
+    if (previousAt[idx] == -1) {
+      firstAt[kinds[idx] * cells.getNumCells() + positions[idx]] = idx;
+    } else {
+      nextAt[previousAt[idx]] = idx;
+    }
+    if (nextAt[idx] != -1) {
+      previousAt[nextAt[idx]] = idx;
+    }
+  }
+
+  void tick() {
+    // The shared flow field is rebuilt at most once per tick, before any hunter reads it.
+    boolean canChase = flowField.hasSources();
+    if (canChase) {
+      flowField.refresh();
+    }
+
+    if (numMonsters >= PARALLEL_THRESHOLD) {
+      ForkJoinPool.commonPool().invoke(new StepTask(0, numMonsters, canChase));
+    } else {
+      step(0, numMonsters, canChase);
+    }
+
+    int numCells = cells.getNumCells();
+    for (int idx = 0; idx < numMonsters; idx++) {
+      if (positions[idx] != nextPositions[idx]) {
+        occupancy[kinds[idx] * numCells + positions[idx]]--;
+        occupancy[kinds[idx] * numCells + nextPositions[idx]]++;
+        unlink(idx, kinds[idx] * numCells + positions[idx]);
+        link(idx, kinds[idx] * numCells + nextPositions[idx]);
+      }
+    }
+
+    int[] temp = positions;
+    positions = nextPositions;
+    nextPositions = temp;
+  }
+
+  private void step(int from, int to, boolean canChase) {
+    int cell;
+    int degree;
+    int choice;
+    int next;
+    long seed;
+    for (int idx = from; idx < to; idx++) {
+      cell = positions[idx];
+      if (canChase && strategies[idx] == CHASE) {
+        next = flowField.nextStep(cell);
+        nextPositions[idx] = next == -1 ? cell : next;
+        continue;
+      }
+
+      degree = cells.degree(cell);
+      if (degree == 0) {
+        nextPositions[idx] = cell;
+        continue;
+      }
+
+      seed = seeds[idx];
+      seed ^= seed << 13;
+      seed ^= seed >>> 7;
+      seed ^= seed << 17;
+      seeds[idx] = seed;
+
+      choice = (int) (((seed >>> 32) * degree) >>> 32);
+      next = cell;
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        if (cells.neighbour(cell, direction) != -1 && choice-- == 0) {
+          next = cells.neighbour(cell, direction);
+          break;
+        }
+      }
+
+      nextPositions[idx] = next;
+    }
+  }
+
+  private final class StepTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final boolean canChase;
+
+    private StepTask(int from, int to, boolean canChase) {
+      this.from = from;
+      this.to = to;
+      this.canChase = canChase;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= MIN_CHUNK_SIZE) {
+        step(from, to, canChase);
+        return;
+      }
+
+      int mid = (from + to) >>> 1;
+      invokeAll(new StepTask(from, mid, canChase), new StepTask(mid, to, canChase));
+    }
+  }
+}
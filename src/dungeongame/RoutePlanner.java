@@ -0,0 +1,116 @@
+package dungeongame;
+
+/*
+  Plans routes for the player through the part of the dungeon that the player has already
+  uncovered (visited). A route may end in a location that has not been uncovered yet, as long
+  as it is next to one that has, which is what a single step into the unknown looks like.
+
+  The breadth first search tree from the last source is kept around, so any number of targets
+  from the same location cost a single search, and it is thrown away as soon as the player
+  uncovers a new location.
+ */
+final class RoutePlanner {
+  private final CellGraph cells;
+  private final boolean[] visited;
+  private final int[] parents;
+  private final int[] parentDirections;
+  private final int[] stamps;
+  private final int[] queue;
+  private final int[] route;
+  private int routeLength;
+  private int epoch;
+  private int cachedSource;
+  private final boolean isMetered;
+  private long numVisited;
+
+  RoutePlanner(CellGraph cells, boolean isMetered) {
+    this.cells = cells;
+    this.isMetered = isMetered;
+    this.visited = new boolean[cells.getNumCells()];
+    this.parents = new int[cells.getNumCells()];
+    this.parentDirections = new int[cells.getNumCells()];
+    this.stamps = new int[cells.getNumCells()];
+    this.queue = new int[cells.getNumCells()];
+    this.route = new int[cells.getNumCells()];
+    this.routeLength = 0;
+    this.epoch = 0;
+    this.cachedSource = -1;
+  }
+
+  void markVisited(int cell) {
+    if (!visited[cell]) {
+      visited[cell] = true;
+      cachedSource = -1;
+    }
+  }
+
+  private void search(int source) {
+    epoch++;
+    int head = 0;
+    int tail = 0;
+    stamps[source] = epoch;
+    parents[source] = -1;
+    queue[tail++] = source;
+
+    int cell;
+    int neighbour;
+    while (head != tail) {
+      cell = queue[head++];
+      numVisited++;
+      if (!visited[cell] && cell != source) {
+        // Routes can step into the unknown, but never through it.
+        continue;
+      }
+
+      for (int direction = 0; direction < CellGraph.NUM_DIRECTIONS; direction++) {
+        neighbour = cells.neighbour(cell, direction);
+        if (neighbour != -1 && stamps[neighbour] != epoch) {
+          stamps[neighbour] = epoch;
+          parents[neighbour] = cell;
+          parentDirections[neighbour] = direction;
+          queue[tail++] = neighbour;
+        }
+      }
+    }
+
+    cachedSource = source;
+  }
+
+  /*
+    Plans a route from source to target and returns the number of steps in it, or -1 if there
+    is no known route. The steps can then be read with direction(idx).
+   */
+  int plan(int source, int target) {
+    if (source != cachedSource) {
+      if (isMetered) {
+        GameMetrics.ROUTE_CACHE_MISSES.increment();
+      }
+      search(source);
+    } else if (isMetered) {
+      GameMetrics.ROUTE_CACHE_HITS.increment();
+    }
+
+    if (stamps[target] != epoch) {
+      routeLength = 0;
+      return -1;
+    }
+
+    routeLength = 0;
+    for (int cell = target; cell != source; cell = parents[cell]) {
+      route[routeLength++] = parentDirections[cell];
+    }
+
+    return routeLength;
+  }
+
+  /*
+    Returns the number of cells visited by all searches so far.
+   */
+  long getNumVisited() {
+    return numVisited;
+  }
+
+  int direction(int idx) {
+    return route[routeLength - idx - 1];
+  }
+}
@@ -0,0 +1,81 @@
+package dungeongame;
+
+/**
+ * Where an arrow landed and what it did, returned by Player.shootArrow().
+ */
+public final class ShotResult {
+  /**
+   * The outcome of an arrow that killed an Otyugh.
+   */
+  public static final int KILLED = 1;
+
+  /**
+   * The outcome of an arrow that injured an Otyugh.
+   */
+  public static final int INJURED = 0;
+
+  /**
+   * The outcome of an arrow that did not hit an Otyugh.
+   */
+  public static final int MISSED = -1;
+
+  private final int row;
+  private final int col;
+  private final int outcome;
+
+  ShotResult(int row, int col, int outcome) {
+    this.row = row;
+    this.col = col;
+    this.outcome = outcome;
+  }
+
+  /**
+   * Returns the row of the location where the arrow landed.
+   *
+   * @return the row of the location of the arrow
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * Returns the column of the location where the arrow landed.
+   *
+   * @return the column of the location of the arrow
+   */
+  public int getCol() {
+    return col;
+  }
+
+  /**
+   * Returns what the arrow did, one of KILLED, INJURED or MISSED.
+   *
+   * @return the outcome of the arrow
+   */
+  public int getOutcome() {
+    return outcome;
+  }
+
+  /**
+   * String representation of the shot, the location of the arrow followed by its outcome.
+   *
+   * @return the string representation of the shot
+   */
+  @Override
+  public String toString() {
+    String outcomeName;
+    switch (outcome) {
+      case KILLED:
+        outcomeName = "KILLED";
+        break;
+      case INJURED:
+        outcomeName = "INJURED";
+        break;
+      default:
+        outcomeName = "MISSED";
+        break;
+    }
+
+    return "(" + row + ", " + col + ") " + outcomeName;
+  }
+}
@@ -0,0 +1,162 @@
+package dungeongame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import node.Treasure;
+import utils.ValueSanity;
+
+/**
+ * The treasure in every cave of a dungeon at some point in time, returned by
+ * Dungeon.getTreasureAndLocations(). Caves are kept in parallel arrays in the order of their
+ * locations, row by row, each location packed into a single int and each cave with the number
+ * of every type of treasure in it, so nothing is boxed or hashed to build or look up the map.
+ * Caves without treasure are in the map too, with no treasure.
+ */
+public final class TreasureMap {
+  private static final Treasure[] TREASURES = Treasure.values();
+  private static final int NUM_TREASURES = TREASURES.length;
+
+  private final int numCols;
+  private final int[] cells;
+  private final int[] counts;
+
+  /*
+    The cells have to be in increasing order, and counts has the number of every treasure of
+    Treasure, by its ordinal, for every cell.
+   */
+  TreasureMap(int numCols, int[] cells, int[] counts) {
+    this.numCols = numCols;
+    this.cells = cells;
+    this.counts = counts;
+  }
+
+  private void checkCave(int cave) {
+    if (cave < 0 || cave >= cells.length) {
+      throw new IllegalArgumentException("No cave " + cave + " in treasure map!");
+    }
+  }
+
+  /**
+   * Returns the number of caves in the map.
+   *
+   * @return the number of caves
+   */
+  public int size() {
+    return cells.length;
+  }
+
+  /**
+   * Returns the index of the cave at a location.
+   *
+   * @param row the row of the location
+   * @param col the column of the location
+   * @return the index of the cave at the location, or -1 if there is no cave there
+   */
+  public int indexOf(int row, int col) {
+    if (row < 0 || col < 0 || col >= numCols) {
+      return -1;
+    }
+
+    int idx = Arrays.binarySearch(cells, row * numCols + col);
+    return idx < 0 ? -1 : idx;
+  }
+
+  /**
+   * Returns the row of the location of a cave.
+   *
+   * @param cave the index of the cave in the map
+   * @return the row of the cave
+   * @throws IllegalArgumentException if there is no such cave in the map
+   */
+  public int getRow(int cave) {
+    checkCave(cave);
+    return cells[cave] / numCols;
+  }
+
+  /**
+   * Returns the column of the location of a cave.
+   *
+   * @param cave the index of the cave in the map
+   * @return the column of the cave
+   * @throws IllegalArgumentException if there is no such cave in the map
+   */
+  public int getCol(int cave) {
+    checkCave(cave);
+    return cells[cave] % numCols;
+  }
+
+  /**
+   * Returns the number of treasures in a cave.
+   *
+   * @param cave the index of the cave in the map
+   * @return the number of treasures in the cave
+   * @throws IllegalArgumentException if there is no such cave in the map
+   */
+  public int getNumTreasures(int cave) {
+    checkCave(cave);
+
+    int numTreasures = 0;
+    for (int treasure = 0; treasure < NUM_TREASURES; treasure++) {
+      numTreasures += counts[cave * NUM_TREASURES + treasure];
+    }
+
+    return numTreasures;
+  }
+
+  /**
+   * Returns the number of treasures of a type in a cave.
+   *
+   * @param cave         the index of the cave in the map
+   * @param treasureName the name of the treasure
+   * @return the number of treasures with the name in the cave
+   * @throws IllegalArgumentException if there is no such cave in the map, or
+   *                                  if the treasure name is null or not a treasure
+   */
+  public int getNumTreasures(int cave, String treasureName) {
+    checkCave(cave);
+    ValueSanity.checkNull("Treasure name", treasureName);
+    return counts[cave * NUM_TREASURES + Treasure.valueOf(treasureName).ordinal()];
+  }
+
+  /**
+   * Returns the names of the treasures in a cave, grouped by type, the way
+   * Node.getTreasures() lists them.
+   *
+   * @param cave the index of the cave in the map
+   * @return the names of the treasures in the cave
+   * @throws IllegalArgumentException if there is no such cave in the map
+   */
+  public List<String> getTreasures(int cave) {
+    checkCave(cave);
+
+    List<String> treasures = new ArrayList<>();
+    for (int treasure = 0; treasure < NUM_TREASURES; treasure++) {
+      for (int idx = 0; idx < counts[cave * NUM_TREASURES + treasure]; idx++) {
+        treasures.add(TREASURES[treasure].name());
+      }
+    }
+
+    return treasures;
+  }
+
+  /**
+   * String representation of the map, every location followed by its treasures.
+   *
+   * @return the string representation of the map
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("{");
+    for (int cave = 0; cave < cells.length; cave++) {
+      if (cave > 0) {
+        sb.append(", ");
+      }
+      sb.append("[").append(getRow(cave)).append(", ").append(getCol(cave)).append("]=")
+              .append(getTreasures(cave));
+    }
+
+    return sb.append("}").toString();
+  }
+}
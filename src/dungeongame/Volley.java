@@ -0,0 +1,118 @@
+package dungeongame;
+
+import java.util.Arrays;
+
+/**
+ * Where the arrows of a volley landed and what they did, filled in by Player.shootVolley().
+ * A volley is meant to be reused, every volley shot into it replaces the shots that were in it,
+ * and it keeps its arrays between volleys, so shooting does not allocate once the volley can
+ * hold all of its shots.
+ */
+public final class Volley {
+  private int[] rows;
+  private int[] cols;
+  private int[] outcomes;
+  private int numShots;
+
+  /**
+   * Constructs a volley with room for the given number of shots.
+   *
+   * @param capacity the number of shots the volley can hold before it grows
+   * @throws IllegalArgumentException if the capacity is negative
+   */
+  public Volley(int capacity) {
+    if (capacity < 0) {
+      throw new IllegalArgumentException("Capacity cannot be negative!");
+    }
+
+    this.rows = new int[capacity];
+    this.cols = new int[capacity];
+    this.outcomes = new int[capacity];
+    this.numShots = 0;
+  }
+
+  void clear() {
+    numShots = 0;
+  }
+
+  void add(int row, int col, int outcome) {
+    if (numShots == rows.length) {
+      int capacity = Math.max(4, rows.length * 2);
+      rows = Arrays.copyOf(rows, capacity);
+      cols = Arrays.copyOf(cols, capacity);
+      outcomes = Arrays.copyOf(outcomes, capacity);
+    }
+
+    rows[numShots] = row;
+    cols[numShots] = col;
+    outcomes[numShots] = outcome;
+    numShots++;
+  }
+
+  private void checkShot(int shot) {
+    if (shot < 0 || shot >= numShots) {
+      throw new IllegalArgumentException("No shot " + shot + " in volley!");
+    }
+  }
+
+  /**
+   * Returns the number of arrows in the volley.
+   *
+   * @return the number of arrows shot
+   */
+  public int getNumShots() {
+    return numShots;
+  }
+
+  /**
+   * Returns the row of the location where an arrow landed.
+   *
+   * @param shot the index of the arrow in the volley
+   * @return the row of the location of the arrow
+   * @throws IllegalArgumentException if there is no such arrow in the volley
+   */
+  public int getRow(int shot) {
+    checkShot(shot);
+    return rows[shot];
+  }
+
+  /**
+   * Returns the column of the location where an arrow landed.
+   *
+   * @param shot the index of the arrow in the volley
+   * @return the column of the location of the arrow
+   * @throws IllegalArgumentException if there is no such arrow in the volley
+   */
+  public int getCol(int shot) {
+    checkShot(shot);
+    return cols[shot];
+  }
+
+  /**
+   * Returns what an arrow did, one of the outcomes of ShotResult.
+   *
+   * @param shot the index of the arrow in the volley
+   * @return the outcome of the arrow
+   * @throws IllegalArgumentException if there is no such arrow in the volley
+   */
+  public int getOutcome(int shot) {
+    checkShot(shot);
+    return outcomes[shot];
+  }
+
+  /**
+   * Returns the number of Otyughs killed by the volley.
+   *
+   * @return the number of Otyughs killed
+   */
+  public int getNumKills() {
+    int numKills = 0;
+    for (int shot = 0; shot < numShots; shot++) {
+      if (outcomes[shot] == ShotResult.KILLED) {
+        numKills++;
+      }
+    }
+
+    return numKills;
+  }
+}
@@ -0,0 +1,44 @@
+package dungeongame;
+
+import java.util.Random;
+
+/*
+  Wilson's algorithm: starts the maze from one random cell and adds every other cell with a
+  random walk from it until the walk reaches the maze, carving the walk without its loops.
+  Only the last exit taken out of every cell on the walk is remembered, so the loops erase
+  themselves. Every spanning tree of the dungeon is equally likely, unlike with the other
+  generators, which favour some shapes of mazes.
+ */
+final class WilsonMaze implements MazeGenerator {
+  @Override
+  public void generate(MazeGrid grid, Random random) {
+    int numCells = grid.getNumCells();
+    boolean[] inMaze = new boolean[numCells];
+    byte[] exits = new byte[numCells];
+    inMaze[random.nextInt(numCells)] = true;
+
+    int cell;
+    int direction;
+    int next;
+    for (int start = 0; start < numCells; start++) {
+      cell = start;
+      while (!inMaze[cell]) {
+        do {
+          direction = random.nextInt(CellGraph.NUM_DIRECTIONS);
+          next = grid.neighbour(cell, direction);
+        }
+        while (next == -1);
+
+        exits[cell] = (byte) direction;
+        cell = next;
+      }
+
+      cell = start;
+      while (!inMaze[cell]) {
+        inMaze[cell] = true;
+        grid.carve(cell, exits[cell]);
+        cell = grid.neighbour(cell, exits[cell]);
+      }
+    }
+  }
+}
@@ -1,19 +1,16 @@
 package node;
 
+import dungeongame.GameMetrics;
 import dungeongame.Otyugh;
 import dungeongame.Yugoloth;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeMap;
+import java.util.function.Predicate;
 
 abstract class AbstractNode implements Node {
   protected static final int MAX_NUM_ARROWS = 4;
   private static final int MAX_SMELL_DISCOVERY_DISTANCE = 2;
+  private static final Predicate<Node> HAS_OTYUGH = Node::hasOtyugh;
+  private static final Treasure[] TREASURES = Treasure.values();
 
   protected Node topNode;
   protected Node bottomNode;
@@ -21,21 +18,51 @@ abstract class AbstractNode implements Node {
   protected Node leftNode;
   private final String nodeName;
   private static int counter = 1;
+  private static int nextUnplacedId = -1;
+  private int id;
   protected Otyugh otyugh;
   protected int numArrows;
   protected Yugoloth yugoloth;
   protected boolean hasThief;
   protected boolean hasPit;
+  private int doorMask;
 
   public AbstractNode(Node topNode, Node bottomNode, Node rightNode,
                       Node leftNode, String nodeName) {
+    this(topNode, bottomNode, rightNode, leftNode, nextUnplacedId(), nodeName);
+  }
+
+  /*
+    Nodes that are not in a maze count down from -1, so their ids never collide with the cell
+    ids of a maze, and start over at -1 once every negative id has been used.
+   */
+  private static int nextUnplacedId() {
+    int id = nextUnplacedId;
+    nextUnplacedId = id == Integer.MIN_VALUE ? -1 : id - 1;
+    return id;
+  }
+
+  public AbstractNode(Node topNode, Node bottomNode, Node rightNode,
+                      Node leftNode, int id, String nodeName) {
     this.topNode = topNode;
     this.bottomNode = bottomNode;
     this.rightNode = rightNode;
     this.leftNode = leftNode;
+    this.id = id;
     this.nodeName = nodeName != null ? nodeName : "" + counter++;
     this.otyugh = null;
     this.numArrows = 0;
+    this.doorMask = (topNode != null ? DOOR_NORTH : 0) | (bottomNode != null ? DOOR_SOUTH : 0)
+            | (leftNode != null ? DOOR_WEST : 0) | (rightNode != null ? DOOR_EAST : 0);
+  }
+
+  private void updateDoor(int door, Node node) {
+    this.doorMask = node != null ? this.doorMask | door : this.doorMask & ~door;
+  }
+
+  @Override
+  public int getDoorMask() {
+    return doorMask;
   }
 
   public Node getTopNode() {
@@ -59,6 +86,20 @@ abstract class AbstractNode implements Node {
     return nodeName;
   }
 
+  @Override
+  public boolean hasOtyugh() {
+    return this.otyugh != null;
+  }
+
+  @Override
+  public int getId() {
+    return id;
+  }
+
+  void setId(int id) {
+    this.id = id;
+  }
+
   @Override
   public void setTopNode(Node node) {
     if (node == this) {
@@ -66,6 +107,7 @@ abstract class AbstractNode implements Node {
     }
 
     this.topNode = node;
+    updateDoor(DOOR_NORTH, node);
   }
 
   @Override
@@ -75,6 +117,7 @@ abstract class AbstractNode implements Node {
     }
 
     this.bottomNode = node;
+    updateDoor(DOOR_SOUTH, node);
   }
 
   @Override
@@ -84,6 +127,7 @@ abstract class AbstractNode implements Node {
     }
 
     this.rightNode = node;
+    updateDoor(DOOR_EAST, node);
   }
 
   @Override
@@ -93,13 +137,14 @@ abstract class AbstractNode implements Node {
     }
 
     this.leftNode = node;
+    updateDoor(DOOR_WEST, node);
   }
 
   @Override
   public Node castToCaveNode() {
     if (this.getType().equals("G")) {
       return new CaveNode(this.topNode, this.bottomNode, this.rightNode, this.leftNode,
-              this.nodeName);
+              this.id, this.nodeName);
     }
 
     throw new IllegalArgumentException("Only a GenericNode can be cast to CaveNode!");
@@ -109,68 +154,17 @@ abstract class AbstractNode implements Node {
   public Node castToTunnelNode() {
     if (this.getType().equals("G")) {
       return new TunnelNode(this.topNode, this.bottomNode, this.rightNode, this.leftNode,
-              this.nodeName);
+              this.id, this.nodeName);
     }
 
     throw new IllegalArgumentException("Only a GenericNode can be cast to TunnelNode!");
   }
 
-  private int numOtyughsInNeighbouringNodes(Node startNode, int maxDistance) {
-    List<String> visitedNodes = new ArrayList<>();
-    Map<String, Integer> distances = new TreeMap<>();
-
-    List<Node> queue = new ArrayList<>();
-
-    visitedNodes.add(startNode.getNodeName());
-    queue.add(startNode);
-    distances.put(startNode.getNodeName(), 0);
-
-    Node topNode;
-    List<Node> neighbours;
-    int distance;
-    int numOtyughs = 0;
-    boolean stopScan = false;
-    while (queue.size() != 0) {
-      topNode = queue.get(0);
-      queue.remove(0);
-      neighbours = new ArrayList<>();
-      if (topNode.getLeftNode() != null) {
-        neighbours.add(topNode.getLeftNode());
-      }
-      if (topNode.getRightNode() != null) {
-        neighbours.add(topNode.getRightNode());
-      }
-      if (topNode.getBottomNode() != null) {
-        neighbours.add(topNode.getBottomNode());
-      }
-      if (topNode.getTopNode() != null) {
-        neighbours.add(topNode.getTopNode());
-      }
-
-      for (Node neighbour : neighbours) {
-        if (!visitedNodes.contains(neighbour.getNodeName())) {
-          distance = distances.get(topNode.getNodeName()) + 1;
-          if (neighbour.getType().equals("C") && neighbour.getOtyugh() != null
-                  && distance == maxDistance) {
-            numOtyughs++;
-          }
-
-          visitedNodes.add(neighbour.getNodeName());
-          if (distance > maxDistance) {
-            stopScan = true;
-            break;
-          }
-          distances.put(neighbour.getNodeName(), distance);
-          queue.add(neighbour);
-        }
-      }
-
-      if (stopScan) {
-        break;
-      }
-    }
-
-    return numOtyughs;
+  /*
+    Number of treasures of a type in the node, only caves ever have any.
+   */
+  int countTreasures(Treasure treasure) {
+    return 0;
   }
 
   private int getNeighbourCount() {
@@ -193,6 +187,13 @@ abstract class AbstractNode implements Node {
 
   @Override
   public String getRoomDescription() {
+    long startTime = System.nanoTime();
+    String roomDescription = describeRoom();
+    GameMetrics.ROOM_DESCRIPTION.recordSince(startTime);
+    return roomDescription;
+  }
+
+  private String describeRoom() {
     if (!this.getType().equals("C") && !this.getType().equals("T")) {
       throw new IllegalArgumentException("Cannot get room description from "
               + this.getType()
@@ -245,31 +246,32 @@ abstract class AbstractNode implements Node {
     }
 
     if (this.getType().equals("C")) {
-      List<String> treasureList = this.getTreasures();
-
-      Set<String> distinct = new HashSet<>(treasureList);
       int countTreasureType;
 
-      for (String s : distinct) {
-        countTreasureType = Collections.frequency(treasureList, s);
-        sb.append("\nYou find ").append(Collections.frequency(treasureList, s));
+      for (Treasure treasure : TREASURES) {
+        countTreasureType = countTreasures(treasure);
+        if (countTreasureType == 0) {
+          continue;
+        }
+
+        sb.append("\nYou find ").append(countTreasureType);
         sb.append(" ");
-        switch (s) {
-          case "RUBY":
+        switch (treasure) {
+          case RUBY:
             if (countTreasureType == 1) {
               sb.append("ruby");
             } else {
               sb.append("rubies");
             }
             break;
-          case "SAPPHIRE":
+          case SAPPHIRE:
             if (countTreasureType == 1) {
               sb.append("sapphire");
             } else {
               sb.append("sapphires");
             }
             break;
-          case "DIAMOND":
+          case DIAMOND:
             if (countTreasureType == 1) {
               sb.append("diamond");
             } else {
@@ -291,11 +293,12 @@ abstract class AbstractNode implements Node {
       }
     }
 
-    int numOtyughsInDistanceOne = this.numOtyughsInNeighbouringNodes(this, 1);
+    NodeSearch search = NodeSearch.forCurrentThread();
+    int numOtyughsInDistanceOne = search.countAtDistance(this, 1, HAS_OTYUGH);
     if (numOtyughsInDistanceOne >= 1) {
       sb.append("\nYou smell a strong pungent smell");
     } else {
-      int numOtyughsInDistanceTwo = this.numOtyughsInNeighbouringNodes(this, 2);
+      int numOtyughsInDistanceTwo = search.countAtDistance(this, 2, HAS_OTYUGH);
       if (numOtyughsInDistanceTwo == 1) {
         sb.append("\nYou smell a pungent smell");
       } else if (numOtyughsInDistanceTwo > 1) {
@@ -5,6 +5,7 @@ import dungeongame.Yugoloth;
 import utils.ValueSanity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -14,21 +15,24 @@ import java.util.Random;
  */
 class CaveNode extends AbstractNode {
   private static final int MAX_TREASURES = 4;
+  private static final Treasure[] TREASURES = Treasure.values();
 
-  private List<Treasure> treasures;
+  // Number of treasures of every type, indexed by the ordinal of the treasure.
+  private final int[] treasureCounts;
 
-  public CaveNode(Node northNode, Node southNode, Node eastNode, Node westNode, String nodeName) {
-    super(northNode, southNode, eastNode, westNode, nodeName);
+  public CaveNode(Node northNode, Node southNode, Node eastNode, Node westNode, int id,
+                  String nodeName) {
+    super(northNode, southNode, eastNode, westNode, id, nodeName);
 
-    this.treasures = new ArrayList<>();
+    this.treasureCounts = new int[TREASURES.length];
   }
 
-  public CaveNode(Node northNode, Node southNode, Node eastNode, Node westNode, String nodeName,
-                  List<Treasure> treasures, Otyugh otyugh, int numArrows, Yugoloth yugoloth,
-                  boolean hasThief, boolean hasPit) {
-    super(northNode, southNode, eastNode, westNode, nodeName);
+  public CaveNode(Node northNode, Node southNode, Node eastNode, Node westNode, int id,
+                  String nodeName, int[] treasureCounts, Otyugh otyugh, int numArrows,
+                  Yugoloth yugoloth, boolean hasThief, boolean hasPit) {
+    super(northNode, southNode, eastNode, westNode, id, nodeName);
 
-    this.treasures = treasures;
+    this.treasureCounts = treasureCounts;
     this.otyugh = otyugh;
     this.numArrows = numArrows;
     this.yugoloth = yugoloth;
@@ -40,19 +44,18 @@ class CaveNode extends AbstractNode {
   public void placeTreasure(Random random) {
     ValueSanity.checkNull("Random object", random);
 
-    List<Treasure> treasures = new ArrayList<>();
+    Arrays.fill(this.treasureCounts, 0);
     int numTreasures = random.nextInt((MAX_TREASURES - 1) + 1) + 1;
 
     int numTreasuresGenerated = 0;
     int randIdx;
     do {
-      randIdx = random.nextInt(Treasure.values().length);
-      treasures.add(Treasure.values()[randIdx]);
+      randIdx = random.nextInt(TREASURES.length);
+      this.treasureCounts[randIdx]++;
       numTreasuresGenerated++;
     }
     while (numTreasuresGenerated != numTreasures);
 
-    this.treasures = treasures;
     this.hasThief = false;
   }
 
@@ -74,9 +77,7 @@ class CaveNode extends AbstractNode {
       throw new IllegalArgumentException("Illegal treasure name " + treasureName + "!");
     }
 
-    for (int i = 0; i < count; i++) {
-      this.treasures.add(treasure);
-    }
+    this.treasureCounts[treasure.ordinal()] += count;
   }
 
   @Override
@@ -86,7 +87,7 @@ class CaveNode extends AbstractNode {
       throw new IllegalArgumentException("Treasure name cannot be empty!");
     }
 
-    if (this.treasures.size() == 0) {
+    if (getNumTreasures() == 0) {
       throw new IllegalArgumentException("Cannot pick treasure from an empty treasure box!");
     }
 
@@ -97,24 +98,52 @@ class CaveNode extends AbstractNode {
       throw new IllegalArgumentException("Illegal treasure name " + treasureName + "!");
     }
 
-    if (!this.treasures.contains(treasure)) {
+    if (this.treasureCounts[treasure.ordinal()] == 0) {
       throw new IllegalArgumentException("Treasure " + treasureName
               + " not found in treasure box!");
     }
 
-    this.treasures.remove(treasure);
+    this.treasureCounts[treasure.ordinal()]--;
   }
 
   @Override
   public List<String> getTreasures() {
-    List<String> treasureList = new ArrayList<>();
-    for (Treasure treasure : treasures) {
-      treasureList.add(treasure.toString());
+    List<String> treasureList = new ArrayList<>(getNumTreasures());
+    for (Treasure treasure : TREASURES) {
+      for (int i = 0; i < this.treasureCounts[treasure.ordinal()]; i++) {
+        treasureList.add(treasure.toString());
+      }
     }
 
     return treasureList;
   }
 
+  @Override
+  public int getNumTreasures() {
+    int numTreasures = 0;
+    for (int count : this.treasureCounts) {
+      numTreasures += count;
+    }
+
+    return numTreasures;
+  }
+
+  @Override
+  public int getNumTreasures(String treasureName) {
+    ValueSanity.checkNull("Name of treasure", treasureName);
+
+    try {
+      return this.treasureCounts[Treasure.valueOf(treasureName).ordinal()];
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Illegal treasure name " + treasureName + "!");
+    }
+  }
+
+  @Override
+  int countTreasures(Treasure treasure) {
+    return this.treasureCounts[treasure.ordinal()];
+  }
+
   @Override
   public String getType() {
     return "C";
@@ -123,8 +152,8 @@ class CaveNode extends AbstractNode {
   @Override
   public Node cloneNode() {
     return new CaveNode(this.topNode, this.bottomNode, this.rightNode, this.leftNode,
-            this.getNodeName(), new ArrayList<>(this.treasures), this.otyugh, this.numArrows,
-            this.yugoloth, this.hasThief, this.hasPit);
+            this.getId(), this.getNodeName(), this.treasureCounts.clone(), this.otyugh,
+            this.numArrows, this.yugoloth, this.hasThief, this.hasPit);
   }
 
   @Override
@@ -156,6 +185,15 @@ class CaveNode extends AbstractNode {
     return new Otyugh(this.otyugh);
   }
 
+  @Override
+  public int getOtyughHealth() {
+    if (this.otyugh == null) {
+      throw new IllegalArgumentException("No Otyugh in cave!");
+    }
+
+    return this.otyugh.getHealth();
+  }
+
   @Override
   public void setOtyughHealth(int newHealth) {
     if (this.otyugh == null) {
@@ -41,6 +41,30 @@ public class GenericNode extends AbstractNode {
     this(null, null, null, null, nodeName);
   }
 
+  /**
+   * Creates a generic node with no neighbours at a cell of a maze, the node is named after its
+   * cell, counting from 1.
+   *
+   * @param id the cell id of the node, row * numCols + col of its location in the maze
+   * @throws IllegalArgumentException if the id is negative
+   */
+  public GenericNode(int id) {
+    this(null, null, null, null, checkId(id), String.valueOf(id + 1));
+  }
+
+  private GenericNode(Node topNode, Node bottomNode, Node leftNode, Node rightNode, int id,
+                      String nodeName) {
+    super(topNode, bottomNode, leftNode, rightNode, id, nodeName);
+  }
+
+  private static int checkId(int id) {
+    if (id < 0) {
+      throw new IllegalArgumentException("Id of a node cannot be negative!");
+    }
+
+    return id;
+  }
+
   /**
    * This is not supported by GenericNode.
    *
@@ -76,6 +100,26 @@ public class GenericNode extends AbstractNode {
     throw new UnsupportedOperationException("Generic node does not have any treasure!");
   }
 
+  /**
+   * This is not supported by GenericNode.
+   *
+   * @throws UnsupportedOperationException if the node is not a cave
+   */
+  @Override
+  public int getNumTreasures() {
+    throw new UnsupportedOperationException("Generic node does not have any treasure!");
+  }
+
+  /**
+   * This is not supported by GenericNode.
+   *
+   * @throws UnsupportedOperationException if the node is not a cave
+   */
+  @Override
+  public int getNumTreasures(String treasureName) {
+    throw new UnsupportedOperationException("Generic node does not have any treasure!");
+  }
+
   /**
    * Returns the type of node (generic).
    *
@@ -94,7 +138,7 @@ public class GenericNode extends AbstractNode {
   @Override
   public Node cloneNode() {
     return new GenericNode(this.topNode, this.bottomNode, this.rightNode,
-            this.leftNode, this.getNodeName());
+            this.leftNode, this.getId(), this.getNodeName());
   }
 
   /**
@@ -130,6 +174,16 @@ public class GenericNode extends AbstractNode {
     throw new UnsupportedOperationException("Generic node does not have an Otyugh!");
   }
 
+  /**
+   * This is not supported by GenericNode.
+   *
+   * @throws UnsupportedOperationException if the node is not a cave
+   */
+  @Override
+  public int getOtyughHealth() {
+    throw new UnsupportedOperationException("Generic node does not have an Otyugh!");
+  }
+
   /**
    * Updates the health of the Otyugh in the node (if any).
    *
@@ -11,6 +11,26 @@ import java.util.Random;
  * a node can be a generic node, a cave, or a tunnel.
  */
 public interface Node {
+  /**
+   * Bit set in the door mask of a node that has a door to the north (top).
+   */
+  int DOOR_NORTH = 1;
+
+  /**
+   * Bit set in the door mask of a node that has a door to the south (bottom).
+   */
+  int DOOR_SOUTH = 2;
+
+  /**
+   * Bit set in the door mask of a node that has a door to the west (left).
+   */
+  int DOOR_WEST = 4;
+
+  /**
+   * Bit set in the door mask of a node that has a door to the east (right).
+   */
+  int DOOR_EAST = 8;
+
   /**
    * Converts a generic node to a cave node.
    *
@@ -66,12 +86,22 @@ public interface Node {
   Node getLeftNode();
 
   /**
-   * Returns the name of the current node.
+   * Returns the name of the current node, which is only meant for display, nodes are told apart
+   * by their id.
    *
    * @return a string with the name of the current node
    */
   String getNodeName();
 
+  /**
+   * Returns the id of the current node. A node in a maze has the cell id of its location,
+   * row * numCols + col, a node that has not been placed in a maze has a negative id of its own.
+   * A node keeps its id when it is cast or cloned, see NodeIds for placing nodes in a maze.
+   *
+   * @return the id of the current node
+   */
+  int getId();
+
   /**
    * Sets the top node of the current node, establishing a path between the two.
    *
@@ -133,13 +163,32 @@ public interface Node {
   void removeTreasure(String treasureName);
 
   /**
-   * Returns the list of treasures (if any) in the node.
+   * Returns the list of treasures (if any) in the node, grouped by type in the order
+   * sapphire, diamond, ruby.
    *
    * @return a list of treasures in the node
    * @throws UnsupportedOperationException if the node is not a cave
    */
   List<String> getTreasures();
 
+  /**
+   * Returns the number of treasures of all types in the node.
+   *
+   * @return the number of treasures in the node
+   * @throws UnsupportedOperationException if the node is not a cave
+   */
+  int getNumTreasures();
+
+  /**
+   * Returns the number of treasures of the given type in the node.
+   *
+   * @param treasureName the name of the treasure
+   * @return the number of treasures of that type in the node
+   * @throws IllegalArgumentException      if the treasure name is null, or illegal
+   * @throws UnsupportedOperationException if the node is not a cave
+   */
+  int getNumTreasures(String treasureName);
+
   /**
    * Returns the type of node (generic, cave or tunnel).
    *
@@ -159,6 +208,14 @@ public interface Node {
    */
   void updateCastInNeighbours();
 
+  /**
+   * Returns the doors of the node as a 4-bit mask made of DOOR_NORTH, DOOR_SOUTH, DOOR_WEST
+   * and DOOR_EAST.
+   *
+   * @return the door mask of the node
+   */
+  int getDoorMask();
+
   /**
    * Place an Otyugh in a node (only if the node is a cave).
    *
@@ -176,13 +233,30 @@ public interface Node {
   void removeOtyugh();
 
   /**
-   * Returns the Otyugh in the node (if any).
+   * Returns a copy of the Otyugh in the node (if any), changing the copy does not change the
+   * node. Use hasOtyugh() and getOtyughHealth() to look at the Otyugh without copying it.
    *
    * @return the Otyugh in the node
    * @throws UnsupportedOperationException if the node is not a cave
    */
   Otyugh getOtyugh();
 
+  /**
+   * Checks if there is an Otyugh in the node, only caves can have one.
+   *
+   * @return true if there is an Otyugh in the node, false otherwise
+   */
+  boolean hasOtyugh();
+
+  /**
+   * Returns the health of the Otyugh in the node.
+   *
+   * @return the health of the Otyugh in the node
+   * @throws IllegalArgumentException      if there is no Otyugh in the node
+   * @throws UnsupportedOperationException if the node is not a cave
+   */
+  int getOtyughHealth();
+
   /**
    * Updates the health of the Otyugh in the node (if any).
    *
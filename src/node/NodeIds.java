@@ -0,0 +1,45 @@
+package node;
+
+/**
+ * Places the nodes of a maze that was built by hand, giving every node the cell id of its
+ * location. Ids can only be changed through here, so a node that is not in a maze can never
+ * take the id of a cell by accident.
+ */
+public final class NodeIds {
+  private NodeIds() {
+  }
+
+  /**
+   * Gives every node of a maze the cell id of its location, row * numCols + col, where numCols
+   * is the number of nodes in the first row.
+   *
+   * @param maze the nodes of the maze, by row and column
+   * @throws IllegalArgumentException if the maze or any of its rows or nodes is null, or the
+   *                                  rows are not all as long as the first one, or a node is
+   *                                  not one of the nodes of this package
+   */
+  public static void assignCellIds(Node[][] maze) {
+    if (maze == null || maze.length == 0 || maze[0] == null) {
+      throw new IllegalArgumentException("Maze is expected to have at least one row!");
+    }
+
+    int numCols = maze[0].length;
+    for (Node[] row : maze) {
+      if (row == null || row.length != numCols) {
+        throw new IllegalArgumentException("Rows of a maze are expected to be of equal length!");
+      }
+      for (Node node : row) {
+        if (!(node instanceof AbstractNode)) {
+          throw new IllegalArgumentException("Nodes of a maze are expected to be nodes of this "
+                  + "package!");
+        }
+      }
+    }
+
+    for (int i = 0; i < maze.length; i++) {
+      for (int j = 0; j < numCols; j++) {
+        ((AbstractNode) maze[i][j]).setId(i * numCols + j);
+      }
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package node;
+
+import utils.ValueSanity;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Breadth first search over the nodes of a maze, following the neighbours of every node. This
+ * is the search used by everything that walks a maze through Node references, the smell of
+ * otyughs in a room description as well as the path length checks of a dungeon.
+ *
+ * <p>Nodes are told apart by their id, so a node and the node it was cast from are the same
+ * location. Every thread has a search of its own, see forCurrentThread(), which keeps its arrays
+ * between searches: the queue is a ring buffer, and every distance is stamped with the
+ * generation of the search that wrote it, so nothing has to be cleared before the next search.
+ * Nodes in a maze index the arrays by their cell id, nodes that are not in a maze have negative
+ * ids and are kept in a small hash table of their own, so the two never collide. Once the
+ * arrays are large enough for a maze, a search does not allocate.
+ */
+public final class NodeSearch {
+  private static final ThreadLocal<NodeSearch> SEARCHES =
+          ThreadLocal.withInitial(NodeSearch::new);
+
+  private int[] stamps;
+  private int[] distances;
+  private int[] unplacedIds;
+  private int[] unplacedStamps;
+  private int[] unplacedDistances;
+  private int numUnplaced;
+  private Node[] queue;
+  private int mask;
+  private int head;
+  private int tail;
+  private int generation;
+
+  private NodeSearch() {
+    this.stamps = new int[16];
+    this.distances = new int[16];
+    this.unplacedIds = new int[16];
+    this.unplacedStamps = new int[16];
+    this.unplacedDistances = new int[16];
+    this.queue = new Node[16];
+    this.mask = 15;
+    this.generation = 0;
+  }
+
+  /**
+   * Returns the search of the current thread.
+   *
+   * @return the search of the current thread
+   */
+  public static NodeSearch forCurrentThread() {
+    return SEARCHES.get();
+  }
+
+  /**
+   * Returns the length of the shortest path between two nodes.
+   *
+   * @param source      the node to start from
+   * @param destination the node to reach
+   * @return the number of moves from the source to the destination, or -1 if the destination
+   *         cannot be reached
+   * @throws IllegalArgumentException if the source or the destination is null
+   */
+  public int shortestPathLength(Node source, Node destination) {
+    ValueSanity.checkNull("Source node", source);
+    ValueSanity.checkNull("Destination node", destination);
+
+    start(source);
+    int target = destination.getId();
+    int distance = -1;
+    Node node;
+    while (head != tail && distance == -1) {
+      node = poll();
+      if (node.getId() == target) {
+        distance = distanceOf(node);
+      } else {
+        visitNeighbours(node);
+      }
+    }
+
+    finish();
+    return distance;
+  }
+
+  /**
+   * Counts the nodes at exactly the given distance from a node that match a filter.
+   *
+   * @param source   the node to start from
+   * @param distance the number of moves from the source
+   * @param filter   the filter the nodes have to match
+   * @return the number of nodes at the distance that match the filter
+   * @throws IllegalArgumentException if the source or the filter is null, or the distance is
+   *                                  negative
+   */
+  public int countAtDistance(Node source, int distance, Predicate<Node> filter) {
+    ValueSanity.checkNull("Source node", source);
+    ValueSanity.checkNull("Filter", filter);
+    if (distance < 0) {
+      throw new IllegalArgumentException("Distance cannot be negative!");
+    }
+
+    start(source);
+    int count = 0;
+    Node node;
+    while (head != tail) {
+      node = poll();
+      if (distanceOf(node) == distance) {
+        // Nodes are dequeued in order of distance, so every node left is this far or further.
+        if (filter.test(node)) {
+          count++;
+        }
+      } else {
+        visitNeighbours(node);
+      }
+    }
+
+    finish();
+    return count;
+  }
+
+  private void start(Node source) {
+    generation++;
+    if (generation == 0) {
+      Arrays.fill(stamps, 0);
+      Arrays.fill(unplacedStamps, 0);
+      generation = 1;
+    }
+
+    head = 0;
+    tail = 0;
+    numUnplaced = 0;
+    visit(source, 0);
+  }
+
+  private void finish() {
+    // Drop the nodes of a search that stopped early, the queue must not keep a maze alive.
+    while (head != tail) {
+      queue[head++ & mask] = null;
+    }
+  }
+
+  private Node poll() {
+    Node node = queue[head & mask];
+    queue[head++ & mask] = null;
+    return node;
+  }
+
+  private void visitNeighbours(Node node) {
+    int distance = distanceOf(node) + 1;
+    visit(node.getTopNode(), distance);
+    visit(node.getBottomNode(), distance);
+    visit(node.getLeftNode(), distance);
+    visit(node.getRightNode(), distance);
+  }
+
+  private void visit(Node node, int distance) {
+    if (node == null) {
+      return;
+    }
+
+    int id = node.getId();
+    if (id < 0) {
+      visitUnplaced(node, id, distance);
+      return;
+    }
+
+    if (id >= stamps.length) {
+      // Fresh stamps are 0, which is never the generation of a search.
+      int capacity = Integer.highestOneBit(id) << 1;
+      stamps = Arrays.copyOf(stamps, capacity);
+      distances = Arrays.copyOf(distances, capacity);
+    }
+
+    if (stamps[id] != generation) {
+      stamps[id] = generation;
+      distances[id] = distance;
+      enqueue(node);
+    }
+  }
+
+  private void visitUnplaced(Node node, int id, int distance) {
+    if (2 * (numUnplaced + 1) > unplacedIds.length) {
+      growUnplaced();
+    }
+
+    int slot = slotOf(id);
+    if (unplacedStamps[slot] != generation) {
+      unplacedStamps[slot] = generation;
+      unplacedIds[slot] = id;
+      unplacedDistances[slot] = distance;
+      numUnplaced++;
+      enqueue(node);
+    }
+  }
+
+  /*
+    Returns the slot of an unplaced id in the hash table, or the free slot it goes in if the
+    search has not met it yet. Slots that were not written by this search are free.
+   */
+  private int slotOf(int id) {
+    int tableMask = unplacedIds.length - 1;
+    int slot = -(id + 1) & tableMask;
+    while (unplacedStamps[slot] == generation && unplacedIds[slot] != id) {
+      slot = (slot + 1) & tableMask;
+    }
+
+    return slot;
+  }
+
+  private void growUnplaced() {
+    int[] ids = unplacedIds;
+    int[] oldStamps = unplacedStamps;
+    int[] oldDistances = unplacedDistances;
+    unplacedIds = new int[2 * ids.length];
+    unplacedStamps = new int[2 * ids.length];
+    unplacedDistances = new int[2 * ids.length];
+
+    int slot;
+    for (int idx = 0; idx < ids.length; idx++) {
+      if (oldStamps[idx] == generation) {
+        slot = slotOf(ids[idx]);
+        unplacedStamps[slot] = generation;
+        unplacedIds[slot] = ids[idx];
+        unplacedDistances[slot] = oldDistances[idx];
+      }
+    }
+  }
+
+  private int distanceOf(Node node) {
+    int id = node.getId();
+    return id < 0 ? unplacedDistances[slotOf(id)] : distances[id];
+  }
+
+  private void enqueue(Node node) {
+    int size = tail - head;
+    if (size == queue.length) {
+      Node[] grown = new Node[2 * queue.length];
+      for (int idx = 0; idx < size; idx++) {
+        grown[idx] = queue[(head + idx) & mask];
+      }
+      queue = grown;
+      mask = grown.length - 1;
+      head = 0;
+      tail = size;
+    }
+
+    queue[tail++ & mask] = node;
+  }
+}
@@ -1,11 +1,20 @@
 package node;
 
-/*
-  Since the user does not need to create instances of this enum, it is made package-private,
-  and all the user-facing methods return a string representation of these values.
+/**
+ * The types of treasure that can be found in the caves of a dungeon. Nodes and players are
+ * given treasure by the names of these values, and the model counts treasure by their ordinal.
  */
-enum Treasure {
+public enum Treasure {
+  /**
+   * A sapphire.
+   */
   SAPPHIRE,
+  /**
+   * A diamond.
+   */
   DIAMOND,
+  /**
+   * A ruby.
+   */
   RUBY,
 }
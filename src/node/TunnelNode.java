@@ -12,13 +12,14 @@ import java.util.Random;
   implementation of a Node is exposed to the user.
  */
 class TunnelNode extends AbstractNode {
-  public TunnelNode(Node northNode, Node southNode, Node eastNode, Node westNode, String nodeName) {
-    super(northNode, southNode, eastNode, westNode, nodeName);
+  public TunnelNode(Node northNode, Node southNode, Node eastNode, Node westNode, int id,
+                    String nodeName) {
+    super(northNode, southNode, eastNode, westNode, id, nodeName);
   }
 
-  public TunnelNode(Node northNode, Node southNode, Node eastNode, Node westNode, String nodeName,
-                    int numArrows, Yugoloth yugoloth, boolean hasThief) {
-    super(northNode, southNode, eastNode, westNode, nodeName);
+  public TunnelNode(Node northNode, Node southNode, Node eastNode, Node westNode, int id,
+                    String nodeName, int numArrows, Yugoloth yugoloth, boolean hasThief) {
+    super(northNode, southNode, eastNode, westNode, id, nodeName);
 
     this.numArrows = numArrows;
     this.yugoloth = yugoloth;
@@ -45,6 +46,16 @@ class TunnelNode extends AbstractNode {
     throw new UnsupportedOperationException("Tunnel does not have any treasure!");
   }
 
+  @Override
+  public int getNumTreasures() {
+    throw new UnsupportedOperationException("Tunnel does not have any treasure!");
+  }
+
+  @Override
+  public int getNumTreasures(String treasureName) {
+    throw new UnsupportedOperationException("Tunnel does not have any treasure!");
+  }
+
   @Override
   public String getType() {
     return "T";
@@ -53,7 +64,7 @@ class TunnelNode extends AbstractNode {
   @Override
   public Node cloneNode() {
     return new TunnelNode(this.topNode, this.bottomNode, this.rightNode, this.leftNode,
-            this.getNodeName(), this.numArrows, this.yugoloth, this.hasThief);
+            this.getId(), this.getNodeName(), this.numArrows, this.yugoloth, this.hasThief);
   }
 
   @Override
@@ -71,6 +82,11 @@ class TunnelNode extends AbstractNode {
     throw new UnsupportedOperationException("Tunnel cannot have Otyugh!");
   }
 
+  @Override
+  public int getOtyughHealth() {
+    throw new UnsupportedOperationException("Tunnel cannot have Otyugh!");
+  }
+
   @Override
   public void setOtyughHealth(int newHealth) {
     throw new UnsupportedOperationException("Tunnel cannot have Otyugh!");
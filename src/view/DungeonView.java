@@ -162,6 +162,14 @@ public interface DungeonView {
    */
   void addThiefToNode(int i, int j);
 
+  /**
+   * Removes thief from the node with the given coordinates.
+   *
+   * @param i the x coordinate of the node
+   * @param j the y coordinate of the node
+   */
+  void removeThiefFromNode(int i, int j);
+
   /**
    * Adds pit to the node with the given coordinates.
    *
@@ -177,4 +185,12 @@ public interface DungeonView {
    * @param j the y coordinate of the node
    */
   void markEndNode(int i, int j);
+
+  /**
+   * Moves the player along the given route one step at a time, stopping early if the
+   * route is no longer safe to follow.
+   *
+   * @param route the directions (U, D, L or R) to move in
+   */
+  void followRoute(List<String> route);
 }
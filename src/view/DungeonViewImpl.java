@@ -8,6 +8,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.util.Iterator;
 import java.util.List;
 
 import javax.swing.JFrame;
@@ -22,6 +23,8 @@ import javax.swing.JScrollBar;
 import javax.swing.Timer;
 
 import controller.DungeonControllerWView;
+import dungeongame.DungeonConfig;
+import dungeongame.ShotResult;
 
 /**
  * Swing implementation of a GUI view of a dungeon.
@@ -34,6 +37,7 @@ public class DungeonViewImpl extends JFrame implements DungeonView {
   private boolean isShootingArrow;
   private boolean inCheatMode;
   private Timer otyughMoveTimer;
+  private Timer routeTimer;
   private boolean active;
   private JPanel sideBarContainer;
 
@@ -53,7 +57,7 @@ public class DungeonViewImpl extends JFrame implements DungeonView {
       JMenuBar menuBar = new JMenuBar();
       JMenu menu = new JMenu("Options");
 
-      List<Object> dungeonConfig = listener.getDungeonConfig();
+      DungeonConfig dungeonConfig = listener.getDungeonConfig();
 
       JMenuItem menuItem = new JMenuItem("New Game");
       menuItem.addActionListener(new OpenEditConfig(dungeonConfig, listener));
@@ -84,16 +88,16 @@ public class DungeonViewImpl extends JFrame implements DungeonView {
 
   private void shootInDirection(String direction) {
     try {
-      List<Integer> result = listener.shoot(direction, askForShootDistance());
+      ShotResult result = listener.shoot(direction, askForShootDistance());
 
-      if (result.get(2) == -1) {
+      if (result.getOutcome() == ShotResult.MISSED) {
         displayDialog("Error!", "You shot an arrow into darkness!");
-      } else if (result.get(2) == 0) {
+      } else if (result.getOutcome() == ShotResult.INJURED) {
         displayDialog("Success!", "Otyugh was hit, hit again to kill it!");
-        this.mazePanel.setOtyughHit(result.get(0), result.get(1));
-      } else if (result.get(2) == 1) {
+        this.mazePanel.setOtyughHit(result.getRow(), result.getCol());
+      } else if (result.getOutcome() == ShotResult.KILLED) {
         displayDialog("Success!", "Otyugh was killed!");
-        this.mazePanel.removeOtyugh(result.get(0), result.get(1));
+        this.mazePanel.removeOtyugh(result.getRow(), result.getCol());
       }
     } catch (IllegalArgumentException e) {
       displayDialog("Error", e.getMessage());
@@ -530,6 +534,9 @@ public class DungeonViewImpl extends JFrame implements DungeonView {
   @Override
   public void disableActions() {
     this.active = false;
+    if (this.routeTimer != null) {
+      this.routeTimer.stop();
+    }
     this.sideBarContainer.removeAll();
     this.mazePanel.disableClicks();
   }
@@ -545,6 +552,17 @@ public class DungeonViewImpl extends JFrame implements DungeonView {
     this.mazePanel.addThief(i, j);
   }
 
+  /**
+   * Removes thief from the node with the given coordinates.
+   *
+   * @param i the x coordinate of the node
+   * @param j the y coordinate of the node
+   */
+  @Override
+  public void removeThiefFromNode(int i, int j) {
+    this.mazePanel.removeThief(i, j);
+  }
+
   /**
    * Adds pit to the node with the given coordinates.
    *
@@ -570,4 +588,27 @@ public class DungeonViewImpl extends JFrame implements DungeonView {
   private void removeTreasureFromNode(int i, int j, String treasureName) {
     this.mazePanel.removeTreasure(i, j, treasureName);
   }
+
+  /**
+   * Moves the player along the given route one step at a time, stopping early if the
+   * route is no longer safe to follow.
+   *
+   * @param route the directions (U, D, L or R) to move in
+   */
+  @Override
+  public void followRoute(List<String> route) {
+    if (this.routeTimer != null) {
+      this.routeTimer.stop();
+    }
+
+    Iterator<String> steps = route.iterator();
+    this.routeTimer = new Timer(150, e -> {
+      moveInDirection(steps.next());
+      if (!steps.hasNext() || !listener.canContinueRoute()) {
+        ((Timer) e.getSource()).stop();
+      }
+    });
+    this.routeTimer.setInitialDelay(0);
+    this.routeTimer.start();
+  }
 }
@@ -1,13 +1,14 @@
 package view;
 
 import java.awt.GridLayout;
-import java.util.List;
 
 import javax.swing.JTextField;
 import javax.swing.JPanel;
 import javax.swing.JLabel;
 import javax.swing.Box;
 
+import dungeongame.DungeonConfig;
+
 class EditConfig extends JPanel {
   private final JTextField numRows;
   private final JTextField numCols;
@@ -17,33 +18,33 @@ class EditConfig extends JPanel {
   private final JTextField forceInterconnectivity;
   private final JTextField numOtyughs;
 
-  public EditConfig(List<Object> dungeonConfig) {
+  public EditConfig(DungeonConfig dungeonConfig) {
     this.setLayout(new GridLayout(7, 2));
 
     JLabel label = new JLabel("Enter number of rows: ");
     this.numRows = new JTextField(10);
-    this.numRows.setText(String.valueOf(dungeonConfig.get(0)));
+    this.numRows.setText(String.valueOf(dungeonConfig.numRows()));
     this.add(label);
     this.add(this.numRows);
     this.add(Box.createVerticalStrut(15));
 
     label = new JLabel("Enter number of columns: ");
     this.numCols = new JTextField(10);
-    this.numCols.setText(String.valueOf(dungeonConfig.get(1)));
+    this.numCols.setText(String.valueOf(dungeonConfig.numCols()));
     this.add(label);
     this.add(this.numCols);
     this.add(Box.createVerticalStrut(15));
 
     label = new JLabel("Enter interconnectivity:  ");
     this.interconnectivity = new JTextField(10);
-    this.interconnectivity.setText(String.valueOf(dungeonConfig.get(2)));
+    this.interconnectivity.setText(String.valueOf(dungeonConfig.interconnectivity()));
     this.add(label);
     this.add(this.interconnectivity);
     this.add(Box.createVerticalStrut(15));
 
     label = new JLabel("Wrapping/Non-Wrapping (W/N): ");
     this.wrapping = new JTextField(10);
-    if ((boolean) dungeonConfig.get(3)) {
+    if (dungeonConfig.isWrapping()) {
       this.wrapping.setText("W");
     } else {
       this.wrapping.setText("N");
@@ -54,14 +55,15 @@ class EditConfig extends JPanel {
 
     label = new JLabel("Enter percent of caves with treasures (in 100): ");
     this.percentCavesWithTreasures = new JTextField(10);
-    this.percentCavesWithTreasures.setText(String.valueOf(dungeonConfig.get(4)));
+    this.percentCavesWithTreasures.setText(
+            String.valueOf(dungeonConfig.percentCavesWithTreasure()));
     this.add(label);
     this.add(this.percentCavesWithTreasures);
     this.add(Box.createVerticalStrut(15));
 
     label = new JLabel("Force interconnectivity? (Y/N): ");
     this.forceInterconnectivity = new JTextField(10);
-    if ((boolean) dungeonConfig.get(5)) {
+    if (dungeonConfig.isForceInterconnectivityRange()) {
       this.forceInterconnectivity.setText("Y");
     } else {
       this.forceInterconnectivity.setText("N");
@@ -72,7 +74,7 @@ class EditConfig extends JPanel {
 
     label = new JLabel("Number of otyughs: ");
     this.numOtyughs = new JTextField(10);
-    this.numOtyughs.setText(String.valueOf(dungeonConfig.get(6)));
+    this.numOtyughs.setText(String.valueOf(dungeonConfig.numOtyughs()));
     this.add(label);
     this.add(this.numOtyughs);
     this.add(Box.createVerticalStrut(15));
@@ -104,6 +104,10 @@ class MazePanel extends JPanel {
     nodes.get(i).get(j).setThief();
   }
 
+  public void removeThief(int i, int j) {
+    nodes.get(i).get(j).removeThief();
+  }
+
   public void addPit(int pitI, int pitJ) {
     nodes.get(pitI).get(pitJ).setPit();
   }
@@ -17,6 +17,8 @@ import javax.swing.JPanel;
 import controller.DungeonControllerWView;
 
 class NodePanel extends JPanel {
+  private static final Image[] NODE_PICTURES = new Image[NodeType.values().length];
+
   private final NodeType type;
   private boolean hasPlayer;
   private boolean hasOtyugh;
@@ -175,6 +177,15 @@ class NodePanel extends JPanel {
   }
 
   private Image getNodePictureByType(NodeType type) {
+    // Every panel of the same type draws the same picture, so each one is only decoded once.
+    if (NODE_PICTURES[type.ordinal()] == null) {
+      NODE_PICTURES[type.ordinal()] = readNodePicture(type);
+    }
+
+    return NODE_PICTURES[type.ordinal()];
+  }
+
+  private Image readNodePicture(NodeType type) {
     switch (type) {
       case GENERIC:
         return readImageWithException("/blank.png");
@@ -293,6 +304,11 @@ class NodePanel extends JPanel {
     this.repaint();
   }
 
+  public void removeThief() {
+    this.hasThief = false;
+    this.repaint();
+  }
+
   public void setPit() {
     this.hasPit = true;
     this.repaint();
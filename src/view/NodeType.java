@@ -19,5 +19,29 @@ public enum NodeType {
   TUNNEL_NW,
   TUNNEL_NE,
   TUNNEL_SW,
-  TUNNEL_SE,
+  TUNNEL_SE;
+
+  // Indexed by door mask, north = 1, south = 2, west = 4 and east = 8. Two doors always make a
+  // tunnel and any other number of doors a cave.
+  private static final NodeType[] BY_DOOR_MASK = {
+    GENERIC, CAVE_N, CAVE_S, TUNNEL_NS,
+    CAVE_W, TUNNEL_NW, TUNNEL_SW, CAVE_NSW,
+    CAVE_E, TUNNEL_NE, TUNNEL_SE, CAVE_NSE,
+    TUNNEL_EW, CAVE_NEW, CAVE_SEW, CAVE_NSEW,
+  };
+
+  /**
+   * Returns the type of node that has the given doors.
+   *
+   * @param doorMask the doors of the node, north = 1, south = 2, west = 4 and east = 8
+   * @return the type of node with these doors
+   * @throws IllegalArgumentException if the door mask is not between 0 and 15
+   */
+  public static NodeType fromDoorMask(int doorMask) {
+    if (doorMask < 0 || doorMask >= BY_DOOR_MASK.length) {
+      throw new IllegalArgumentException("Invalid door mask: " + doorMask);
+    }
+
+    return BY_DOOR_MASK[doorMask];
+  }
 }
\ No newline at end of file
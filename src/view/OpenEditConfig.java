@@ -2,17 +2,17 @@ package view;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 import javax.swing.JOptionPane;
 
 import controller.DungeonControllerWView;
+import dungeongame.DungeonConfig;
 
 class OpenEditConfig implements ActionListener {
-  private final List<Object> dungeonConfig;
+  private final DungeonConfig dungeonConfig;
   private final DungeonControllerWView listener;
 
-  public OpenEditConfig(List<Object> dungeonConfig, DungeonControllerWView listener) {
+  public OpenEditConfig(DungeonConfig dungeonConfig, DungeonControllerWView listener) {
     this.dungeonConfig = dungeonConfig;
     this.listener = listener;
   }
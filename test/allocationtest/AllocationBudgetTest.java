@@ -0,0 +1,205 @@
+package allocationtest;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.Player;
+import dungeongame.PlayerImpl;
+import dungeongame.Volley;
+import node.Node;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests that the actions of the game do not allocate more than their budgets. A budget can be
+ * changed with a system property named allocation.budget.ACTION, for example
+ * -Dallocation.budget.move=1024, which is how a change that is expected to allocate more is
+ * let through.
+ *
+ * <p>The budgets are for a 64-bit JVM with compressed references, and leave some room above
+ * what the actions allocate now, so only a real change in what they allocate fails them.
+ */
+public class AllocationBudgetTest {
+  private static final int NUM_WARM_UP_RUNS = 200;
+  private static final int NUM_RUNS = 101;
+
+  private static AllocationMeter meter;
+  private static long seedWithTreasureAtStart = -1;
+
+  private Dungeon dungeon;
+  private Player player;
+
+  @BeforeClass
+  public static void setUpMeter() {
+    assumeTrue("Allocations cannot be measured on this JVM", AllocationMeter.isSupported());
+    meter = new AllocationMeter(NUM_WARM_UP_RUNS, NUM_RUNS);
+  }
+
+  private static long budgetOf(String action, long defaultBudget) {
+    return Long.getLong("allocation.budget." + action, defaultBudget);
+  }
+
+  private static void assertWithinBudget(String action, long defaultBudget, long allocated) {
+    long budget = budgetOf(action, defaultBudget);
+    assertTrue(action + " allocated " + allocated + " bytes per run, over its budget of "
+            + budget + " bytes", allocated <= budget);
+  }
+
+  /*
+    Starts a game in a dungeon whose start location has treasure and arrows, the seed is
+    searched for once so that every run plays the same dungeon.
+   */
+  private void startGame() {
+    if (seedWithTreasureAtStart == -1) {
+      for (long seed = 0; seedWithTreasureAtStart == -1; seed++) {
+        Node start = new DungeonImpl(6, 6, 2, true, 1.0f, false, 3, 0, 0, seed).getStartNode();
+        if (start.getType().equals("C") && !start.getTreasures().isEmpty()
+                && start.getNumArrows() > 0) {
+          seedWithTreasureAtStart = seed;
+        }
+      }
+    }
+
+    dungeon = new DungeonImpl(6, 6, 2, true, 1.0f, false, 3, 0, 0, seedWithTreasureAtStart);
+    player = new PlayerImpl("TestPlayer");
+    player.enterPlayerToDungeon(dungeon);
+  }
+
+  private String safeDirection() {
+    Node start = dungeon.getCurrentPositionPlayer();
+    Node[] neighbours = {start.getTopNode(), start.getBottomNode(), start.getLeftNode(),
+      start.getRightNode()};
+    String[] directions = {"U", "D", "L", "R"};
+    for (int idx = 0; idx < neighbours.length; idx++) {
+      if (neighbours[idx] != null && (!neighbours[idx].getType().equals("C")
+              || neighbours[idx].getOtyugh() == null)) {
+        return directions[idx];
+      }
+    }
+
+    throw new IllegalStateException("Every neighbour of the start has an otyugh!");
+  }
+
+  private void move(String direction) {
+    switch (direction) {
+      case "U":
+        player.moveUp(dungeon);
+        break;
+      case "D":
+        player.moveDown(dungeon);
+        break;
+      case "L":
+        player.moveLeft(dungeon);
+        break;
+      default:
+        player.moveRight(dungeon);
+        break;
+    }
+  }
+
+  private static String opposite(String direction) {
+    switch (direction) {
+      case "U":
+        return "D";
+      case "D":
+        return "U";
+      case "L":
+        return "R";
+      default:
+        return "L";
+    }
+  }
+
+  /**
+   * Tests the bytes allocated by moving the player.
+   */
+  @Test
+  public void testMoveBudget() {
+    startGame();
+    String there = safeDirection();
+    String back = opposite(there);
+    boolean[] isThere = {false};
+
+    long allocated = meter.measure(() -> { }, () -> {
+      move(isThere[0] ? back : there);
+      isThere[0] = !isThere[0];
+    });
+    assertWithinBudget("move", 128, allocated);
+  }
+
+  /**
+   * Tests the bytes allocated by shooting an arrow.
+   */
+  @Test
+  public void testShootBudget() {
+    String[] direction = new String[1];
+    long allocated = meter.measure(() -> {
+      startGame();
+      direction[0] = safeDirection();
+    }, () -> player.shootArrow(dungeon, direction[0], 1));
+    assertWithinBudget("shoot", 128, allocated);
+  }
+
+  /**
+   * Tests the bytes allocated by shooting a volley of arrows into a volley that is reused.
+   */
+  @Test
+  public void testVolleyBudget() {
+    String[][] directions = new String[1][];
+    int[] distances = {1, 1, 1};
+    Volley volley = new Volley(distances.length);
+    long allocated = meter.measure(() -> {
+      startGame();
+      String direction = safeDirection();
+      directions[0] = new String[]{direction, direction, direction};
+    }, () -> player.shootVolley(dungeon, directions[0], distances, volley));
+    assertWithinBudget("volley", 128, allocated);
+  }
+
+  /**
+   * Tests the bytes allocated by picking up a treasure.
+   */
+  @Test
+  public void testPickUpTreasureBudget() {
+    String[] treasure = new String[1];
+    long allocated = meter.measure(() -> {
+      startGame();
+      treasure[0] = dungeon.getCurrentPositionPlayer().getTreasures().get(0);
+    }, () -> player.pickUpTreasure(dungeon, treasure[0]));
+    assertWithinBudget("pickUpTreasure", 128, allocated);
+  }
+
+  /**
+   * Tests the bytes allocated by picking up an arrow.
+   */
+  @Test
+  public void testPickUpArrowBudget() {
+    long allocated = meter.measure(this::startGame, () -> player.pickUpArrow(dungeon));
+    assertWithinBudget("pickUpArrow", 128, allocated);
+  }
+
+  /**
+   * Tests the bytes allocated by describing the location of the player the way the
+   * controllers do it.
+   */
+  @Test
+  public void testDescriptionBudget() {
+    startGame();
+    long allocated = meter.measure(() -> { },
+            () -> dungeon.getCurrentPositionPlayer().getRoomDescription());
+    assertWithinBudget("description", 768, allocated);
+  }
+
+  /**
+   * Tests the bytes allocated by moving the yugoloth.
+   */
+  @Test
+  public void testMonsterTickBudget() {
+    startGame();
+    long allocated = meter.measure(() -> { }, dungeon::moveYugoloth);
+    assertWithinBudget("monsterTick", 128, allocated);
+  }
+}
@@ -0,0 +1,86 @@
+package allocationtest;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Measures the number of bytes the current thread allocates while running an action, using
+ * the allocation counter of the JVM. Every action is run a number of times to warm it up
+ * first, and the median of the measured runs is reported, so a garbage collection or a
+ * compilation in the middle of a run does not change the result.
+ */
+public final class AllocationMeter {
+  private static final com.sun.management.ThreadMXBean THREADS = getThreads();
+
+  private final int numWarmUpRuns;
+  private final int numRuns;
+  private final long overhead;
+
+  /**
+   * Constructs a meter.
+   *
+   * @param numWarmUpRuns the number of runs before measuring
+   * @param numRuns       the number of runs to measure
+   */
+  public AllocationMeter(int numWarmUpRuns, int numRuns) {
+    this.numWarmUpRuns = numWarmUpRuns;
+    this.numRuns = numRuns;
+    // Reading the counter may allocate itself, which is not part of any action.
+    this.overhead = measureRaw(() -> { }, () -> { });
+  }
+
+  private static com.sun.management.ThreadMXBean getThreads() {
+    if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+
+    com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    if (!threads.isThreadAllocatedMemorySupported()) {
+      return null;
+    }
+
+    threads.setThreadAllocatedMemoryEnabled(true);
+    return threads;
+  }
+
+  /**
+   * Checks if the JVM can count the bytes allocated by a thread.
+   *
+   * @return true if allocations can be measured, false otherwise
+   */
+  public static boolean isSupported() {
+    return THREADS != null;
+  }
+
+  private long measureRaw(Runnable setUp, Runnable action) {
+    long threadId = Thread.currentThread().getId();
+    for (int run = 0; run < numWarmUpRuns; run++) {
+      setUp.run();
+      action.run();
+    }
+
+    long[] allocatedBytes = new long[numRuns];
+    long start;
+    for (int run = 0; run < numRuns; run++) {
+      setUp.run();
+      start = THREADS.getThreadAllocatedBytes(threadId);
+      action.run();
+      allocatedBytes[run] = THREADS.getThreadAllocatedBytes(threadId) - start;
+    }
+
+    Arrays.sort(allocatedBytes);
+    return allocatedBytes[numRuns / 2];
+  }
+
+  /**
+   * Measures the bytes allocated by an action.
+   *
+   * @param setUp  what has to happen before every run of the action, which is not measured
+   * @param action the action to measure
+   * @return the median number of bytes allocated by a run of the action
+   */
+  public long measure(Runnable setUp, Runnable action) {
+    return Math.max(0, measureRaw(setUp, action) - overhead);
+  }
+}
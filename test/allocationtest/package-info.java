@@ -0,0 +1,4 @@
+/**
+ * Tests for the number of bytes the game allocates per action.
+ */
+package allocationtest;
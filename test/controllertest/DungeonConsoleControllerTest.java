@@ -3,7 +3,11 @@ package controllertest;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import controller.DungeonConsoleController;
@@ -252,6 +256,18 @@ public class DungeonConsoleControllerTest {
     return out.toString();
   }
 
+  private String getBatchControllerOutput(Dungeon dungeon, Player player, String script,
+                                         boolean isQuiet) {
+    Appendable out = new StringBuffer();
+    ReadableByteChannel in = Channels.newChannel(
+            new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8)));
+
+    DungeonController controller = new DungeonConsoleController(in, out, getRandom(), isQuiet);
+    controller.playGame(dungeon, player);
+
+    return out.toString();
+  }
+
   private String getImpPartsControllerOutput(String output) {
     String[] lines = output.split("\n");
 
@@ -860,6 +876,84 @@ public class DungeonConsoleControllerTest {
             "No arrows left.\n", this.player.getPlayerArrows());
   }
 
+  /**
+   * Tests that replaying a script in batch mode gives the same output as playing it
+   * interactively.
+   */
+  @Test
+  public void testBatchMatchesInteractive() {
+    String[] scripts = {
+      "M S M E M E S 2 N M N S 1 N M N P arrow M E S 1 S S 1 S M S M S",
+      "M N M E P sapphire P diamond P ruby S 1 N M E",
+      "M N\tM X P gold S far N S -1 N\r\nS 99999999999 N Q M E M E"
+    };
+
+    for (String script : scripts) {
+      String expected = getConsoleControllerOutput(getDeterministicWrappingDungeon("2", "11"),
+              new PlayerImpl("TestPlayer"), new StringReader(script));
+      String actual = getBatchControllerOutput(getDeterministicWrappingDungeon("2", "11"),
+              new PlayerImpl("TestPlayer"), script, false);
+
+      assertEquals(expected, actual);
+    }
+  }
+
+  /**
+   * Tests that quiet batch mode leaves out the banner and the room descriptions.
+   */
+  @Test
+  public void testBatchQuiet() {
+    String actualString = getBatchControllerOutput(this.wrappingDungeon, this.player,
+            "M N M E M E", true);
+
+    assertEquals("Dungeon has the following configuration: \n"
+            + "Number of rows: 4\n"
+            + "Number of columns: 4\n"
+            + "Interconnectivity: 0\n"
+            + "Is dungeon wrapping? true\n"
+            + "Percentage of caves with treasures: 0.0\n"
+            + "Force the interconnectivity range? false\n"
+            + "---------------------------------------------------\n"
+            + "LET THE GAME START!\n"
+            + "\n"
+            + "Move, Pickup, or Shoot (M-P-S)? Where to? "
+            + "\n"
+            + "Move, Pickup, or Shoot (M-P-S)? Where to? "
+            + "\n"
+            + "Move, Pickup, or Shoot (M-P-S)? Where to? "
+            + "\n"
+            + "Chomp, chomp, chomp, you are eaten by an Otyugh!\n"
+            + "Better luck next time\n", actualString);
+    assertTrue(this.player.isPlayerDead());
+  }
+
+  /**
+   * Tests that batch mode ends the game when the script runs out of commands.
+   */
+  @Test
+  public void testBatchScriptRunsOut() {
+    String actualString = getBatchControllerOutput(this.wrappingDungeon, this.player,
+            "M N", true);
+
+    assertTrue(actualString.endsWith("Move, Pickup, or Shoot (M-P-S)? Where to? \n"
+            + "Move, Pickup, or Shoot (M-P-S)? No more inputs to parse!"));
+    assertFalse(this.player.isPlayerDead());
+    assertFalse(this.wrappingDungeon.hasReachedEndNode());
+  }
+
+  /**
+   * Tests constructing a batch dungeon console controller with null input.
+   */
+  @Test
+  public void testConstructBatchWithNullInput() {
+    try {
+      new DungeonConsoleController(null, new StringBuffer(), getRandom(), true);
+      fail("Input cannot be null!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Readable instance is expected to be non-null!", e.getMessage());
+    }
+  }
+
   /**
    * Tests that GUI play game is not valid for CLI controller.
    */
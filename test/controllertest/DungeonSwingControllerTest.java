@@ -308,20 +308,20 @@ public class DungeonSwingControllerTest {
             "Added player to location: (1, 3)\n" +
             "Added treasure to location: (0, 0)\n" +
             "Treasures: [SAPPHIRE, SAPPHIRE, DIAMOND, RUBY]\n" +
-            "Added treasure to location: (1, 1)\n" +
-            "Treasures: []\n" +
-            "Added treasure to location: (2, 2)\n" +
-            "Treasures: []\n" +
-            "Added treasure to location: (3, 3)\n" +
-            "Treasures: []\n" +
             "Added treasure to location: (0, 1)\n" +
             "Treasures: [SAPPHIRE]\n" +
             "Added treasure to location: (0, 2)\n" +
             "Treasures: []\n" +
+            "Added treasure to location: (1, 1)\n" +
+            "Treasures: []\n" +
             "Added treasure to location: (2, 0)\n" +
             "Treasures: []\n" +
+            "Added treasure to location: (2, 2)\n" +
+            "Treasures: []\n" +
             "Added treasure to location: (3, 1)\n" +
             "Treasures: []\n" +
+            "Added treasure to location: (3, 3)\n" +
+            "Treasures: []\n" +
             "Added arrows to location: (0, 1)\n" +
             "Number of arrows: 3\n" +
             "Added arrows to location: (2, 3)\n" +
@@ -685,7 +685,7 @@ public class DungeonSwingControllerTest {
     controller.move("D");
     controller.move("L");
 
-    assertEquals("[2, 1, -1]", controller.shoot("D", 1).toString());
+    assertEquals("(2, 1) MISSED", controller.shoot("D", 1).toString());
   }
 
   /**
@@ -857,4 +857,41 @@ public class DungeonSwingControllerTest {
     controller.setPlayerName("Test");
     assertEquals("Test", controller.getPlayerName());
   }
+
+  /**
+   * Tests clicking on an uncovered node several steps away follows a route to it.
+   */
+  @Test
+  public void testClickAndMoveFollowsRoute() {
+    this.player.enterPlayerToDungeon(this.nonWrappingDungeon);
+    Appendable out = new StringBuilder();
+    DungeonView view = new MockDungeonView(out);
+    DungeonControllerWView controller = new DungeonSwingController(this.nonWrappingDungeon,
+            this.player, view, getRandom());
+
+    controller.move("R");
+    controller.move("D");
+    controller.move("L");
+    ((StringBuilder) out).setLength(0);
+
+    controller.clickAndMove(this.nonWrappingDungeon.getStartNodeI(),
+            this.nonWrappingDungeon.getStartNodeJ());
+    assertEquals("Following route: [R, U, L]\n", out.toString());
+  }
+
+  /**
+   * Tests clicking on a node that cannot be reached through uncovered nodes.
+   */
+  @Test
+  public void testClickAndMoveNoKnownRoute() {
+    this.player.enterPlayerToDungeon(this.nonWrappingDungeon);
+    Appendable out = new StringBuilder();
+    DungeonView view = new MockDungeonView(out);
+    DungeonControllerWView controller = new DungeonSwingController(this.nonWrappingDungeon,
+            this.player, view, getRandom());
+
+    controller.clickAndMove(3, 3);
+    assertEquals("Header: Error!\nValue: Cannot find a route to this node through the "
+            + "uncovered part of the dungeon.\n", out.toString());
+  }
 }
@@ -148,6 +148,17 @@ class MockDungeonView implements DungeonView {
             ", ", String.valueOf(j), ")\n");
   }
 
+  @Override
+  public void removeThiefFromNode(int i, int j) {
+    appendWithException("Removed thief from location: (", String.valueOf(i),
+            ", ", String.valueOf(j), ")\n");
+  }
+
+  @Override
+  public void followRoute(List<String> route) {
+    appendWithException("Following route: ", route.toString(), "\n");
+  }
+
   @Override
   public void addPitToNode(int pitI, int pitJ) {
     appendWithException("Added pit to location: (", String.valueOf(pitI),
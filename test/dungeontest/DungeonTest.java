@@ -4,19 +4,24 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.TreeMap;
 
 import dungeongame.Dungeon;
+import dungeongame.DungeonConfig;
 import dungeongame.DungeonImpl;
+import dungeongame.Locations;
 import dungeongame.Otyugh;
 import dungeongame.Player;
 import dungeongame.PlayerImpl;
+import dungeongame.TreasureMap;
 import dungeongame.Yugoloth;
 import node.GenericNode;
 import node.Node;
+import node.NodeSearch;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -275,7 +280,7 @@ public class DungeonTest {
     }
 
     assertEquals("[RUBY]", maze[0][1].getTreasures().toString());
-    assertEquals("[RUBY, DIAMOND]", maze[1][2].getTreasures().toString());
+    assertEquals("[DIAMOND, RUBY]", maze[1][2].getTreasures().toString());
     assertEquals("[DIAMOND, DIAMOND]", maze[2][1].getTreasures().toString());
     assertEquals("[SAPPHIRE, SAPPHIRE]", maze[2][2].getTreasures().toString());
 
@@ -296,6 +301,134 @@ public class DungeonTest {
     assertEquals("8", this.deterministicDungeon.getCurrentPositionPlayer().getNodeName());
   }
 
+  /**
+   * Tests that the otyughs, yugoloth, thief and pit of generated dungeons are each in a cave of
+   * their own, away from the start, and not always in the same caves.
+   */
+  @Test
+  public void testPlacementOfGeneratedDungeons() {
+    List<String> pitLocations = new ArrayList<>();
+    for (long seed = 0; seed < 40; seed++) {
+      Dungeon dungeon = new DungeonImpl(8, 8, 2, true, 0.5f, false, 4, 0, 0, seed);
+      List<String> locations = new ArrayList<>();
+      for (int idx = 0; idx < dungeon.getOtyughNodeIs().size(); idx++) {
+        locations.add(dungeon.getOtyughNodeIs().get(idx) + ","
+                + dungeon.getOtyughNodeJs().get(idx));
+      }
+      assertEquals(4, locations.size());
+
+      locations.add(dungeon.getYugolothNodeI() + "," + dungeon.getYugolothNodeJ());
+      locations.add(dungeon.getThiefNodeI() + "," + dungeon.getThiefNodeJ());
+      locations.add(dungeon.getPitNodeI() + "," + dungeon.getPitNodeJ());
+      locations.add(dungeon.getStartNodeI() + "," + dungeon.getStartNodeJ());
+      for (int idx = 4; idx < 7; idx++) {
+        String[] location = locations.get(idx).split(",");
+        assertEquals("C", dungeon.getNodeAt(Integer.parseInt(location[0]),
+                Integer.parseInt(location[1])).getType());
+      }
+      assertEquals(locations.size(), new HashSet<>(locations).size());
+
+      if (!pitLocations.contains(locations.get(6))) {
+        pitLocations.add(locations.get(6));
+      }
+    }
+
+    assertTrue(pitLocations.size() > 10);
+  }
+
+  /**
+   * Tests that the otyughs, yugoloth, thief, pit and roaming monsters of dungeons generated with
+   * their hazards spread out are at least the spacing apart from each other and from the start.
+   */
+  @Test
+  public void testSpreadOutHazards() {
+    NodeSearch search = NodeSearch.forCurrentThread();
+    for (long seed = 0; seed < 20; seed++) {
+      Dungeon dungeon = new DungeonImpl(14, 14, 2, false, 0.5f, false, 4, 2, 2, 3, seed);
+      List<Node> hazards = new ArrayList<>();
+      for (int idx = 0; idx < dungeon.getOtyughNodeIs().size(); idx++) {
+        hazards.add(dungeon.getNodeAt(dungeon.getOtyughNodeIs().get(idx),
+                dungeon.getOtyughNodeJs().get(idx)));
+      }
+      hazards.add(dungeon.getNodeAt(dungeon.getYugolothNodeI(), dungeon.getYugolothNodeJ()));
+      hazards.add(dungeon.getNodeAt(dungeon.getThiefNodeI(), dungeon.getThiefNodeJ()));
+      hazards.add(dungeon.getNodeAt(dungeon.getPitNodeI(), dungeon.getPitNodeJ()));
+      for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+        hazards.add(dungeon.getNodeAt(dungeon.getRoamingMonsterNodeI(idx),
+                dungeon.getRoamingMonsterNodeJ(idx)));
+      }
+      hazards.add(dungeon.getStartNode());
+      assertEquals(12, hazards.size());
+
+      for (int first = 0; first < hazards.size(); first++) {
+        for (int second = first + 1; second < hazards.size(); second++) {
+          assertTrue(search.shortestPathLength(hazards.get(first), hazards.get(second)) >= 3);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that a hazard spacing of 0 generates the same dungeon as the constructor without one.
+   */
+  @Test
+  public void testZeroHazardSpacing() {
+    Dungeon spaced = new DungeonImpl(8, 8, 2, true, 0.5f, false, 4, 1, 1, 0, 5L);
+    Dungeon random = new DungeonImpl(8, 8, 2, true, 0.5f, false, 4, 1, 1, 5L);
+    assertEquals(random.getOtyughNodeIs(), spaced.getOtyughNodeIs());
+    assertEquals(random.getOtyughNodeJs(), spaced.getOtyughNodeJs());
+    assertEquals(random.getPitNodeI(), spaced.getPitNodeI());
+    assertEquals(random.getPitNodeJ(), spaced.getPitNodeJ());
+    assertEquals(random.getRoamingMonsterNodeI(0), spaced.getRoamingMonsterNodeI(0));
+    assertEquals(random.getRoamingMonsterNodeJ(0), spaced.getRoamingMonsterNodeJ(0));
+    assertEquals(random.getTreasureAndLocations().toString(),
+            spaced.getTreasureAndLocations().toString());
+  }
+
+  /**
+   * Tests that every maze generator carves a spanning tree of the dungeon, to which the
+   * interconnectivity adds its passages.
+   */
+  @Test
+  public void testMazeGenerators() {
+    NodeSearch search = NodeSearch.forCurrentThread();
+    for (String generator : new String[]{"KRUSKAL", "WILSON", "BACKTRACKER", "ELLER"}) {
+      for (long seed = 0; seed < 8; seed++) {
+        int interconnectivity = (int) seed % 3;
+        Dungeon dungeon = new DungeonImpl(9, 11, interconnectivity, seed % 2 == 0, 0.5f, false,
+                3, 0, 0, 0, generator, seed);
+        Node origin = dungeon.getNodeAt(0, 0);
+        int numDoors = 0;
+        for (int i = 0; i < 9; i++) {
+          for (int j = 0; j < 11; j++) {
+            Node node = dungeon.getNodeAt(i, j);
+            numDoors += (node.getTopNode() != null ? 1 : 0) + (node.getBottomNode() != null ? 1 : 0)
+                    + (node.getLeftNode() != null ? 1 : 0) + (node.getRightNode() != null ? 1 : 0);
+            assertTrue(search.shortestPathLength(origin, node) >= 0);
+          }
+        }
+
+        assertEquals(2 * (9 * 11 - 1 + interconnectivity), numDoors);
+      }
+    }
+  }
+
+  /**
+   * Tests that an unknown maze generator is not allowed.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownMazeGenerator() {
+    new DungeonImpl(8, 8, 2, true, 0.5f, false, 4, 0, 0, 0, "PRIM", 5L);
+  }
+
+  /**
+   * Tests that a negative hazard spacing is not allowed.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeHazardSpacing() {
+    new DungeonImpl(8, 8, 2, true, 0.5f, false, 4, 0, 0, -1, 5L);
+  }
+
   /**
    * Tests fetching dungeon config.
    */
@@ -303,17 +436,33 @@ public class DungeonTest {
   public void testGetDungeonConfig() {
     Dungeon randomDungeon = new DungeonImpl(4, 4, 2, false,
             0.25f, false, 2, getRandom());
-    List<Object> actualDungeonConfig = randomDungeon.getDungeonConfig();
-    List<Object> expectedDungeonConfig = new ArrayList<>();
-    expectedDungeonConfig.add(4);
-    expectedDungeonConfig.add(4);
-    expectedDungeonConfig.add(2);
-    expectedDungeonConfig.add(false);
-    expectedDungeonConfig.add(0.25f);
-    expectedDungeonConfig.add(false);
-    expectedDungeonConfig.add(2);
-
-    assertEquals(expectedDungeonConfig, actualDungeonConfig);
+    DungeonConfig dungeonConfig = randomDungeon.getDungeonConfig();
+
+    assertEquals(4, dungeonConfig.numRows());
+    assertEquals(4, dungeonConfig.numCols());
+    assertEquals(2, dungeonConfig.interconnectivity());
+    assertFalse(dungeonConfig.isWrapping());
+    assertEquals(0.25f, dungeonConfig.percentCavesWithTreasure(), 0);
+    assertFalse(dungeonConfig.isForceInterconnectivityRange());
+    assertEquals(2, dungeonConfig.numOtyughs());
+    assertEquals("4x4, interconnectivity 2, non-wrapping, 25% treasure, 2 otyughs",
+            dungeonConfig.toString());
+    assertEquals(0, dungeonConfig.numRoamingYugoloths());
+    assertEquals(0, dungeonConfig.numRoamingThieves());
+    assertEquals(0, dungeonConfig.hazardSpacing());
+    assertEquals("KRUSKAL", dungeonConfig.mazeGenerator());
+    assertEquals(new DungeonConfig(4, 4, 2, false, 0.25f, false, 2, 0, 0, 0, "KRUSKAL"),
+            dungeonConfig);
+    assertEquals(new DungeonConfig(4, 4, 2, false, 0.25f, false, 2, 0, 0, 0, "KRUSKAL")
+            .hashCode(), dungeonConfig.hashCode());
+
+    DungeonConfig roamingConfig = new DungeonImpl(8, 8, 2, true, 0.5f, false, 2, 1, 3, 2,
+            "WILSON", 7).getDungeonConfig();
+    assertEquals(new DungeonConfig(8, 8, 2, true, 0.5f, false, 2, 1, 3, 2, "WILSON"),
+            roamingConfig);
+    assertEquals("8x8, interconnectivity 2, wrapping, 50% treasure, 2 otyughs, 1 roaming "
+            + "yugoloths, 3 roaming thieves, hazards 2 moves apart, WILSON maze",
+            roamingConfig.toString());
   }
 
   private void reachableNodes(Node node, int numRows, int numCols, List<String> visitedNodes) {
@@ -1277,7 +1426,7 @@ public class DungeonTest {
     this.player.moveLeft(wrappingDungeon);
     this.player.moveLeft(wrappingDungeon);
 
-    int hitResult = this.player.shootArrow(wrappingDungeon, "D", 2).get(2);
+    int hitResult = this.player.shootArrow(wrappingDungeon, "D", 2).getOutcome();
 
     assertEquals(50, wrappingDungeon.getCurrentPositionPlayer()
             .getBottomNode().getBottomNode().getOtyugh().getHealth());
@@ -1369,11 +1518,36 @@ public class DungeonTest {
    */
   @Test
   public void testGetTreasureLocations() {
-    assertEquals("{[2, 1]=[DIAMOND, DIAMOND], [2, 2]=[SAPPHIRE, SAPPHIRE], [3, 3]=[]," +
-            " [0, 1]=[RUBY], [1, 2]=[RUBY, DIAMOND], [1, 3]=[], [3, 0]=[], [3, 1]=[]}",
+    assertEquals("{[0, 1]=[RUBY], [1, 2]=[DIAMOND, RUBY], [1, 3]=[], [2, 1]=[DIAMOND, DIAMOND]," +
+            " [2, 2]=[SAPPHIRE, SAPPHIRE], [3, 0]=[], [3, 1]=[], [3, 3]=[]}",
             this.deterministicDungeon.getTreasureAndLocations().toString());
   }
 
+  /**
+   * Tests looking up the treasures of a location in the treasure map.
+   */
+  @Test
+  public void testTreasureMapLookUp() {
+    TreasureMap treasureMap = this.deterministicDungeon.getTreasureAndLocations();
+    assertEquals(8, treasureMap.size());
+
+    int cave = treasureMap.indexOf(1, 2);
+    assertEquals(1, treasureMap.getRow(cave));
+    assertEquals(2, treasureMap.getCol(cave));
+    assertEquals(2, treasureMap.getNumTreasures(cave));
+    assertEquals(1, treasureMap.getNumTreasures(cave, "DIAMOND"));
+    assertEquals(0, treasureMap.getNumTreasures(cave, "SAPPHIRE"));
+    assertEquals(-1, treasureMap.indexOf(0, 0));
+    assertEquals(-1, treasureMap.indexOf(0, 4));
+
+    // The player starts at (1, 2), the map does not change when the treasure is picked up.
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.player.pickUpTreasure(this.deterministicDungeon, "DIAMOND");
+    assertEquals(1, treasureMap.getNumTreasures(cave, "DIAMOND"));
+    assertEquals(0, this.deterministicDungeon.getTreasureAndLocations()
+            .getNumTreasures(cave, "DIAMOND"));
+  }
+
   /**
    * Tests is wrapping dungeon.
    */
@@ -1398,4 +1572,603 @@ public class DungeonTest {
     assertEquals(0, this.deterministicDungeon.getYugolothNodeI());
     assertEquals(1, this.deterministicDungeon.getYugolothNodeJ());
   }
+
+  /**
+   * Tests that dungeons do not have roaming monsters unless asked for.
+   */
+  @Test
+  public void testNoRoamingMonstersByDefault() {
+    assertEquals(0, this.deterministicDungeon.getNumRoamingMonsters());
+
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.moveRoamingMonsters();
+    assertEquals(0, this.deterministicDungeon.getNumRoamingYugolothsAtPlayer());
+    assertEquals(0, this.deterministicDungeon.getNumRoamingThievesAtPlayer());
+  }
+
+  /**
+   * Tests the number and types of roaming monsters placed in a random dungeon.
+   */
+  @Test
+  public void testRoamingMonstersPlaced() {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, false, 0.25f,
+            false, 2, 5, 3, getRandom());
+
+    assertEquals(8, dungeon.getNumRoamingMonsters());
+
+    int numYugoloths = 0;
+    int numThieves = 0;
+    for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+      if (dungeon.getRoamingMonsterType(idx).equals("YUGOLOTH")) {
+        numYugoloths++;
+      } else if (dungeon.getRoamingMonsterType(idx).equals("THIEF")) {
+        numThieves++;
+      }
+
+      assertFalse(dungeon.getRoamingMonsterNodeI(idx) == dungeon.getStartNodeI()
+              && dungeon.getRoamingMonsterNodeJ(idx) == dungeon.getStartNodeJ());
+    }
+
+    assertEquals(5, numYugoloths);
+    assertEquals(3, numThieves);
+  }
+
+  /**
+   * Tests that every roaming monster moves to a neighbouring location in a single step.
+   */
+  @Test
+  public void testRoamingMonstersMoveToNeighbour() {
+    Dungeon dungeon = new DungeonImpl(10, 10, 3, true, 0.25f,
+            false, 2, 50, 50, getRandom());
+    Node[][] maze = dungeon.getMaze();
+
+    for (int step = 0; step < 10; step++) {
+      List<Node> previousLocations = new ArrayList<>();
+      for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+        previousLocations.add(maze[dungeon.getRoamingMonsterNodeI(idx)]
+                [dungeon.getRoamingMonsterNodeJ(idx)]);
+      }
+
+      dungeon.moveRoamingMonsters();
+
+      for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+        Node previous = previousLocations.get(idx);
+        String current = maze[dungeon.getRoamingMonsterNodeI(idx)]
+                [dungeon.getRoamingMonsterNodeJ(idx)].getNodeName();
+        assertTrue((previous.getTopNode() != null
+                && previous.getTopNode().getNodeName().equals(current))
+                || (previous.getBottomNode() != null
+                && previous.getBottomNode().getNodeName().equals(current))
+                || (previous.getLeftNode() != null
+                && previous.getLeftNode().getNodeName().equals(current))
+                || (previous.getRightNode() != null
+                && previous.getRightNode().getNodeName().equals(current)));
+      }
+    }
+  }
+
+  /**
+   * Tests that a large population of roaming monsters keeps its count and the occupancy
+   * at the player's location stays consistent while moving.
+   */
+  @Test
+  public void testLargeRoamingMonsterPopulation() {
+    Dungeon dungeon = new DungeonImpl(30, 30, 5, true, 0.25f,
+            false, 2, 6_000, 4_000, getRandom());
+    this.player.enterPlayerToDungeon(dungeon);
+
+    for (int step = 0; step < 5; step++) {
+      dungeon.moveRoamingMonsters();
+
+      int numYugolothsAtPlayer = 0;
+      int numThievesAtPlayer = 0;
+      for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+        if (dungeon.getRoamingMonsterNodeI(idx) == dungeon.getStartNodeI()
+                && dungeon.getRoamingMonsterNodeJ(idx) == dungeon.getStartNodeJ()) {
+          if (dungeon.getRoamingMonsterType(idx).equals("YUGOLOTH")) {
+            numYugolothsAtPlayer++;
+          } else {
+            numThievesAtPlayer++;
+          }
+        }
+      }
+
+      assertEquals(10_000, dungeon.getNumRoamingMonsters());
+      assertEquals(numYugolothsAtPlayer, dungeon.getNumRoamingYugolothsAtPlayer());
+      assertEquals(numThievesAtPlayer, dungeon.getNumRoamingThievesAtPlayer());
+    }
+  }
+
+  /**
+   * Tests constructing a random dungeon with negative number of roaming monsters.
+   */
+  @Test
+  public void testNegativeRoamingMonsters() {
+    try {
+      new DungeonImpl(4, 4, 2, false, 0.25f, false, 2, -1, 0, getRandom());
+      fail("Negative number of roaming yugoloths");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Number of roaming yugoloths is expected to be non-negative!",
+              e.getMessage());
+    }
+
+    try {
+      new DungeonImpl(4, 4, 2, false, 0.25f, false, 2, 0, -1, getRandom());
+      fail("Negative number of roaming thieves");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Number of roaming thieves is expected to be non-negative!",
+              e.getMessage());
+    }
+  }
+
+  /**
+   * Tests killing a roaming yugoloth when there is none at the player's location.
+   */
+  @Test
+  public void testKillRoamingYugolothNotAtPlayer() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+
+    try {
+      this.deterministicDungeon.killRoamingYugolothAtPlayer();
+      fail("No roaming yugoloth at player");
+    } catch (IllegalArgumentException e) {
+      assertEquals("No roaming monster to remove from location!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that the thief steals the treasure of the player only at the thief's location.
+   */
+  @Test
+  public void testStealTreasureAtPlayer() {
+    Dungeon dungeon = getDeterministicDungeon();
+    this.player.enterPlayerToDungeon(dungeon);
+    this.player.pickUpTreasure(dungeon, "RUBY");
+
+    try {
+      dungeon.stealTreasureAtPlayer();
+      fail("No thief at player");
+    } catch (IllegalArgumentException e) {
+      assertEquals("There is no thief at the player's position!", e.getMessage());
+    }
+
+    this.player.moveRight(dungeon);
+    this.player.moveUp(dungeon);
+    this.player.moveLeft(dungeon);
+    this.player.moveLeft(dungeon);
+    dungeon.stealTreasureAtPlayer();
+    assertEquals("[]", this.player.getPlayerTreasuresList().toString());
+  }
+
+  /**
+   * Tests that the player falls into the pit only at the pit's location, and dies.
+   */
+  @Test
+  public void testFallIntoPit() {
+    Dungeon dungeon = getDeterministicDungeon();
+    this.player.enterPlayerToDungeon(dungeon);
+
+    try {
+      dungeon.fallIntoPit();
+      fail("No pit at player");
+    } catch (IllegalArgumentException e) {
+      assertEquals("There is no pit at the player's position!", e.getMessage());
+    }
+
+    this.player.moveRight(dungeon);
+    this.player.moveUp(dungeon);
+    this.player.moveLeft(dungeon);
+    this.player.moveLeft(dungeon);
+    dungeon.fallIntoPit();
+    assertTrue(this.player.isPlayerDead());
+  }
+
+  /**
+   * Tests that a chasing yugoloth reaches the player.
+   */
+  @Test
+  public void testChasingYugolothReachesPlayer() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.setYugolothMoveStrategy("CHASE");
+
+    String playerNode = this.deterministicDungeon.getCurrentPositionPlayer().getNodeName();
+    int numMoves = 0;
+    while (!this.deterministicDungeon.getYugolothPosition().getNodeName().equals(playerNode)
+            && numMoves < 16) {
+      this.deterministicDungeon.moveYugoloth();
+      numMoves++;
+    }
+
+    assertEquals(playerNode, this.deterministicDungeon.getYugolothPosition().getNodeName());
+
+    this.deterministicDungeon.moveYugoloth();
+    assertEquals(playerNode, this.deterministicDungeon.getYugolothPosition().getNodeName());
+  }
+
+  /**
+   * Tests that chasing roaming monsters all end up at the player's location.
+   */
+  @Test
+  public void testChasingRoamingMonstersReachPlayer() {
+    Dungeon dungeon = new DungeonImpl(10, 10, 2, false, 0.25f,
+            false, 2, 20, 5, getRandom());
+    for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+      if (dungeon.getRoamingMonsterType(idx).equals("YUGOLOTH")) {
+        dungeon.setRoamingMonsterMoveStrategy(idx, "CHASE");
+      }
+    }
+    this.player.enterPlayerToDungeon(dungeon);
+
+    for (int step = 0; step < 100; step++) {
+      dungeon.moveRoamingMonsters();
+    }
+
+    assertEquals(20, dungeon.getNumRoamingYugolothsAtPlayer());
+  }
+
+  /**
+   * Tests setting an unknown move strategy.
+   */
+  @Test
+  public void testUnknownMoveStrategy() {
+    try {
+      this.deterministicDungeon.setYugolothMoveStrategy("TELEPORT");
+      fail("Unknown move strategy");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Unknown move strategy TELEPORT!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that the smell at the player's position agrees with the room description.
+   */
+  @Test
+  public void testSmellAtPlayerMatchesRoomDescription() {
+    for (int k = 0; k < 50; k++) {
+      Dungeon dungeon = new DungeonImpl(6, 8, k % 5, k % 2 == 0, 0.25f,
+              false, 2 + k % 3, getRandom());
+      Player testPlayer = new PlayerImpl("SmellPlayer");
+      testPlayer.enterPlayerToDungeon(dungeon);
+
+      String roomDescription = dungeon.getCurrentPositionPlayer().getRoomDescription();
+      String expected = "NONE";
+      if (roomDescription.contains("You smell a strong pungent smell")) {
+        expected = "STRONG";
+      } else if (roomDescription.contains("You smell a pungent smell")) {
+        expected = "WEAK";
+      }
+
+      assertEquals(expected, dungeon.getSmellAtPlayer());
+    }
+  }
+
+  /**
+   * Tests getting the smell when no player is placed in the dungeon.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testSmellAtPlayerNoPlayer() {
+    this.deterministicDungeon.getSmellAtPlayer();
+  }
+
+  /**
+   * Tests that the nearest arrows are returned closest first and all have arrows.
+   */
+  @Test
+  public void testGetNearestArrows() {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, false, 0.5f,
+            false, 2, getRandom());
+    this.player.enterPlayerToDungeon(dungeon);
+
+    Node[][] maze = dungeon.getMaze();
+    int numLocationsWithArrows = 0;
+    for (Node[] row : maze) {
+      for (Node node : row) {
+        if (node.getNumArrows() > 0) {
+          numLocationsWithArrows++;
+        }
+      }
+    }
+
+    Locations nearest = dungeon.getNearestArrows(3);
+    assertEquals(Math.min(3, numLocationsWithArrows), nearest.size());
+    for (int location = 0; location < nearest.size(); location++) {
+      assertTrue(maze[nearest.getRow(location)][nearest.getCol(location)].getNumArrows() > 0);
+    }
+
+    Locations allArrows = dungeon.getNearestArrows(64);
+    assertEquals(numLocationsWithArrows, allArrows.size());
+    for (int location = 0; location < nearest.size(); location++) {
+      assertEquals(nearest.getRow(location), allArrows.getRow(location));
+      assertEquals(nearest.getCol(location), allArrows.getCol(location));
+    }
+  }
+
+  /**
+   * Tests that the nearest arrows to several locations are found from all of them at once.
+   */
+  @Test
+  public void testGetNearestArrowsFromLocations() {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, false, 0.5f,
+            false, 2, getRandom());
+    this.player.enterPlayerToDungeon(dungeon);
+
+    Locations caves = dungeon.getCavesWithinDistance(64);
+    Locations allArrows = dungeon.getNearestArrows(64);
+    assertEquals(allArrows.size(), dungeon.getNearestArrows(caves, 64).size());
+
+    Locations nearest = dungeon.getNearestArrows(caves, 1);
+    assertEquals(Math.min(1, allArrows.size()), nearest.size());
+    Node node = dungeon.getNodeAt(nearest.getRow(0), nearest.getCol(0));
+    assertTrue(node.getNumArrows() > 0);
+  }
+
+  /**
+   * Tests that locations of a dungeon of another size cannot be searched from.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetNearestArrowsFromOtherDungeon() {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, false, 0.5f,
+            false, 2, getRandom());
+    this.player.enterPlayerToDungeon(dungeon);
+    this.deterministicDungeon.getNearestArrows(dungeon.getCavesWithinDistance(64), 1);
+  }
+
+  /**
+   * Tests that the nearest treasure locations all have the treasure.
+   */
+  @Test
+  public void testGetNearestTreasure() {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, false, 0.5f,
+            false, 2, getRandom());
+    this.player.enterPlayerToDungeon(dungeon);
+
+    Node[][] maze = dungeon.getMaze();
+    int numCavesWithRubies = 0;
+    for (Node[] row : maze) {
+      for (Node node : row) {
+        if (node.getType().equals("C") && node.getTreasures().contains("RUBY")) {
+          numCavesWithRubies++;
+        }
+      }
+    }
+
+    Locations nearest = dungeon.getNearestTreasure("RUBY", 64);
+    assertEquals(numCavesWithRubies, nearest.size());
+    for (int location = 0; location < nearest.size(); location++) {
+      assertTrue(maze[nearest.getRow(location)][nearest.getCol(location)].getTreasures()
+              .contains("RUBY"));
+    }
+  }
+
+  /**
+   * Tests getting the caves within a distance from the player.
+   */
+  @Test
+  public void testGetCavesWithinDistance() {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, false, 0.5f,
+            false, 2, getRandom());
+    this.player.enterPlayerToDungeon(dungeon);
+
+    Node[][] maze = dungeon.getMaze();
+    int numCaves = 0;
+    for (Node[] row : maze) {
+      for (Node node : row) {
+        if (node.getType().equals("C")) {
+          numCaves++;
+        }
+      }
+    }
+
+    boolean isPlayerInCave = dungeon.getCurrentPositionPlayer().getType().equals("C");
+    assertEquals(isPlayerInCave ? 1 : 0, dungeon.getCavesWithinDistance(0).size());
+    assertEquals(numCaves, dungeon.getCavesWithinDistance(64).size());
+
+    int previous = 0;
+    for (int distance = 0; distance < 10; distance++) {
+      Locations caves = dungeon.getCavesWithinDistance(distance);
+      assertTrue(caves.size() >= previous);
+      previous = caves.size();
+    }
+  }
+
+  /**
+   * Tests getting the nearest arrows with a non-positive number of locations.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetNearestArrowsZeroLocations() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.getNearestArrows(0);
+  }
+
+  /**
+   * Tests getting the nearest treasure with a null treasure name.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetNearestTreasureNullName() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.getNearestTreasure(null, 1);
+  }
+
+  /**
+   * Tests getting the caves within a negative distance.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetCavesWithinNegativeDistance() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.getCavesWithinDistance(-1);
+  }
+
+  /**
+   * Tests the route from the player's location to itself is empty.
+   */
+  @Test
+  public void testRouteToCurrentLocation() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+
+    assertEquals(0, this.deterministicDungeon.getRouteToLocation(1, 2).size());
+  }
+
+  /**
+   * Tests the route to a neighbouring location that has not been visited yet.
+   */
+  @Test
+  public void testRouteToNeighbouringLocation() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+
+    assertEquals("[R]", this.deterministicDungeon.getRouteToLocation(1, 3).toString());
+  }
+
+  /**
+   * Tests that following a route through visited locations leads back to the start.
+   */
+  @Test
+  public void testFollowRouteBackToStart() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    makeSeriesOfMoves("R", "D", "L", "L", "D");
+
+    List<String> route = this.deterministicDungeon.getRouteToLocation(1, 2);
+    assertTrue(route.size() <= 5);
+
+    makeSeriesOfMoves(route.toArray(new String[0]));
+    assertEquals("7", this.deterministicDungeon.getCurrentPositionPlayer().getNodeName());
+    assertEquals(0, this.deterministicDungeon.getRouteToLocation(1, 2).size());
+  }
+
+  /**
+   * Tests the route to a location that cannot be reached through visited locations.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRouteToUnknownLocation() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.getRouteToLocation(3, 3);
+  }
+
+  /**
+   * Tests the route to a location outside the dungeon.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testRouteToLocationOutsideDungeon() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    this.deterministicDungeon.getRouteToLocation(4, 0);
+  }
+
+  /**
+   * Tests the coordinates of the player as the player moves around.
+   */
+  @Test
+  public void testGetPlayerNodeCoordinates() {
+    this.player.enterPlayerToDungeon(this.deterministicDungeon);
+    assertEquals(1, this.deterministicDungeon.getPlayerNodeI());
+    assertEquals(2, this.deterministicDungeon.getPlayerNodeJ());
+
+    makeSeriesOfMoves("R", "D");
+    assertEquals(2, this.deterministicDungeon.getPlayerNodeI());
+    assertEquals(3, this.deterministicDungeon.getPlayerNodeJ());
+  }
+
+  /**
+   * Tests getting the player's coordinates when no player is placed in the dungeon.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetPlayerNodeCoordinatesNoPlayer() {
+    this.deterministicDungeon.getPlayerNodeI();
+  }
+
+  /**
+   * Tests the coordinates of the end node.
+   */
+  @Test
+  public void testGetEndNodeCoordinates() {
+    assertEquals(3, this.deterministicDungeon.getEndNodeI());
+    assertEquals(0, this.deterministicDungeon.getEndNodeJ());
+  }
+
+  /**
+   * Tests that getting a single node returns a copy of it.
+   */
+  @Test
+  public void testGetNodeAt() {
+    Node node = this.deterministicDungeon.getNodeAt(0, 3);
+    assertEquals("4", node.getNodeName());
+    assertEquals(4, node.getNumArrows());
+
+    node.removeArrow();
+    assertEquals(4, this.deterministicDungeon.getNodeAt(0, 3).getNumArrows());
+  }
+
+  /**
+   * Tests getting a node outside the dungeon.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetNodeAtOutsideDungeon() {
+    this.deterministicDungeon.getNodeAt(0, -1);
+  }
+
+  /**
+   * Tests that the door masks of a dungeon match the neighbours of every location.
+   */
+  @Test
+  public void testGetDoorMasks() {
+    Dungeon dungeon = new DungeonImpl(6, 7, 3, true, 0.25f,
+            false, 2, getRandom());
+    Node[][] maze = dungeon.getMaze();
+    int[][] doorMasks = dungeon.getDoorMasks();
+
+    for (int i = 0; i < maze.length; i++) {
+      for (int j = 0; j < maze[i].length; j++) {
+        Node node = maze[i][j];
+        assertEquals(node.getTopNode() != null, (doorMasks[i][j] & Node.DOOR_NORTH) != 0);
+        assertEquals(node.getBottomNode() != null, (doorMasks[i][j] & Node.DOOR_SOUTH) != 0);
+        assertEquals(node.getLeftNode() != null, (doorMasks[i][j] & Node.DOOR_WEST) != 0);
+        assertEquals(node.getRightNode() != null, (doorMasks[i][j] & Node.DOOR_EAST) != 0);
+        assertEquals(node.getType().equals("T"), Integer.bitCount(doorMasks[i][j]) == 2);
+      }
+    }
+  }
+
+  /**
+   * Tests that the arrow counts of the dungeon match the arrows in its nodes.
+   */
+  @Test
+  public void testGetArrowCounts() {
+    Dungeon dungeon = new DungeonImpl(6, 7, 3, true, 0.5f,
+            false, 2, getRandom());
+    Node[][] maze = dungeon.getMaze();
+    int[][] arrowCounts = dungeon.getArrowCounts();
+
+    assertEquals(6, arrowCounts.length);
+    int numArrows = 0;
+    for (int i = 0; i < maze.length; i++) {
+      assertEquals(7, arrowCounts[i].length);
+      for (int j = 0; j < maze[i].length; j++) {
+        assertEquals(maze[i][j].getNumArrows(), arrowCounts[i][j]);
+        numArrows += arrowCounts[i][j];
+      }
+    }
+    assertTrue(numArrows > 0);
+  }
+
+  /**
+   * Tests that every location of a generated dungeon and of a dungeon built from a graph has
+   * the cell id of its position, and keeps its name.
+   */
+  @Test
+  public void testCellIds() {
+    Dungeon dungeon = new DungeonImpl(6, 7, 3, true, 0.25f,
+            false, 2, getRandom());
+    Node[][] maze = dungeon.getMaze();
+    for (int i = 0; i < maze.length; i++) {
+      for (int j = 0; j < maze[i].length; j++) {
+        assertEquals(i * 7 + j, maze[i][j].getId());
+        assertEquals(String.valueOf(i * 7 + j + 1), maze[i][j].getNodeName());
+      }
+    }
+
+    maze = this.deterministicDungeon.getMaze();
+    for (int i = 0; i < maze.length; i++) {
+      for (int j = 0; j < maze[i].length; j++) {
+        assertEquals(i * maze[i].length + j, maze[i][j].getId());
+      }
+    }
+  }
 }
@@ -0,0 +1,173 @@
+package eventlogtest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.EventLog;
+import dungeongame.EventLogAnalysis;
+import dungeongame.EventLogAnalyzer;
+import dungeongame.GameStatistics;
+import dungeongame.Player;
+import dungeongame.PlayerImpl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the analyzer of recorded games.
+ */
+public class EventLogAnalyzerTest {
+  private static final String[] DIRECTIONS = {"U", "D", "L", "R"};
+  private static final String SMALL_CONFIG = "5x5, interconnectivity 1, wrapping, 50% treasure, "
+          + "2 otyughs, 1 roaming yugoloths, 1 roaming thieves";
+  private static final String LARGE_CONFIG = "7x6, interconnectivity 2, non-wrapping, "
+          + "30% treasure, 3 otyughs, 0 roaming yugoloths, 0 roaming thieves";
+
+  private Path logDirectory;
+  private long numShots;
+  private long numKills;
+  private long numTreasurePickups;
+  private long numWins;
+  private long[][] deaths;
+
+  @Before
+  public void setUp() throws IOException {
+    this.logDirectory = Files.createTempDirectory("dungeon-logs");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(this.logDirectory)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  private void recordGame(Dungeon dungeon, Random random, int idx) throws IOException {
+    Player player = new PlayerImpl("TestPlayer");
+    try (EventLog eventLog = new EventLog(this.logDirectory.resolve("game-" + idx + ".log"))) {
+      dungeon.recordEvents(eventLog);
+      player.enterPlayerToDungeon(dungeon);
+
+      int numOtyughs;
+      for (int turn = 0; turn < 200 && !player.isPlayerDead() && !dungeon.hasReachedEndNode();
+           turn++) {
+        try {
+          switch (random.nextInt(6)) {
+            case 0:
+              dungeon.moveRoamingMonsters();
+              break;
+            case 1:
+              player.pickUpTreasure(dungeon, dungeon.getCurrentPositionPlayer().getTreasures()
+                      .get(0));
+              numTreasurePickups++;
+              break;
+            case 2:
+              numOtyughs = dungeon.getOtyughNodeIs().size();
+              player.shootArrow(dungeon, DIRECTIONS[random.nextInt(4)], 1);
+              numShots++;
+              numKills += numOtyughs - dungeon.getOtyughNodeIs().size();
+              break;
+            case 3:
+              player.moveUp(dungeon);
+              break;
+            case 4:
+              player.moveLeft(dungeon);
+              break;
+            default:
+              player.moveRight(dungeon);
+              break;
+          }
+        } catch (IllegalArgumentException | UnsupportedOperationException
+                 | IndexOutOfBoundsException e) {
+          // Invalid actions are part of the game, they leave the dungeon unchanged.
+        }
+      }
+    }
+
+    if (player.isPlayerDead()) {
+      this.deaths[dungeon.getPlayerNodeI()][dungeon.getPlayerNodeJ()]++;
+    } else if (dungeon.hasReachedEndNode()) {
+      this.numWins++;
+    }
+  }
+
+  /**
+   * Tests that the statistics of recorded games are grouped by configuration and add up.
+   */
+  @Test
+  public void testAnalyzeDirectory() throws IOException {
+    this.deaths = new long[5][5];
+    Random random = new Random(42);
+    for (int idx = 0; idx < 30; idx++) {
+      recordGame(new DungeonImpl(5, 5, 1, true, 0.5f, false, 2, 1, 1, idx), random, idx);
+    }
+    for (int idx = 30; idx < 40; idx++) {
+      try (EventLog eventLog = new EventLog(this.logDirectory.resolve("game-" + idx + ".log"))) {
+        new DungeonImpl(7, 6, 2, false, 0.3f, false, 3, 0, 0, idx).recordEvents(eventLog);
+      }
+    }
+    Files.write(this.logDirectory.resolve("notes.txt"), new byte[]{'h', 'i'});
+    Path corruptLog = this.logDirectory.resolve("game-40.log");
+    try (EventLog eventLog = new EventLog(corruptLog)) {
+      new DungeonImpl(7, 6, 2, false, 0.3f, false, 3, 0, 0, 40).recordEvents(eventLog);
+    }
+    Files.write(corruptLog, new byte[]{EventLog.MOVE, 9}, StandardOpenOption.APPEND);
+
+    EventLogAnalyzer analyzer = new EventLogAnalyzer();
+    EventLogAnalysis analysis = analyzer.analyzeDirectory(this.logDirectory);
+    Map<String, GameStatistics> statistics = analysis.getStatistics();
+
+    assertEquals(2, statistics.size());
+    assertEquals(2, analysis.getNumSkippedLogs());
+
+    GameStatistics small = statistics.get(SMALL_CONFIG);
+    assertEquals(30, small.getNumGames());
+    assertEquals(this.numWins, small.getNumWins());
+    assertEquals(this.numShots, small.getNumShots());
+    assertEquals(this.numKills, small.getNumOtyughKills());
+    assertEquals((double) this.numTreasurePickups / 30, small.getTreasurePickupsPerGame(), 1e-9);
+    assertArrayEquals(this.deaths, small.getDeathHeatMap());
+    assertTrue(small.getNumWins() + small.getNumDeaths() <= small.getNumGames());
+
+    GameStatistics large = statistics.get(LARGE_CONFIG);
+    assertEquals(10, large.getNumGames());
+    assertEquals(0, large.getNumWins());
+    assertEquals(0, large.getNumDeaths());
+    assertEquals(0, large.getAverageTurnsToWin(), 0);
+    assertEquals(7, large.getDeathHeatMap().length);
+    assertEquals(0, large.getDeathHeatMap()[6][5]);
+
+    EventLogAnalysis emptyAnalysis = analyzer.analyze(Stream.empty());
+    assertEquals(0, emptyAnalysis.getStatistics().size());
+    assertEquals(0, emptyAnalysis.getNumSkippedLogs());
+    assertEquals(2, analysis.getNumSkippedLogs());
+  }
+
+  /**
+   * Tests analyzing a directory that does not exist.
+   */
+  @Test
+  public void testAnalyzeMissingDirectory() {
+    Path missing = this.logDirectory.resolve("missing");
+    try {
+      new EventLogAnalyzer().analyzeDirectory(missing);
+      fail("Directory does not exist!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Cannot list event logs in " + missing + "!", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,414 @@
+package eventlogtest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.EventLog;
+import dungeongame.EventLogFormatException;
+import dungeongame.EventLogReader;
+import dungeongame.EventLogReplay;
+import dungeongame.GameMetrics;
+import dungeongame.HistogramSnapshot;
+import dungeongame.Player;
+import dungeongame.PlayerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for recording games to an event log and replaying them.
+ */
+public class EventLogTest {
+  // The start of the dungeon generated from this seed has arrows to pick up.
+  private static final long SEED = 43;
+  private static final String[] DIRECTIONS = {"U", "D", "L", "R"};
+  private static final String[] ITEMS = {"RUBY", "SAPPHIRE", "DIAMOND", "ARROW"};
+
+  private Path logPath;
+
+  @Before
+  public void setUp() throws IOException {
+    this.logPath = Files.createTempFile("dungeon", ".log");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(this.logPath);
+  }
+
+  private Dungeon getSeededDungeon(long seed) {
+    return new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 2, 2, seed);
+  }
+
+  private String getSnapshot(Dungeon dungeon, Player player) {
+    StringBuilder snapshot = new StringBuilder();
+    snapshot.append(Arrays.deepToString(dungeon.getDoorMasks())).append("\n");
+    snapshot.append(dungeon.getTreasureAndLocations()).append("\n");
+    for (int i = 0; i < 6; i++) {
+      for (int j = 0; j < 6; j++) {
+        snapshot.append(dungeon.getNodeAt(i, j).getNumArrows()).append(" ");
+      }
+    }
+    snapshot.append("\n").append(dungeon.getOtyughNodeIs()).append(dungeon.getOtyughNodeJs());
+    snapshot.append("\n").append(dungeon.getStartNodeI()).append(dungeon.getStartNodeJ())
+            .append(dungeon.getEndNodeI()).append(dungeon.getEndNodeJ())
+            .append(dungeon.getThiefNodeI()).append(dungeon.getThiefNodeJ())
+            .append(dungeon.getPitNodeI()).append(dungeon.getPitNodeJ());
+    if (dungeon.getYugolothPosition() != null) {
+      snapshot.append(" Y").append(dungeon.getYugolothNodeI()).append(dungeon.getYugolothNodeJ());
+    }
+    for (int idx = 0; idx < dungeon.getNumRoamingMonsters(); idx++) {
+      snapshot.append(" ").append(dungeon.getRoamingMonsterType(idx))
+              .append(dungeon.getRoamingMonsterNodeI(idx))
+              .append(dungeon.getRoamingMonsterNodeJ(idx));
+    }
+
+    if (player != null) {
+      snapshot.append("\n").append(dungeon.getPlayerNodeI()).append(dungeon.getPlayerNodeJ())
+              .append(player.isPlayerDead()).append(player.getNumArrows())
+              .append(player.getPlayerTreasures());
+    }
+
+    return snapshot.toString();
+  }
+
+  private void playRandomGame(Dungeon dungeon, Player player, Random random) {
+    dungeon.setRoamingMonsterMoveStrategy(0, "CHASE");
+    for (int turn = 0; turn < 400 && !player.isPlayerDead() && !dungeon.hasReachedEndNode();
+         turn++) {
+      try {
+        switch (random.nextInt(10)) {
+          case 0:
+            player.moveUp(dungeon);
+            break;
+          case 1:
+            player.moveDown(dungeon);
+            break;
+          case 2:
+            player.moveLeft(dungeon);
+            break;
+          case 3:
+            player.moveRight(dungeon);
+            break;
+          case 4:
+          case 5: {
+            String item = ITEMS[random.nextInt(ITEMS.length)];
+            if (item.equals("ARROW")) {
+              player.pickUpArrow(dungeon);
+            } else {
+              player.pickUpTreasure(dungeon, item);
+            }
+            break;
+          }
+          case 6:
+            player.shootArrow(dungeon, DIRECTIONS[random.nextInt(4)], 1 + random.nextInt(2));
+            break;
+          case 7:
+            dungeon.moveYugoloth();
+            dungeon.moveRoamingMonsters();
+            break;
+          case 8:
+            if (dungeon.handToHandBattle()) {
+              player.killPlayer();
+            }
+            break;
+          default:
+            dungeon.stealTreasureAtPlayer();
+            break;
+        }
+      } catch (IllegalArgumentException | UnsupportedOperationException e) {
+        // Invalid actions are part of the game, they leave the dungeon unchanged.
+      }
+    }
+  }
+
+  /**
+   * Tests that the same seed generates the same dungeon.
+   */
+  @Test
+  public void testSameSeedSameDungeon() {
+    for (long seed = 0; seed < 20; seed++) {
+      assertEquals(getSnapshot(getSeededDungeon(seed), null),
+              getSnapshot(getSeededDungeon(seed), null));
+    }
+  }
+
+  /**
+   * Tests that replaying a recorded game gives the same dungeon and player.
+   */
+  @Test
+  public void testRecordAndReplay() throws IOException {
+    for (long seed = 0; seed < 10; seed++) {
+      Dungeon dungeon = getSeededDungeon(seed);
+      Player player = new PlayerImpl("TestPlayer");
+      try (EventLog eventLog = new EventLog(this.logPath)) {
+        dungeon.recordEvents(eventLog);
+        player.enterPlayerToDungeon(dungeon);
+        playRandomGame(dungeon, player, new Random(seed));
+      }
+
+      EventLogReplay replay = new EventLogReplay(this.logPath);
+
+      assertTrue(replay.getNumEvents() > 1);
+      assertEquals("TestPlayer", replay.getPlayer().getName());
+      assertEquals(getSnapshot(dungeon, player),
+              getSnapshot(replay.getDungeon(), replay.getPlayer()));
+    }
+  }
+
+  /**
+   * Tests that replaying a recorded game in a dungeon with spread out hazards gives the same
+   * dungeon and player.
+   */
+  @Test
+  public void testRecordAndReplaySpreadOutHazards() throws IOException {
+    Dungeon dungeon = new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 2, 2, 2, SEED);
+    Player player = new PlayerImpl("TestPlayer");
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+      player.enterPlayerToDungeon(dungeon);
+      playRandomGame(dungeon, player, new Random(SEED));
+    }
+
+    try (EventLogReader reader = new EventLogReader(this.logPath)) {
+      assertEquals(2, reader.getHazardSpacing());
+    }
+
+    EventLogReplay replay = new EventLogReplay(this.logPath);
+    assertEquals(getSnapshot(dungeon, player),
+            getSnapshot(replay.getDungeon(), replay.getPlayer()));
+  }
+
+  /**
+   * Tests that replaying a recorded game in a dungeon carved by each of the maze generators
+   * gives the same dungeon and player.
+   */
+  @Test
+  public void testRecordAndReplayMazeGenerators() throws IOException {
+    for (String generator : new String[]{"KRUSKAL", "WILSON", "BACKTRACKER", "ELLER"}) {
+      Dungeon dungeon = new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 2, 2, 0, generator,
+              SEED);
+      Player player = new PlayerImpl("TestPlayer");
+      try (EventLog eventLog = new EventLog(this.logPath)) {
+        dungeon.recordEvents(eventLog);
+        player.enterPlayerToDungeon(dungeon);
+        playRandomGame(dungeon, player, new Random(SEED));
+      }
+
+      try (EventLogReader reader = new EventLogReader(this.logPath)) {
+        assertEquals(generator, reader.getMazeGenerator());
+      }
+
+      EventLogReplay replay = new EventLogReplay(this.logPath);
+      assertEquals(generator, getSnapshot(dungeon, player),
+              getSnapshot(replay.getDungeon(), replay.getPlayer()));
+    }
+  }
+
+  /**
+   * Tests that replaying a recorded game does not count its dungeon and actions in the game
+   * metrics a second time.
+   */
+  @Test
+  public void testReplayIsNotMetered() throws IOException {
+    Dungeon dungeon = getSeededDungeon(SEED);
+    Player player = new PlayerImpl("TestPlayer");
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+      player.enterPlayerToDungeon(dungeon);
+      playRandomGame(dungeon, player, new Random(SEED));
+    }
+
+    Map<String, HistogramSnapshot> before = GameMetrics.snapshot();
+    EventLogReplay replay = new EventLogReplay(this.logPath);
+    Map<String, HistogramSnapshot> after = GameMetrics.snapshot();
+
+    assertTrue(replay.getNumEvents() > 1);
+    for (String name : before.keySet()) {
+      assertEquals(name, before.get(name).getCount(), after.get(name).getCount());
+    }
+  }
+
+  /**
+   * Tests reading the header and the first events of a log.
+   */
+  @Test
+  public void testReadEvents() throws IOException {
+    Dungeon dungeon = getSeededDungeon(SEED);
+    Player player = new PlayerImpl("TestPlayer");
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+      player.enterPlayerToDungeon(dungeon);
+      player.pickUpArrow(dungeon);
+      dungeon.moveRoamingMonsters();
+      dungeon.handToHandBattle();
+    }
+
+    try (EventLogReader reader = new EventLogReader(this.logPath)) {
+      assertEquals(SEED, reader.getSeed());
+      assertEquals(6, reader.getNumRows());
+      assertEquals(6, reader.getNumCols());
+      assertEquals(2, reader.getInterconnectivity());
+      assertTrue(reader.isWrapping());
+      assertEquals(0.5f, reader.getPercentCavesWithTreasure(), 0);
+      assertFalse(reader.isForceInterconnectivityRange());
+      assertEquals(3, reader.getNumOtyughs());
+      assertEquals(2, reader.getNumRoamingYugoloths());
+      assertEquals(2, reader.getNumRoamingThieves());
+      assertEquals(0, reader.getHazardSpacing());
+      assertEquals("KRUSKAL", reader.getMazeGenerator());
+
+      assertTrue(reader.next());
+      assertEquals(EventLog.ENTER, reader.getEventType());
+      assertEquals("TestPlayer", reader.getEventText());
+      assertTrue(reader.next());
+      assertEquals(EventLog.PICKUP_ARROW, reader.getEventType());
+      assertTrue(reader.next());
+      assertEquals(EventLog.ROAMING_TICK, reader.getEventType());
+      assertTrue(reader.next());
+      assertEquals(EventLog.BATTLE, reader.getEventType());
+      assertFalse(reader.next());
+      assertEquals(4, reader.getNumEvents());
+    }
+  }
+
+  /**
+   * Tests that a log with a partly written last event is replayed up to that event.
+   */
+  @Test
+  public void testReplayTruncatedLog() throws IOException {
+    Dungeon dungeon = getSeededDungeon(SEED);
+    Player player = new PlayerImpl("TestPlayer");
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+      player.enterPlayerToDungeon(dungeon);
+      dungeon.setYugolothMoveStrategy("CHASE");
+    }
+
+    byte[] bytes = Files.readAllBytes(this.logPath);
+    Files.write(this.logPath, Arrays.copyOf(bytes, bytes.length - 1));
+
+    EventLogReplay replay = new EventLogReplay(this.logPath);
+    assertEquals(1, replay.getNumEvents());
+  }
+
+  /**
+   * Tests replaying a log in which the player never entered the dungeon.
+   */
+  @Test
+  public void testReplayWithoutPlayer() throws IOException {
+    Dungeon dungeon = getSeededDungeon(SEED);
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+    }
+
+    EventLogReplay replay = new EventLogReplay(this.logPath);
+    assertEquals(0, replay.getNumEvents());
+    assertNull(replay.getPlayer());
+    assertEquals(getSnapshot(dungeon, null), getSnapshot(replay.getDungeon(), null));
+  }
+
+  /**
+   * Tests that recording cannot start after the player has entered the dungeon.
+   */
+  @Test
+  public void testRecordAfterPlayerEntered() throws IOException {
+    Dungeon dungeon = getSeededDungeon(SEED);
+    new PlayerImpl("TestPlayer").enterPlayerToDungeon(dungeon);
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+      fail("Recording cannot start after the player entered!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Recording has to start before the player enters the dungeon!",
+              e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that a dungeon can only be recorded once.
+   */
+  @Test
+  public void testRecordTwice() throws IOException {
+    Dungeon dungeon = getSeededDungeon(SEED);
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      dungeon.recordEvents(eventLog);
+      dungeon.recordEvents(eventLog);
+      fail("Dungeon cannot be recorded twice!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Dungeon is already being recorded!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that a log recorded before dungeons were placed by the sampling planner is rejected
+   * instead of being replayed into a different dungeon.
+   */
+  @Test
+  public void testReadLogBeforeSamplingPlanner() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(32);
+    header.putInt(0x44474c31);
+    // Version 1, seed 43, a wrapping 6x6 dungeon with interconnectivity 2, no forced range.
+    header.put(new byte[]{1, 43, 6, 6, 2, 1});
+    header.putFloat(0.5f);
+    // 3 otyughs, 2 roaming yugoloths and 2 roaming thieves, then a MOVE event.
+    header.put(new byte[]{0, 3, 2, 2, 2, 0});
+    Files.write(this.logPath, Arrays.copyOf(header.array(), header.position()));
+
+    try {
+      new EventLogReader(this.logPath);
+      fail("Log was recorded by an older version!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Event log " + this.logPath + " was recorded by an older version of the game "
+              + "and cannot be replayed!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that a corrupt event in the middle of a log is reported instead of ending the log.
+   */
+  @Test
+  public void testReadCorruptEvent() throws IOException {
+    try (EventLog eventLog = new EventLog(this.logPath)) {
+      getSeededDungeon(SEED).recordEvents(eventLog);
+    }
+    Files.write(this.logPath, new byte[]{EventLog.YUGOLOTH_TICK, 99, EventLog.YUGOLOTH_TICK},
+            StandardOpenOption.APPEND);
+
+    try (EventLogReader reader = new EventLogReader(this.logPath)) {
+      assertTrue(reader.next());
+      reader.next();
+      fail("Event type is unknown!");
+    } catch (EventLogFormatException e) {
+      assertEquals("Event 2 of the event log is corrupt, unknown event type 99!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests reading a file that is not an event log.
+   */
+  @Test
+  public void testReadNotAnEventLog() throws IOException {
+    Files.write(this.logPath, new byte[]{1, 2, 3});
+    try {
+      new EventLogReader(this.logPath);
+      fail("File is not an event log!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("File " + this.logPath + " is not an event log!", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,4 @@
+/**
+ * Tests for the event log classes.
+ */
+package eventlogtest;
\ No newline at end of file
@@ -0,0 +1,90 @@
+package metricstest;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.Player;
+import dungeongame.PlayerImpl;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the flight recorder events of the game.
+ */
+public class FlightRecorderEventsTest {
+
+  private static List<RecordedEvent> recordGame() throws IOException {
+    Path file = Files.createTempFile("dungeon", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("dungeongame.GenerationPhase");
+      recording.enable("dungeongame.GameAction");
+      recording.start();
+
+      Dungeon dungeon = new DungeonImpl(8, 9, 2, true, 0.5f, false, 3, 1, 1, 21L);
+      Player player = new PlayerImpl("TestPlayer");
+      player.enterPlayerToDungeon(dungeon);
+      dungeon.moveYugoloth();
+      dungeon.moveRoamingMonsters();
+      player.shootArrow(dungeon, "U", 1);
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    try {
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  /**
+   * Tests that every phase of generating a dungeon is recorded with the size of the dungeon.
+   */
+  @Test
+  public void testGenerationPhases() throws IOException {
+    List<String> phases = new ArrayList<>();
+    for (RecordedEvent event : recordGame()) {
+      if (event.getEventType().getName().equals("dungeongame.GenerationPhase")) {
+        phases.add(event.getString("phase"));
+        assertEquals(8, event.getInt("numRows"));
+        assertEquals(9, event.getInt("numCols"));
+        assertTrue(event.getLong("allocatedBytes") >= 0);
+
+        if (event.getString("phase").equals("startEnd")) {
+          assertTrue(event.getInt("retries") >= 0);
+          assertTrue(event.getLong("nodesVisited") > 0);
+        }
+      }
+    }
+
+    assertEquals(List.of("mst", "interconnectivity", "casting", "graphs", "startEnd",
+            "placement", "roaming"), phases);
+  }
+
+  /**
+   * Tests that the actions are recorded.
+   */
+  @Test
+  public void testGameActions() throws IOException {
+    List<String> actions = new ArrayList<>();
+    for (RecordedEvent event : recordGame()) {
+      if (event.getEventType().getName().equals("dungeongame.GameAction")) {
+        actions.add(event.getString("action"));
+      }
+    }
+
+    assertEquals(List.of("moveYugoloth", "moveRoamingMonsters", "shoot"), actions);
+  }
+}
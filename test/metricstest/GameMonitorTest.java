@@ -0,0 +1,158 @@
+package metricstest;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.GameMonitor;
+import dungeongame.Player;
+import dungeongame.PlayerImpl;
+import node.Node;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the game monitor, read through the platform MBean server like jconsole reads it.
+ */
+public class GameMonitorTest {
+  private static MBeanServer server;
+  private static ObjectName name;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    GameMonitor.register();
+    // Registering twice does nothing.
+    GameMonitor.register();
+    server = ManagementFactory.getPlatformMBeanServer();
+    name = new ObjectName(GameMonitor.OBJECT_NAME);
+  }
+
+  private long getLong(String attribute) throws Exception {
+    return (Long) server.getAttribute(name, attribute);
+  }
+
+  private void fallIntoPitAtStart(long seed) {
+    // Rebuilds a generated dungeon with its pit moved to the start, where the player enters.
+    Dungeon generated = new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 0, 0, seed);
+    Node[][] maze = generated.getMaze();
+    Dungeon dungeon = new DungeonImpl(maze, generated.getStartNode().getNodeName(),
+            generated.getEndNode().getNodeName(), true, 3, null, null, null,
+            maze[generated.getStartNodeI()][generated.getStartNodeJ()]);
+    new PlayerImpl("TestPlayer").enterPlayerToDungeon(dungeon);
+    dungeon.fallIntoPit();
+  }
+
+  private String[] listActiveGames() throws Exception {
+    return (String[]) server.invoke(name, "listActiveGames", new Object[0], new String[0]);
+  }
+
+  /**
+   * Tests that generating dungeons and entering players is counted.
+   */
+  @Test
+  public void testCountsGames() throws Exception {
+    long numDungeons = getLong("DungeonsGenerated");
+    long numPlayers = getLong("PlayersEntered");
+
+    Dungeon dungeon = new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 0, 0, 11L);
+    new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 0, 0, 12L);
+    new PlayerImpl("TestPlayer").enterPlayerToDungeon(dungeon);
+
+    assertEquals(numDungeons + 2, getLong("DungeonsGenerated"));
+    assertEquals(numPlayers + 1, getLong("PlayersEntered"));
+    assertTrue((Integer) server.getAttribute(name, "ActiveGames") >= 1);
+    assertTrue((Double) server.getAttribute(name, "GenerationTimeP99") > 0);
+    assertEquals(10, ((String[]) server.getAttribute(name, "Latencies")).length);
+  }
+
+  /**
+   * Tests that an active game can be listed and dumped by its id.
+   */
+  @Test
+  public void testDumpDungeon() throws Exception {
+    Dungeon dungeon = new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 0, 0, 13L);
+    Player player = new PlayerImpl("TestPlayer");
+    player.enterPlayerToDungeon(dungeon);
+
+    String game = null;
+    for (String activeGame : listActiveGames()) {
+      if (activeGame.contains("player at (" + dungeon.getPlayerNodeI() + ", "
+              + dungeon.getPlayerNodeJ() + ")")) {
+        game = activeGame;
+      }
+    }
+    assertTrue(game != null);
+
+    long gameId = Long.parseLong(game.substring("Game ".length(), game.indexOf(':')));
+    String dump = (String) server.invoke(name, "dumpDungeon", new Object[]{gameId},
+            new String[]{long.class.getName()});
+    assertTrue(dump.length() > 0);
+    assertEquals("No game with id -1!", server.invoke(name, "dumpDungeon",
+            new Object[]{-1L}, new String[]{long.class.getName()}));
+  }
+
+  /**
+   * Tests that a game can be listed and dumped while another thread is playing it.
+   */
+  @Test
+  public void testDumpWhilePlaying() throws Exception {
+    Dungeon dungeon = new DungeonImpl(8, 8, 2, true, 0.5f, false, 3, 2, 2, 16L);
+    Player player = new PlayerImpl("TestPlayer");
+    player.enterPlayerToDungeon(dungeon);
+
+    AtomicBoolean isDone = new AtomicBoolean();
+    Thread game = new Thread(() -> {
+      while (!isDone.get()) {
+        dungeon.moveRoamingMonsters();
+        try {
+          player.pickUpArrow(dungeon);
+          player.shootArrow(dungeon, "U", 1);
+        } catch (IllegalArgumentException e) {
+          // No arrow to pick up or no way to shoot, the game goes on.
+        }
+      }
+    });
+    game.start();
+
+    try {
+      for (int i = 0; i < 100; i++) {
+        assertTrue(listActiveGames().length >= 1);
+        for (String activeGame : listActiveGames()) {
+          long gameId = Long.parseLong(activeGame.substring("Game ".length(),
+                  activeGame.indexOf(':')));
+          String dump = (String) server.invoke(name, "dumpDungeon", new Object[]{gameId},
+                  new String[]{long.class.getName()});
+          assertTrue(dump.contains("Arrows in locations:"));
+        }
+      }
+    } finally {
+      isDone.set(true);
+      game.join();
+    }
+  }
+
+  /**
+   * Tests that otyugh kills and deaths are counted, and that reset clears the counters.
+   */
+  @Test
+  public void testCountsDeathsAndReset() throws Exception {
+    long numDeaths = getLong("DeathsByPit");
+    fallIntoPitAtStart(14L);
+    fallIntoPitAtStart(15L);
+    assertTrue(getLong("DeathsByPit") >= numDeaths + 2);
+
+    server.invoke(name, "resetCounters", new Object[0], new String[0]);
+    assertEquals(0, getLong("DeathsByPit"));
+    assertEquals(0, getLong("OtyughKills"));
+    assertEquals(0, getLong("DungeonsGenerated"));
+    assertEquals(0.0, (Double) server.getAttribute(name, "RouteCacheHitRate"), 0);
+  }
+}
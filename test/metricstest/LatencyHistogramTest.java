@@ -0,0 +1,230 @@
+package metricstest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import dungeongame.Dungeon;
+import dungeongame.DungeonImpl;
+import dungeongame.GameMetrics;
+import dungeongame.HistogramSnapshot;
+import dungeongame.LatencyHistogram;
+import dungeongame.Player;
+import dungeongame.PlayerImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the latency histograms and the latencies recorded by the game.
+ */
+public class LatencyHistogramTest {
+
+  /**
+   * Tests that an empty histogram reports zeros.
+   */
+  @Test
+  public void testEmptySnapshot() {
+    HistogramSnapshot snapshot = new LatencyHistogram("empty").snapshot();
+
+    assertEquals("empty", snapshot.getName());
+    assertEquals(0, snapshot.getCount());
+    assertEquals(0, snapshot.getMean(), 0);
+    assertEquals(0, snapshot.getMax());
+    assertEquals(0, snapshot.getValueAtPercentile(99));
+  }
+
+  /**
+   * Tests that small latencies are recorded exactly.
+   */
+  @Test
+  public void testSmallLatenciesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram("small");
+    for (int latency = 1; latency <= 50; latency++) {
+      histogram.record(latency);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(50, snapshot.getCount());
+    assertEquals(25.5, snapshot.getMean(), 1e-9);
+    assertEquals(50, snapshot.getMax());
+    assertEquals(1, snapshot.getValueAtPercentile(0));
+    assertEquals(25, snapshot.getValueAtPercentile(50));
+    assertEquals(45, snapshot.getValueAtPercentile(90));
+    assertEquals(50, snapshot.getValueAtPercentile(100));
+  }
+
+  /**
+   * Tests that large latencies are within 3% at every percentile.
+   */
+  @Test
+  public void testLargeLatenciesAreWithinError() {
+    LatencyHistogram histogram = new LatencyHistogram("large");
+    for (long latency = 1000; latency <= 1_000_000; latency += 1000) {
+      histogram.record(latency);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(1000, snapshot.getCount());
+    assertEquals(1_000_000, snapshot.getMax());
+    for (int percentile = 1; percentile <= 100; percentile++) {
+      long expected = percentile * 10_000L;
+      long actual = snapshot.getValueAtPercentile(percentile);
+      assertTrue(percentile + "th percentile is " + actual,
+              actual >= expected && actual <= expected * 1.03);
+    }
+  }
+
+  /**
+   * Tests that latencies out of range are clamped.
+   */
+  @Test
+  public void testOutOfRangeLatencies() {
+    LatencyHistogram histogram = new LatencyHistogram("clamped");
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(2, snapshot.getCount());
+    assertEquals(0, snapshot.getValueAtPercentile(50));
+    assertEquals((1L << 42) - 1, snapshot.getMax());
+  }
+
+  /**
+   * Tests that latencies recorded by many threads at once all end up in the snapshot.
+   */
+  @Test
+  public void testRecordFromManyThreads() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram("threads");
+    List<Thread> threads = new ArrayList<>();
+    for (int idx = 0; idx < 8; idx++) {
+      Thread thread = new Thread(() -> {
+        for (int latency = 0; latency < 10_000; latency++) {
+          histogram.record(latency % 100);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(80_000, snapshot.getCount());
+    assertEquals(49.5, snapshot.getMean(), 1e-9);
+    assertEquals(99, snapshot.getMax());
+  }
+
+  /**
+   * Tests that a snapshot does not change when more latencies are recorded, and that reset
+   * clears the histogram.
+   */
+  @Test
+  public void testSnapshotAndReset() {
+    LatencyHistogram histogram = new LatencyHistogram("reset");
+    histogram.record(10);
+    HistogramSnapshot snapshot = histogram.snapshot();
+    histogram.record(20);
+
+    assertEquals(1, snapshot.getCount());
+    assertEquals(2, histogram.snapshot().getCount());
+
+    histogram.reset();
+    assertEquals(0, histogram.snapshot().getCount());
+    assertEquals(0, histogram.snapshot().getMax());
+  }
+
+  /**
+   * Tests that resetting while other threads record never leaves a latency half recorded.
+   */
+  @Test
+  public void testResetWhileRecording() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram("concurrent");
+    List<Thread> threads = new ArrayList<>();
+    for (int idx = 0; idx < 4; idx++) {
+      Thread thread = new Thread(() -> {
+        for (int count = 0; count < 100_000; count++) {
+          histogram.record(10);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (int idx = 0; idx < 100; idx++) {
+      histogram.reset();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    histogram.record(10);
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertTrue(snapshot.getCount() >= 1);
+    assertEquals(10, snapshot.getMean(), 0);
+    assertEquals(10, snapshot.getMax());
+  }
+
+  /**
+   * Tests invalid percentiles.
+   */
+  @Test
+  public void testInvalidPercentile() {
+    HistogramSnapshot snapshot = new LatencyHistogram("invalid").snapshot();
+    try {
+      snapshot.getValueAtPercentile(100.5);
+      fail("Percentile is above 100!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Percentile has to be between 0 and 100!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests creating a histogram without a name.
+   */
+  @Test
+  public void testNullName() {
+    try {
+      new LatencyHistogram(null);
+      fail("Name is null!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Name of histogram is expected to be non-null!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests that the game records generation by phase and every action of the player.
+   */
+  @Test
+  public void testGameRecordsLatencies() {
+    Map<String, HistogramSnapshot> before = GameMetrics.snapshot();
+
+    Dungeon dungeon = new DungeonImpl(6, 6, 2, true, 0.5f, false, 3, 1, 1, 7L);
+    Player player = new PlayerImpl("TestPlayer");
+    player.enterPlayerToDungeon(dungeon);
+    dungeon.getCurrentPositionPlayer().getRoomDescription();
+    dungeon.moveYugoloth();
+    dungeon.moveRoamingMonsters();
+    player.shootArrow(dungeon, "U", 1);
+
+    Map<String, HistogramSnapshot> after = GameMetrics.snapshot();
+    assertEquals(1, countSince(before, after, "generate"));
+    assertEquals(1, countSince(before, after, "generate.maze"));
+    assertEquals(1, countSince(before, after, "generate.graphs"));
+    assertEquals(1, countSince(before, after, "generate.placement"));
+    assertEquals(1, countSince(before, after, "generate.roaming"));
+    assertEquals(1, countSince(before, after, "roomDescription"));
+    assertEquals(2, countSince(before, after, "monsterTick"));
+    assertEquals(1, countSince(before, after, "shoot"));
+    assertEquals(0, countSince(before, after, "move"));
+    assertEquals(0, countSince(before, after, "pickup"));
+  }
+
+  private static long countSince(Map<String, HistogramSnapshot> before,
+                                 Map<String, HistogramSnapshot> after, String name) {
+    return after.get(name).getCount() - before.get(name).getCount();
+  }
+}
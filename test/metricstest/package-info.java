@@ -0,0 +1,4 @@
+/**
+ * Tests for the latency histograms.
+ */
+package metricstest;
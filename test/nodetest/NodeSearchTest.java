@@ -0,0 +1,170 @@
+package nodetest;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import dungeongame.Otyugh;
+import node.GenericNode;
+import node.Node;
+import node.NodeSearch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the NodeSearch class.
+ */
+public class NodeSearchTest {
+  private Node[] ring;
+  private NodeSearch search;
+
+  /**
+   * Sets up a ring of six caves, each connected to the next one on its right.
+   */
+  @Before
+  public void setUp() {
+    ring = new Node[6];
+    for (int idx = 0; idx < ring.length; idx++) {
+      ring[idx] = new GenericNode(idx);
+    }
+    for (int idx = 0; idx < ring.length; idx++) {
+      ring[idx].setRightNode(ring[(idx + 1) % ring.length]);
+      ring[(idx + 1) % ring.length].setLeftNode(ring[idx]);
+    }
+    for (int idx = 0; idx < ring.length; idx++) {
+      ring[idx] = ring[idx].castToCaveNode();
+      ring[idx].updateCastInNeighbours();
+    }
+
+    search = NodeSearch.forCurrentThread();
+  }
+
+  /**
+   * Tests that every thread has a search of its own.
+   */
+  @Test
+  public void testForCurrentThread() throws InterruptedException {
+    assertSame(search, NodeSearch.forCurrentThread());
+
+    NodeSearch[] other = new NodeSearch[1];
+    Thread thread = new Thread(() -> other[0] = NodeSearch.forCurrentThread());
+    thread.start();
+    thread.join();
+    assertNotSame(search, other[0]);
+  }
+
+  /**
+   * Tests the length of the shortest path between nodes of the ring.
+   */
+  @Test
+  public void testShortestPathLength() {
+    assertEquals(0, search.shortestPathLength(ring[0], ring[0]));
+    assertEquals(1, search.shortestPathLength(ring[0], ring[5]));
+    assertEquals(2, search.shortestPathLength(ring[1], ring[5]));
+    assertEquals(3, search.shortestPathLength(ring[0], ring[3]));
+
+    // A generic node that is still referenced somewhere is the same location as its cave.
+    assertEquals(3, search.shortestPathLength(ring[0], new GenericNode(3)));
+  }
+
+  /**
+   * Tests the length of the shortest path to a node that cannot be reached.
+   */
+  @Test
+  public void testShortestPathLengthUnreachable() {
+    ring[2].setRightNode(null);
+    ring[3].setLeftNode(null);
+    ring[4].setRightNode(null);
+    ring[5].setLeftNode(null);
+
+    assertEquals(2, search.shortestPathLength(ring[0], ring[2]));
+    assertEquals(-1, search.shortestPathLength(ring[0], ring[3]));
+    assertEquals(1, search.shortestPathLength(ring[3], ring[4]));
+  }
+
+  /**
+   * Tests searching nodes that have not been placed in a maze, whose ids are not cells.
+   */
+  @Test
+  public void testShortestPathLengthUnplacedNodes() {
+    Node first = new GenericNode();
+    Node node = first;
+    for (int idx = 0; idx < 40; idx++) {
+      Node next = new GenericNode();
+      node.setBottomNode(next);
+      next.setTopNode(node);
+      node = next;
+    }
+
+    assertEquals(40, search.shortestPathLength(first, node));
+    assertEquals(40, search.shortestPathLength(node, first));
+    assertEquals(3, search.shortestPathLength(ring[0], ring[3]));
+  }
+
+  /**
+   * Tests searching through nodes of a maze and nodes that have not been placed in one, whose
+   * ids must not collide with the cells.
+   */
+  @Test
+  public void testShortestPathLengthMixedNodes() {
+    Node unplaced = new GenericNode();
+    ring[3].setBottomNode(unplaced);
+    unplaced.setTopNode(ring[3]);
+
+    assertTrue(unplaced.getId() < 0);
+    assertEquals(4, search.shortestPathLength(ring[0], unplaced));
+    assertEquals(3, search.shortestPathLength(unplaced, ring[1]));
+    assertEquals(1, search.countAtDistance(ring[0], 4, node -> node == unplaced));
+  }
+
+  /**
+   * Tests counting the nodes at a distance that match a filter.
+   */
+  @Test
+  public void testCountAtDistance() {
+    ring[2].placeOtyugh(new Otyugh());
+    ring[4].placeOtyugh(new Otyugh());
+
+    assertEquals(0, search.countAtDistance(ring[3], 0, node -> node.getOtyugh() != null));
+    assertEquals(2, search.countAtDistance(ring[3], 1, node -> node.getOtyugh() != null));
+    assertEquals(0, search.countAtDistance(ring[3], 2, node -> node.getOtyugh() != null));
+    assertEquals(2, search.countAtDistance(ring[0], 2, node -> node.getOtyugh() != null));
+    assertEquals(2, search.countAtDistance(ring[0], 2, node -> true));
+    assertEquals(1, search.countAtDistance(ring[0], 3, node -> true));
+    assertEquals(0, search.countAtDistance(ring[0], 4, node -> true));
+  }
+
+  /**
+   * Tests counting with a negative distance.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountAtNegativeDistance() {
+    search.countAtDistance(ring[0], -1, node -> true);
+  }
+
+  /**
+   * Tests counting with a null filter.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountAtDistanceNullFilter() {
+    search.countAtDistance(ring[0], 1, null);
+  }
+
+  /**
+   * Tests searching from a null node.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testShortestPathLengthNullSource() {
+    search.shortestPathLength(null, ring[0]);
+  }
+
+  /**
+   * Tests searching for a null node.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testShortestPathLengthNullDestination() {
+    search.shortestPathLength(ring[0], null);
+  }
+}
@@ -8,6 +8,7 @@ import java.util.Random;
 import dungeongame.Otyugh;
 import node.GenericNode;
 import node.Node;
+import node.NodeIds;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -1194,6 +1195,54 @@ public class NodeTest {
     }
   }
 
+  /**
+   * Tests counting the treasures in a cave node, including after the cave is cloned.
+   */
+  @Test
+  public void testGetNumTreasuresCaveNode() {
+    assertEquals(0, caveNode.getNumTreasures());
+
+    caveNode.placeTreasure("RUBY", 2);
+    caveNode.placeTreasure("SAPPHIRE", 1);
+    caveNode.placeTreasure("RUBY", 1);
+    assertEquals(4, caveNode.getNumTreasures());
+    assertEquals(1, caveNode.getNumTreasures("SAPPHIRE"));
+    assertEquals(0, caveNode.getNumTreasures("DIAMOND"));
+    assertEquals(3, caveNode.getNumTreasures("RUBY"));
+    assertEquals("[SAPPHIRE, RUBY, RUBY, RUBY]", caveNode.getTreasures().toString());
+
+    Node clone = caveNode.cloneNode();
+    caveNode.removeTreasure("RUBY");
+    assertEquals(2, caveNode.getNumTreasures("RUBY"));
+    assertEquals(3, clone.getNumTreasures("RUBY"));
+  }
+
+  /**
+   * Tests counting a treasure that does not exist.
+   */
+  @Test
+  public void testGetNumTreasuresIllegalName() {
+    try {
+      caveNode.getNumTreasures("EMERALD");
+      fail("Cannot count a treasure that does not exist!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Illegal treasure name EMERALD!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests counting the treasures in a tunnel node which can never have any treasures.
+   */
+  @Test
+  public void testGetNumTreasuresTunnelNode() {
+    try {
+      tunnelNode.getNumTreasures();
+      fail("Cannot count treasures in tunnel node which can never have any treasures!");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("Tunnel does not have any treasure!", e.getMessage());
+    }
+  }
+
   /**
    * Tests fetching the treasure list from generic node which can never have any treasures.
    */
@@ -1303,6 +1352,52 @@ public class NodeTest {
     }
   }
 
+  /**
+   * Tests querying the Otyugh of a cave node without copying it.
+   */
+  @Test
+  public void testOtyughHealthCaveNode() {
+    assertEquals(false, caveNode.hasOtyugh());
+    assertEquals(false, tunnelNode.hasOtyugh());
+
+    caveNode.placeOtyugh(new Otyugh());
+    assertEquals(true, caveNode.hasOtyugh());
+    assertEquals(100, caveNode.getOtyughHealth());
+
+    caveNode.setOtyughHealth(50);
+    assertEquals(50, caveNode.getOtyughHealth());
+    assertEquals(50, caveNode.getOtyugh().getHealth());
+
+    caveNode.removeOtyugh();
+    assertEquals(false, caveNode.hasOtyugh());
+  }
+
+  /**
+   * Tests the health of the Otyugh in a cave node without an Otyugh.
+   */
+  @Test
+  public void testOtyughHealthEmptyCaveNode() {
+    try {
+      caveNode.getOtyughHealth();
+      fail("Cannot get the health of an Otyugh that is not there!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("No Otyugh in cave!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests the health of the Otyugh in a tunnel node which can never have an Otyugh.
+   */
+  @Test
+  public void testOtyughHealthTunnelNode() {
+    try {
+      tunnelNode.getOtyughHealth();
+      fail("Tunnel node can never have an Otyugh!");
+    } catch (UnsupportedOperationException e) {
+      assertEquals("Tunnel cannot have Otyugh!", e.getMessage());
+    }
+  }
+
   /**
    * Tests placing an Otyugh in a tunnel node.
    */
@@ -1674,4 +1769,76 @@ public class NodeTest {
     caveNode.addSingleArrow();
     assertEquals(3, caveNode.getNumArrows());
   }
+
+  /**
+   * Tests that the door mask follows the neighbours of a node.
+   */
+  @Test
+  public void testDoorMask() {
+    Node node = new GenericNode("A");
+    assertEquals(0, node.getDoorMask());
+
+    node.setTopNode(new GenericNode("B"));
+    node.setRightNode(new GenericNode("C"));
+    assertEquals(Node.DOOR_NORTH | Node.DOOR_EAST, node.getDoorMask());
+
+    node.setTopNode(null);
+    node.setLeftNode(new GenericNode("D"));
+    assertEquals(Node.DOOR_WEST | Node.DOOR_EAST, node.getDoorMask());
+  }
+
+  /**
+   * Tests that the door mask is kept when a node is cast and cloned.
+   */
+  @Test
+  public void testDoorMaskAfterCastAndClone() {
+    Node node = new GenericNode("A");
+    node.setBottomNode(new GenericNode("B"));
+    node.setLeftNode(new GenericNode("C"));
+    node.setRightNode(new GenericNode("D"));
+
+    int expected = Node.DOOR_SOUTH | Node.DOOR_WEST | Node.DOOR_EAST;
+    Node cave = node.castToCaveNode();
+    assertEquals(expected, cave.getDoorMask());
+    assertEquals(expected, cave.cloneNode().getDoorMask());
+  }
+
+  /**
+   * Tests that a node keeps its id when it is cast and cloned, and that nodes which are not in
+   * a maze have ids of their own.
+   */
+  @Test
+  public void testIdAfterCastAndClone() {
+    Node node = new GenericNode(12);
+    assertEquals(12, node.getId());
+    assertEquals("13", node.getNodeName());
+    assertEquals(12, node.castToCaveNode().getId());
+    assertEquals(12, node.castToTunnelNode().cloneNode().getId());
+
+    assertNotEquals(new GenericNode().getId(), new GenericNode().getId());
+    assertNotEquals(new GenericNode("A").getId(), new GenericNode("A").getId());
+
+    Node other = new GenericNode("B");
+    NodeIds.assignCellIds(new Node[][]{{other, new GenericNode()}, {new GenericNode(), node}});
+    assertEquals(3, node.getId());
+    assertEquals(0, other.getId());
+    assertEquals("13", node.getNodeName());
+  }
+
+  /**
+   * Tests creating a node with a negative id.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeId() {
+    new GenericNode(-1);
+  }
+
+  /**
+   * Tests placing a maze with rows of different lengths.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testAssignCellIdsUnevenRows() {
+    NodeIds.assignCellIds(new Node[][]{{new GenericNode(), new GenericNode()},
+            {new GenericNode()}});
+  }
 }
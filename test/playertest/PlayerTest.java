@@ -8,6 +8,8 @@ import dungeongame.DungeonImpl;
 import dungeongame.Otyugh;
 import dungeongame.Player;
 import dungeongame.PlayerImpl;
+import dungeongame.ShotResult;
+import dungeongame.Volley;
 import dungeongame.Yugoloth;
 import node.GenericNode;
 import node.Node;
@@ -1116,7 +1118,7 @@ public class PlayerTest {
     this.player.enterPlayerToDungeon(this.dungeon);
     makeSeriesOfMoves("R", "D", "L", "L", "U");
 
-    int hitResult = this.player.shootArrow(dungeon, "D", 1).get(2);
+    int hitResult = this.player.shootArrow(dungeon, "D", 1).getOutcome();
     assertEquals("---------------------------------------------------\n" +
             "TestPlayer now has the following arrow count: \n" +
             "Arrows: 2\n", this.player.getPlayerArrows());
@@ -1131,7 +1133,7 @@ public class PlayerTest {
     this.player.enterPlayerToDungeon(this.dungeon);
     makeSeriesOfMoves("R", "D", "L", "L");
 
-    int hitResult = this.player.shootArrow(dungeon, "U", 3).get(2);
+    int hitResult = this.player.shootArrow(dungeon, "U", 3).getOutcome();
     assertEquals("---------------------------------------------------\n" +
             "TestPlayer now has the following arrow count: \n" +
             "Arrows: 2\n", this.player.getPlayerArrows());
@@ -1146,7 +1148,7 @@ public class PlayerTest {
     this.player.enterPlayerToDungeon(this.dungeon);
     makeSeriesOfMoves("R", "D", "L", "L");
 
-    int hitResult = this.player.shootArrow(dungeon, "U", 1).get(2);
+    int hitResult = this.player.shootArrow(dungeon, "U", 1).getOutcome();
     assertEquals("---------------------------------------------------\n" +
             "TestPlayer now has the following arrow count: \n" +
             "Arrows: 2\n", this.player.getPlayerArrows());
@@ -1162,13 +1164,104 @@ public class PlayerTest {
     makeSeriesOfMoves("R", "D", "L", "L");
 
     this.player.shootArrow(dungeon, "U", 1);
-    int hitResult = this.player.shootArrow(dungeon, "U", 1).get(2);
+    int hitResult = this.player.shootArrow(dungeon, "U", 1).getOutcome();
     assertEquals("---------------------------------------------------\n" +
             "TestPlayer now has the following arrow count: \n" +
             "Arrows: 1\n", this.player.getPlayerArrows());
     assertEquals(1, hitResult);
   }
 
+  /**
+   * Tests shooting a volley that injures and then kills the Otyugh, and misses with its last
+   * arrow.
+   */
+  @Test
+  public void testShootVolley() {
+    this.player.enterPlayerToDungeon(this.dungeon);
+    makeSeriesOfMoves("R", "D", "L", "L");
+
+    Volley volley = new Volley(0);
+    this.player.shootVolley(dungeon, new String[]{"U", "U", "U"}, new int[]{1, 1, 1}, volley);
+    assertEquals("---------------------------------------------------\n" +
+            "TestPlayer now has the following arrow count: \n" +
+            "No arrows left.\n", this.player.getPlayerArrows());
+    assertEquals(3, volley.getNumShots());
+    assertEquals(ShotResult.INJURED, volley.getOutcome(0));
+    assertEquals(ShotResult.KILLED, volley.getOutcome(1));
+    assertEquals(ShotResult.MISSED, volley.getOutcome(2));
+    assertEquals(1, volley.getNumKills());
+    for (int shot = 0; shot < volley.getNumShots(); shot++) {
+      assertEquals(0, volley.getRow(shot));
+      assertEquals(1, volley.getCol(shot));
+    }
+  }
+
+  /**
+   * Tests that shooting a volley replaces the shots of the last volley.
+   */
+  @Test
+  public void testShootVolleyReused() {
+    this.player.enterPlayerToDungeon(this.dungeon);
+    makeSeriesOfMoves("R", "D", "L", "L");
+
+    Volley volley = new Volley(2);
+    this.player.shootVolley(dungeon, new String[]{"U", "U"}, new int[]{1, 1}, volley);
+    this.player.shootVolley(dungeon, new String[]{"U"}, new int[]{1}, volley);
+    assertEquals(1, volley.getNumShots());
+    assertEquals(ShotResult.MISSED, volley.getOutcome(0));
+
+    try {
+      volley.getOutcome(1);
+      fail("There is only one shot in the volley!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("No shot 1 in volley!", e.getMessage());
+    }
+  }
+
+  /**
+   * Tests shooting a volley with more arrows than the player has.
+   */
+  @Test
+  public void testShootVolleyNotEnoughArrows() {
+    this.player.enterPlayerToDungeon(this.dungeon);
+    makeSeriesOfMoves("R", "D", "L", "L");
+
+    try {
+      this.player.shootVolley(dungeon, new String[]{"U", "U", "U", "U"},
+              new int[]{1, 1, 1, 1}, new Volley(4));
+      fail("Player does not have enough arrows!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Not enough arrows to shoot, pickup arrows to shoot!", e.getMessage());
+    }
+    assertEquals(100, this.dungeon.getNodeAt(0, 1).getOtyughHealth());
+  }
+
+  /**
+   * Tests that a volley with an invalid arrow does not shoot any arrow.
+   */
+  @Test
+  public void testShootVolleyInvalidArrow() {
+    this.player.enterPlayerToDungeon(this.dungeon);
+    makeSeriesOfMoves("R", "D", "L", "L");
+
+    try {
+      this.player.shootVolley(dungeon, new String[]{"U", "X"}, new int[]{1, 1},
+              new Volley(2));
+      fail("Invalid direction!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Invalid direction!", e.getMessage());
+    }
+    try {
+      this.player.shootVolley(dungeon, new String[]{"U", "U"}, new int[]{1}, new Volley(2));
+      fail("Every arrow needs a distance!");
+    } catch (IllegalArgumentException e) {
+      assertEquals("Every arrow needs a direction and a distance!", e.getMessage());
+    }
+    assertEquals("---------------------------------------------------\n" +
+            "TestPlayer now has the following arrow count: \n" +
+            "Arrows: 3\n", this.player.getPlayerArrows());
+  }
+
   /**
    * Tests is player dead when the player is alive.
    */